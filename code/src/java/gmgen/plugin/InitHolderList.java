@@ -19,8 +19,14 @@
 package gmgen.plugin;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.Vector;
+import java.util.regex.Pattern;
 
 import gmgen.plugin.dice.Dice;
 import gmgen.plugin.dice.Die;
@@ -32,6 +38,12 @@ import plugin.initiative.InitiativePlugin;
 public class InitHolderList extends ArrayList<InitHolder>
 {
 
+	/** The order in which the list is kept */
+	private static final InitHolderComperator COMPARATOR = new InitHolderComperator();
+
+	/** Matches the " (n)" suffix added to make a name unique */
+	private static final Pattern UNIQUE_SUFFIX = Pattern.compile(" \\(\\d.*\\)");
+
 	/**
 	 * Gets the Max Init of the InitHolderList object, minimum 20
 	 *
@@ -71,14 +83,30 @@ public class InitHolderList extends ArrayList<InitHolder>
 	 */
 	public String getUniqueName(String name)
 	{
-		int i = 1;
-		String workingName = name;
-		while (!isUniqueName(workingName))
+		return new UniqueNamer().getUniqueName(name);
+	}
+
+	/**
+	 * Returns the given number of names, based on the given name, which are
+	 * unique in the list and distinct from each other. The list is only
+	 * scanned once, so this should be preferred to repeated calls to
+	 * getUniqueName when adding many similar combatants.
+	 *
+	 * @param name
+	 *          String to compare
+	 * @param count
+	 *          The number of names required
+	 * @return The unique names, in the order they should be used
+	 */
+	public List<String> getUniqueNames(String name, int count)
+	{
+		UniqueNamer namer = new UniqueNamer();
+		List<String> names = new ArrayList<>(count);
+		for (int i = 0; i < count; i++)
 		{
-			workingName = workingName.replaceAll(" \\(\\d.*\\)", "") + " (" + i + ")";
-			i++;
+			names.add(namer.getUniqueName(name));
 		}
-		return workingName;
+		return names;
 	}
 
 	/**
@@ -103,7 +131,31 @@ public class InitHolderList extends ArrayList<InitHolder>
 	@Override
 	public boolean add(InitHolder user)
 	{
-		boolean result = super.add(user);
+		if (isSorted())
+		{
+			super.add(insertionPoint(user), user);
+		}
+		else
+		{
+			// An initiative was changed in place, so the list must be re-sorted
+			super.add(user);
+			this.sort();
+		}
+		return true;
+	}
+
+	/**
+	 * Adds all of the given InitHolders to the list, sorting the list once
+	 * rather than once per InitHolder.
+	 *
+	 * @param holders
+	 *          The InitHolders to be added
+	 * @return true if the list changed
+	 */
+	@Override
+	public boolean addAll(Collection<? extends InitHolder> holders)
+	{
+		boolean result = super.addAll(holders);
 
 		if (result)
 		{
@@ -113,6 +165,72 @@ public class InitHolderList extends ArrayList<InitHolder>
 		return result;
 	}
 
+	/**
+	 * Adds all of the given InitHolders to the list. Any Combatant whose name
+	 * is already in use (in the list or earlier in the given holders) is
+	 * renamed, as by getUniqueName. The list is only scanned and sorted once.
+	 *
+	 * @param holders
+	 *          The InitHolders to be added
+	 */
+	public void addAllWithUniqueNames(Collection<? extends InitHolder> holders)
+	{
+		UniqueNamer namer = new UniqueNamer();
+		for (InitHolder iH : holders)
+		{
+			if (iH instanceof Combatant)
+			{
+				Combatant cbt = (Combatant) iH;
+				String name = namer.getUniqueName(cbt.getName());
+				if (!name.equals(cbt.getName()))
+				{
+					cbt.setName(name);
+				}
+			}
+		}
+		addAll(holders);
+	}
+
+	/**
+	 * Returns true if the list is in order. Initiatives can be changed without
+	 * the list being re-sorted, so this cannot be assumed when inserting.
+	 */
+	private boolean isSorted()
+	{
+		for (int i = 1; i < size(); i++)
+		{
+			if (COMPARATOR.compare(get(i - 1), get(i)) > 0)
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the index at which the given InitHolder should be inserted to
+	 * keep the list sorted. The new InitHolder goes after any InitHolders that
+	 * compare as equal, which is where a stable sort would place it.
+	 */
+	private int insertionPoint(InitHolder user)
+	{
+		int low = 0;
+		int high = size();
+		while (low < high)
+		{
+			int mid = (low + high) >>> 1;
+			if (COMPARATOR.compare(get(mid), user) <= 0)
+			{
+				low = mid + 1;
+			}
+			else
+			{
+				high = mid;
+			}
+		}
+		return low;
+	}
+
 	/**
 	 * Calculate the initiative
 	 */
@@ -185,6 +303,44 @@ public class InitHolderList extends ArrayList<InitHolder>
 	/** sorts the list based on initiative */
 	public void sort()
 	{
-		this.sort(new InitHolderComperator());
+		this.sort(COMPARATOR);
+	}
+
+	/**
+	 * Generates unique names against a single snapshot of the names in the
+	 * list, keeping a counter per base name so that naming N similar
+	 * combatants does not rescan the list for every candidate.
+	 */
+	private final class UniqueNamer
+	{
+		private final Set<String> usedNames = new HashSet<>();
+		private final Map<String, Integer> nextSuffix = new HashMap<>();
+
+		private UniqueNamer()
+		{
+			for (InitHolder iH : InitHolderList.this)
+			{
+				usedNames.add(iH.getName());
+			}
+		}
+
+		private String getUniqueName(String name)
+		{
+			String workingName = name;
+			if (usedNames.contains(workingName))
+			{
+				String baseName = UNIQUE_SUFFIX.matcher(name).replaceAll("");
+				int i = nextSuffix.getOrDefault(baseName, 1);
+				do
+				{
+					workingName = baseName + " (" + i + ")";
+					i++;
+				}
+				while (usedNames.contains(workingName));
+				nextSuffix.put(baseName, i);
+			}
+			usedNames.add(workingName);
+			return workingName;
+		}
 	}
 }
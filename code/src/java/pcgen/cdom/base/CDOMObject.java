@@ -51,6 +51,7 @@ import pcgen.cdom.enumeration.VariableKey;
 import pcgen.cdom.formula.PCGenScoped;
 import pcgen.cdom.helper.InfoBoolean;
 import pcgen.cdom.helper.VarHolderSupport;
+import pcgen.cdom.util.CompactKeyMap;
 import pcgen.cdom.util.FactSetKeyMapToList;
 import pcgen.cdom.util.ListKeyMapToList;
 import pcgen.cdom.util.MapKeyMap;
@@ -59,6 +60,7 @@ import pcgen.core.Equipment;
 import pcgen.core.PlayerCharacter;
 import pcgen.core.analysis.BonusActivation;
 import pcgen.core.bonus.BonusObj;
+import pcgen.util.LoadInterner;
 
 public abstract class CDOMObject extends ConcretePrereqObject
 		implements Cloneable, BonusContainer, Loadable, Reducible, PCGenScoped, VarHolder,
@@ -86,27 +88,27 @@ public abstract class CDOMObject extends ConcretePrereqObject
 	 */
 	/** A map to hold items keyed by Integers for the object */
 	// TODO make this final once clone() is no longer required...
-	private Map<IntegerKey, Integer> integerChar = null;
+	private CompactKeyMap<IntegerKey, Integer> integerChar = null;
 
 	/** A map to hold items keyed by Strings for the object */
 	// TODO make this final once clone() is no longer required...
-	private Map<StringKey, String> stringChar = null;
+	private CompactKeyMap<StringKey, String> stringChar = null;
 
 	/** A map to hold items keyed by Strings for the object */
 	// TODO make this final once clone() is no longer required...
-	private Map<FormulaKey, Formula> formulaChar = null;
+	private CompactKeyMap<FormulaKey, Formula> formulaChar = null;
 
 	/** A map to hold items keyed by Strings for the object */
 	// TODO make this final once clone() is no longer required...
-	private Map<VariableKey, Formula> variableChar = null;
+	private CompactKeyMap<VariableKey, Formula> variableChar = null;
 
 	/** A map to hold items keyed by Strings for the object */
 	// TODO make this final once clone() is no longer required...
-	private Map<ObjectKey<?>, Object> objectChar = null;
+	private CompactKeyMap<ObjectKey<?>, Object> objectChar = null;
 
 	/** A map to hold items keyed by Strings for the object */
 	// TODO make this final once clone() is no longer required...
-	private Map<FactKey<?>, Object> factChar = null;
+	private CompactKeyMap<FactKey<?>, Object> factChar = null;
 
 	/** A map to hold items keyed by Strings for the object */
 	// TODO make this final once clone() is no longer required...
@@ -149,7 +151,7 @@ public abstract class CDOMObject extends ConcretePrereqObject
 	{
 		if (integerChar == null)
 		{
-			integerChar = new HashMap<>();
+			integerChar = new CompactKeyMap<>(IntegerKey.class, IntegerKey::getOrdinal);
 		}
 		return integerChar.put(key, intValue);
 	}
@@ -189,9 +191,9 @@ public abstract class CDOMObject extends ConcretePrereqObject
 	{
 		if (stringChar == null)
 		{
-			stringChar = new HashMap<>();
+			stringChar = new CompactKeyMap<>(StringKey.class, StringKey::ordinal);
 		}
-		return stringChar.put(key, value);
+		return stringChar.put(key, LoadInterner.intern(value));
 	}
 
 	public final String remove(StringKey key)
@@ -229,7 +231,7 @@ public abstract class CDOMObject extends ConcretePrereqObject
 	{
 		if (formulaChar == null)
 		{
-			formulaChar = new HashMap<>();
+			formulaChar = new CompactKeyMap<>(FormulaKey.class, FormulaKey::getOrdinal);
 		}
 		return formulaChar.put(key, value);
 	}
@@ -268,7 +270,7 @@ public abstract class CDOMObject extends ConcretePrereqObject
 	{
 		if (variableChar == null)
 		{
-			variableChar = new HashMap<>();
+			variableChar = new CompactKeyMap<>(VariableKey.class, VariableKey::getOrdinal);
 		}
 		return variableChar.put(key, value);
 	}
@@ -308,7 +310,7 @@ public abstract class CDOMObject extends ConcretePrereqObject
 	{
 		if (objectChar == null)
 		{
-			objectChar = new HashMap<>();
+			objectChar = new CompactKeyMap<>(ObjectKey.class, ObjectKey::getOrdinal);
 		}
 		return key.cast(objectChar.put(key, value));
 	}
@@ -363,7 +365,7 @@ public abstract class CDOMObject extends ConcretePrereqObject
 	{
 		if (factChar == null)
 		{
-			factChar = new HashMap<>();
+			factChar = new CompactKeyMap<>(FactKey.class, FactKey::getOrdinal);
 		}
 		return key.cast(factChar.put(key, value));
 	}
@@ -911,6 +913,48 @@ public abstract class CDOMObject extends ConcretePrereqObject
 		return cdomListMods == null ? Collections.emptySet() : cdomListMods.getKeySet();
 	}
 
+	/**
+	 * Releases any spare capacity held by the characteristics of this
+	 * CDOMObject. This is called once data loading is complete, as most loaded
+	 * objects are not modified after that point; any later change simply
+	 * grows the storage again.
+	 */
+	public void trimToSize()
+	{
+		if (integerChar != null)
+		{
+			integerChar.trimToSize();
+		}
+		if (stringChar != null)
+		{
+			stringChar.trimToSize();
+		}
+		if (formulaChar != null)
+		{
+			formulaChar.trimToSize();
+		}
+		if (variableChar != null)
+		{
+			variableChar.trimToSize();
+		}
+		if (objectChar != null)
+		{
+			objectChar.trimToSize();
+		}
+		if (factChar != null)
+		{
+			factChar.trimToSize();
+		}
+		if (factSetChar != null)
+		{
+			factSetChar.trimToSize();
+		}
+		if (listChar != null)
+		{
+			listChar.trimToSize();
+		}
+	}
+
 	public final void overlayCDOMObject(CDOMObject cdo)
 	{
 		addAllPrerequisites(cdo.getPrerequisiteList());
@@ -918,7 +962,7 @@ public abstract class CDOMObject extends ConcretePrereqObject
 		{
 			if (integerChar == null)
 			{
-				integerChar = new HashMap<>();
+				integerChar = new CompactKeyMap<>(IntegerKey.class, IntegerKey::getOrdinal);
 			}
 			integerChar.putAll(cdo.integerChar);
 		}
@@ -926,7 +970,7 @@ public abstract class CDOMObject extends ConcretePrereqObject
 		{
 			if (stringChar == null)
 			{
-				stringChar = new HashMap<>();
+				stringChar = new CompactKeyMap<>(StringKey.class, StringKey::ordinal);
 			}
 			stringChar.putAll(cdo.stringChar);
 		}
@@ -934,7 +978,7 @@ public abstract class CDOMObject extends ConcretePrereqObject
 		{
 			if (formulaChar == null)
 			{
-				formulaChar = new HashMap<>();
+				formulaChar = new CompactKeyMap<>(FormulaKey.class, FormulaKey::getOrdinal);
 			}
 			formulaChar.putAll(cdo.formulaChar);
 		}
@@ -942,7 +986,7 @@ public abstract class CDOMObject extends ConcretePrereqObject
 		{
 			if (objectChar == null)
 			{
-				objectChar = new HashMap<>();
+				objectChar = new CompactKeyMap<>(ObjectKey.class, ObjectKey::getOrdinal);
 			}
 			objectChar.putAll(cdo.objectChar);
 		}
@@ -950,7 +994,7 @@ public abstract class CDOMObject extends ConcretePrereqObject
 		{
 			if (factChar == null)
 			{
-				factChar = new HashMap<>();
+				factChar = new CompactKeyMap<>(FactKey.class, FactKey::getOrdinal);
 			}
 			factChar.putAll(cdo.factChar);
 		}
@@ -958,7 +1002,7 @@ public abstract class CDOMObject extends ConcretePrereqObject
 		{
 			if (variableChar == null)
 			{
-				variableChar = new HashMap<>();
+				variableChar = new CompactKeyMap<>(VariableKey.class, VariableKey::getOrdinal);
 			}
 			variableChar.putAll(cdo.variableChar);
 		}
@@ -1000,12 +1044,12 @@ public abstract class CDOMObject extends ConcretePrereqObject
 	public CDOMObject clone() throws CloneNotSupportedException
 	{
 		CDOMObject clone = (CDOMObject) super.clone();
-		clone.integerChar = integerChar == null ? null : new HashMap<>(integerChar);
-		clone.stringChar = stringChar == null ? null : new HashMap<>(stringChar);
-		clone.formulaChar = formulaChar == null ? null : new HashMap<>(formulaChar);
-		clone.variableChar = variableChar == null ? null : new HashMap<>(variableChar);
-		clone.objectChar = objectChar == null ? null : new HashMap<>(objectChar);
-		clone.factChar = factChar == null ? null : new HashMap<>(factChar);
+		clone.integerChar = integerChar == null ? null : new CompactKeyMap<>(integerChar);
+		clone.stringChar = stringChar == null ? null : new CompactKeyMap<>(stringChar);
+		clone.formulaChar = formulaChar == null ? null : new CompactKeyMap<>(formulaChar);
+		clone.variableChar = variableChar == null ? null : new CompactKeyMap<>(variableChar);
+		clone.objectChar = objectChar == null ? null : new CompactKeyMap<>(objectChar);
+		clone.factChar = factChar == null ? null : new CompactKeyMap<>(factChar);
 		if (listChar != null)
 		{
 			clone.listChar = new ListKeyMapToList();
@@ -33,6 +33,7 @@ import pcgen.base.util.FormatManager;
 import pcgen.cdom.formula.scope.PCGenScope;
 import pcgen.core.Equipment;
 import pcgen.core.PlayerCharacter;
+import pcgen.util.LoadInterner;
 
 /**
  * FormulaFactory is a utility class which creates Formula objects based on the
@@ -61,7 +62,8 @@ public final class FormulaFactory
 	}
 
 	/**
-	 * Returns a Formula for the given String.
+	 * Returns a Formula for the given String. While data is loading, identical
+	 * Strings share a single Formula.
 	 * 
 	 * @param formulaString
 	 *            The String to be converted to a Formula
@@ -75,6 +77,16 @@ public final class FormulaFactory
 		{
 			throw new IllegalArgumentException("Formula cannot be empty");
 		}
+		Formula shared = LoadInterner.getShared(LoadInterner.Category.FORMULA, formulaString);
+		if (shared != null)
+		{
+			return shared;
+		}
+		return LoadInterner.share(LoadInterner.Category.FORMULA, formulaString, createFormulaFor(formulaString));
+	}
+
+	private static Formula createFormulaFor(String formulaString)
+	{
 		try
 		{
 			return getFormulaFor(Integer.valueOf(formulaString));
@@ -89,7 +101,7 @@ public final class FormulaFactory
 			catch (NumberFormatException e2)
 			{
 				// Okay, just not a double
-				return new JEPFormula(formulaString);
+				return new JEPFormula(LoadInterner.intern(formulaString));
 			}
 		}
 	}
@@ -105,7 +117,7 @@ public final class FormulaFactory
 	 */
 	public static Formula getFormulaFor(Number number)
 	{
-		return new NumberFormula(number);
+		return LoadInterner.share(LoadInterner.Category.FORMULA, number, new NumberFormula(number));
 	}
 
 	/**
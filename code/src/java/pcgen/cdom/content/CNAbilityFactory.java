@@ -17,8 +17,8 @@
  */
 package pcgen.cdom.content;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import pcgen.cdom.base.Category;
 import pcgen.cdom.enumeration.Nature;
@@ -32,18 +32,18 @@ public final class CNAbilityFactory
 		//Do not instantiate
 	}
 
-	private static final Map<CNAbility, CNAbility> MAP = new HashMap<>();
+	/**
+	 * Characters may be calculated on separate threads, so the map is
+	 * concurrent and each CNAbility is added atomically, ensuring every thread
+	 * receives the same instance.
+	 */
+	private static final Map<CNAbility, CNAbility> MAP = new ConcurrentHashMap<>();
 
 	public static CNAbility getCNAbility(Category<Ability> cat, Nature n, Ability a)
 	{
 		CNAbility toMatch = new CNAbility(cat, a, n);
-		CNAbility result = MAP.get(toMatch);
-		if (result == null)
-		{
-			MAP.put(toMatch, toMatch);
-			return toMatch;
-		}
-		return result;
+		CNAbility result = MAP.putIfAbsent(toMatch, toMatch);
+		return (result == null) ? toMatch : result;
 	}
 
 	public static void reset()
@@ -20,10 +20,13 @@ package pcgen.cdom.enumeration;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import pcgen.base.enumeration.TypeSafeConstant;
-import pcgen.base.util.CaseInsensitiveMap;
+import pcgen.base.lang.CaseInsensitiveString;
 
 /**
  * This Class is a Type Safe Constant. It is designed to allow Ability Aspect
@@ -35,11 +38,15 @@ import pcgen.base.util.CaseInsensitiveMap;
 public final class AspectName implements TypeSafeConstant, Comparable<AspectName>
 {
 
-	/** This Map contains the mappings from Strings to the Type Safe Constant. */
-	private static CaseInsensitiveMap<AspectName> nameMap;
+	/**
+	 * This Map contains the mappings from Strings to the Type Safe Constant.
+	 * Aspect names are looked up (and created) while characters are exported,
+	 * which may happen on several threads at once, so the map is concurrent.
+	 */
+	private static final Map<CaseInsensitiveString, AspectName> NAME_MAP = new ConcurrentHashMap<>();
 
 	/** This is used to provide a unique ordinal to each constant in this class. */
-	private static int ordinalCount = 0;
+	private static final AtomicInteger ORDINAL_COUNT = new AtomicInteger();
 
 	/** The name of this Constant. */
 	private final String fieldName;
@@ -56,7 +63,7 @@ public final class AspectName implements TypeSafeConstant, Comparable<AspectName
 	private AspectName(String name)
 	{
 		Objects.requireNonNull(name, "Name for AspectName cannot be null");
-		ordinal = ordinalCount++;
+		ordinal = ORDINAL_COUNT.getAndIncrement();
 		fieldName = name;
 	}
 
@@ -94,25 +101,7 @@ public final class AspectName implements TypeSafeConstant, Comparable<AspectName
 	 */
 	public static AspectName getConstant(String name)
 	{
-		initializeNameMap();
-		AspectName aspect = nameMap.get(name);
-		if (aspect == null)
-		{
-			aspect = new AspectName(name);
-			nameMap.put(name, aspect);
-		}
-		return aspect;
-	}
-
-	/**
-	 * Thread safe construction of typeMap.
-	 */
-	private static synchronized void initializeNameMap()
-	{
-		if (nameMap == null)
-		{
-			nameMap = new CaseInsensitiveMap<>();
-		}
+		return NAME_MAP.computeIfAbsent(new CaseInsensitiveString(name), key -> new AspectName(name));
 	}
 
 	/**
@@ -130,8 +119,7 @@ public final class AspectName implements TypeSafeConstant, Comparable<AspectName
 	 */
 	public static AspectName valueOf(String name)
 	{
-		initializeNameMap();
-		AspectName aspect = nameMap.get(name);
+		AspectName aspect = NAME_MAP.get(new CaseInsensitiveString(name));
 		if (aspect == null)
 		{
 			throw new IllegalArgumentException(name + " is not a previously defined AspectName");
@@ -144,17 +132,14 @@ public final class AspectName implements TypeSafeConstant, Comparable<AspectName
 	 * 
 	 * This collection maintains a reference to the Constants in this Class, so
 	 * if a new Constant is created, the Collection returned by this method will
-	 * be modified. (Beware of ConcurrentModificationExceptions)
+	 * be modified. The Collection may be safely iterated while new Constants
+	 * are created.
 	 * 
 	 * @return a Collection of all of the Constants in this Class.
 	 */
 	public static Collection<AspectName> getAllConstants()
 	{
-		if (nameMap == null)
-		{
-			return Collections.emptyList();
-		}
-		return Collections.unmodifiableCollection(nameMap.values());
+		return Collections.unmodifiableCollection(NAME_MAP.values());
 	}
 
 	/**
@@ -169,10 +154,7 @@ public final class AspectName implements TypeSafeConstant, Comparable<AspectName
 	 */
 	public static void clearConstants()
 	{
-		if (nameMap != null)
-		{
-			nameMap.clear();
-		}
+		NAME_MAP.clear();
 	}
 
 	@Override
@@ -19,10 +19,12 @@ package pcgen.cdom.enumeration;
 
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import pcgen.base.enumeration.TypeSafeConstant;
 import pcgen.cdom.base.PCGenIdentifier;
-import pcgen.cdom.facet.base.AbstractStorageFacet;
 
 /**
  * 
@@ -35,7 +37,7 @@ public final class CharID implements TypeSafeConstant, PCGenIdentifier
 	/**
 	 * This is used to provide a unique ordinal to each constant in this class
 	 */
-	private static int ordinalCount = 0;
+	private static final AtomicInteger ORDINAL_COUNT = new AtomicInteger();
 
 	/**
 	 * The ordinal of this Constant
@@ -48,19 +50,38 @@ public final class CharID implements TypeSafeConstant, PCGenIdentifier
 	private final DataSetID datasetID;
 
 	/**
-	 * A view of the cache for this CharID. Generally useful for debuggers,
-	 * since this is a consolidated point for the cache for a single
-	 * CharID/PlayerCharacter (and useful to be here in CharID since there is
-	 * now code that no longer has any PlayerCharacter reference).
+	 * The cache for this CharID, as maintained by AbstractStorageFacet. Also
+	 * generally useful for debuggers, since this is a consolidated point for
+	 * the cache for a single CharID/PlayerCharacter (and useful to be here in
+	 * CharID since there is now code that no longer has any PlayerCharacter
+	 * reference).
 	 */
-	@SuppressWarnings("unused")
-	private Map<Class<?>, Object> myFacetCache;
+	private final Map<Class<?>, Object> myFacetCache = new ConcurrentHashMap<>();
 
-	private CharID(DataSetID dsid)
+	/**
+	 * The CharID this CharID is an overlay of, or null if this CharID is an
+	 * independent character.
+	 */
+	private final CharID overlayBase;
+
+	/**
+	 * The facet classes whose contents have been copied from the overlay base
+	 * into this CharID. Only used if this CharID is an overlay.
+	 */
+	private final Set<Class<?>> materialized;
+
+	/**
+	 * The number of changes made to the facet contents of this CharID.
+	 */
+	private final AtomicInteger changeCount = new AtomicInteger();
+
+	private CharID(DataSetID dsid, CharID base)
 	{
 		Objects.requireNonNull(dsid, "DataSetID cannot be null");
-		ordinal = ordinalCount++;
+		ordinal = ORDINAL_COUNT.getAndIncrement();
 		datasetID = dsid;
+		overlayBase = base;
+		materialized = (base == null) ? null : ConcurrentHashMap.newKeySet();
 	}
 
 	/**
@@ -79,9 +100,98 @@ public final class CharID implements TypeSafeConstant, PCGenIdentifier
 
 	public static CharID getID(DataSetID dsid)
 	{
-		CharID id = new CharID(dsid);
-		id.myFacetCache = AbstractStorageFacet.peekAtCache(id);
-		return id;
+		return new CharID(dsid, null);
+	}
+
+	/**
+	 * Returns a new CharID that is an overlay of the given CharID. The facet
+	 * contents of an overlay start out empty, and AbstractStorageFacet copies
+	 * the contents of a facet from the base the first time that facet is used
+	 * with the overlay. This makes the overlay behave like a full copy of the
+	 * base while only copying what is actually used.
+	 * 
+	 * The base must not be changed while the overlay is in use, since facets
+	 * not yet copied would then pick up those changes.
+	 * 
+	 * @param base
+	 *            The CharID of which the returned CharID is an overlay
+	 * @return A new CharID that is an overlay of the given CharID
+	 */
+	public static CharID getOverlayID(CharID base)
+	{
+		Objects.requireNonNull(base, "Overlay base CharID cannot be null");
+		return new CharID(base.datasetID, base);
+	}
+
+	/**
+	 * Returns the CharID this CharID is an overlay of.
+	 * 
+	 * @return The CharID this CharID is an overlay of, or null if this CharID
+	 *         is not an overlay
+	 */
+	public CharID getOverlayBase()
+	{
+		return overlayBase;
+	}
+
+	/**
+	 * Records that the contents of the facet identified by the given Class are
+	 * being copied from the overlay base into this CharID.
+	 * 
+	 * @param facetClass
+	 *            The Class of the facet being copied
+	 * @return true if this is the first time the facet was marked (and the
+	 *         contents should therefore be copied); false if this CharID is not
+	 *         an overlay or the facet was already marked
+	 */
+	public boolean markMaterialized(Class<?> facetClass)
+	{
+		return (materialized != null) && materialized.add(facetClass);
+	}
+
+	/**
+	 * Returns the number of facets whose contents have been copied from the
+	 * overlay base into this CharID.
+	 * 
+	 * @return The number of facets copied into this overlay, or zero if this
+	 *         CharID is not an overlay
+	 */
+	public int getMaterializedCount()
+	{
+		return (materialized == null) ? 0 : materialized.size();
+	}
+
+	/**
+	 * Records a change to the facet contents of this CharID. Called by the
+	 * facets as they announce changes to their listeners.
+	 */
+	public void markChanged()
+	{
+		changeCount.incrementAndGet();
+	}
+
+	/**
+	 * Returns the number of changes made to the facet contents of this CharID.
+	 * The value only ever moves on, so it can be compared with an earlier
+	 * value to detect any change.
+	 * 
+	 * @return The number of changes made to the facet contents of this CharID
+	 */
+	public int getChangeCount()
+	{
+		return changeCount.get();
+	}
+
+	/**
+	 * Returns the facet cache for this CharID. This is the storage behind
+	 * AbstractStorageFacet and should not be modified by any other class; use
+	 * AbstractStorageFacet.peekAtCache(PCGenIdentifier) for a read-only view.
+	 * 
+	 * @return The facet cache for this CharID
+	 */
+	public Map<Class<?>, Object> getFacetCache()
+	{
+		return myFacetCache;
 	}
 
 	@Override
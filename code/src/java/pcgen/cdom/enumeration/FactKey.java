@@ -44,14 +44,33 @@ public final class FactKey<T>
 
 	private final FormatManager<T> formatManager;
 
+	/**
+	 * This is used to provide a unique ordinal to each constant in this class
+	 */
+	private static int ordinalCount = 0;
+
+	/**
+	 * The ordinal of this Constant
+	 */
+	private final int ordinal;
+
 	private FactKey(String name, FormatManager<T> fmtManager)
 	{
 		Objects.requireNonNull(name, "Name for FactKey cannot be null");
 		Objects.requireNonNull(fmtManager, "FormatManager for FactKey cannot be null");
+		ordinal = ordinalCount++;
 		fieldName = name;
 		formatManager = fmtManager;
 	}
 
+	/**
+	 * Gets the ordinal of this Constant
+	 */
+	public int getOrdinal()
+	{
+		return ordinal;
+	}
+
 	/**
 	 * Converts this Constant to a String (returns the name of this Constant)
 	 * 
@@ -136,6 +155,23 @@ public final class FactKey<T>
 		typeMap.clear();
 	}
 
+	/**
+	 * Replaces the FactKeys in this Class with the given FactKeys, as previously
+	 * returned by getAllConstants(). This reinstates the FactKeys of a loaded data
+	 * set when it becomes the current data set again.
+	 * 
+	 * @param constants
+	 *            The FactKeys that should be known to this Class
+	 */
+	public static void restoreConstants(Collection<FactKey<?>> constants)
+	{
+		typeMap.clear();
+		for (FactKey<?> key : constants)
+		{
+			typeMap.put(key.fieldName, key);
+		}
+	}
+
 	/**
 	 * Designed to appropriately cast an object fetched with this FactKey.
 	 * 
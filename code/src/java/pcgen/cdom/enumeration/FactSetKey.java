@@ -44,14 +44,33 @@ public final class FactSetKey<T>
 
 	private final FormatManager<T> formatManager;
 
+	/**
+	 * This is used to provide a unique ordinal to each constant in this class
+	 */
+	private static int ordinalCount = 0;
+
+	/**
+	 * The ordinal of this Constant
+	 */
+	private final int ordinal;
+
 	private FactSetKey(String name, FormatManager<T> fmtManager)
 	{
 		Objects.requireNonNull(name, "Name for FactSetKey cannot be null");
 		Objects.requireNonNull(fmtManager, "FormatManager for FactSetKey cannot be null");
+		ordinal = ordinalCount++;
 		fieldName = name;
 		formatManager = fmtManager;
 	}
 
+	/**
+	 * Gets the ordinal of this Constant
+	 */
+	public int getOrdinal()
+	{
+		return ordinal;
+	}
+
 	/**
 	 * Converts this Constant to a String (returns the name of this Constant)
 	 * 
@@ -135,6 +154,23 @@ public final class FactSetKey<T>
 		typeMap.clear();
 	}
 
+	/**
+	 * Replaces the FactSetKeys in this Class with the given FactSetKeys, as previously
+	 * returned by getAllConstants(). This reinstates the FactSetKeys of a loaded data
+	 * set when it becomes the current data set again.
+	 * 
+	 * @param constants
+	 *            The FactSetKeys that should be known to this Class
+	 */
+	public static void restoreConstants(Collection<FactSetKey<?>> constants)
+	{
+		typeMap.clear();
+		for (FactSetKey<?> key : constants)
+		{
+			typeMap.put(key.fieldName, key);
+		}
+	}
+
 	/**
 	 * Designed to appropriately cast an object fetched with this FactSetKey.
 	 * 
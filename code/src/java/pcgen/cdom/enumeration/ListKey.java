@@ -293,10 +293,30 @@ public final class ListKey<T>
 		buildMap();
 	}
 
+	/**
+	 * This is used to provide a unique ordinal to each constant in this class.
+	 * It is deliberately not initialized, as the constants above are
+	 * constructed before this declaration would be reached.
+	 */
+	private static int ordinalCount;
+
+	/**
+	 * The ordinal of this Constant
+	 */
+	private final int ordinal;
+
 	/** Private constructor to prevent instantiation of this class */
 	private ListKey()
 	{
-		//Only allow instantiation here
+		ordinal = ordinalCount++;
+	}
+
+	/**
+	 * Gets the ordinal of this Constant
+	 */
+	public int getOrdinal()
+	{
+		return ordinal;
 	}
 
 	@SuppressWarnings("unchecked")
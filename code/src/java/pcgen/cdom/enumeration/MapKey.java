@@ -21,13 +21,10 @@ import java.text.MessageFormat;
 import java.util.List;
 
 import pcgen.base.lang.CaseInsensitiveString;
-import pcgen.base.util.HashMapToList;
-import pcgen.cdom.base.CDOMList;
 import pcgen.cdom.helper.Aspect;
 import pcgen.cdom.reference.CDOMSingleRef;
 import pcgen.core.PCClass;
 import pcgen.core.kit.KitTable;
-import pcgen.core.spell.Spell;
 import pcgen.util.enumeration.AttackType;
 
 /**
@@ -47,7 +44,6 @@ public final class MapKey<K, V>
 	/** ASPECT - a map key. */
 	public static final MapKey<AspectName, List<Aspect>> ASPECT = new MapKey<>();
 	public static final MapKey<String, String> PROPERTY = new MapKey<>();
-	public static final MapKey<Spell, HashMapToList<CDOMList<Spell>, Integer>> SPELL_PC_INFO = new MapKey<>();
 
 	public static final MapKey<CDOMSingleRef<? extends PCClass>, Integer> APPLIED_CLASS = new MapKey<>();
 	public static final MapKey<String, Integer> APPLIED_VARIABLE = new MapKey<>();
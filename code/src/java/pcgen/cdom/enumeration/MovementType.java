@@ -19,10 +19,13 @@ package pcgen.cdom.enumeration;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import pcgen.base.enumeration.TypeSafeConstant;
-import pcgen.base.util.CaseInsensitiveMap;
+import pcgen.base.lang.CaseInsensitiveString;
 
 /**
  * 
@@ -34,14 +37,17 @@ public final class MovementType implements TypeSafeConstant
 {
 
 	/**
-	 * This Map contains the mappings from Strings to the Type Safe Constant
+	 * This Map contains the mappings from Strings to the Type Safe Constant.
+	 * MovementTypes are looked up (and created) while characters are
+	 * calculated, which may happen on several threads at once, so the map is
+	 * concurrent.
 	 */
-	private static CaseInsensitiveMap<MovementType> typeMap;
+	private static final Map<CaseInsensitiveString, MovementType> TYPE_MAP = new ConcurrentHashMap<>();
 
 	/**
 	 * This is used to provide a unique ordinal to each constant in this class
 	 */
-	private static int ordinalCount = 0;
+	private static final AtomicInteger ORDINAL_COUNT = new AtomicInteger();
 
 	/**
 	 * The name of this Constant
@@ -56,7 +62,7 @@ public final class MovementType implements TypeSafeConstant
 	private MovementType(String name)
 	{
 		Objects.requireNonNull(name, "Name for MovementType cannot be null");
-		ordinal = ordinalCount++;
+		ordinal = ORDINAL_COUNT.getAndIncrement();
 		fieldName = name;
 	}
 
@@ -91,14 +97,7 @@ public final class MovementType implements TypeSafeConstant
 	 */
 	public static MovementType getConstant(String name)
 	{
-		initializeTypeMap();
-		MovementType racetype = typeMap.get(name);
-		if (racetype == null)
-		{
-			racetype = new MovementType(name);
-			typeMap.put(name, racetype);
-		}
-		return racetype;
+		return TYPE_MAP.computeIfAbsent(new CaseInsensitiveString(name), key -> new MovementType(name));
 	}
 
 	/**
@@ -114,8 +113,7 @@ public final class MovementType implements TypeSafeConstant
 	 */
 	public static MovementType valueOf(String name)
 	{
-		initializeTypeMap();
-		MovementType racetype = typeMap.get(name);
+		MovementType racetype = TYPE_MAP.get(new CaseInsensitiveString(name));
 		if (racetype == null)
 		{
 			throw new IllegalArgumentException(name + " is not a previously defined RaceType");
@@ -123,33 +121,19 @@ public final class MovementType implements TypeSafeConstant
 		return racetype;
 	}
 
-	/**
-	 * Thread safe construction of typeMap
-	 */
-	private static synchronized void initializeTypeMap()
-	{
-		if (typeMap == null)
-		{
-			typeMap = new CaseInsensitiveMap<>();
-		}
-	}
-
 	/**
 	 * Returns a Collection of all of the Constants in this Class.
 	 * 
 	 * This collection maintains a reference to the Constants in this Class, so
 	 * if a new Constant is created, the Collection returned by this method will
-	 * be modified. (Beware of ConcurrentModificationExceptions)
+	 * be modified. The Collection may be safely iterated while new Constants
+	 * are created.
 	 * 
 	 * @return a Collection of all of the Constants in this Class.
 	 */
 	public static Collection<MovementType> getAllConstants()
 	{
-		if (typeMap == null)
-		{
-			return Collections.emptyList();
-		}
-		return Collections.unmodifiableCollection(typeMap.values());
+		return Collections.unmodifiableCollection(TYPE_MAP.values());
 	}
 
 	/**
@@ -158,9 +142,23 @@ public final class MovementType implements TypeSafeConstant
 	 */
 	public static void clearConstants()
 	{
-		if (typeMap != null)
+		TYPE_MAP.clear();
+	}
+
+	/**
+	 * Replaces the Constants in this Class with the given Constants, as
+	 * previously returned by getAllConstants(). This reinstates the Constants
+	 * of a loaded data set when it becomes the current data set again.
+	 * 
+	 * @param constants
+	 *            The Constants that should be known to this Class
+	 */
+	public static void restoreConstants(Collection<MovementType> constants)
+	{
+		TYPE_MAP.clear();
+		for (MovementType constant : constants)
 		{
-			typeMap.clear();
+			TYPE_MAP.put(new CaseInsensitiveString(constant.fieldName), constant);
 		}
 	}
 
@@ -332,13 +332,34 @@ public class ObjectKey<T>
 		map.put("SIZE", SIZE);
 	}
 
+	/**
+	 * This is used to provide a unique ordinal to each constant in this class.
+	 * It is deliberately not initialized, as the constants above are
+	 * constructed before this declaration would be reached.
+	 */
+	private static int ordinalCount;
+
+	/**
+	 * The ordinal of this Constant
+	 */
+	private final int ordinal;
+
 	private final T defaultValue;
 
 	private ObjectKey(T def)
 	{
+		ordinal = ordinalCount++;
 		defaultValue = def;
 	}
 
+	/**
+	 * Gets the ordinal of this Constant
+	 */
+	public int getOrdinal()
+	{
+		return ordinal;
+	}
+
 	public T getDefault()
 	{
 		return defaultValue;
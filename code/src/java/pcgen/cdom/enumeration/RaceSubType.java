@@ -19,10 +19,13 @@ package pcgen.cdom.enumeration;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import pcgen.base.enumeration.TypeSafeConstant;
-import pcgen.base.util.CaseInsensitiveMap;
+import pcgen.base.lang.CaseInsensitiveString;
 
 /**
  * 
@@ -34,14 +37,16 @@ public final class RaceSubType implements TypeSafeConstant
 {
 
 	/**
-	 * This Map contains the mappings from Strings to the Type Safe Constant
+	 * This Map contains the mappings from Strings to the Type Safe Constant.
+	 * RaceSubTypes are looked up (and created) while prerequisites are tested,
+	 * which may happen on several threads at once, so the map is concurrent.
 	 */
-	private static CaseInsensitiveMap<RaceSubType> typeMap;
+	private static final Map<CaseInsensitiveString, RaceSubType> TYPE_MAP = new ConcurrentHashMap<>();
 
 	/**
 	 * This is used to provide a unique ordinal to each constant in this class
 	 */
-	private static int ordinalCount = 0;
+	private static final AtomicInteger ORDINAL_COUNT = new AtomicInteger();
 
 	/**
 	 * The name of this Constant
@@ -56,7 +61,7 @@ public final class RaceSubType implements TypeSafeConstant
 	private RaceSubType(String name)
 	{
 		Objects.requireNonNull(name, "Name for RaceSubType cannot be null");
-		ordinal = ordinalCount++;
+		ordinal = ORDINAL_COUNT.getAndIncrement();
 		fieldName = name;
 	}
 
@@ -91,25 +96,7 @@ public final class RaceSubType implements TypeSafeConstant
 	 */
 	public static RaceSubType getConstant(String name)
 	{
-		initializeTypeMap();
-		RaceSubType type = typeMap.get(name);
-		if (type == null)
-		{
-			type = new RaceSubType(name);
-			typeMap.put(name, type);
-		}
-		return type;
-	}
-
-	/**
-	 * Thread safe construction of typeMap
-	 */
-	private static synchronized void initializeTypeMap()
-	{
-		if (typeMap == null)
-		{
-			typeMap = new CaseInsensitiveMap<>();
-		}
+		return TYPE_MAP.computeIfAbsent(new CaseInsensitiveString(name), key -> new RaceSubType(name));
 	}
 
 	/**
@@ -125,8 +112,7 @@ public final class RaceSubType implements TypeSafeConstant
 	 */
 	public static RaceSubType valueOf(String name)
 	{
-		initializeTypeMap();
-		RaceSubType type = typeMap.get(name);
+		RaceSubType type = TYPE_MAP.get(new CaseInsensitiveString(name));
 		if (type == null)
 		{
 			throw new IllegalArgumentException(name + " is not a previously defined RaceSubType");
@@ -139,17 +125,14 @@ public final class RaceSubType implements TypeSafeConstant
 	 * 
 	 * This collection maintains a reference to the Constants in this Class, so
 	 * if a new Constant is created, the Collection returned by this method will
-	 * be modified. (Beware of ConcurrentModificationExceptions)
+	 * be modified. The Collection may be safely iterated while new Constants
+	 * are created.
 	 * 
 	 * @return a Collection of all of the Constants in this Class.
 	 */
 	public static Collection<RaceSubType> getAllConstants()
 	{
-		if (typeMap == null)
-		{
-			return Collections.emptyList();
-		}
-		return Collections.unmodifiableCollection(typeMap.values());
+		return Collections.unmodifiableCollection(TYPE_MAP.values());
 	}
 
 	/**
@@ -164,10 +147,7 @@ public final class RaceSubType implements TypeSafeConstant
 	 */
 	public static void clearConstants()
 	{
-		if (typeMap != null)
-		{
-			typeMap.clear();
-		}
+		TYPE_MAP.clear();
 	}
 
 }
@@ -170,4 +170,22 @@ public final class RaceType implements TypeSafeConstant
 		}
 	}
 
+	/**
+	 * Replaces the Constants in this Class with the given Constants, as
+	 * previously returned by getAllConstants(). This reinstates the Constants
+	 * of a loaded data set when it becomes the current data set again.
+	 * 
+	 * @param constants
+	 *            The Constants that should be known to this Class
+	 */
+	public static void restoreConstants(Collection<RaceType> constants)
+	{
+		initializeTypeMap();
+		typeMap.clear();
+		for (RaceType constant : constants)
+		{
+			typeMap.put(constant.fieldName, constant);
+		}
+	}
+
 }
@@ -20,11 +20,14 @@ package pcgen.cdom.enumeration;
 import java.lang.reflect.Field;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import pcgen.base.enumeration.TypeSafeConstant;
+import pcgen.base.lang.CaseInsensitiveString;
 import pcgen.base.lang.UnreachableError;
-import pcgen.base.util.CaseInsensitiveMap;
 import pcgen.cdom.base.Constants;
 
 /**
@@ -36,9 +39,16 @@ import pcgen.cdom.base.Constants;
 public final class Type implements TypeSafeConstant, Comparable<Type>
 {
 	/**
-	 * This Map contains the mappings from Strings to the Type Safe Constant
+	 * This Map contains the mappings from Strings to the Type Safe Constant.
+	 * Types are looked up (and created) while characters are calculated, which
+	 * may happen on several threads at once, so the map is concurrent.
 	 */
-	private static final CaseInsensitiveMap<Type> TYPE_MAP = new CaseInsensitiveMap<>();
+	private static final Map<CaseInsensitiveString, Type> TYPE_MAP = new ConcurrentHashMap<>();
+
+	/**
+	 * This is used to provide a unique ordinal to each constant in this class
+	 */
+	private static final AtomicInteger ORDINAL_COUNT = new AtomicInteger();
 
 	public static final Type NATURAL = getConstant("Natural");
 
@@ -107,11 +117,6 @@ public final class Type implements TypeSafeConstant, Comparable<Type>
 		buildMap();
 	}
 
-	/**
-	 * This is used to provide a unique ordinal to each constant in this class
-	 */
-	private static int ordinalCount = 0;
-
 	/**
 	 * The name of this Constant
 	 */
@@ -125,7 +130,7 @@ public final class Type implements TypeSafeConstant, Comparable<Type>
 	private Type(String name)
 	{
 		Objects.requireNonNull(name, "Name for Type cannot be null");
-		ordinal = ordinalCount++;
+		ordinal = ORDINAL_COUNT.getAndIncrement();
 		fieldName = name;
 	}
 
@@ -172,13 +177,7 @@ public final class Type implements TypeSafeConstant, Comparable<Type>
 	 */
 	public static Type getConstant(String name)
 	{
-		Type type = TYPE_MAP.get(name);
-		if (type == null)
-		{
-			type = new Type(name);
-			TYPE_MAP.put(name, type);
-		}
-		return type;
+		return TYPE_MAP.computeIfAbsent(new CaseInsensitiveString(name), key -> new Type(name));
 	}
 
 	/**
@@ -194,7 +193,7 @@ public final class Type implements TypeSafeConstant, Comparable<Type>
 	 */
 	public static Type valueOf(String name)
 	{
-		Type type = TYPE_MAP.get(name);
+		Type type = TYPE_MAP.get(new CaseInsensitiveString(name));
 		if (type == null)
 		{
 			throw new IllegalArgumentException(name + " is not a previously defined Type");
@@ -207,7 +206,8 @@ public final class Type implements TypeSafeConstant, Comparable<Type>
 	 * 
 	 * This collection maintains a reference to the Constants in this Class, so
 	 * if a new Constant is created, the Collection returned by this method will
-	 * be modified. (Beware of ConcurrentModificationExceptions)
+	 * be modified. The Collection may be safely iterated while new Constants
+	 * are created.
 	 * 
 	 * @return a Collection of all of the Constants in this Class.
 	 */
@@ -245,7 +245,7 @@ public final class Type implements TypeSafeConstant, Comparable<Type>
 					Object obj = fields[i].get(null);
 					if (obj instanceof Type)
 					{
-						TYPE_MAP.put(fields[i].getName(), (Type) obj);
+						TYPE_MAP.put(new CaseInsensitiveString(fields[i].getName()), (Type) obj);
 					}
 				}
 				catch (IllegalArgumentException | IllegalAccessException e)
@@ -17,14 +17,20 @@
  */
 package pcgen.cdom.facet;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
-import java.util.Set;
+import java.util.function.Predicate;
 
 import pcgen.base.util.HashMapToList;
 import pcgen.cdom.base.CDOMList;
 import pcgen.cdom.enumeration.CharID;
+import pcgen.cdom.facet.base.AbstractStorageFacet;
 import pcgen.cdom.facet.base.AbstractSubScopeFacet;
+import pcgen.cdom.helper.AvailableSpell;
+import pcgen.cdom.helper.SpellLevelIndex;
 import pcgen.cdom.list.ClassSpellList;
 import pcgen.cdom.list.DomainSpellList;
 import pcgen.core.spell.Spell;
@@ -34,10 +40,53 @@ import pcgen.util.Logging;
  * AvailableSpellFacet is a Facet that tracks the Available Spells (and target
  * objects) that are contained in a Player Character.
  * 
+ * The unconditional spell levels of the loaded data are held once for all
+ * Player Characters in the SpellLevelIndex of the MasterAvailableSpellFacet.
+ * This facet separately records only the Available Spells that are not in
+ * that index (those granted conditionally or by other objects), so a spell
+ * level lookup does not need to scan every Available Spell.
  */
 public class AvailableSpellFacet extends AbstractSubScopeFacet<CDOMList<Spell>, Integer, Spell>
 {
 
+	private MasterAvailableSpellFacet masterAvailableSpellFacet;
+
+	private final AdditionStore additionStore = new AdditionStore();
+
+	@Override
+	public void add(CharID id, CDOMList<Spell> scope1, Integer scope2, Spell obj, Object source)
+	{
+		boolean isNew = !contains(id, scope1, scope2, obj);
+		super.add(id, scope1, scope2, obj, source);
+		if (isNew && !getSpellLevelIndex(id).contains(scope1, scope2, obj))
+		{
+			additionStore.add(id, new AvailableSpell(scope1, obj, scope2));
+		}
+	}
+
+	@Override
+	public void remove(CharID id, CDOMList<Spell> scope1, Integer scope2, Spell obj, Object source)
+	{
+		super.remove(id, scope1, scope2, obj, source);
+		if (!contains(id, scope1, scope2, obj))
+		{
+			additionStore.remove(id, scope1, scope2, obj);
+		}
+	}
+
+	@Override
+	public void removeAllFromSource(CharID id, Object source)
+	{
+		super.removeAllFromSource(id, source);
+		additionStore.retainAll(id, as -> contains(id, as.getSpelllist(), as.getLevel(), as.getSpell()));
+	}
+
+	private SpellLevelIndex getSpellLevelIndex(CharID id)
+	{
+		return (masterAvailableSpellFacet == null) ? SpellLevelIndex.EMPTY
+			: masterAvailableSpellFacet.getSpellLevelIndex(id.getDatasetID());
+	}
+
 	/**
 	 * Returns a non-null HashMapToList indicating the spell levels and sources
 	 * of those spell levels available to a Player Character for a given Spell.
@@ -72,46 +121,155 @@ public class AvailableSpellFacet extends AbstractSubScopeFacet<CDOMList<Spell>,
 	public HashMapToList<CDOMList<Spell>, Integer> getSpellLevelInfo(CharID id, Spell sp)
 	{
 		HashMapToList<CDOMList<Spell>, Integer> levelInfo = new HashMapToList<>();
-		Map<CDOMList<Spell>, Map<Integer, Map<Spell, Set<Object>>>> listMap =
-				(Map<CDOMList<Spell>, Map<Integer, Map<Spell, Set<Object>>>>) getCache(id);
-		if (listMap == null)
+		if (getCache(id) == null)
 		{
 			return levelInfo;
 		}
-		for (Entry<CDOMList<Spell>, Map<Integer, Map<Spell, Set<Object>>>> me : listMap.entrySet())
+		SpellLevelIndex.Entries entries = getSpellLevelIndex(id).getEntries(sp);
+		if (entries != null)
 		{
-			CDOMList<Spell> list = me.getKey();
-			//Check to ensure we don't use SPELLS:
-			if (!(list instanceof ClassSpellList) && !(list instanceof DomainSpellList))
+			for (int i = 0; i < entries.size(); i++)
 			{
-				continue;
+				CDOMList<Spell> list = entries.getList(i);
+				Integer level = entries.getLevel(i);
+				Spell spell = entries.getSpell(i);
+				if (contains(id, list, level, spell))
+				{
+					addLevelInfo(levelInfo, list, level, spell, sp);
+				}
 			}
-			Map<Integer, Map<Spell, Set<Object>>> levelMap = me.getValue();
-			for (Map.Entry<Integer, Map<Spell, Set<Object>>> lme : levelMap.entrySet())
+		}
+		List<AvailableSpell> additions = additionStore.get(id, sp);
+		if (additions != null)
+		{
+			for (AvailableSpell as : additions)
 			{
-				Integer level = lme.getKey();
-				Map<Spell, Set<Object>> spellMap = lme.getValue();
-				if (spellMap.containsKey(sp))
+				CDOMList<Spell> list = as.getSpelllist();
+				//Check to ensure we don't use SPELLS:
+				if (!(list instanceof ClassSpellList) && !(list instanceof DomainSpellList))
 				{
-					levelInfo.addToListFor(list, level);
+					continue;
 				}
-				else
+				Integer level = as.getLevel();
+				if (contains(id, list, level, as.getSpell()))
 				{
-					for (Spell spell : spellMap.keySet())
-					{
-						if (spell.getKeyName().equals(sp.getKeyName()))
-						{
-							if (Logging.isLoggable(Logging.INFO))
-							{
-								Logging.log(Logging.INFO, "Found alternate spell of same key: " + spell + " from "
-									+ spell.getSource() + " rather than " + sp.getSource());
-							}
-							levelInfo.addToListFor(list, level);
-						}
-					}
+					addLevelInfo(levelInfo, list, level, as.getSpell(), sp);
 				}
 			}
 		}
 		return levelInfo;
 	}
+
+	private static void addLevelInfo(HashMapToList<CDOMList<Spell>, Integer> levelInfo, CDOMList<Spell> list,
+		Integer level, Spell spell, Spell sp)
+	{
+		if ((spell != sp) && Logging.isLoggable(Logging.INFO))
+		{
+			Logging.log(Logging.INFO, "Found alternate spell of same key: " + spell + " from " + spell.getSource()
+				+ " rather than " + sp.getSource());
+		}
+		levelInfo.addToListFor(list, level);
+	}
+
+	public void setMasterAvailableSpellFacet(MasterAvailableSpellFacet masterAvailableSpellFacet)
+	{
+		this.masterAvailableSpellFacet = masterAvailableSpellFacet;
+	}
+
+	/**
+	 * Stores, by spell key, the Available Spells of each Player Character that
+	 * are not in the SpellLevelIndex. Each Available Spell is stored at most
+	 * once, and entries are removed when the Available Spell is removed from
+	 * the AvailableSpellFacet.
+	 */
+	private static class AdditionStore extends AbstractStorageFacet<CharID>
+	{
+		@SuppressWarnings("unchecked")
+		private Map<String, List<AvailableSpell>> getInfo(CharID id)
+		{
+			return (Map<String, List<AvailableSpell>>) getCache(id);
+		}
+
+		private void add(CharID id, AvailableSpell as)
+		{
+			Map<String, List<AvailableSpell>> map = getInfo(id);
+			if (map == null)
+			{
+				map = new HashMap<>();
+				setCache(id, map);
+			}
+			List<AvailableSpell> additions = map.computeIfAbsent(as.getSpell().getKeyName(), k -> new ArrayList<>(2));
+			for (AvailableSpell existing : additions)
+			{
+				if (matches(existing, as.getSpelllist(), as.getLevel(), as.getSpell()))
+				{
+					return;
+				}
+			}
+			additions.add(as);
+		}
+
+		private static boolean matches(AvailableSpell as, CDOMList<Spell> list, int level, Spell spell)
+		{
+			return (as.getLevel() == level) && (as.getSpell() == spell) && (as.getSpelllist() == list);
+		}
+
+		private void retainAll(CharID id, Predicate<AvailableSpell> keep)
+		{
+			Map<String, List<AvailableSpell>> map = getInfo(id);
+			if (map == null)
+			{
+				return;
+			}
+			for (Iterator<List<AvailableSpell>> it = map.values().iterator(); it.hasNext();)
+			{
+				List<AvailableSpell> additions = it.next();
+				additions.removeIf(keep.negate());
+				if (additions.isEmpty())
+				{
+					it.remove();
+				}
+			}
+		}
+
+		private void remove(CharID id, CDOMList<Spell> list, int level, Spell spell)
+		{
+			Map<String, List<AvailableSpell>> map = getInfo(id);
+			if (map == null)
+			{
+				return;
+			}
+			List<AvailableSpell> additions = map.get(spell.getKeyName());
+			if (additions == null)
+			{
+				return;
+			}
+			for (Iterator<AvailableSpell> it = additions.iterator(); it.hasNext();)
+			{
+				if (matches(it.next(), list, level, spell))
+				{
+					it.remove();
+				}
+			}
+			if (additions.isEmpty())
+			{
+				map.remove(spell.getKeyName());
+			}
+		}
+
+		private List<AvailableSpell> get(CharID id, Spell spell)
+		{
+			Map<String, List<AvailableSpell>> map = getInfo(id);
+			return (map == null) ? null : map.get(spell.getKeyName());
+		}
+
+		@Override
+		public void copyContents(CharID source, CharID copy)
+		{
+			/*
+			 * Nothing to do: AvailableSpellFacet.copyContents adds each
+			 * Available Spell to the copy, which rebuilds this store.
+			 */
+		}
+	}
 }
@@ -19,8 +19,12 @@ package pcgen.cdom.facet;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import pcgen.cdom.base.Category;
@@ -30,6 +34,8 @@ import pcgen.cdom.enumeration.CharID;
 import pcgen.cdom.enumeration.Nature;
 import pcgen.cdom.enumeration.ObjectKey;
 import pcgen.cdom.facet.base.AbstractCNASEnforcingFacet;
+import pcgen.cdom.facet.base.AbstractStorageFacet;
+import pcgen.cdom.facet.event.DataFacetChangeEvent;
 import pcgen.cdom.helper.CNAbilitySelection;
 import pcgen.core.Ability;
 import pcgen.core.AbilityCategory;
@@ -40,175 +46,471 @@ import pcgen.util.enumeration.View;
  * A GrantedAbilityFacet is a DataFacet that contains information about Ability
  * objects that are contained in a Player Character,
  * 
+ * The CNAbility objects of the active selections are also indexed by pool
+ * category, parent category, Nature and key, so that the read only views
+ * (getCNAbilitiesView, getPoolAbilitiesView and friends) can be answered
+ * without scanning or copying. Those views are live: they reflect later
+ * changes to the Player Character and must not be iterated while the Player
+ * Character is being modified.
  */
 public class GrantedAbilityFacet extends AbstractCNASEnforcingFacet implements SetFacet<CharID, CNAbilitySelection>
 {
 
-	public boolean hasAbilityVisibleTo(CharID id, Category<Ability> cat, View view)
+	private final IndexStore indexStore = new IndexStore();
+
+	/**
+	 * Keeps the index in step with the active selections. Every change to the
+	 * active (first) selection of a group is announced through this method,
+	 * so the index holds exactly the CNAbility of each active selection.
+	 */
+	@Override
+	protected void fireDataFacetChangeEvent(CharID id, CNAbilitySelection node, int type)
 	{
-		List<List<SourcedCNAS>> list = getList(id);
-		if (list != null)
+		if (type == DataFacetChangeEvent.DATA_ADDED)
 		{
-			for (List<SourcedCNAS> array : list)
+			indexStore.getConstructingIndex(id).add(node.getCNAbility());
+		}
+		else
+		{
+			AbilityIndex index = indexStore.getIndex(id);
+			if (index != null)
 			{
-				CNAbility cna = array.get(0).cnas.getCNAbility();
-				Ability a = cna.getAbility();
-				if (cna.getAbilityCategory().equals(cat) && a.getSafe(ObjectKey.VISIBILITY).isVisibleTo(view))
-				{
-					return true;
-				}
+				index.remove(node.getCNAbility());
 			}
 		}
-		return false;
+		super.fireDataFacetChangeEvent(id, node, type);
 	}
 
-	public Collection<CNAbility> getPoolAbilities(CharID id, Category<Ability> cat)
+	@Override
+	public void copyContents(CharID source, CharID copy)
 	{
-		List<List<SourcedCNAS>> list = getList(id);
-		List<CNAbility> returnList = new ArrayList<>();
+		super.copyContents(source, copy);
+		List<List<SourcedCNAS>> list = getList(copy);
 		if (list != null)
 		{
+			AbilityIndex index = new AbilityIndex();
 			for (List<SourcedCNAS> array : list)
 			{
-				CNAbility cna = array.get(0).cnas.getCNAbility();
-				if (cna.getAbilityCategory().equals(cat))
-				{
-					returnList.add(cna);
-				}
+				index.add(array.get(0).cnas.getCNAbility());
 			}
+			indexStore.setCache(copy, index);
 		}
-		return returnList;
 	}
 
-	public Collection<CNAbility> getPoolAbilities(CharID id, Category<Ability> cat, Nature n)
+	public boolean hasAbilityVisibleTo(CharID id, Category<Ability> cat, View view)
 	{
-		List<CNAbility> returnList = new ArrayList<>();
-		List<List<SourcedCNAS>> list = getList(id);
-		if (list != null)
+		for (CNAbility cna : getIndexed(id, cat, null, true))
 		{
-			for (List<SourcedCNAS> array : list)
+			if (cna.getAbility().getSafe(ObjectKey.VISIBILITY).isVisibleTo(view))
 			{
-				CNAbility cna = array.get(0).cnas.getCNAbility();
-				if (cna.getAbilityCategory().equals(cat) && cna.getNature() == n)
-				{
-					returnList.add(cna);
-				}
+				return true;
 			}
 		}
-		return returnList;
+		return false;
+	}
+
+	public Collection<CNAbility> getPoolAbilities(CharID id, Category<Ability> cat)
+	{
+		return new ArrayList<>(getIndexed(id, cat, null, true));
+	}
+
+	public Collection<CNAbility> getPoolAbilities(CharID id, Category<Ability> cat, Nature n)
+	{
+		return new ArrayList<>(getIndexed(id, cat, n, true));
 	}
 
 	public Collection<CNAbility> getCNAbilities(CharID id, Category<Ability> cat)
 	{
-		if (cat.getParentCategory() != cat)
-		{
-			//warning
-		}
+		return new ArrayList<>(getIndexed(id, cat, null, false));
+	}
 
-		List<CNAbility> returnList = new ArrayList<>();
-		List<List<SourcedCNAS>> list = getList(id);
-		if (list != null)
+	public Collection<CNAbility> getCNAbilities(CharID id)
+	{
+		return new ArrayList<>(getCNAbilitiesView(id));
+	}
+
+	public Collection<CNAbility> getCNAbilities(CharID id, Category<Ability> cat, Nature n)
+	{
+		return new ArrayList<>(getIndexed(id, cat, n, false));
+	}
+
+	public Collection<CNAbility> getCNAbilities(CharID id, Ability ability)
+	{
+		return new HashSet<>(getCNAbilitiesKeyed(id, ability.getCDOMCategory(), ability.getKeyName()));
+	}
+
+	public boolean hasAbilityKeyed(CharID id, Category<Ability> cat, String aKey)
+	{
+		return !getCNAbilitiesKeyed(id, cat, aKey).isEmpty();
+	}
+
+	public boolean hasAbilityInPool(CharID id, AbilityCategory cat)
+	{
+		return !getIndexed(id, cat, null, true).isEmpty();
+	}
+
+	/**
+	 * Returns a read only, live view of the CNAbility objects granted to the
+	 * Player Character identified by the given CharID. An ability granted
+	 * through more than one compatible selection appears more than once.
+	 * 
+	 * @param id
+	 *            The CharID identifying the Player Character
+	 * @return A read only view of the CNAbility objects granted to the Player
+	 *         Character
+	 */
+	public List<CNAbility> getCNAbilitiesView(CharID id)
+	{
+		return indexStore.getConstructingIndex(id).all.getView(null);
+	}
+
+	/**
+	 * Returns a read only, live view of the CNAbility objects granted to the
+	 * Player Character in any pool whose parent is the given Category.
+	 * 
+	 * @param id
+	 *            The CharID identifying the Player Character
+	 * @param cat
+	 *            The parent Category of the abilities to be returned
+	 * @param n
+	 *            The Nature of the abilities to be returned, or null for any
+	 *            Nature
+	 * @return A read only view of the matching CNAbility objects
+	 */
+	public List<CNAbility> getCNAbilitiesView(CharID id, Category<Ability> cat, Nature n)
+	{
+		return indexStore.getConstructingIndex(id).getParent(cat).getView(n);
+	}
+
+	/**
+	 * Returns a read only, live view of the CNAbility objects granted to the
+	 * Player Character in exactly the given pool Category.
+	 * 
+	 * @param id
+	 *            The CharID identifying the Player Character
+	 * @param cat
+	 *            The pool Category of the abilities to be returned
+	 * @param n
+	 *            The Nature of the abilities to be returned, or null for any
+	 *            Nature
+	 * @return A read only view of the matching CNAbility objects
+	 */
+	public List<CNAbility> getPoolAbilitiesView(CharID id, Category<Ability> cat, Nature n)
+	{
+		return indexStore.getConstructingIndex(id).getPool(cat).getView(n);
+	}
+
+	/**
+	 * Returns a read only, live view of the distinct CNAbility objects granted
+	 * to the Player Character: as getCNAbilitiesView(CharID), but an ability
+	 * granted through more than one selection appears only once.
+	 * 
+	 * @param id
+	 *            The CharID identifying the Player Character
+	 * @return A read only view of the distinct CNAbility objects granted to
+	 *         the Player Character
+	 */
+	public List<CNAbility> getDistinctCNAbilitiesView(CharID id)
+	{
+		return indexStore.getConstructingIndex(id).all.getDistinctView(null);
+	}
+
+	/**
+	 * Returns a read only, live view of the distinct CNAbility objects granted
+	 * to the Player Character in any pool whose parent is the given Category.
+	 * 
+	 * @param id
+	 *            The CharID identifying the Player Character
+	 * @param cat
+	 *            The parent Category of the abilities to be returned
+	 * @param n
+	 *            The Nature of the abilities to be returned, or null for any
+	 *            Nature
+	 * @return A read only view of the distinct matching CNAbility objects
+	 */
+	public List<CNAbility> getDistinctCNAbilitiesView(CharID id, Category<Ability> cat, Nature n)
+	{
+		return indexStore.getConstructingIndex(id).getParent(cat).getDistinctView(n);
+	}
+
+	/**
+	 * Returns a read only, live view of the distinct CNAbility objects granted
+	 * to the Player Character in exactly the given pool Category.
+	 * 
+	 * @param id
+	 *            The CharID identifying the Player Character
+	 * @param cat
+	 *            The pool Category of the abilities to be returned
+	 * @param n
+	 *            The Nature of the abilities to be returned, or null for any
+	 *            Nature
+	 * @return A read only view of the distinct matching CNAbility objects
+	 */
+	public List<CNAbility> getDistinctPoolAbilitiesView(CharID id, Category<Ability> cat, Nature n)
+	{
+		return indexStore.getConstructingIndex(id).getPool(cat).getDistinctView(n);
+	}
+
+	/**
+	 * Returns the CNAbility objects for the Ability with the given key that are
+	 * granted to the Player Character in any pool whose parent is the given
+	 * Category. The returned list is read only and is not guaranteed to
+	 * reflect later changes.
+	 * 
+	 * @param id
+	 *            The CharID identifying the Player Character
+	 * @param cat
+	 *            The parent Category of the abilities to be returned
+	 * @param key
+	 *            The key of the Ability
+	 * @return A read only list of the matching CNAbility objects
+	 */
+	public List<CNAbility> getCNAbilitiesKeyed(CharID id, Category<Ability> cat, String key)
+	{
+		AbilityIndex index = indexStore.getIndex(id);
+		CategoryIndex catIndex = (index == null) ? null : index.byParent.get(cat);
+		return (catIndex == null) ? Collections.emptyList() : catIndex.getKeyed(key);
+	}
+
+	/**
+	 * Returns the first CNAbility for the Ability with the given key granted
+	 * to the Player Character in exactly the given pool Category with the
+	 * given Nature.
+	 * 
+	 * @param id
+	 *            The CharID identifying the Player Character
+	 * @param cat
+	 *            The pool Category of the ability
+	 * @param n
+	 *            The Nature of the ability
+	 * @param key
+	 *            The key of the Ability
+	 * @return The matching CNAbility, or null if the Player Character has no
+	 *         such ability
+	 */
+	public CNAbility getPoolAbilityKeyed(CharID id, Category<Ability> cat, Nature n, String key)
+	{
+		AbilityIndex index = indexStore.getIndex(id);
+		CategoryIndex catIndex = (index == null) ? null : index.byPool.get(cat);
+		if (catIndex != null)
 		{
-			for (List<SourcedCNAS> array : list)
+			for (CNAbility cna : catIndex.getKeyed(key))
 			{
-				CNAbility cna = array.get(0).cnas.getCNAbility();
-				if (cna.getAbilityCategory().getParentCategory().equals(cat))
+				if (cna.getNature() == n)
 				{
-					returnList.add(cna);
+					return cna;
 				}
 			}
 		}
-		return returnList;
+		return null;
 	}
 
-	public Collection<CNAbility> getCNAbilities(CharID id)
+	/**
+	 * Returns the number of CNAbility objects granted to the Player Character
+	 * in exactly the given pool Category.
+	 * 
+	 * @param id
+	 *            The CharID identifying the Player Character
+	 * @param cat
+	 *            The pool Category
+	 * @param n
+	 *            The Nature to be counted, or null for any Nature
+	 * @return The number of matching CNAbility objects
+	 */
+	public int getPoolCount(CharID id, Category<Ability> cat, Nature n)
 	{
-		List<CNAbility> returnList = new ArrayList<>();
-		List<List<SourcedCNAS>> list = getList(id);
-		if (list != null)
+		return getIndexed(id, cat, n, true).size();
+	}
+
+	private List<CNAbility> getIndexed(CharID id, Category<Ability> cat, Nature n, boolean pool)
+	{
+		AbilityIndex index = indexStore.getIndex(id);
+		if (index == null)
 		{
-			for (List<SourcedCNAS> array : list)
-			{
-				returnList.add(array.get(0).cnas.getCNAbility());
-			}
+			return Collections.emptyList();
 		}
-		return returnList;
+		CategoryIndex catIndex = pool ? index.byPool.get(cat) : index.byParent.get(cat);
+		return (catIndex == null) ? Collections.emptyList() : catIndex.getView(n);
 	}
 
-	public Collection<CNAbility> getCNAbilities(CharID id, Category<Ability> cat, Nature n)
+	public void init()
 	{
-		List<CNAbility> returnList = new ArrayList<>();
-		List<List<SourcedCNAS>> list = getList(id);
-		if (list != null)
+		OutputDB.register("abilities", this);
+	}
+
+	/**
+	 * The CNAbility objects of one Player Character, indexed for lookup. Lists
+	 * are never removed once created, so views handed out remain live.
+	 */
+	private static class AbilityIndex
+	{
+		private final CategoryIndex all = new CategoryIndex();
+		private final Map<Category<Ability>, CategoryIndex> byPool = new HashMap<>();
+		private final Map<Category<Ability>, CategoryIndex> byParent = new HashMap<>();
+
+		private CategoryIndex getPool(Category<Ability> cat)
 		{
-			for (List<SourcedCNAS> array : list)
+			return byPool.computeIfAbsent(cat, c -> new CategoryIndex());
+		}
+
+		private CategoryIndex getParent(Category<Ability> cat)
+		{
+			return byParent.computeIfAbsent(cat, c -> new CategoryIndex());
+		}
+
+		private void add(CNAbility cna)
+		{
+			all.add(cna);
+			Category<Ability> cat = cna.getAbilityCategory();
+			getPool(cat).add(cna);
+			getParent(cat.getParentCategory()).add(cna);
+		}
+
+		private void remove(CNAbility cna)
+		{
+			if (all.remove(cna))
 			{
-				CNAbility cna = array.get(0).cnas.getCNAbility();
-				if (cna.getAbilityCategory().getParentCategory().equals(cat) && cna.getNature() == n)
-				{
-					returnList.add(cna);
-				}
+				Category<Ability> cat = cna.getAbilityCategory();
+				getPool(cat).remove(cna);
+				getParent(cat.getParentCategory()).remove(cna);
 			}
 		}
-		return returnList;
 	}
 
-	public Collection<CNAbility> getCNAbilities(CharID id, Ability ability)
+	/**
+	 * The CNAbility objects of one category (or of all categories), by Nature
+	 * and by key. The same CNAbility is held once for each selection that
+	 * grants it, and also once in the distinct lists.
+	 */
+	private static class CategoryIndex
 	{
-		Set<CNAbility> returnList = new HashSet<>();
-		List<List<SourcedCNAS>> list = getList(id);
-		if (list != null)
+		private final Listing all = new Listing();
+		private final Map<Nature, Listing> byNature = new EnumMap<>(Nature.class);
+		private final Map<String, List<CNAbility>> byKey = new HashMap<>();
+		private final Map<CNAbility, Integer> counts = new HashMap<>();
+
+		private Listing getListing(Nature n)
 		{
-			Category<Ability> cat = ability.getCDOMCategory();
-			for (List<SourcedCNAS> array : list)
+			return (n == null) ? all : byNature.computeIfAbsent(n, k -> new Listing());
+		}
+
+		private List<CNAbility> getView(Nature n)
+		{
+			return getListing(n).view;
+		}
+
+		private List<CNAbility> getDistinctView(Nature n)
+		{
+			return getListing(n).distinctView;
+		}
+
+		private List<CNAbility> getKeyed(String key)
+		{
+			List<CNAbility> list = byKey.get(key);
+			return (list == null) ? Collections.emptyList() : Collections.unmodifiableList(list);
+		}
+
+		private void add(CNAbility cna)
+		{
+			boolean first = counts.merge(cna, 1, Integer::sum) == 1;
+			all.add(cna, first);
+			getListing(cna.getNature()).add(cna, first);
+			byKey.computeIfAbsent(cna.getAbilityKey(), k -> new ArrayList<>(1)).add(cna);
+		}
+
+		private boolean remove(CNAbility cna)
+		{
+			Integer count = counts.get(cna);
+			if (count == null)
 			{
-				CNAbility cna = array.get(0).cnas.getCNAbility();
-				if (cna.getAbilityCategory().getParentCategory().equals(cat)
-					&& cna.getAbilityKey().equals(ability.getKeyName()))
+				return false;
+			}
+			boolean last = count == 1;
+			if (last)
+			{
+				counts.remove(cna);
+			}
+			else
+			{
+				counts.put(cna, count - 1);
+			}
+			all.remove(cna, last);
+			getListing(cna.getNature()).remove(cna, last);
+			String key = cna.getAbilityKey();
+			List<CNAbility> keyList = byKey.get(key);
+			if (keyList != null)
+			{
+				keyList.remove(cna);
+				if (keyList.isEmpty())
 				{
-					returnList.add(cna);
+					byKey.remove(key);
 				}
 			}
+			return true;
 		}
-		return returnList;
 	}
 
-	public boolean hasAbilityKeyed(CharID id, Category<Ability> cat, String aKey)
+	/**
+	 * A list of CNAbility objects, and the same list with each CNAbility only
+	 * once, along with read only views of both.
+	 */
+	private static class Listing
 	{
-		List<List<SourcedCNAS>> list = getList(id);
-		if (list != null)
+		private final List<CNAbility> list = new ArrayList<>();
+		private final List<CNAbility> view = Collections.unmodifiableList(list);
+		private final List<CNAbility> distinct = new ArrayList<>();
+		private final List<CNAbility> distinctView = Collections.unmodifiableList(distinct);
+
+		private void add(CNAbility cna, boolean first)
 		{
-			for (List<SourcedCNAS> array : list)
+			list.add(cna);
+			if (first)
 			{
-				CNAbility cna = array.get(0).cnas.getCNAbility();
-				if (cna.getAbilityCategory().getParentCategory().equals(cat) && cna.getAbilityKey().equals(aKey))
-				{
-					return true;
-				}
+				distinct.add(cna);
 			}
 		}
-		return false;
-	}
 
-	public boolean hasAbilityInPool(CharID id, AbilityCategory cat)
-	{
-		List<List<SourcedCNAS>> list = getList(id);
-		if (list != null)
+		private void remove(CNAbility cna, boolean last)
 		{
-			for (List<SourcedCNAS> array : list)
+			list.remove(cna);
+			if (last)
 			{
-				CNAbility cna = array.get(0).cnas.getCNAbility();
-				if (cna.getAbilityCategory().equals(cat))
-				{
-					return true;
-				}
+				distinct.remove(cna);
 			}
 		}
-		return false;
 	}
 
-	public void init()
+	/**
+	 * Stores the AbilityIndex of each Player Character in a cache slot of its
+	 * own, alongside the selections held by the enclosing facet.
+	 * 
+	 * The index of an overlay CharID is built from the selections when the
+	 * enclosing facet is copied, so the enclosing facet is materialized before
+	 * the index is read.
+	 */
+	private class IndexStore extends AbstractStorageFacet<CharID>
 	{
-		OutputDB.register("abilities", this);
+		private AbilityIndex getIndex(CharID id)
+		{
+			GrantedAbilityFacet.this.getCache(id);
+			return (AbilityIndex) getCache(id);
+		}
+
+		private AbilityIndex getConstructingIndex(CharID id)
+		{
+			AbilityIndex index = getIndex(id);
+			if (index == null)
+			{
+				index = new AbilityIndex();
+				setCache(id, index);
+			}
+			return index;
+		}
+
+		@Override
+		public void copyContents(CharID source, CharID copy)
+		{
+			//Rebuilt from the copied selections by the enclosing facet
+		}
 	}
 }
@@ -19,7 +19,10 @@ package pcgen.cdom.facet;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import pcgen.cdom.base.AssociatedPrereqObject;
 import pcgen.cdom.base.CDOMList;
@@ -30,6 +33,7 @@ import pcgen.cdom.enumeration.AssociationKey;
 import pcgen.cdom.enumeration.DataSetID;
 import pcgen.cdom.facet.base.AbstractListFacet;
 import pcgen.cdom.helper.AvailableSpell;
+import pcgen.cdom.helper.SpellLevelIndex;
 import pcgen.cdom.list.ClassSpellList;
 import pcgen.cdom.list.DomainSpellList;
 import pcgen.core.SettingsHandler;
@@ -48,6 +52,8 @@ public class MasterAvailableSpellFacet extends AbstractListFacet<DataSetID, Avai
 {
 	private DataSetInitializationFacet datasetInitializationFacet;
 
+	private final Map<DataSetID, SpellLevelIndex> spellLevelIndexes = Collections.synchronizedMap(new WeakHashMap<>());
+
 	/**
 	 * Initializes the global lists of ClassSkillLists. This method only needs
 	 * to be called once for each set of sources that are loaded.
@@ -90,6 +96,23 @@ public class MasterAvailableSpellFacet extends AbstractListFacet<DataSetID, Avai
 				}
 			}
 		}
+		spellLevelIndexes.put(dsID, SpellLevelIndex.build(getSet(dsID)));
+	}
+
+	/**
+	 * Returns the read-only index of the unconditional spell levels of the
+	 * given data set. The index is built once, when the data set is
+	 * initialized.
+	 * 
+	 * @param dsID
+	 *            The data set for which the index should be returned
+	 * @return The SpellLevelIndex of the given data set; an empty index if the
+	 *         data set has not been initialized
+	 */
+	public SpellLevelIndex getSpellLevelIndex(DataSetID dsID)
+	{
+		SpellLevelIndex index = spellLevelIndexes.get(dsID);
+		return (index == null) ? SpellLevelIndex.EMPTY : index;
 	}
 
 	/**
@@ -28,6 +28,8 @@ import pcgen.base.solver.SolverManager;
 import pcgen.cdom.content.VarModifier;
 import pcgen.cdom.enumeration.CharID;
 import pcgen.cdom.facet.base.AbstractItemFacet;
+import pcgen.cdom.formula.MonitorableVariableStore;
+import pcgen.cdom.formula.SolverProfile;
 
 /**
  * This stores the SolverManager for each PlayerCharacter.
@@ -39,6 +41,11 @@ public class SolverManagerFacet extends AbstractItemFacet<CharID, SolverManager>
 	 */
 	private final LoadContextFacet loadContextFacet = FacetLibrary.getFacet(LoadContextFacet.class);
 
+	/**
+	 * The global VariableStoreFacet used to find the SolverProfile of a character
+	 */
+	private final VariableStoreFacet variableStoreFacet = FacetLibrary.getFacet(VariableStoreFacet.class);
+
 	private ScopeFacet scopeFacet;
 
 	public <T> List<ProcessStep<T>> diagnose(CharID id, VariableID<T> varID)
@@ -52,7 +59,16 @@ public class SolverManagerFacet extends AbstractItemFacet<CharID, SolverManager>
 		ScopeInstance scope = scopeFacet.get(id, vm.getFullLegalScopeName(), thisValue);
 		VariableID<T> varID = (VariableID<T>) loadContextFacet.get(id.getDatasetID()).get().getVariableContext()
 			.getVariableID(scope, vm.getVarName());
-		return get(id).addModifierAndSolve(varID, modifier, source);
+		SolverProfile profile = getProfile(id);
+		long start = SolverProfile.begin(profile, varID);
+		try
+		{
+			return get(id).addModifierAndSolve(varID, modifier, source);
+		}
+		finally
+		{
+			SolverProfile.end(profile, start);
+		}
 	}
 
 	/**
@@ -64,7 +80,22 @@ public class SolverManagerFacet extends AbstractItemFacet<CharID, SolverManager>
 		ScopeInstance scope = scopeFacet.get(id, vm.getFullLegalScopeName(), thisValue);
 		VariableID<T> varID = (VariableID<T>) loadContextFacet.get(id.getDatasetID()).get().getVariableContext()
 			.getVariableID(scope, vm.getVarName());
-		get(id).removeModifier(varID, modifier, source);
+		SolverProfile profile = getProfile(id);
+		long start = SolverProfile.begin(profile, varID);
+		try
+		{
+			get(id).removeModifier(varID, modifier, source);
+		}
+		finally
+		{
+			SolverProfile.end(profile, start);
+		}
+	}
+
+	private SolverProfile getProfile(CharID id)
+	{
+		MonitorableVariableStore varStore = variableStoreFacet.get(id);
+		return (varStore == null) ? null : varStore.getProfile();
 	}
 
 	public void setScopeFacet(ScopeFacet scopeFacet)
@@ -31,6 +31,8 @@ import pcgen.cdom.enumeration.Nature;
 import pcgen.cdom.facet.CategorizedDataFacetChangeEvent;
 import pcgen.cdom.facet.event.DataFacetChangeEvent;
 import pcgen.cdom.facet.event.DataFacetChangeListener;
+import pcgen.util.CalculationMetrics;
+import pcgen.util.CalculationMetrics.Metric;
 
 /**
  * A AbstractDataFacet is a DataFacet that contains information about
@@ -214,6 +216,8 @@ public abstract class AbstractDataFacet<IDT extends PCGenIdentifier, T> extends
 	@SuppressWarnings("rawtypes")
 	protected void fireDataFacetChangeEvent(IDT id, T node, int type, Category category, Nature nature)
 	{
+		markChanged(id);
+		int delivered = 0;
 		for (DataFacetChangeListener<IDT, ? super T>[] dfclArray : listeners.values())
 		{
 			/*
@@ -251,7 +255,10 @@ public abstract class AbstractDataFacet<IDT extends PCGenIdentifier, T> extends
 						break;
 				}
 			}
+			delivered += dfclArray.length;
 		}
+		CalculationMetrics.increment(id, Metric.FACET_EVENT);
+		CalculationMetrics.add(id, Metric.FACET_LISTENER_CALL, delivered);
 	}
 
 	public DataFacetChangeListener<IDT, ? super T>[] getDataFacetChangeListeners()
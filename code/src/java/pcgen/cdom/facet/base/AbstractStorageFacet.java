@@ -18,16 +18,18 @@
 package pcgen.cdom.facet.base;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import pcgen.base.test.InequalityTester;
-import pcgen.base.util.DoubleKeyMap;
 import pcgen.cdom.base.PCGenIdentifier;
+import pcgen.cdom.enumeration.CharID;
 import pcgen.util.Logging;
 
 /**
@@ -72,20 +74,72 @@ public abstract class AbstractStorageFacet<T extends PCGenIdentifier>
 	/**
 	 * The actual cache that stores the CDOM information, as stored by the
 	 * identifying PCGenIdentifier of a resource and the class of the facet
-	 * storing the information
+	 * storing the information.
+	 * 
+	 * A CharID carries its own map (see CharID.getFacetCache()), so lookups
+	 * for characters never touch this shared map. That keeps characters that
+	 * are calculated on separate threads from contending with each other. The
+	 * remaining identifiers (e.g. DataSetID) are few and are stored here. The
+	 * inner maps are concurrent, so only finding the inner map is done under
+	 * the lock.
 	 */
-	private static final DoubleKeyMap<PCGenIdentifier, Class<?>, Object> CACHE =
-			new DoubleKeyMap<>(WeakHashMap.class, HashMap.class);
+	private static final Map<PCGenIdentifier, Map<Class<?>, Object>> CACHE =
+			Collections.synchronizedMap(new WeakHashMap<>());
 
 	/*
-	 * Note: the use of CACHE.getReadOnlyMapFor(K1) in peekAtCache makes calling
-	 * CACHE.removeAll(k1) or CACHE.clear() [not used in this class at the
+	 * Note: the use of the inner maps in peekAtCache makes removing an
+	 * identifier from CACHE or clearing it [not done in this class at the
 	 * moment] a rather dangerous activity that is prone to later frustration in
 	 * debugging. It is advised that if such a call is every considered that
 	 * detailed consideration is made of the consequences so that debugging
 	 * information is not destroyed in the process. - thpr Dec 15, 2012.
 	 */
 
+	/**
+	 * Returns the (mutable) cache map for the given PCGenIdentifier, creating
+	 * it if necessary.
+	 * 
+	 * @param id
+	 *            The PCGenIdentifier for which the cache map should be returned
+	 * @return The cache map for the given PCGenIdentifier
+	 */
+	private static Map<Class<?>, Object> cacheFor(PCGenIdentifier id)
+	{
+		if (id instanceof CharID)
+		{
+			return ((CharID) id).getFacetCache();
+		}
+		synchronized (CACHE)
+		{
+			return CACHE.computeIfAbsent(id, k -> new ConcurrentHashMap<>());
+		}
+	}
+
+	/**
+	 * Copies the contents of this facet from the overlay base into the given
+	 * identifier, if the identifier is an overlay CharID (see
+	 * CharID.getOverlayID(CharID)) and this facet has not yet been copied.
+	 * 
+	 * The facet is marked before the copy is made, so that the calls to
+	 * setCache made by copyContents do not copy again.
+	 * 
+	 * @param id
+	 *            The PCGenIdentifier which is about to be used with this facet
+	 */
+	@SuppressWarnings("unchecked")
+	private void materialize(T id)
+	{
+		if (id instanceof CharID)
+		{
+			CharID cid = (CharID) id;
+			CharID base = cid.getOverlayBase();
+			if ((base != null) && cid.markMaterialized(thisClass))
+			{
+				copyContents((T) base, id);
+			}
+		}
+	}
+
 	/**
 	 * Removes the information from the cache for a given resource and facet (as
 	 * identified by the Class)
@@ -100,7 +154,8 @@ public abstract class AbstractStorageFacet<T extends PCGenIdentifier>
 	public Object removeCache(T id)
 	{
 		Objects.requireNonNull(id, "PCGenIdentifier cannot be null in removeCache");
-		return CACHE.remove(id, thisClass);
+		materialize(id);
+		return cacheFor(id).remove(thisClass);
 	}
 
 	/**
@@ -119,7 +174,10 @@ public abstract class AbstractStorageFacet<T extends PCGenIdentifier>
 	public Object setCache(T id, Object o)
 	{
 		Objects.requireNonNull(id, "PCGenIdentifier cannot be null in setCache");
-		return CACHE.put(id, thisClass, o);
+		materialize(id);
+		Map<Class<?>, Object> cache = cacheFor(id);
+		// The cache cannot hold null, and storing null is equivalent to removal
+		return (o == null) ? cache.remove(thisClass) : cache.put(thisClass, o);
 	}
 
 	/**
@@ -136,7 +194,8 @@ public abstract class AbstractStorageFacet<T extends PCGenIdentifier>
 	public Object getCache(T id)
 	{
 		Objects.requireNonNull(id, "PCGenIdentifier cannot be null in getCache");
-		return CACHE.get(id, thisClass);
+		materialize(id);
+		return cacheFor(id).get(thisClass);
 	}
 
 	/**
@@ -161,8 +220,10 @@ public abstract class AbstractStorageFacet<T extends PCGenIdentifier>
 	{
 		Objects.requireNonNull(id1, "PCGenIdentifier #1 cannot be null in areEqualCache");
 		Objects.requireNonNull(id2, "PCGenIdentifier #2 cannot be null in areEqualCache");
-		Set<Class<?>> set1 = CACHE.getSecondaryKeySet(id1);
-		Set<Class<?>> set2 = CACHE.getSecondaryKeySet(id2);
+		Map<Class<?>, Object> cache1 = cacheFor(id1);
+		Map<Class<?>, Object> cache2 = cacheFor(id2);
+		Set<Class<?>> set1 = new HashSet<>(cache1.keySet());
+		Set<Class<?>> set2 = new HashSet<>(cache2.keySet());
 		if (!set1.equals(set2))
 		{
 			List<Class<?>> l1 = new ArrayList<>(set1);
@@ -174,8 +235,8 @@ public abstract class AbstractStorageFacet<T extends PCGenIdentifier>
 		}
 		for (Class<?> cl : set1)
 		{
-			Object obj1 = CACHE.get(id1, cl);
-			Object obj2 = CACHE.get(id2, cl);
+			Object obj1 = cache1.get(cl);
+			Object obj2 = cache2.get(cl);
 			String equal = t.testEquality(obj1, obj2, cl + "/");
 			if (equal != null)
 			{
@@ -196,10 +257,11 @@ public abstract class AbstractStorageFacet<T extends PCGenIdentifier>
 	 * returned Map is transferred to the caller, although since it is
 	 * read-only, that is perhaps only relevant for determining the garbage
 	 * collection time of the decorator that makes the returned Map an
-	 * unmodifiable view into this DoubleKeyMap.
+	 * unmodifiable view into the cache.
 	 * 
-	 * Note that while this is a read-only map, there is no guarantee that this
-	 * returned map is thread-safe. Use in threaded situations with caution.
+	 * The returned map is backed by a concurrent map, so it may be read while
+	 * the resource is being modified on another thread, although the contents
+	 * may then be in the middle of change.
 	 * 
 	 * @param id
 	 *            The PCGenIdentifier for which a read-only view of the cache
@@ -209,6 +271,23 @@ public abstract class AbstractStorageFacet<T extends PCGenIdentifier>
 	public static Map<Class<?>, Object> peekAtCache(PCGenIdentifier id)
 	{
 		Objects.requireNonNull(id, "PCGenIdentifier cannot be null in peekAtCache");
-		return CACHE.getReadOnlyMapFor(id);
+		return Collections.unmodifiableMap(cacheFor(id));
+	}
+
+	/**
+	 * Records that the facet contents of the given PCGenIdentifier have
+	 * changed. Facets call this as they announce a change to their listeners,
+	 * so the change count of a CharID moves on with every facet change, even
+	 * one (such as a stat score) that does not mark the character dirty.
+	 * 
+	 * @param id
+	 *            The PCGenIdentifier whose facet contents have changed
+	 */
+	protected static void markChanged(PCGenIdentifier id)
+	{
+		if (id instanceof CharID)
+		{
+			((CharID) id).markChanged();
+		}
 	}
 }
@@ -346,6 +346,75 @@ public class AbstractSubScopeFacet<S1, S2, T> extends AbstractStorageFacet<CharI
 			SubScopeFacetChangeListener.class));
 	}
 
+	/**
+	 * Removes a ScopeFacetChangeListener so that it will no longer receive
+	 * TwoScopeFacetChangeEvents from this AbstractScopeFacet. This will remove
+	 * the listener from the default priority (zero).
+	 * 
+	 * @param listener
+	 *            The ScopeFacetChangeListener to be removed
+	 */
+	public void removeSubScopeFacetChangeListener(
+		SubScopeFacetChangeListener<? super S1, ? super S2, ? super T> listener)
+	{
+		removeSubScopeFacetChangeListener(0, listener);
+	}
+
+	/**
+	 * Removes a ScopeFacetChangeListener so that it will no longer receive
+	 * TwoScopeFacetChangeEvents from this AbstractScopeFacet at the given
+	 * priority.
+	 * 
+	 * Note that if the given ScopeFacetChangeListener has been registered
+	 * under a different priority, it will still receive events at that
+	 * priority level.
+	 * 
+	 * @param listener
+	 *            The ScopeFacetChangeListener to be removed
+	 */
+	@SuppressWarnings("unchecked")
+	public void removeSubScopeFacetChangeListener(int priority,
+		SubScopeFacetChangeListener<? super S1, ? super S2, ? super T> listener)
+	{
+		SubScopeFacetChangeListener<? super S1, ? super S2, ? super T>[] dfcl = listeners.get(priority);
+		if (dfcl == null)
+		{
+			// No worries
+			return;
+		}
+		int foundLoc = -1;
+		int newSize = dfcl.length - 1;
+		for (int i = newSize; i >= 0; i--)
+		{
+			if (dfcl[i] == listener)
+			{
+				foundLoc = i;
+				break;
+			}
+		}
+		if (foundLoc != -1)
+		{
+			if (dfcl.length == 1)
+			{
+				listeners.remove(priority);
+			}
+			else
+			{
+				SubScopeFacetChangeListener<? super S1, ? super S2, ? super T>[] newArray =
+						new SubScopeFacetChangeListener[newSize];
+				if (foundLoc != 0)
+				{
+					System.arraycopy(dfcl, 0, newArray, 0, foundLoc);
+				}
+				if (foundLoc != newSize)
+				{
+					System.arraycopy(dfcl, foundLoc + 1, newArray, foundLoc, newSize - foundLoc);
+				}
+				listeners.put(priority, newArray);
+			}
+		}
+	}
+
 	/**
 	 * Sends a NodeChangeEvent to the ScopeFacetChangeListeners that are
 	 * receiving TwoScopeFacetChangeEvents from this AbstractScopeFacet.
@@ -367,6 +436,7 @@ public class AbstractSubScopeFacet<S1, S2, T> extends AbstractStorageFacet<CharI
 	@SuppressWarnings("rawtypes")
 	protected void fireSubScopeFacetChangeEvent(CharID id, S1 scope1, S2 scope2, T node, int type)
 	{
+		markChanged(id);
 		for (SubScopeFacetChangeListener<? super S1, ? super S2, ? super T>[] dfclArray : listeners.values())
 		{
 			/*
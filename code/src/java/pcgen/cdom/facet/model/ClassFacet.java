@@ -771,6 +771,7 @@ public class ClassFacet extends AbstractDataFacet<CharID, PCClass> implements Se
 				// Nothing to do
 				return;
 			}
+			markChanged(id);
 			ClassLevelChangeListener[] listeners = listenerList.getListeners(ClassLevelChangeListener.class);
 			/*
 			 * This list is decremented from the end of the list to the
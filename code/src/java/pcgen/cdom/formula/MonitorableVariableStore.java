@@ -17,27 +17,64 @@
  */
 package pcgen.cdom.formula;
 
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.List;
-import java.util.TreeMap;
+import java.util.Map;
 
 import pcgen.base.formula.base.VariableID;
 import pcgen.base.formula.inst.SimpleVariableStore;
-import pcgen.base.util.DoubleKeyMapToList;
+import pcgen.cdom.enumeration.CharID;
 
 /**
  * A MonitorableVariableStore is a WriteableVariableStore that allows
  * VariableListener objects to listen for changes to the variables within this
  * VariableStore.
+ * 
+ * Each VariableID is given a dense slot the first time it has a listener
+ * registered, and the listeners for that slot are held in a copy-on-write
+ * array sorted by priority. This means a put() only needs a single lookup to
+ * determine whether anything is listening, and only a variable with listeners
+ * has a VariableChangeEvent allocated when it changes.
+ * 
+ * Values themselves are still held, boxed, by SimpleVariableStore. The solver
+ * produces boxed results and reads them back through the VariableStore
+ * interface, so holding numbers in primitive arrays here would only move the
+ * boxing from the solver's put() to every get().
  */
 public class MonitorableVariableStore extends SimpleVariableStore
 {
 
 	/**
-	 * The listeners, identified by priority and which VariableID they are listening to.
+	 * An empty listener array, shared by all slots with no listeners.
+	 */
+	private static final VariableListener<?>[] NO_LISTENERS = new VariableListener<?>[0];
+
+	/**
+	 * The slot assigned to each VariableID that has (or had) listeners.
+	 */
+	private final Map<VariableID<?>, Integer> slots = new HashMap<>();
+
+	/**
+	 * The listeners for each slot, in the order they are to be advised of a
+	 * change (ascending priority, then order of registration).
 	 */
-	private final DoubleKeyMapToList<Integer, VariableID<?>, VariableListener<?>> listenerList =
-			new DoubleKeyMapToList<>(TreeMap.class, HashMap.class);
+	private VariableListener<?>[][] listeners = new VariableListener<?>[8][];
+
+	/**
+	 * The priority of each listener in the listeners array for each slot.
+	 */
+	private int[][] priorities = new int[8][];
+
+	/**
+	 * The SolverProfile advised of each value written to this store, if any.
+	 */
+	private SolverProfile profile;
+
+	/**
+	 * The character whose SolverProfile is to be used once recording is
+	 * enabled, if any.
+	 */
+	private CharID profileOwner;
 
 	/**
 	 * Adds a VariableListener for the given VariableID.
@@ -69,7 +106,25 @@ public class MonitorableVariableStore extends SimpleVariableStore
 	 */
 	public <T> void addVariableListener(int priority, VariableID<T> varID, VariableListener<? super T> listener)
 	{
-		listenerList.addToListFor(priority, varID, listener);
+		int slot = getSlot(varID);
+		VariableListener<?>[] current = listeners[slot];
+		int[] currentPriorities = priorities[slot];
+		//Insert after any listeners of the same priority
+		int index = 0;
+		while ((index < current.length) && (currentPriorities[index] <= priority))
+		{
+			index++;
+		}
+		VariableListener<?>[] newListeners = new VariableListener<?>[current.length + 1];
+		int[] newPriorities = new int[current.length + 1];
+		System.arraycopy(current, 0, newListeners, 0, index);
+		System.arraycopy(currentPriorities, 0, newPriorities, 0, index);
+		newListeners[index] = listener;
+		newPriorities[index] = priority;
+		System.arraycopy(current, index, newListeners, index + 1, current.length - index);
+		System.arraycopy(currentPriorities, index, newPriorities, index + 1, current.length - index);
+		listeners[slot] = newListeners;
+		priorities[slot] = newPriorities;
 	}
 
 	/**
@@ -106,12 +161,102 @@ public class MonitorableVariableStore extends SimpleVariableStore
 	 */
 	public <T> void removeVariableListener(int priority, VariableID<T> varID, VariableListener<? super T> listener)
 	{
-		listenerList.removeFromListFor(0, varID, listener);
+		Integer slot = slots.get(varID);
+		if (slot == null)
+		{
+			return;
+		}
+		VariableListener<?>[] current = listeners[slot];
+		int[] currentPriorities = priorities[slot];
+		for (int i = 0; i < current.length; i++)
+		{
+			if ((currentPriorities[i] == priority) && current[i].equals(listener))
+			{
+				VariableListener<?>[] newListeners = new VariableListener<?>[current.length - 1];
+				int[] newPriorities = new int[current.length - 1];
+				System.arraycopy(current, 0, newListeners, 0, i);
+				System.arraycopy(currentPriorities, 0, newPriorities, 0, i);
+				System.arraycopy(current, i + 1, newListeners, i, current.length - i - 1);
+				System.arraycopy(currentPriorities, i + 1, newPriorities, i, current.length - i - 1);
+				listeners[slot] = newListeners;
+				priorities[slot] = newPriorities;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Returns the slot for the given VariableID, assigning the next free slot
+	 * if the VariableID does not yet have one.
+	 */
+	private int getSlot(VariableID<?> varID)
+	{
+		Integer slot = slots.get(varID);
+		if (slot == null)
+		{
+			slot = slots.size();
+			if (slot == listeners.length)
+			{
+				listeners = Arrays.copyOf(listeners, slot * 2);
+				priorities = Arrays.copyOf(priorities, slot * 2);
+			}
+			listeners[slot] = NO_LISTENERS;
+			priorities[slot] = new int[0];
+			slots.put(varID, slot);
+		}
+		return slot;
+	}
+
+	/**
+	 * Sets the SolverProfile to be advised of each value written to this
+	 * MonitorableVariableStore.
+	 * 
+	 * @param profile
+	 *            The SolverProfile of the character owning this store, may be
+	 *            null
+	 */
+	public void setProfile(SolverProfile profile)
+	{
+		this.profile = profile;
+	}
+
+	/**
+	 * Sets the character whose SolverProfile is to be advised of each value
+	 * written to this MonitorableVariableStore. The profile is looked up the
+	 * first time a solve is recorded, so no profile is created while recording
+	 * is disabled.
+	 * 
+	 * @param owner
+	 *            The character owning this store
+	 */
+	public void setProfileOwner(CharID owner)
+	{
+		this.profileOwner = owner;
+	}
+
+	/**
+	 * Returns the SolverProfile advised of each value written to this
+	 * MonitorableVariableStore.
+	 * 
+	 * @return The SolverProfile of the character owning this store, or null
+	 */
+	public SolverProfile getProfile()
+	{
+		if ((profile == null) && (profileOwner != null) && SolverProfile.isEnabled())
+		{
+			profile = SolverProfile.get(profileOwner);
+		}
+		return profile;
 	}
 
 	@Override
 	public <T> T put(VariableID<T> varID, T value)
 	{
+		SolverProfile solverProfile = getProfile();
+		if (solverProfile != null)
+		{
+			solverProfile.resolved(varID);
+		}
 		T old = super.put(varID, value);
 		if (!value.equals(old))
 		{
@@ -133,22 +278,21 @@ public class MonitorableVariableStore extends SimpleVariableStore
 	 */
 	public <T> void fireVariableChanged(VariableID<T> varID, T old, T value)
 	{
-		for (Integer priority : listenerList.getKeySet())
+		Integer slot = slots.get(varID);
+		if (slot == null)
 		{
-			List<VariableListener<?>> listeners = listenerList.getListFor(priority, varID);
-			VariableChangeEvent vcEvent = null;
-			if (listeners != null)
-			{
-				for (VariableListener<?> listener : listeners)
-				{
-					// Lazily create event
-					if (vcEvent == null)
-					{
-						vcEvent = new VariableChangeEvent<>(this, varID, old, value);
-					}
-					listener.variableChanged(vcEvent);
-				}
-			}
+			return;
+		}
+		//Copy-on-write, so this is safe against listeners that (un)register
+		VariableListener<?>[] toAdvise = listeners[slot];
+		if (toAdvise.length == 0)
+		{
+			return;
+		}
+		VariableChangeEvent vcEvent = new VariableChangeEvent<>(this, varID, old, value);
+		for (VariableListener<?> listener : toAdvise)
+		{
+			listener.variableChanged(vcEvent);
 		}
 	}
 
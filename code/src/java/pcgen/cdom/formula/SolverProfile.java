@@ -0,0 +1,523 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.cdom.formula;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import pcgen.base.formula.base.LegalScope;
+import pcgen.base.formula.base.VariableID;
+import pcgen.cdom.enumeration.CharID;
+import pcgen.util.CalculationMetrics;
+import pcgen.util.Logging;
+
+/**
+ * A SolverProfile records how much work the formula solver does for one
+ * character, broken down by VariableID.
+ * <p>
+ * A solve is started when a modifier is added to or removed from a variable,
+ * or a channel variable is set; that variable is the root of the solve. Every
+ * variable written back to the MonitorableVariableStore while the solve runs
+ * is counted as a re-solve of that variable, and the variables re-solved are
+ * the fan-out of the root. The order in which they were re-solved is kept as
+ * the chain of the solve, and the longest chains seen are retained. Solves
+ * started while another is running (for example by a listener reacting to a
+ * changed value) are nested within it, so the outer solve includes their
+ * fan-out and time.
+ * <p>
+ * Recording is off by default. It may be switched on at run time (the Core
+ * Variable Debug View does so) or by setting the pcgen.solverprofile system
+ * property to the name of a file, in which case the profiles of all
+ * characters are written to that file when the JVM exits.
+ */
+public final class SolverProfile
+{
+
+	/**
+	 * The system property naming the file the profiles are written to on exit.
+	 */
+	public static final String DUMP_PROPERTY = "pcgen.solverprofile"; //$NON-NLS-1$
+
+	/**
+	 * The number of chains retained by each profile.
+	 */
+	private static final int CHAIN_LIMIT = 10;
+
+	private static final Map<CharID, SolverProfile> PROFILES = new ConcurrentHashMap<>();
+
+	private static volatile boolean enabled;
+
+	static
+	{
+		String dumpFile = System.getProperty(DUMP_PROPERTY);
+		if ((dumpFile != null) && !dumpFile.isEmpty())
+		{
+			enabled = true;
+			Runtime.getRuntime().addShutdownHook(
+				new Thread(() -> writeReport(new File(dumpFile)), "Solver-profile-dump")); //$NON-NLS-1$
+		}
+	}
+
+	private final Map<VariableID<?>, VariableStatistics> statistics = new HashMap<>();
+
+	private final Deque<Solve> active = new ArrayDeque<>();
+
+	private final List<Chain> chains = new ArrayList<>();
+
+	private SolverProfile()
+	{
+		// Use get(CharID)
+	}
+
+	/**
+	 * @return true if solver profiles are being recorded.
+	 */
+	public static boolean isEnabled()
+	{
+		return enabled;
+	}
+
+	/**
+	 * Turn recording on or off. Anything already recorded is kept.
+	 * @param enabled true to record solver profiles.
+	 */
+	public static void setEnabled(boolean enabled)
+	{
+		SolverProfile.enabled = enabled;
+	}
+
+	/**
+	 * Returns the SolverProfile for a character. A profile is only created
+	 * while recording is enabled, so characters loaded and discarded with
+	 * recording off leave nothing behind.
+	 * @param id The character.
+	 * @return The SolverProfile of the character, or null if recording is
+	 *         disabled and no profile has been recorded for the character.
+	 */
+	public static SolverProfile get(CharID id)
+	{
+		if (!enabled)
+		{
+			return PROFILES.get(id);
+		}
+		return PROFILES.computeIfAbsent(id, i -> new SolverProfile());
+	}
+
+	/**
+	 * Discard the profile of a character, e.g. when it is closed.
+	 * @param id The character whose profile is to be discarded.
+	 */
+	public static void remove(CharID id)
+	{
+		if (id != null)
+		{
+			PROFILES.remove(id);
+		}
+	}
+
+	/**
+	 * Start a solve rooted at the given variable. The value returned must be
+	 * passed to {@link #end(SolverProfile, long)} when the solve is complete.
+	 * @param profile The profile to record the solve in, may be null.
+	 * @param root The variable that changed.
+	 * @return The start time, or 0 if the solve is not being recorded.
+	 */
+	public static long begin(SolverProfile profile, VariableID<?> root)
+	{
+		if (!enabled || (profile == null))
+		{
+			return 0L;
+		}
+		return profile.begin(root);
+	}
+
+	/**
+	 * Finish a solve started by {@link #begin(SolverProfile, VariableID)}.
+	 * @param profile The profile given to begin.
+	 * @param start The value returned by begin.
+	 */
+	public static void end(SolverProfile profile, long start)
+	{
+		if (start != 0L)
+		{
+			profile.end(start);
+		}
+	}
+
+	private synchronized long begin(VariableID<?> root)
+	{
+		long start = System.nanoTime();
+		active.push(new Solve(root));
+		return start;
+	}
+
+	private synchronized void end(long start)
+	{
+		Solve solve = active.poll();
+		if (solve == null)
+		{
+			return;
+		}
+		long elapsed = System.nanoTime() - start;
+		Set<VariableID<?>> fanOut = solve.resolved;
+		fanOut.remove(solve.root);
+		getStatistics(solve.root).solved(elapsed, fanOut.size());
+		Solve outer = active.peek();
+		if (outer != null)
+		{
+			outer.resolved.add(solve.root);
+			outer.resolved.addAll(fanOut);
+		}
+		if (!fanOut.isEmpty())
+		{
+			addChain(new Chain(solve.root, new ArrayList<>(fanOut), elapsed));
+		}
+	}
+
+	/**
+	 * Record that the solver wrote a value for the given variable.
+	 * @param varID The variable that was (re-)solved.
+	 */
+	void resolved(VariableID<?> varID)
+	{
+		if (enabled)
+		{
+			record(varID);
+		}
+	}
+
+	private synchronized void record(VariableID<?> varID)
+	{
+		getStatistics(varID).resolves++;
+		Solve solve = active.peek();
+		if (solve != null)
+		{
+			solve.resolved.add(varID);
+		}
+	}
+
+	private VariableStatistics getStatistics(VariableID<?> varID)
+	{
+		return statistics.computeIfAbsent(varID, VariableStatistics::new);
+	}
+
+	private void addChain(Chain chain)
+	{
+		if ((chains.size() == CHAIN_LIMIT)
+			&& (chains.get(CHAIN_LIMIT - 1).getLength() >= chain.getLength()))
+		{
+			return;
+		}
+		int index = 0;
+		while ((index < chains.size()) && (chains.get(index).getLength() >= chain.getLength()))
+		{
+			index++;
+		}
+		chains.add(index, chain);
+		if (chains.size() > CHAIN_LIMIT)
+		{
+			chains.remove(CHAIN_LIMIT);
+		}
+	}
+
+	/**
+	 * Returns a copy of the statistics of each variable, the most expensive
+	 * first (by time spent in solves rooted at the variable, then by number
+	 * of re-solves).
+	 * @return The statistics of the variables solved for the character.
+	 */
+	public synchronized List<VariableStatistics> getVariableStatistics()
+	{
+		List<VariableStatistics> result = new ArrayList<>(statistics.size());
+		for (VariableStatistics stats : statistics.values())
+		{
+			result.add(stats.copy());
+		}
+		result.sort(Comparator.comparingLong(VariableStatistics::getNanos)
+			.thenComparingLong(VariableStatistics::getResolves).reversed());
+		return result;
+	}
+
+	/**
+	 * @return The longest chains recorded for the character, longest first.
+	 */
+	public synchronized List<Chain> getLongestChains()
+	{
+		return Collections.unmodifiableList(new ArrayList<>(chains));
+	}
+
+	/**
+	 * Discard everything recorded for the character.
+	 */
+	public synchronized void clear()
+	{
+		statistics.clear();
+		chains.clear();
+	}
+
+	/**
+	 * Writes this profile as tab separated text.
+	 * @param writer The Writer to write to.
+	 * @param name The name of the character, used as a heading.
+	 * @throws IOException If the profile could not be written.
+	 */
+	public void writeReport(Writer writer, String name) throws IOException
+	{
+		writer.write("# Solver profile: " + name + '\n'); //$NON-NLS-1$
+		writer.write("Variable\tScope\tRe-solves\tSolves\tTime (ms)\tMax fan-out\tTotal fan-out\n"); //$NON-NLS-1$
+		for (VariableStatistics stats : getVariableStatistics())
+		{
+			writer.write(stats.getName() + '\t' + stats.getScopeName() + '\t' + stats.getResolves() + '\t'
+				+ stats.getSolves() + '\t' + toMillis(stats.getNanos()) + '\t' + stats.getMaxFanOut() + '\t'
+				+ stats.getTotalFanOut() + '\n');
+		}
+		writer.write("# Longest chains\n"); //$NON-NLS-1$
+		for (Chain chain : getLongestChains())
+		{
+			writer.write(chain.toString() + '\n');
+		}
+		writer.write('\n');
+	}
+
+	/**
+	 * Writes the profiles of all characters as tab separated text.
+	 * @param writer The Writer to write to.
+	 * @throws IOException If the profiles could not be written.
+	 */
+	public static void writeReport(Writer writer) throws IOException
+	{
+		for (Map.Entry<CharID, SolverProfile> entry : PROFILES.entrySet())
+		{
+			entry.getValue().writeReport(writer, CalculationMetrics.describe(entry.getKey()));
+		}
+	}
+
+	private static void writeReport(File file)
+	{
+		try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8))
+		{
+			writeReport(writer);
+		}
+		catch (IOException e)
+		{
+			Logging.errorPrint("Unable to write solver profile to " + file, e);
+		}
+	}
+
+	private static String toMillis(long nanos)
+	{
+		return String.format("%.3f", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1)); //$NON-NLS-1$
+	}
+
+	private static String describe(VariableID<?> varID)
+	{
+		return LegalScope.getFullName(varID.getScope().getLegalScope()) + '.' + varID.getName();
+	}
+
+	/**
+	 * A solve in progress.
+	 */
+	private static final class Solve
+	{
+		private final VariableID<?> root;
+		private final Set<VariableID<?>> resolved = new LinkedHashSet<>();
+
+		private Solve(VariableID<?> root)
+		{
+			this.root = root;
+		}
+	}
+
+	/**
+	 * The work the solver has done for one variable.
+	 */
+	public static final class VariableStatistics
+	{
+		private final VariableID<?> varID;
+		private long resolves;
+		private long solves;
+		private long nanos;
+		private int maxFanOut;
+		private long totalFanOut;
+
+		private VariableStatistics(VariableID<?> varID)
+		{
+			this.varID = varID;
+		}
+
+		private void solved(long elapsed, int fanOut)
+		{
+			solves++;
+			nanos += elapsed;
+			maxFanOut = Math.max(maxFanOut, fanOut);
+			totalFanOut += fanOut;
+		}
+
+		private VariableStatistics copy()
+		{
+			VariableStatistics copy = new VariableStatistics(varID);
+			copy.resolves = resolves;
+			copy.solves = solves;
+			copy.nanos = nanos;
+			copy.maxFanOut = maxFanOut;
+			copy.totalFanOut = totalFanOut;
+			return copy;
+		}
+
+		/**
+		 * @return The variable.
+		 */
+		public VariableID<?> getVariableID()
+		{
+			return varID;
+		}
+
+		/**
+		 * @return The name of the variable.
+		 */
+		public String getName()
+		{
+			return varID.getName();
+		}
+
+		/**
+		 * @return The full name of the scope of the variable.
+		 */
+		public String getScopeName()
+		{
+			return LegalScope.getFullName(varID.getScope().getLegalScope());
+		}
+
+		/**
+		 * @return The number of times the solver wrote a value for the variable.
+		 */
+		public long getResolves()
+		{
+			return resolves;
+		}
+
+		/**
+		 * @return The number of solves rooted at the variable.
+		 */
+		public long getSolves()
+		{
+			return solves;
+		}
+
+		/**
+		 * @return The time spent in solves rooted at the variable, in nanoseconds.
+		 */
+		public long getNanos()
+		{
+			return nanos;
+		}
+
+		/**
+		 * @return The largest number of other variables re-solved by one solve
+		 *         rooted at the variable.
+		 */
+		public int getMaxFanOut()
+		{
+			return maxFanOut;
+		}
+
+		/**
+		 * @return The number of other variables re-solved by all the solves
+		 *         rooted at the variable.
+		 */
+		public long getTotalFanOut()
+		{
+			return totalFanOut;
+		}
+	}
+
+	/**
+	 * The variables re-solved, in order, by one solve.
+	 */
+	public static final class Chain
+	{
+		private final VariableID<?> root;
+		private final List<VariableID<?>> variables;
+		private final long nanos;
+
+		private Chain(VariableID<?> root, List<VariableID<?>> variables, long nanos)
+		{
+			this.root = root;
+			this.variables = Collections.unmodifiableList(variables);
+			this.nanos = nanos;
+		}
+
+		/**
+		 * @return The variable whose change started the solve.
+		 */
+		public VariableID<?> getRoot()
+		{
+			return root;
+		}
+
+		/**
+		 * @return The variables re-solved, in the order they were solved.
+		 */
+		public List<VariableID<?>> getVariables()
+		{
+			return variables;
+		}
+
+		/**
+		 * @return The number of variables re-solved.
+		 */
+		public int getLength()
+		{
+			return variables.size();
+		}
+
+		/**
+		 * @return The time the solve took, in nanoseconds.
+		 */
+		public long getNanos()
+		{
+			return nanos;
+		}
+
+		@Override
+		public String toString()
+		{
+			StringBuilder sb = new StringBuilder();
+			sb.append(describe(root)).append(" (").append(getLength()).append(" variables, ") //$NON-NLS-1$ //$NON-NLS-2$
+				.append(toMillis(nanos)).append(" ms):"); //$NON-NLS-1$
+			for (VariableID<?> varID : variables)
+			{
+				sb.append(" -> ").append(describe(varID)); //$NON-NLS-1$
+			}
+			return sb.toString();
+		}
+	}
+}
@@ -107,8 +107,17 @@ public final class VariableChannel<T> extends AbstractReferenceFacade<T>
 	{
 		if (!checkForVeto(object))
 		{
-			varStore.put(varID, object);
-			manager.solveChildren(varID);
+			SolverProfile profile = varStore.getProfile();
+			long start = SolverProfile.begin(profile, varID);
+			try
+			{
+				varStore.put(varID, object);
+				manager.solveChildren(varID);
+			}
+			finally
+			{
+				SolverProfile.end(profile, start);
+			}
 		}
 	}
 
@@ -0,0 +1,207 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.cdom.helper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import pcgen.cdom.base.CDOMList;
+import pcgen.cdom.list.ClassSpellList;
+import pcgen.cdom.list.DomainSpellList;
+import pcgen.core.spell.Spell;
+
+/**
+ * A SpellLevelIndex is a read-only index of the spell lists and levels at which
+ * each Spell appears in the loaded data. Only the unconditional entries of
+ * ClassSpellLists and DomainSpellLists are indexed, as those are identical for
+ * every character that has the spell list.
+ * 
+ * Entries are grouped by the key of the Spell, so that a lookup also finds
+ * alternate spells that share a key with the given Spell.
+ */
+public final class SpellLevelIndex
+{
+	/**
+	 * An empty SpellLevelIndex.
+	 */
+	public static final SpellLevelIndex EMPTY = new SpellLevelIndex(Collections.emptyMap());
+
+	private final Map<String, Entries> entriesByKey;
+
+	private SpellLevelIndex(Map<String, Entries> entriesByKey)
+	{
+		this.entriesByKey = entriesByKey;
+	}
+
+	/**
+	 * Builds a SpellLevelIndex of the given AvailableSpells. AvailableSpells
+	 * that have prerequisites or that are not in a ClassSpellList or a
+	 * DomainSpellList are ignored.
+	 * 
+	 * @param availableSpells
+	 *            The AvailableSpells from which the index should be built
+	 * @return A SpellLevelIndex of the unconditional AvailableSpells
+	 */
+	public static SpellLevelIndex build(Collection<AvailableSpell> availableSpells)
+	{
+		Map<String, List<AvailableSpell>> byKey = new HashMap<>();
+		for (AvailableSpell as : availableSpells)
+		{
+			CDOMList<Spell> list = as.getSpelllist();
+			if (as.hasPrerequisites() || !((list instanceof ClassSpellList) || (list instanceof DomainSpellList)))
+			{
+				continue;
+			}
+			byKey.computeIfAbsent(as.getSpell().getKeyName(), k -> new ArrayList<>(2)).add(as);
+		}
+		Map<String, Entries> entriesByKey = new HashMap<>(byKey.size() * 4 / 3 + 1);
+		for (Map.Entry<String, List<AvailableSpell>> me : byKey.entrySet())
+		{
+			entriesByKey.put(me.getKey(), new Entries(me.getValue()));
+		}
+		return new SpellLevelIndex(entriesByKey);
+	}
+
+	/**
+	 * Returns the indexed entries for Spells with the same key as the given
+	 * Spell.
+	 * 
+	 * @param spell
+	 *            The Spell for which the entries should be returned
+	 * @return The Entries for the key of the given Spell; null if there are
+	 *         none
+	 */
+	public Entries getEntries(Spell spell)
+	{
+		return entriesByKey.get(spell.getKeyName());
+	}
+
+	/**
+	 * Returns true if the given Spell appears unconditionally at the given
+	 * level of the given spell list.
+	 * 
+	 * @param list
+	 *            The spell list to be checked
+	 * @param level
+	 *            The spell level to be checked
+	 * @param spell
+	 *            The Spell to be checked
+	 * @return true if the given Spell is indexed at the given level of the
+	 *         given spell list; false otherwise
+	 */
+	public boolean contains(CDOMList<Spell> list, int level, Spell spell)
+	{
+		Entries entries = entriesByKey.get(spell.getKeyName());
+		if (entries != null)
+		{
+			for (int i = 0; i < entries.size(); i++)
+			{
+				if ((entries.levels[i] == level) && (entries.spells[i] == spell) && (entries.lists[i] == list))
+				{
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the number of Spell keys in this SpellLevelIndex.
+	 * 
+	 * @return The number of Spell keys in this SpellLevelIndex
+	 */
+	public int getKeyCount()
+	{
+		return entriesByKey.size();
+	}
+
+	/**
+	 * The spell list and level entries for Spells sharing one key, held in
+	 * parallel arrays.
+	 */
+	public static final class Entries
+	{
+		private final Spell[] spells;
+		private final CDOMList<Spell>[] lists;
+		private final int[] levels;
+
+		@SuppressWarnings("unchecked")
+		private Entries(List<AvailableSpell> availableSpells)
+		{
+			int size = availableSpells.size();
+			spells = new Spell[size];
+			lists = new CDOMList[size];
+			levels = new int[size];
+			for (int i = 0; i < size; i++)
+			{
+				AvailableSpell as = availableSpells.get(i);
+				spells[i] = as.getSpell();
+				lists[i] = as.getSpelllist();
+				levels[i] = as.getLevel();
+			}
+		}
+
+		/**
+		 * Returns the number of entries.
+		 * 
+		 * @return The number of entries
+		 */
+		public int size()
+		{
+			return levels.length;
+		}
+
+		/**
+		 * Returns the Spell of the entry at the given index.
+		 * 
+		 * @param index
+		 *            The index of the entry
+		 * @return The Spell of the entry at the given index
+		 */
+		public Spell getSpell(int index)
+		{
+			return spells[index];
+		}
+
+		/**
+		 * Returns the spell list of the entry at the given index.
+		 * 
+		 * @param index
+		 *            The index of the entry
+		 * @return The spell list of the entry at the given index
+		 */
+		public CDOMList<Spell> getList(int index)
+		{
+			return lists[index];
+		}
+
+		/**
+		 * Returns the spell level of the entry at the given index.
+		 * 
+		 * @param index
+		 *            The index of the entry
+		 * @return The spell level of the entry at the given index
+		 */
+		public int getLevel(int index)
+		{
+			return levels[index];
+		}
+	}
+}
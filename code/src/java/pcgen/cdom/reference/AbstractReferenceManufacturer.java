@@ -21,19 +21,19 @@ import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.TreeMap;
 
 import javax.swing.event.EventListenerList;
 
 import pcgen.base.lang.CaseInsensitiveString;
 import pcgen.base.util.BasicIndirect;
-import pcgen.base.util.FixedStringList;
 import pcgen.base.util.FormatManager;
 import pcgen.base.util.HashMapToInstanceList;
 import pcgen.base.util.Indirect;
@@ -89,9 +89,11 @@ public abstract class AbstractReferenceManufacturer<T extends Loadable> implemen
 	 * alphabetical order, as defined by the natural ordering of String (for
 	 * simplicity [and due to lack of user presentation of this value] this sort
 	 * does not correct for internationalization)
+	 * 
+	 * The map is keyed by the types joined with a period (which cannot appear
+	 * in a type), in case-insensitive order, so it is a hash lookup.
 	 */
-	private final Map<FixedStringList, WeakReference<CDOMGroupRef<T>>> typeReferences =
-			new TreeMap<>(FixedStringList.CASE_INSENSITIVE_ORDER);
+	private final Map<CaseInsensitiveString, TypeReference<T>> typeReferences = new HashMap<>();
 
 	/**
 	 * Storage for individual references. This ensures that only one reference
@@ -100,8 +102,7 @@ public abstract class AbstractReferenceManufacturer<T extends Loadable> implemen
 	 * also stores the reference so that it can be appropriately resolved when
 	 * resolveReferences() is called.
 	 */
-	private final Map<String, WeakReference<CDOMSingleRef<T>>> referenced =
-			new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+	private final Map<CaseInsensitiveString, WeakReference<CDOMSingleRef<T>>> referenced = new LinkedHashMap<>();
 
 	/**
 	 * Stores the active objects for this AbstractReferenceManufacturer. These
@@ -223,11 +224,11 @@ public abstract class AbstractReferenceManufacturer<T extends Loadable> implemen
 			}
 		}
 		Arrays.sort(types);
-		FixedStringList typeList = new FixedStringList(types);
-		WeakReference<CDOMGroupRef<T>> ref = typeReferences.get(typeList);
+		CaseInsensitiveString typeKey = getTypeKey(types);
+		TypeReference<T> ref = typeReferences.get(typeKey);
 		if (ref != null)
 		{
-			CDOMGroupRef<T> trt = ref.get();
+			CDOMGroupRef<T> trt = ref.reference.get();
 			if (trt != null)
 			{
 				return trt;
@@ -235,10 +236,21 @@ public abstract class AbstractReferenceManufacturer<T extends Loadable> implemen
 		}
 		// Didn't find the appropriate key, create new
 		CDOMGroupRef<T> cgr = factory.getTypeReference(types);
-		typeReferences.put(typeList, new WeakReference<>(cgr));
+		typeReferences.put(typeKey, new TypeReference<>(types, cgr));
 		return cgr;
 	}
 
+	private static CaseInsensitiveString getTypeKey(String[] types)
+	{
+		if (types.length == 1)
+		{
+			return new CaseInsensitiveString(types[0]);
+		}
+		String[] ordered = types.clone();
+		Arrays.sort(ordered, String.CASE_INSENSITIVE_ORDER);
+		return new CaseInsensitiveString(String.join(".", ordered));
+	}
+
 	/**
 	 * Returns a CDOMGroupRef for the given Class or Class/Context provided by
 	 * this AbstractReferenceManufacturer.
@@ -288,9 +300,9 @@ public abstract class AbstractReferenceManufacturer<T extends Loadable> implemen
 	{
 		boolean resolutionSuccessful = resolvePrimitiveReferences(validator);
 		resolutionSuccessful &= resolveGroupReferences();
-		for (WeakReference<CDOMGroupRef<T>> ref : typeReferences.values())
+		for (TypeReference<T> ref : typeReferences.values())
 		{
-			CDOMGroupRef<T> trt = ref.get();
+			CDOMGroupRef<T> trt = ref.reference.get();
 			if (trt != null && trt.getObjectCount() == 0)
 			{
 				Logging.errorPrint("Error: No " + factory.getReferenceDescription() + " objects of "
@@ -306,12 +318,12 @@ public abstract class AbstractReferenceManufacturer<T extends Loadable> implemen
 	private boolean resolvePrimitiveReferences(UnconstructedValidator validator)
 	{
 		boolean resolutionSuccessful = true;
-		for (Entry<String, WeakReference<CDOMSingleRef<T>>> me1 : referenced.entrySet())
+		for (Entry<CaseInsensitiveString, WeakReference<CDOMSingleRef<T>>> me1 : referenced.entrySet())
 		{
 			CDOMSingleRef<T> value = me1.getValue().get();
 			if (value != null)
 			{
-				resolutionSuccessful &= factory.resolve(this, me1.getKey(), value, validator);
+				resolutionSuccessful &= factory.resolve(this, me1.getKey().toString(), value, validator);
 			}
 		}
 		return resolutionSuccessful;
@@ -325,13 +337,13 @@ public abstract class AbstractReferenceManufacturer<T extends Loadable> implemen
 			{
 				allRef.addResolution(obj);
 			}
-			for (Map.Entry<FixedStringList, WeakReference<CDOMGroupRef<T>>> me : typeReferences.entrySet())
+			for (TypeReference<T> ref : typeReferences.values())
 			{
-				CDOMGroupRef<T> trt = me.getValue().get();
+				CDOMGroupRef<T> trt = ref.reference.get();
 				if (trt != null)
 				{
 					boolean typeOkay = true;
-					for (String type : me.getKey())
+					for (String type : ref.types)
 					{
 						if (!obj.isType(type))
 						{
@@ -676,7 +688,8 @@ public abstract class AbstractReferenceManufacturer<T extends Loadable> implemen
 			throw new IllegalArgumentException("%LIST cannot be a valid single item (not supported in this token?)");
 		}
 
-		WeakReference<CDOMSingleRef<T>> wr = referenced.get(key);
+		CaseInsensitiveString refKey = new CaseInsensitiveString(key);
+		WeakReference<CDOMSingleRef<T>> wr = referenced.get(refKey);
 		if (wr != null)
 		{
 			CDOMSingleRef<T> ref = wr.get();
@@ -699,7 +712,7 @@ public abstract class AbstractReferenceManufacturer<T extends Loadable> implemen
 		else
 		{
 			CDOMSingleRef<T> lr = factory.getReference(key);
-			referenced.put(key, new WeakReference<>(lr));
+			referenced.put(refKey, new WeakReference<>(lr));
 			ref = lr;
 		}
 		return ref;
@@ -985,10 +998,9 @@ public abstract class AbstractReferenceManufacturer<T extends Loadable> implemen
 	protected Collection<CDOMGroupRef<T>> getTypeReferences()
 	{
 		List<CDOMGroupRef<T>> list = new ArrayList<>(typeReferences.size());
-		for (Iterator<WeakReference<CDOMGroupRef<T>>> it = typeReferences.values().iterator(); it.hasNext();)
+		for (Iterator<TypeReference<T>> it = typeReferences.values().iterator(); it.hasNext();)
 		{
-			WeakReference<CDOMGroupRef<T>> wr = it.next();
-			CDOMGroupRef<T> trt = wr.get();
+			CDOMGroupRef<T> trt = it.next().reference.get();
 			if (trt == null)
 			{
 				it.remove();
@@ -1296,4 +1308,19 @@ public abstract class AbstractReferenceManufacturer<T extends Loadable> implemen
 	{
 		return factory.getPersistentFormat();
 	}
+
+	/**
+	 * A "TYPE" reference together with the types it was built for.
+	 */
+	private static final class TypeReference<T extends Loadable>
+	{
+		private final String[] types;
+		private final WeakReference<CDOMGroupRef<T>> reference;
+
+		private TypeReference(String[] types, CDOMGroupRef<T> reference)
+		{
+			this.types = types.clone();
+			this.reference = new WeakReference<>(reference);
+		}
+	}
 }
@@ -0,0 +1,419 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.cdom.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+/**
+ * A CompactKeyMap is a Map for type safe constant keys (IntegerKey, ObjectKey
+ * and the like) that is designed for the common case of an object holding only
+ * a handful of keys.
+ * 
+ * The keys are held in a small array sorted by the ordinal of the key, with the
+ * values in a parallel array, so a lookup is a binary search over an int[]
+ * followed by an identity check. This uses a fraction of the memory of a
+ * HashMap (no table or entry objects) and avoids hashing on lookup. Keys are
+ * compared by identity, which matches the behavior of the key classes (none of
+ * which override equals).
+ * 
+ * Once an object is fully loaded, {@link #trimToSize()} releases any spare
+ * capacity.
+ * 
+ * Like HashMap, CompactKeyMap is not synchronized. Null keys are not
+ * permitted; null values are.
+ * 
+ * @param <K>
+ *            The type of key stored in this CompactKeyMap
+ * @param <V>
+ *            The type of value stored in this CompactKeyMap
+ */
+public final class CompactKeyMap<K, V> extends AbstractMap<K, V>
+{
+
+	private static final int[] NO_ORDINALS = new int[0];
+
+	private static final Object[] NO_OBJECTS = new Object[0];
+
+	/**
+	 * The class of key that may be stored in this CompactKeyMap; used to
+	 * protect the ordinal function from keys of other types.
+	 */
+	private final Class<?> keyClass;
+
+	/**
+	 * The function returning the ordinal of a key.
+	 */
+	private final ToIntFunction<? super K> ordinalFunction;
+
+	private int[] ordinals = NO_ORDINALS;
+
+	private Object[] keys = NO_OBJECTS;
+
+	private Object[] values = NO_OBJECTS;
+
+	private int size;
+
+	private int modCount;
+
+	/**
+	 * Constructs a new, empty CompactKeyMap.
+	 * 
+	 * @param keyClass
+	 *            The class of key that may be stored in this CompactKeyMap
+	 * @param ordinalFunction
+	 *            The function returning the ordinal of a key. Ordinals need not
+	 *            be unique, but lookups are fastest when they are.
+	 */
+	public CompactKeyMap(Class<?> keyClass, ToIntFunction<? super K> ordinalFunction)
+	{
+		this.keyClass = Objects.requireNonNull(keyClass);
+		this.ordinalFunction = Objects.requireNonNull(ordinalFunction);
+	}
+
+	/**
+	 * Constructs a new CompactKeyMap with the same keys, values and ordering
+	 * as the given CompactKeyMap. The new CompactKeyMap holds no spare
+	 * capacity.
+	 * 
+	 * @param other
+	 *            The CompactKeyMap to be copied
+	 */
+	public CompactKeyMap(CompactKeyMap<K, V> other)
+	{
+		keyClass = other.keyClass;
+		ordinalFunction = other.ordinalFunction;
+		size = other.size;
+		if (size > 0)
+		{
+			ordinals = Arrays.copyOf(other.ordinals, size);
+			keys = Arrays.copyOf(other.keys, size);
+			values = Arrays.copyOf(other.values, size);
+		}
+	}
+
+	@Override
+	public int size()
+	{
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty()
+	{
+		return size == 0;
+	}
+
+	@Override
+	public boolean containsKey(Object key)
+	{
+		return indexOf(key) >= 0;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public V get(Object key)
+	{
+		int index = indexOf(key);
+		return (index < 0) ? null : (V) values[index];
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public V put(K key, V value)
+	{
+		Objects.requireNonNull(key, "Key for CompactKeyMap cannot be null");
+		int ordinal = ordinalFunction.applyAsInt(key);
+		int index = lowerBound(ordinal);
+		int insert = index;
+		while (insert < size && ordinals[insert] == ordinal)
+		{
+			if (keys[insert] == key)
+			{
+				V old = (V) values[insert];
+				values[insert] = value;
+				return old;
+			}
+			insert++;
+		}
+		if (size == keys.length)
+		{
+			int capacity = (size == 0) ? 2 : size + (size >> 1) + 1;
+			ordinals = Arrays.copyOf(ordinals, capacity);
+			keys = Arrays.copyOf(keys, capacity);
+			values = Arrays.copyOf(values, capacity);
+		}
+		int moved = size - insert;
+		if (moved > 0)
+		{
+			System.arraycopy(ordinals, insert, ordinals, insert + 1, moved);
+			System.arraycopy(keys, insert, keys, insert + 1, moved);
+			System.arraycopy(values, insert, values, insert + 1, moved);
+		}
+		ordinals[insert] = ordinal;
+		keys[insert] = key;
+		values[insert] = value;
+		size++;
+		modCount++;
+		return null;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public V remove(Object key)
+	{
+		int index = indexOf(key);
+		if (index < 0)
+		{
+			return null;
+		}
+		V old = (V) values[index];
+		removeAt(index);
+		return old;
+	}
+
+	@Override
+	public void clear()
+	{
+		if (size > 0)
+		{
+			Arrays.fill(keys, 0, size, null);
+			Arrays.fill(values, 0, size, null);
+			size = 0;
+			modCount++;
+		}
+	}
+
+	/**
+	 * Releases any spare capacity held by this CompactKeyMap. This is
+	 * intended to be called once the owning object has been fully loaded.
+	 */
+	public void trimToSize()
+	{
+		if (size < keys.length)
+		{
+			if (size == 0)
+			{
+				ordinals = NO_ORDINALS;
+				keys = NO_OBJECTS;
+				values = NO_OBJECTS;
+			}
+			else
+			{
+				ordinals = Arrays.copyOf(ordinals, size);
+				keys = Arrays.copyOf(keys, size);
+				values = Arrays.copyOf(values, size);
+			}
+		}
+	}
+
+	@Override
+	public Set<Map.Entry<K, V>> entrySet()
+	{
+		return new EntrySet();
+	}
+
+	/**
+	 * Returns the index of the given key, or -1 if the key is not in this
+	 * CompactKeyMap.
+	 */
+	@SuppressWarnings("unchecked")
+	private int indexOf(Object key)
+	{
+		if (size == 0 || !keyClass.isInstance(key))
+		{
+			return -1;
+		}
+		int ordinal = ordinalFunction.applyAsInt((K) key);
+		for (int i = lowerBound(ordinal); i < size && ordinals[i] == ordinal; i++)
+		{
+			if (keys[i] == key)
+			{
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the first index holding an ordinal no less than the given
+	 * ordinal.
+	 */
+	private int lowerBound(int ordinal)
+	{
+		int low = 0;
+		int high = size;
+		while (low < high)
+		{
+			int mid = (low + high) >>> 1;
+			if (ordinals[mid] < ordinal)
+			{
+				low = mid + 1;
+			}
+			else
+			{
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	private void removeAt(int index)
+	{
+		int moved = size - index - 1;
+		if (moved > 0)
+		{
+			System.arraycopy(ordinals, index + 1, ordinals, index, moved);
+			System.arraycopy(keys, index + 1, keys, index, moved);
+			System.arraycopy(values, index + 1, values, index, moved);
+		}
+		size--;
+		keys[size] = null;
+		values[size] = null;
+		modCount++;
+	}
+
+	private final class EntrySet extends AbstractSet<Map.Entry<K, V>>
+	{
+		@Override
+		public Iterator<Map.Entry<K, V>> iterator()
+		{
+			return new EntryIterator();
+		}
+
+		@Override
+		public int size()
+		{
+			return size;
+		}
+
+		@Override
+		public void clear()
+		{
+			CompactKeyMap.this.clear();
+		}
+	}
+
+	private final class EntryIterator implements Iterator<Map.Entry<K, V>>
+	{
+		private int next;
+		private int last = -1;
+		private int expectedModCount = modCount;
+
+		@Override
+		public boolean hasNext()
+		{
+			return next < size;
+		}
+
+		@Override
+		public Map.Entry<K, V> next()
+		{
+			if (modCount != expectedModCount)
+			{
+				throw new ConcurrentModificationException();
+			}
+			if (next >= size)
+			{
+				throw new NoSuchElementException();
+			}
+			last = next++;
+			return new SlotEntry(last);
+		}
+
+		@Override
+		public void remove()
+		{
+			if (last < 0)
+			{
+				throw new IllegalStateException();
+			}
+			if (modCount != expectedModCount)
+			{
+				throw new ConcurrentModificationException();
+			}
+			removeAt(last);
+			next = last;
+			last = -1;
+			expectedModCount = modCount;
+		}
+	}
+
+	private final class SlotEntry implements Map.Entry<K, V>
+	{
+		private final K key;
+		private V value;
+
+		@SuppressWarnings("unchecked")
+		private SlotEntry(int index)
+		{
+			key = (K) keys[index];
+			value = (V) values[index];
+		}
+
+		@Override
+		public K getKey()
+		{
+			return key;
+		}
+
+		@Override
+		public V getValue()
+		{
+			return value;
+		}
+
+		@Override
+		public V setValue(V newValue)
+		{
+			V old = value;
+			value = newValue;
+			put(key, newValue);
+			return old;
+		}
+
+		@Override
+		public boolean equals(Object obj)
+		{
+			if (!(obj instanceof Map.Entry))
+			{
+				return false;
+			}
+			Map.Entry<?, ?> other = (Map.Entry<?, ?>) obj;
+			return key.equals(other.getKey()) && Objects.equals(value, other.getValue());
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return key.hashCode() ^ Objects.hashCode(value);
+		}
+
+		@Override
+		public String toString()
+		{
+			return key + "=" + value;
+		}
+	}
+}
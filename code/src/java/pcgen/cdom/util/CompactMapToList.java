@@ -0,0 +1,200 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.cdom.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+/**
+ * A CompactMapToList is the storage behind ListKeyMapToList and
+ * FactSetKeyMapToList. It behaves as HashMapToList does, but holds its Lists
+ * in a CompactKeyMap, as most objects have Lists for only a few keys.
+ * 
+ * @param <K>
+ *            The type of key stored in this CompactMapToList
+ * @param <V>
+ *            The type of value stored in the Lists of this CompactMapToList
+ */
+final class CompactMapToList<K, V>
+{
+
+	private final CompactKeyMap<K, List<V>> map;
+
+	/**
+	 * Constructs a new, empty CompactMapToList.
+	 * 
+	 * @param keyClass
+	 *            The class of key that may be stored in this CompactMapToList
+	 * @param ordinalFunction
+	 *            The function returning the ordinal of a key
+	 */
+	CompactMapToList(Class<?> keyClass, ToIntFunction<? super K> ordinalFunction)
+	{
+		map = new CompactKeyMap<>(keyClass, ordinalFunction);
+	}
+
+	void addAllLists(CompactMapToList<K, V> other)
+	{
+		for (Map.Entry<K, List<V>> entry : other.map.entrySet())
+		{
+			addAllToListFor(entry.getKey(), entry.getValue());
+		}
+	}
+
+	void initializeListFor(K key)
+	{
+		if (map.containsKey(key))
+		{
+			throw new IllegalArgumentException("Cannot re-initialize key: " + key);
+		}
+		map.put(key, new ArrayList<>(1));
+	}
+
+	void addToListFor(K key, V value)
+	{
+		getOrCreateListFor(key).add(value);
+	}
+
+	void addAllToListFor(K key, Collection<? extends V> values)
+	{
+		if (values == null || values.isEmpty())
+		{
+			return;
+		}
+		getOrCreateListFor(key).addAll(values);
+	}
+
+	boolean containsListFor(K key)
+	{
+		return map.containsKey(key);
+	}
+
+	List<V> getListFor(K key)
+	{
+		List<V> list = map.get(key);
+		return (list == null) ? null : new ArrayList<>(list);
+	}
+
+	V getElementInList(K key, int index)
+	{
+		List<V> list = map.get(key);
+		return (list == null) ? null : list.get(index);
+	}
+
+	boolean removeFromListFor(K key, V value)
+	{
+		List<V> list = map.get(key);
+		if (list == null)
+		{
+			return false;
+		}
+		boolean removed = list.remove(value);
+		if (removed && list.isEmpty())
+		{
+			map.remove(key);
+		}
+		return removed;
+	}
+
+	List<V> removeListFor(K key)
+	{
+		return map.remove(key);
+	}
+
+	int sizeOfListFor(K key)
+	{
+		List<V> list = map.get(key);
+		return (list == null) ? 0 : list.size();
+	}
+
+	boolean containsInList(K key, V value)
+	{
+		List<V> list = map.get(key);
+		return list != null && list.contains(value);
+	}
+
+	boolean containsAnyInList(K key, Collection<? extends V> values)
+	{
+		List<V> list = map.get(key);
+		if (list != null)
+		{
+			for (V value : values)
+			{
+				if (list.contains(value))
+				{
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	Set<K> getKeySet()
+	{
+		return new HashSet<>(map.keySet());
+	}
+
+	boolean isEmpty()
+	{
+		return map.isEmpty();
+	}
+
+	/**
+	 * Releases any spare capacity held by this CompactMapToList and its Lists.
+	 */
+	void trimToSize()
+	{
+		map.trimToSize();
+		for (List<V> list : map.values())
+		{
+			((ArrayList<V>) list).trimToSize();
+		}
+	}
+
+	private List<V> getOrCreateListFor(K key)
+	{
+		List<V> list = map.get(key);
+		if (list == null)
+		{
+			list = new ArrayList<>(1);
+			map.put(key, list);
+		}
+		return list;
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return map.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj)
+	{
+		return obj instanceof CompactMapToList && map.equals(((CompactMapToList<?, ?>) obj).map);
+	}
+
+	@Override
+	public String toString()
+	{
+		return map.toString();
+	}
+}
@@ -19,7 +19,6 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
-import pcgen.base.util.HashMapToList;
 import pcgen.base.util.Indirect;
 import pcgen.base.util.ObjectContainer;
 import pcgen.cdom.enumeration.FactSetKey;
@@ -58,10 +57,11 @@ public class FactSetKeyMapToList
 	 * easily analysed as innocent. -- Tom Parker 1/15/07
 	 */
 	/**
-	 * The internal storage of this FactSetKeyMapToList
+	 * The internal storage of this FactSetKeyMapToList. Most objects have Lists for only a
+	 * few keys, so the Lists are held in a CompactMapToList.
 	 */
 	@SuppressWarnings("rawtypes")
-	private final HashMapToList map = new HashMapToList();
+	private final CompactMapToList map = new CompactMapToList<FactSetKey<?>, Object>(FactSetKey.class, FactSetKey::getOrdinal);
 
 	/**
 	 * Adds all of the Lists in the given FactSetKeyMapToList to this
@@ -324,6 +324,15 @@ public class FactSetKeyMapToList
 		return map.isEmpty();
 	}
 
+	/**
+	 * Releases any spare capacity held by this FactSetKeyMapToList. This is intended to
+	 * be called once the owning object has been fully loaded.
+	 */
+	public void trimToSize()
+	{
+		map.trimToSize();
+	}
+
 	@Override
 	public int hashCode()
 	{
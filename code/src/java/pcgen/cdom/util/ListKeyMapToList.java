@@ -23,7 +23,6 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
-import pcgen.base.util.HashMapToList;
 import pcgen.cdom.enumeration.ListKey;
 
 /**
@@ -61,10 +60,11 @@ public class ListKeyMapToList
 	 * easily analysed as innocent. -- Tom Parker 1/15/07
 	 */
 	/**
-	 * The internal storage of this ListKeyMapToList
+	 * The internal storage of this ListKeyMapToList. Most objects have Lists for only a
+	 * few keys, so the Lists are held in a CompactMapToList.
 	 */
 	@SuppressWarnings("rawtypes")
-	private final HashMapToList map = new HashMapToList();
+	private final CompactMapToList map = new CompactMapToList<ListKey<?>, Object>(ListKey.class, ListKey::getOrdinal);
 
 	/**
 	 * Adds all of the Lists in the given ListKeyMapToList to this
@@ -326,6 +326,15 @@ public class ListKeyMapToList
 		return map.isEmpty();
 	}
 
+	/**
+	 * Releases any spare capacity held by this ListKeyMapToList. This is intended to
+	 * be called once the owning object has been fully loaded.
+	 */
+	public void trimToSize()
+	{
+		map.trimToSize();
+	}
+
 	@Override
 	public int hashCode()
 	{
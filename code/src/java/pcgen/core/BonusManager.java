@@ -47,6 +47,8 @@ import pcgen.core.bonus.util.MissingObject;
 import pcgen.core.display.BonusDisplay;
 import pcgen.core.prereq.Prerequisite;
 import pcgen.core.utils.CoreUtility;
+import pcgen.util.CalculationMetrics;
+import pcgen.util.CalculationMetrics.Metric;
 import pcgen.util.Delta;
 import pcgen.util.Logging;
 
@@ -303,6 +305,7 @@ public class BonusManager
 	 */
 	void buildActiveBonusMap()
 	{
+		long startTime = CalculationMetrics.start();
 		activeBonusMap = new ConcurrentHashMap<>();
 		cachedActiveBonusSumsMap = new ConcurrentHashMap<>();
 		Map<String, String> nonStackMap = new ConcurrentHashMap<>();
@@ -386,6 +389,7 @@ public class BonusManager
 				continue;
 			}
 		}
+		CalculationMetrics.stop(pc.getCharID(), Metric.BONUS_MAP_BUILD, startTime);
 	}
 
 	/**
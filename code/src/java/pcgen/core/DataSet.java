@@ -75,6 +75,7 @@ public class DataSet implements DataSetFacade
 	private Skill speakLanguageSkill = null;
 	private final DefaultListFacade<BodyStructure> bodyStructures;
 	private final DefaultListFacade<EquipmentFacade> equipment;
+	private volatile EquipmentCatalog equipmentCatalog = null;
 	private final DefaultListFacade<String> xpTableNames;
 	private DefaultListFacade<GearBuySellFacade> gearBuySellSchemes;
 	private final DefaultListFacade<String> characterTypes;
@@ -406,6 +407,19 @@ public class DataSet implements DataSetFacade
 	public void addEquipment(EquipmentFacade equip)
 	{
 		equipment.addElement(equip);
+		equipmentCatalog = null;
+	}
+
+	@Override
+	public EquipmentCatalog getEquipmentCatalog()
+	{
+		EquipmentCatalog catalog = equipmentCatalog;
+		if (catalog == null)
+		{
+			catalog = EquipmentCatalog.of(equipment.getContents());
+			equipmentCatalog = catalog;
+		}
+		return catalog;
 	}
 
 	@Override
@@ -413,6 +427,7 @@ public class DataSet implements DataSetFacade
 	{
 		equipment.updateContents(
 			new ArrayList<EquipmentFacade>(context.getReferenceContext().getConstructedCDOMObjects(Equipment.class)));
+		equipmentCatalog = null;
 	}
 
 	@Override
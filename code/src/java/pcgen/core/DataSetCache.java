@@ -0,0 +1,124 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.core;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import pcgen.util.Logging;
+
+/**
+ * A DataSetCache keeps the most recently used ResidentDataSets, keyed by the
+ * game mode and campaigns they were loaded from. Once more than the given
+ * number of data sets are held, the least recently used one is dropped.
+ */
+public final class DataSetCache
+{
+	private final int capacity;
+
+	private final Map<String, ResidentDataSet> resident;
+
+	/**
+	 * Constructs a new DataSetCache.
+	 * 
+	 * @param capacity
+	 *            The maximum number of data sets to keep; at least one is
+	 *            always kept
+	 */
+	public DataSetCache(int capacity)
+	{
+		this.capacity = Math.max(1, capacity);
+		resident = new LinkedHashMap<>(16, 0.75f, true)
+		{
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, ResidentDataSet> eldest)
+			{
+				boolean evict = size() > DataSetCache.this.capacity;
+				if (evict && Logging.isDebugMode())
+				{
+					Logging.debugPrint("Releasing loaded data set " + eldest.getKey());
+				}
+				return evict;
+			}
+		};
+	}
+
+	/**
+	 * Returns the key identifying the data set loaded from the given game mode
+	 * and campaigns. The order of the campaigns is not significant.
+	 * 
+	 * @param gameMode
+	 *            The GameMode of the data set
+	 * @param campaigns
+	 *            The Campaigns loaded into the data set
+	 * @return The key identifying the data set
+	 */
+	public static String getSelectionKey(GameMode gameMode, Iterable<Campaign> campaigns)
+	{
+		List<String> keys = new ArrayList<>();
+		for (Campaign campaign : campaigns)
+		{
+			keys.add(campaign.getKeyName());
+		}
+		keys.sort(String.CASE_INSENSITIVE_ORDER);
+		return gameMode.getName() + '|' + String.join("|", keys);
+	}
+
+	/**
+	 * Returns the ResidentDataSet held for the given key, marking it as the
+	 * most recently used.
+	 * 
+	 * @param key
+	 *            The key, as returned by getSelectionKey
+	 * @return The ResidentDataSet held for the given key; null if there is none
+	 */
+	public synchronized ResidentDataSet get(String key)
+	{
+		return resident.get(key);
+	}
+
+	/**
+	 * Adds a ResidentDataSet to this DataSetCache, releasing the least
+	 * recently used data set if the capacity is exceeded.
+	 * 
+	 * @param key
+	 *            The key, as returned by getSelectionKey
+	 * @param dataSet
+	 *            The ResidentDataSet to keep
+	 */
+	public synchronized void put(String key, ResidentDataSet dataSet)
+	{
+		resident.put(key, dataSet);
+	}
+
+	/**
+	 * Releases all of the data sets held by this DataSetCache.
+	 */
+	public synchronized void clear()
+	{
+		resident.clear();
+	}
+
+	/**
+	 * @return The number of data sets held by this DataSetCache
+	 */
+	public synchronized int size()
+	{
+		return resident.size();
+	}
+}
@@ -29,6 +29,7 @@ import pcgen.cdom.base.Constants;
 import pcgen.cdom.content.CNAbility;
 import pcgen.io.EntityEncoder;
 import pcgen.persistence.lst.output.prereq.PrerequisiteWriter;
+import pcgen.util.LoadInterner;
 import pcgen.util.Logging;
 
 /**
@@ -70,7 +71,7 @@ public class Description extends ConcretePrereqObject
 			final String preText = aString.substring(currentInd, percentInd);
 			if (!preText.isEmpty())
 			{
-				theComponents.add(preText);
+				theComponents.add(LoadInterner.intern(preText));
 			}
 			if (percentInd == aString.length() - 1)
 			{
@@ -93,7 +94,7 @@ public class Description extends ConcretePrereqObject
 					Logging.errorPrintLocalised(
 						"Errors.Description.InvalidVariableReplacement", replacement); //$NON-NLS-1$
 				}
-				theComponents.add(VAR_MARKER + replacement);
+				theComponents.add(LoadInterner.intern(VAR_MARKER + replacement));
 			}
 			else if (aString.charAt(percentInd + 1) == '%')
 			{
@@ -121,14 +122,14 @@ public class Description extends ConcretePrereqObject
 				}
 				if (currentInd > percentInd + 1)
 				{
-					theComponents.add(VAR_MARKER + aString.substring(percentInd + 1, currentInd));
+					theComponents.add(LoadInterner.intern(VAR_MARKER + aString.substring(percentInd + 1, currentInd)));
 				}
 				else
 				{
 					// We broke out of the variable finding loop without finding
 					// even a single integer.  Assume we have a DESC field that
 					// is using a % unescaped.
-					theComponents.add(aString.substring(percentInd, percentInd + 1));
+					theComponents.add(LoadInterner.intern(aString.substring(percentInd, percentInd + 1)));
 					if (Logging.isLoggable(Logging.LST_WARNING))
 					{
 						Logging.log(Logging.LST_WARNING, "The % without a number in the description '" + aString
@@ -137,7 +138,7 @@ public class Description extends ConcretePrereqObject
 				}
 			}
 		}
-		theComponents.add(aString.substring(currentInd));
+		theComponents.add(LoadInterner.intern(aString.substring(currentInd)));
 	}
 
 	/**
@@ -151,7 +152,7 @@ public class Description extends ConcretePrereqObject
 		{
 			theVariables = new ArrayList<>();
 		}
-		theVariables.add(aVariable);
+		theVariables.add(LoadInterner.intern(aVariable));
 	}
 
 	/**
@@ -3444,8 +3444,11 @@ public final class Equipment extends PObject
 		{
 			AbstractReferenceContext ref = Globals.getContext().getReferenceContext();
 			int maxIndex = ref.getConstructedObjectCount(SizeAdjustment.class);
-			for (Prerequisite aBonus : getPrerequisiteList())
+			List<Prerequisite> prereqs = new ArrayList<>(getPrerequisiteList());
+			boolean changed = false;
+			for (int i = 0; i < prereqs.size(); i++)
 			{
+				Prerequisite aBonus = prereqs.get(i);
 				if ("SIZE".equalsIgnoreCase(aBonus.getKind()))
 				{
 					SizeAdjustment sa = ref.silentlyGetConstructedCDOMObject(SizeAdjustment.class, aBonus.getOperand());
@@ -3454,16 +3457,32 @@ public final class Equipment extends PObject
 
 					if ((iNewSize >= 0) && (iNewSize <= maxIndex))
 					{
-						// Note: This actually impacts the Prereq in this
-						// Equipment, since it is returned
-						// by reference from the get above ... thus no need to
-						// perform a set
+						// Prerequisites are shared (with the base item and
+						// other items using the same PRE), so alter a copy
 						SizeAdjustment size =
 								ref.getSortedList(SizeAdjustment.class, IntegerKey.SIZEORDER).get(iNewSize);
-						aBonus.setOperand(size.getKeyName());
+						try
+						{
+							Prerequisite resized = aBonus.clone();
+							resized.setOperand(size.getKeyName());
+							prereqs.set(i, resized);
+							changed = true;
+						}
+						catch (CloneNotSupportedException e)
+						{
+							Logging.errorPrint("Unable to resize prerequisite " + aBonus + " of " + getKeyName(), e);
+						}
 					}
 				}
 			}
+			if (changed)
+			{
+				clearPrerequisiteList();
+				for (Prerequisite prereq : prereqs)
+				{
+					addPrerequisite(prereq);
+				}
+			}
 		}
 	}
 
@@ -3653,6 +3672,17 @@ public final class Equipment extends PObject
 		S_EQUIPMENT_TYPES.clear();
 	}
 
+	static Collection<String> getEquipmentTypes()
+	{
+		return new ArrayList<>(S_EQUIPMENT_TYPES);
+	}
+
+	static void restoreEquipmentTypes(Collection<String> types)
+	{
+		S_EQUIPMENT_TYPES.clear();
+		S_EQUIPMENT_TYPES.addAll(types);
+	}
+
 	/**
 	 * Get the type list as a period-delimited string
 	 * 
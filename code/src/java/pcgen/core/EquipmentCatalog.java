@@ -0,0 +1,555 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+
+import pcgen.cdom.enumeration.Type;
+import pcgen.facade.core.EquipmentFacade;
+
+/**
+ * EquipmentCatalog is a read-only, column oriented index of the equipment in a
+ * data set, for screens that show and filter large equipment lists.
+ * 
+ * Each item is identified by its row in the catalog. Queries return a BitSet
+ * of rows, so filters can be combined with BitSet.and() and the matching
+ * items fetched with select(BitSet). The items are indexed by type and by the
+ * three letter fragments of their names (for text search), and the rows of
+ * items that have prerequisites are recorded so that qualification only needs
+ * to test those items.
+ * 
+ * Cost, weight and qualification depend on the character, so they are held in
+ * the CharacterColumns returned by forCharacter(PlayerCharacter). Each row is
+ * calculated when it is first asked for and reused until the character
+ * changes, so looking up a single item costs no more than calculating that
+ * item; only the queries over every row (qualified() and costBetween())
+ * calculate the whole catalog. The columns only hold a weak reference to their
+ * character, so the catalog does not keep a closed character alive.
+ */
+public final class EquipmentCatalog
+{
+
+	/**
+	 * The length of the name fragments used to index the item names.
+	 */
+	private static final int GRAM = 3;
+
+	/**
+	 * The items in the catalog, sorted by name.
+	 */
+	private final Equipment[] items;
+
+	/**
+	 * The lower case names of the items, by row.
+	 */
+	private final String[] names;
+
+	/**
+	 * The row of each item in the catalog.
+	 */
+	private final Map<Equipment, Integer> rows = new IdentityHashMap<>();
+
+	/**
+	 * The rows of the items of each (upper case) type.
+	 */
+	private final Map<String, BitSet> typeIndex = new HashMap<>();
+
+	/**
+	 * The rows of the items whose names contain each name fragment.
+	 */
+	private final Map<String, BitSet> gramIndex = new HashMap<>();
+
+	/**
+	 * The rows of the items that have prerequisites.
+	 */
+	private final BitSet prerequisiteRows = new BitSet();
+
+	/**
+	 * The most recent CharacterColumns for each character.
+	 */
+	private final Map<PlayerCharacter, CharacterColumns> columnCache = new WeakHashMap<>();
+
+	private EquipmentCatalog(List<Equipment> equipment)
+	{
+		items = equipment.toArray(new Equipment[0]);
+		names = new String[items.length];
+		for (int row = 0; row < items.length; row++)
+		{
+			Equipment eq = items[row];
+			rows.put(eq, row);
+			String name = eq.toString().toLowerCase(Locale.ENGLISH);
+			names[row] = name;
+			for (Type type : eq.getTrueTypeList(false))
+			{
+				typeIndex.computeIfAbsent(type.toString().toUpperCase(Locale.ENGLISH), k -> new BitSet()).set(row);
+			}
+			for (int i = 0; i + GRAM <= name.length(); i++)
+			{
+				gramIndex.computeIfAbsent(name.substring(i, i + GRAM), k -> new BitSet()).set(row);
+			}
+			if (eq.hasPrerequisites())
+			{
+				prerequisiteRows.set(row);
+			}
+		}
+	}
+
+	/**
+	 * Builds an EquipmentCatalog of the given equipment. Any EquipmentFacade
+	 * that is not an Equipment is ignored.
+	 * 
+	 * @param equipment
+	 *            The equipment to be placed in the catalog
+	 * @return A new EquipmentCatalog of the given equipment
+	 */
+	public static EquipmentCatalog of(Collection<? extends EquipmentFacade> equipment)
+	{
+		List<Equipment> list = new ArrayList<>(equipment.size());
+		for (EquipmentFacade facade : equipment)
+		{
+			if (facade instanceof Equipment)
+			{
+				list.add((Equipment) facade);
+			}
+		}
+		list.sort(Comparator.comparing(Equipment::toString, String.CASE_INSENSITIVE_ORDER));
+		return new EquipmentCatalog(list);
+	}
+
+	/**
+	 * Returns the number of items in the catalog.
+	 * 
+	 * @return The number of items in the catalog
+	 */
+	public int size()
+	{
+		return items.length;
+	}
+
+	/**
+	 * Returns the item in the given row of the catalog.
+	 * 
+	 * @param row
+	 *            The row of the item to be returned
+	 * @return The item in the given row of the catalog
+	 */
+	public Equipment get(int row)
+	{
+		return items[row];
+	}
+
+	/**
+	 * Returns the items in the given rows, in catalog (name) order.
+	 * 
+	 * @param rows
+	 *            The rows of the items to be returned
+	 * @return The items in the given rows
+	 */
+	public List<Equipment> select(BitSet rows)
+	{
+		List<Equipment> list = new ArrayList<>(rows.cardinality());
+		for (int row = rows.nextSetBit(0); row >= 0 && row < items.length; row = rows.nextSetBit(row + 1))
+		{
+			list.add(items[row]);
+		}
+		return list;
+	}
+
+	/**
+	 * Returns a new BitSet containing every row of the catalog.
+	 * 
+	 * @return A new BitSet containing every row of the catalog
+	 */
+	public BitSet all()
+	{
+		BitSet rows = new BitSet(items.length);
+		rows.set(0, items.length);
+		return rows;
+	}
+
+	/**
+	 * Returns the rows of the items of the given type. The type is not case
+	 * sensitive, and may be given with a leading "TYPE=" or "TYPE.".
+	 * 
+	 * @param type
+	 *            The type of the items to be returned
+	 * @return A new BitSet of the rows of the items of the given type
+	 */
+	public BitSet ofType(String type)
+	{
+		String key = type.toUpperCase(Locale.ENGLISH);
+		if (key.startsWith("TYPE=") || key.startsWith("TYPE.")) //$NON-NLS-1$ //$NON-NLS-2$
+		{
+			key = key.substring(5);
+		}
+		BitSet rows = typeIndex.get(key);
+		return (rows == null) ? new BitSet() : (BitSet) rows.clone();
+	}
+
+	/**
+	 * Returns the types by which the items in the catalog are indexed.
+	 * 
+	 * @return The (upper case) types of the items in the catalog
+	 */
+	public Collection<String> getTypes()
+	{
+		return Collections.unmodifiableSet(typeIndex.keySet());
+	}
+
+	/**
+	 * Returns the rows of the items whose names contain the given text,
+	 * ignoring case. Text of at least three characters is looked up in the
+	 * name index, so only the candidate items it returns are checked.
+	 * 
+	 * @param text
+	 *            The text the names of the returned items must contain
+	 * @return A new BitSet of the rows of the items whose names contain the
+	 *         given text
+	 */
+	public BitSet matching(String text)
+	{
+		String search = text.trim().toLowerCase(Locale.ENGLISH);
+		if (search.isEmpty())
+		{
+			return all();
+		}
+		BitSet candidates = null;
+		for (int i = 0; i + GRAM <= search.length(); i++)
+		{
+			BitSet gramRows = gramIndex.get(search.substring(i, i + GRAM));
+			if (gramRows == null)
+			{
+				return new BitSet();
+			}
+			if (candidates == null)
+			{
+				candidates = (BitSet) gramRows.clone();
+			}
+			else
+			{
+				candidates.and(gramRows);
+			}
+		}
+		if (candidates == null)
+		{
+			candidates = all();
+		}
+		for (int row = candidates.nextSetBit(0); row >= 0; row = candidates.nextSetBit(row + 1))
+		{
+			if (!names[row].contains(search))
+			{
+				candidates.clear(row);
+			}
+		}
+		return candidates;
+	}
+
+	/**
+	 * Returns the row of the given item in the catalog.
+	 * 
+	 * @param equipment
+	 *            The item to be found
+	 * @return The row of the item, or -1 if the item is not in the catalog
+	 */
+	public int indexOf(Equipment equipment)
+	{
+		Integer row = rows.get(equipment);
+		return (row == null) ? -1 : row;
+	}
+
+	/**
+	 * Returns the cost, weight and qualification of the items in the catalog
+	 * for the given character. The result is reused until the character
+	 * changes (see PlayerCharacter.getChangeStamp()). Rows are calculated as
+	 * they are read.
+	 * 
+	 * Only one character's columns are calculated at a time, since calculating
+	 * the cost of an item keeps temporary state on the (shared) item.
+	 * 
+	 * @param pc
+	 *            The character for which the columns should be returned
+	 * @return The CharacterColumns of the catalog for the given character
+	 */
+	public synchronized CharacterColumns forCharacter(PlayerCharacter pc)
+	{
+		Objects.requireNonNull(pc, "PlayerCharacter cannot be null");
+		CharacterColumns columns = columnCache.get(pc);
+		if ((columns == null) || !columns.isCurrent())
+		{
+			columns = new CharacterColumns(pc);
+			columnCache.put(pc, columns);
+		}
+		return columns;
+	}
+
+	/**
+	 * CharacterColumns holds the cost, weight and qualification of each item in
+	 * an EquipmentCatalog for one character, as they were when each row was
+	 * calculated. Rows are calculated on first use, under the catalog's lock.
+	 */
+	public final class CharacterColumns
+	{
+		private final WeakReference<PlayerCharacter> pcRef;
+		private long stamp;
+		private final double[] cost;
+		private final double[] weight;
+		private final BitSet qualified;
+
+		/**
+		 * The rows that have been calculated.
+		 */
+		private final BitSet calculated;
+
+		/**
+		 * The rows of the catalog in order of increasing cost, and the cost of
+		 * each of those rows, for cost range queries. Built on first use.
+		 */
+		private int[] costOrder;
+		private double[] sortedCost;
+
+		private CharacterColumns(PlayerCharacter pc)
+		{
+			pcRef = new WeakReference<>(pc);
+			stamp = pc.getChangeStamp();
+			int size = items.length;
+			cost = new double[size];
+			weight = new double[size];
+			qualified = all();
+			calculated = new BitSet(size);
+		}
+
+		/**
+		 * Calculates the given row, if that has not been done. The stamp is
+		 * moved on if it was current, as the calculation may update the
+		 * character's own caches.
+		 */
+		private void calculate(int row)
+		{
+			if (calculated.get(row))
+			{
+				return;
+			}
+			PlayerCharacter pc = pcRef.get();
+			if (pc == null)
+			{
+				throw new IllegalStateException("The character of these columns has been discarded");
+			}
+			boolean current = pc.getChangeStamp() == stamp;
+			Equipment eq = items[row];
+			cost[row] = eq.getCost(pc).doubleValue();
+			weight[row] = eq.getWeightAsDouble(pc);
+			if (prerequisiteRows.get(row) && !pc.isQualified(eq))
+			{
+				qualified.clear(row);
+			}
+			calculated.set(row);
+			if (current)
+			{
+				stamp = pc.getChangeStamp();
+			}
+		}
+
+		private void calculateAll()
+		{
+			for (int row = calculated.nextClearBit(0); row < items.length; row = calculated.nextClearBit(row + 1))
+			{
+				calculate(row);
+			}
+		}
+
+		/**
+		 * Returns true if the character has not changed since these columns
+		 * were calculated.
+		 * 
+		 * @return true if these columns are current for the character
+		 */
+		public boolean isCurrent()
+		{
+			synchronized (EquipmentCatalog.this)
+			{
+				PlayerCharacter pc = pcRef.get();
+				return (pc != null) && (pc.getChangeStamp() == stamp);
+			}
+		}
+
+		/**
+		 * Returns the cost of the item in the given row.
+		 * 
+		 * @param row
+		 *            The row of the item
+		 * @return The cost of the item in the given row
+		 */
+		public double getCost(int row)
+		{
+			synchronized (EquipmentCatalog.this)
+			{
+				calculate(row);
+				return cost[row];
+			}
+		}
+
+		/**
+		 * Returns the weight (in pounds) of the item in the given row.
+		 * 
+		 * @param row
+		 *            The row of the item
+		 * @return The weight of the item in the given row
+		 */
+		public double getWeight(int row)
+		{
+			synchronized (EquipmentCatalog.this)
+			{
+				calculate(row);
+				return weight[row];
+			}
+		}
+
+		/**
+		 * Returns true if the character qualifies for the item in the given
+		 * row.
+		 * 
+		 * @param row
+		 *            The row of the item
+		 * @return true if the character qualifies for the item
+		 */
+		public boolean isQualified(int row)
+		{
+			synchronized (EquipmentCatalog.this)
+			{
+				calculate(row);
+				return qualified.get(row);
+			}
+		}
+
+		/**
+		 * Returns the rows of the items the character qualifies for. This
+		 * calculates every row.
+		 * 
+		 * @return A new BitSet of the rows of the items the character
+		 *         qualifies for
+		 */
+		public BitSet qualified()
+		{
+			synchronized (EquipmentCatalog.this)
+			{
+				calculateAll();
+				return (BitSet) qualified.clone();
+			}
+		}
+
+		/**
+		 * Returns the rows of the items that cost at least min and at most max.
+		 * This calculates every row.
+		 * 
+		 * @param min
+		 *            The lowest cost of the returned items
+		 * @param max
+		 *            The highest cost of the returned items
+		 * @return A new BitSet of the rows of the items in the cost range
+		 */
+		public BitSet costBetween(double min, double max)
+		{
+			synchronized (EquipmentCatalog.this)
+			{
+				buildCostOrder();
+				BitSet rows = new BitSet(items.length);
+				for (int i = lowerBound(min); i < sortedCost.length && sortedCost[i] <= max; i++)
+				{
+					rows.set(costOrder[i]);
+				}
+				return rows;
+			}
+		}
+
+		/**
+		 * Returns the number of rows that have been calculated.
+		 * 
+		 * @return The number of rows that have been calculated
+		 */
+		int getCalculatedCount()
+		{
+			synchronized (EquipmentCatalog.this)
+			{
+				return calculated.cardinality();
+			}
+		}
+
+		private void buildCostOrder()
+		{
+			if (costOrder != null)
+			{
+				return;
+			}
+			calculateAll();
+			int size = items.length;
+			Integer[] order = new Integer[size];
+			for (int row = 0; row < size; row++)
+			{
+				order[row] = row;
+			}
+			Arrays.sort(order, Comparator.comparingDouble(row -> cost[row]));
+			costOrder = new int[size];
+			sortedCost = new double[size];
+			for (int i = 0; i < size; i++)
+			{
+				costOrder[i] = order[i];
+				sortedCost[i] = cost[order[i]];
+			}
+		}
+
+		private int lowerBound(double min)
+		{
+			int low = 0;
+			int high = sortedCost.length;
+			while (low < high)
+			{
+				int mid = (low + high) >>> 1;
+				if (sortedCost[mid] < min)
+				{
+					low = mid + 1;
+				}
+				else
+				{
+					high = mid;
+				}
+			}
+			return low;
+		}
+
+		/**
+		 * Returns the catalog these columns belong to.
+		 * 
+		 * @return The EquipmentCatalog these columns belong to
+		 */
+		public EquipmentCatalog getCatalog()
+		{
+			return EquipmentCatalog.this;
+		}
+	}
+}
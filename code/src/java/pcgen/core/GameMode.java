@@ -1935,6 +1935,34 @@ public final class GameMode implements Comparable<Object>
 		gameRefContext.getAllManufacturers().forEach(rm -> resolveReferenceManufacturer(referenceContext, rm));
 	}
 
+	/**
+	 * Captures the LoadContext into which data is currently loaded for this
+	 * GameMode, so that it can be reinstated with restoreLoadContext once
+	 * other data has been loaded.
+	 * 
+	 * @return The LoadState holding the current LoadContext
+	 */
+	public LoadState captureLoadContext()
+	{
+		return new LoadState(context, masterLCS);
+	}
+
+	/**
+	 * Reinstates a LoadContext previously captured by captureLoadContext. The
+	 * references of this GameMode are pointed back at the objects of that
+	 * LoadContext; the objects of this GameMode are already present there.
+	 * 
+	 * @param state
+	 *            The LoadState holding the LoadContext to be reinstated
+	 */
+	public void restoreLoadContext(LoadState state)
+	{
+		masterLCS = state.masterLCS;
+		context = state.context;
+		AbstractReferenceContext referenceContext = context.getReferenceContext();
+		gameRefContext.getAllManufacturers().forEach(rm -> rebindReferenceManufacturer(referenceContext, rm));
+	}
+
 	private AbstractReferenceContext getRefContext()
 	{
 		return SettingsHandler.inputUnconstructedMessages() ? TrackingReferenceContext.createTrackingReferenceContext()
@@ -1943,6 +1971,12 @@ public final class GameMode implements Comparable<Object>
 
 	static <T extends Loadable> void resolveReferenceManufacturer(AbstractReferenceContext rc,
 		ReferenceManufacturer<T> rm)
+	{
+		rm.injectConstructed(rebindReferenceManufacturer(rc, rm));
+	}
+
+	private static <T extends Loadable> ReferenceManufacturer<T> rebindReferenceManufacturer(
+		AbstractReferenceContext rc, ReferenceManufacturer<T> rm)
 	{
 		String identityName = rm.getPersistentFormat();
 		ReferenceManufacturer<T> mfg = rc.getManufacturerByFormatName(identityName, rm.getReferenceClass());
@@ -1956,7 +1990,7 @@ public final class GameMode implements Comparable<Object>
 		{
 			((TransparentReference<T>) ref).resolve(mfg);
 		}
-		rm.injectConstructed(mfg);
+		return mfg;
 	}
 
 	public LoadContext getContext()
@@ -2283,4 +2317,28 @@ public final class GameMode implements Comparable<Object>
 	{
 		return maxNonEpicLevel;
 	}
+
+	/**
+	 * The LoadContext, and its master lists, into which the data of one data
+	 * set was loaded for a GameMode.
+	 */
+	public static final class LoadState
+	{
+		private final LoadContext context;
+		private final ConsolidatedListCommitStrategy masterLCS;
+
+		private LoadState(LoadContext context, ConsolidatedListCommitStrategy masterLCS)
+		{
+			this.context = context;
+			this.masterLCS = masterLCS;
+		}
+
+		/**
+		 * @return The LoadContext into which the data set was loaded
+		 */
+		public LoadContext getContext()
+		{
+			return context;
+		}
+	}
 }
@@ -32,6 +32,7 @@ import pcgen.cdom.enumeration.MapKey;
 import pcgen.cdom.enumeration.ObjectKey;
 import pcgen.cdom.enumeration.SourceFormat;
 import pcgen.cdom.enumeration.Type;
+import pcgen.cdom.formula.SolverProfile;
 import pcgen.cdom.helper.AllowUtilities;
 import pcgen.core.analysis.OutputNameFormatting;
 import pcgen.core.kit.BaseKit;
@@ -39,6 +40,7 @@ import pcgen.core.kit.KitStat;
 import pcgen.core.kit.KitTable;
 import pcgen.core.prereq.PrereqHandler;
 import pcgen.core.prereq.PrerequisiteUtilities;
+import pcgen.util.CalculationMetrics;
 import pcgen.util.Logging;
 import pcgen.util.enumeration.View;
 import pcgen.util.enumeration.Visibility;
@@ -257,7 +259,8 @@ public final class Kit extends PObject
 
 	/**
 	 * Test applying the kit and record the choices made and any warnings 
-	 * encountered. Note these changes are made on a copy of the character.
+	 * encountered. Note these changes are made on an overlay of the character
+	 * (see PlayerCharacter.createOverlay()), which is discarded afterwards.
 	 * 
 	 * @param aPC PlayerCharacter
 	 * @param thingsToAdd List of kit actions to be taken.
@@ -269,11 +272,27 @@ public final class Kit extends PObject
 		// Ensure a reset of random values from a prior run
 		selectValue = -1;
 
-		// We will create a copy of the PC since we may need to add classes and
-		// levels to the PC that the user may choose not to apply.
+		// We will create an overlay of the PC since we may need to add classes
+		// and levels to the PC that the user may choose not to apply. A subkit
+		// is tested on the overlay created for its parent kit.
 		// NOTE: These methods need to be called in the correct order.
-		PlayerCharacter tempPC = subkit ? aPC : aPC.clone();
+		PlayerCharacter tempPC = subkit ? aPC : aPC.createOverlay();
+		try
+		{
+			testApplyTasks(tempPC, thingsToAdd, warnings);
+		}
+		finally
+		{
+			if (tempPC != aPC)
+			{
+				CalculationMetrics.remove(tempPC.getCharID());
+				SolverProfile.remove(tempPC.getCharID());
+			}
+		}
+	}
 
+	private void testApplyTasks(PlayerCharacter tempPC, List<BaseKit> thingsToAdd, List<String> warnings)
+	{
 		for (KitStat kStat : getStats())
 		{
 			kStat.testApply(this, tempPC, warnings);
@@ -308,7 +327,6 @@ public final class Kit extends PObject
 				tempPC.setGold(pcGold.subtract(totalCostToBeCharged));
 			}
 		}
-
 	}
 
 	/**
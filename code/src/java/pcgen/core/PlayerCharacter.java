@@ -262,6 +262,8 @@ import pcgen.rules.context.AbstractReferenceContext;
 import pcgen.rules.context.LoadContext;
 import pcgen.rules.context.VariableContext;
 import pcgen.system.PCGenSettings;
+import pcgen.util.CalculationMetrics;
+import pcgen.util.CalculationMetrics.Metric;
 import pcgen.util.Delta;
 import pcgen.util.Logging;
 import pcgen.util.enumeration.AttackType;
@@ -272,10 +274,14 @@ import org.jetbrains.annotations.TestOnly;
 public class PlayerCharacter implements Cloneable, VariableContainer
 {
 
-	// Constants for use in getBonus
-	private static String lastVariable;
 	// This marker is static so that the spells allocated to it can also be found in the cloned character.
 	private static final CDOMObject GRANTED_SPELL_CACHE = new ObjectCache();
+	// The order in which natures take precedence when abilities are looked up by key
+	private static final Nature[] ABILITY_NATURE_PRIORITY = {Nature.NORMAL, Nature.VIRTUAL, Nature.AUTOMATIC};
+
+	// The built in variable getVariable is resolving, kept per character so
+	// characters calculated on different threads cannot see each other's lookup
+	private String lastVariable;
 
 	private final CharID id;
 	private final SAtoStringProcessor SA_TO_STRING_PROC;
@@ -402,7 +408,6 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 	private final ProhibitedSchoolFacet prohibitedSchoolFacet = FacetLibrary.getFacet(ProhibitedSchoolFacet.class);
 	private final SpellProhibitorFacet spellProhibitorFacet = FacetLibrary.getFacet(SpellProhibitorFacet.class);
 
-	private ObjectCache cache = new ObjectCache();
 	private AssociationSupport assocSupt = new AssociationSupport();
 	private BonusManager bonusManager = new BonusManager(this);
 	private final BonusChangeFacet bonusChangeFacet = FacetLibrary.getFacet(BonusChangeFacet.class);
@@ -472,8 +477,8 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 	private String outputSheetHTML = Constants.EMPTY_STRING;
 	private String outputSheetPDF = Constants.EMPTY_STRING;
 	private boolean[] ageSetKitSelections = new boolean[Constants.NUMBER_OF_AGESET_KIT_SELECTIONS];
-	private boolean dirtyFlag = false;
-	private int serial = 0;
+	private volatile boolean dirtyFlag = false;
+	private volatile int serial = 0;
 	private boolean importing = false;
 
 	// Should temp mods/bonuses be used/saved?
@@ -524,11 +529,11 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 	 * Constructor.
 	 *
 	 * @param from
+	 * @param newID The CharID of the new PlayerCharacter
 	 */
-	private PlayerCharacter(PlayerCharacter from)
+	private PlayerCharacter(PlayerCharacter from, CharID newID)
 	{
-		LoadContext context = Globals.getContext();
-		id = CharID.getID(context.getDataSetID());
+		id = newID;
 
 		display = new CharacterDisplay(id);
 		SA_TO_STRING_PROC = new SAtoStringProcessor(this);
@@ -539,7 +544,10 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 		variableProcessor = new VariableProcessorPC(this);
 		controller = from.controller;
 
-		theUserPoolBonuses = new HashMap<>(from.theUserPoolBonuses);
+		if (from.theUserPoolBonuses != null)
+		{
+			theUserPoolBonuses = new HashMap<>(from.theUserPoolBonuses);
+		}
 	}
 
 	/**
@@ -616,6 +624,7 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 		VariableContext variableContext = context.getVariableContext();
 		FormulaManager formulaManager = variableContext.getPCFormulaManager();
 		MonitorableVariableStore varStore = new MonitorableVariableStore();
+		varStore.setProfileOwner(id);
 		scopeFacet.set(id, formulaManager.getScopeInstanceFactory());
 		variableStoreFacet.set(id, varStore);
 		solverManagerFacet.set(id, variableContext.generateSolverManager(varStore));
@@ -984,8 +993,8 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 	{
 		if (dirtyState)
 		{
+			CalculationMetrics.increment(id, Metric.SET_DIRTY);
 			serial++;
-			cache = new ObjectCache();
 			variableProcessor.setSerial(serial);
 			cabFacet.update(id);
 			cAvSpellFacet.update(id);
@@ -1018,6 +1027,19 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 		return serial;
 	}
 
+	/**
+	 * Returns a stamp that changes whenever the character changes. Unlike the
+	 * serial this also covers changes made directly to the facets of the
+	 * character, such as a stat score, that do not mark the character dirty.
+	 * Use to detect change in anything calculated from the character.
+	 * 
+	 * @return The change stamp of the character
+	 */
+	public long getChangeStamp()
+	{
+		return ((long) serial << 32) | (id.getChangeCount() & 0xFFFFFFFFL);
+	}
+
 	/**
 	 * Get the list of equipment sets.
 	 *
@@ -3177,33 +3199,14 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 	 */
 	public double getFeatBonusTo(String aType, String aName)
 	{
-		final Map<String, Ability> aHashMap = new HashMap<>();
-
-		for (Ability aFeat : getAbilityList(AbilityCategory.FEAT, Nature.NORMAL))
-		{
-			if (aFeat != null)
-			{
-				aHashMap.put(aFeat.getKeyName(), aFeat);
-			}
-		}
-
-		addUniqueAbilitiesToMap(aHashMap, getAbilityList(AbilityCategory.FEAT, Nature.VIRTUAL));
-		addUniqueAbilitiesToMap(aHashMap, getAbilityList(AbilityCategory.FEAT, Nature.AUTOMATIC));
-		List<Ability> aggregateFeatList = new ArrayList<>(aHashMap.values());
-		return getPObjectWithCostBonusTo(aggregateFeatList, aType.toUpperCase(), aName.toUpperCase());
+		return getPObjectWithCostBonusTo(getAggregateAbilityListNoDuplicates(AbilityCategory.FEAT), aType.toUpperCase(),
+			aName.toUpperCase());
 	}
 
 	public Ability getMatchingAbility(Category<Ability> abilityCategory, Ability ability, Nature nature)
 	{
-		Collection<CNAbility> cnas = grantedAbilityFacet.getPoolAbilities(id, abilityCategory, nature);
-		for (CNAbility cna : cnas)
-		{
-			if (cna.getAbilityKey().equals(ability.getKeyName()))
-			{
-				return cna.getAbility();
-			}
-		}
-		return null;
+		CNAbility cna = grantedAbilityFacet.getPoolAbilityKeyed(id, abilityCategory, nature, ability.getKeyName());
+		return (cna == null) ? null : cna.getAbility();
 	}
 
 	public void setHasMadeKitSelectionForAgeSet(final int index, final boolean arg)
@@ -4701,6 +4704,7 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 		// that depends on variable B that will not be the correct
 		// value until after the map has been completely created.
 
+		long startTime = CalculationMetrics.start();
 		int count = 0;
 		do
 		{
@@ -4725,6 +4729,8 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 		while (!bonusManager.compareToCheckpoint());
 		// If the newly calculated bonus map is different to the old one
 		// loop again until they are the same.
+		CalculationMetrics.add(id, Metric.ACTIVE_BONUS_LOOP, count);
+		CalculationMetrics.stop(id, Metric.ACTIVE_BONUS_CALC, startTime);
 		if (Logging.isDebugMode())
 		{
 			Logging.log(Logging.DEBUG, "Ran " + count + " loops to calc bonuses");
@@ -7100,7 +7106,67 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 		// new data instances for all the final variables and I won't
 		// be able to reset them. Need to call new PlayerCharacter()
 		// aClone = (PlayerCharacter)super.clone();
-		aClone = new PlayerCharacter(this);
+		aClone = new PlayerCharacter(this, CharID.getID(Globals.getContext().getDataSetID()));
+		Collection<AbstractStorageFacet> beans = SpringHelper.getStorageBeans();
+		for (AbstractStorageFacet bean : beans)
+		{
+			bean.copyContents(id, aClone.id);
+		}
+		copyStateInto(aClone);
+
+		aClone.adjustMoveRates();
+		//This mod set is necessary to trigger certain calculations to ensure correct output
+		//modSkillPointsBuffer = Integer.MIN_VALUE;
+		aClone.calcActiveBonuses();
+		//Just to be safe
+		aClone.equippedFacet.reset(aClone.id);
+
+		aClone.serial = serial;
+
+		return aClone;
+	}
+
+	/**
+	 * Returns a lightweight overlay of the PlayerCharacter, for trying out
+	 * changes (such as a kit) that may then be thrown away. The overlay
+	 * behaves as a copy of this PlayerCharacter, but the contents of a facet
+	 * are only copied the first time the overlay uses that facet (see
+	 * CharID.getOverlayID(CharID)), rather than copying every facet as
+	 * clone() does. Objects owned by the character (equipment, level info,
+	 * equipment sets, spell books) are still copied, so changes to them on the
+	 * overlay do not leak into this PlayerCharacter. As with clone(), the
+	 * move rates and active bonuses of the overlay are recalculated, which
+	 * copies the facets those calculations read.
+	 * 
+	 * This PlayerCharacter must not be changed while the overlay is in use,
+	 * and the overlay should be discarded once the changes have been
+	 * evaluated.
+	 *
+	 * @return A new overlay of this {@code PlayerCharacter}
+	 */
+	public PlayerCharacter createOverlay()
+	{
+		PlayerCharacter overlay = new PlayerCharacter(this, CharID.getOverlayID(id));
+		copyStateInto(overlay);
+
+		//As clone(), so the overlay is calculated the same way as a copy
+		overlay.adjustMoveRates();
+		overlay.calcActiveBonuses();
+		overlay.equippedFacet.reset(overlay.id);
+		overlay.serial = serial;
+		return overlay;
+	}
+
+	/**
+	 * Copies the state that is not held in facets, and the objects owned by
+	 * this PlayerCharacter, into a copy of this PlayerCharacter. The facet
+	 * contents must already be (or appear to be) copied into the target.
+	 * 
+	 * @param aClone
+	 *            The PlayerCharacter into which the state should be copied
+	 */
+	private void copyStateInto(PlayerCharacter aClone)
+	{
 		try
 		{
 			aClone.assocSupt = assocSupt.clone();
@@ -7109,11 +7175,6 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 		{
 			Logging.errorPrint("PlayerCharacter.clone failed", e);
 		}
-		Collection<AbstractStorageFacet> beans = SpringHelper.getStorageBeans();
-		for (AbstractStorageFacet bean : beans)
-		{
-			bean.copyContents(id, aClone.id);
-		}
 		SolverManager sm = solverManagerFacet.get(id);
 		if (sm != null)
 		{
@@ -7164,7 +7225,10 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 		aClone.calcEquipSetId = calcEquipSetId;
 		aClone.tempBonusItemList.addAll(tempBonusItemList);
 		aClone.autoKnownSpells = autoKnownSpells;
+		aClone.useHigherKnownSlots = useHigherKnownSlots;
+		aClone.useHigherPreppedSlots = useHigherPreppedSlots;
 		aClone.autoLoadCompanion = autoLoadCompanion;
+		aClone.autoResize = autoResize;
 		aClone.outputSheetHTML = outputSheetHTML;
 		aClone.outputSheetPDF = outputSheetPDF;
 		aClone.defaultDomainSource = defaultDomainSource;
@@ -7183,17 +7247,6 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 		aClone.skillsOutputOrder = skillsOutputOrder;
 		aClone.spellLevelTemp = spellLevelTemp;
 		aClone.pointBuyPoints = pointBuyPoints;
-
-		aClone.adjustMoveRates();
-		//This mod set is necessary to trigger certain calculations to ensure correct output
-		//modSkillPointsBuffer = Integer.MIN_VALUE;
-		aClone.calcActiveBonuses();
-		//Just to be safe
-		aClone.equippedFacet.reset(aClone.id);
-
-		aClone.serial = serial;
-
-		return aClone;
 	}
 
 	/**
@@ -7890,25 +7943,12 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 
 	public Ability getAbilityKeyed(AbilityCategory aCategory, String aKey)
 	{
-		for (Ability ability : getAbilityList(aCategory, Nature.NORMAL))
+		for (Nature nature : ABILITY_NATURE_PRIORITY)
 		{
-			if (ability.getKeyName().equals(aKey))
+			CNAbility cna = grantedAbilityFacet.getPoolAbilityKeyed(id, aCategory, nature, aKey);
+			if (cna != null)
 			{
-				return ability;
-			}
-		}
-		for (Ability ability : getAbilityList(aCategory, Nature.VIRTUAL))
-		{
-			if (ability.getKeyName().equals(aKey))
-			{
-				return ability;
-			}
-		}
-		for (Ability ability : getAbilityList(aCategory, Nature.AUTOMATIC))
-		{
-			if (ability.getKeyName().equals(aKey))
-			{
-				return ability;
+				return cna.getAbility();
 			}
 		}
 		return null;
@@ -7935,36 +7975,44 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 	 */
 	public List<Ability> getAggregateAbilityListNoDuplicates(final AbilityCategory aCategory)
 	{
-		final Map<String, Ability> aHashMap = new HashMap<>();
-
-		for (Ability aFeat : getAbilityList(aCategory, Nature.NORMAL))
+		List<Ability> aggregate = new ArrayList<>(grantedAbilityFacet.getPoolCount(id, aCategory, null));
+		for (int i = 0; i < ABILITY_NATURE_PRIORITY.length; i++)
 		{
-			if (aFeat != null)
+			Nature nature = ABILITY_NATURE_PRIORITY[i];
+			for (CNAbility cna : grantedAbilityFacet.getPoolAbilitiesView(id, aCategory, nature))
 			{
-				aHashMap.put(aFeat.getKeyName(), aFeat);
+				String key = cna.getAbilityKey();
+				//Only the first occurrence of a key in the highest priority nature is kept
+				if (grantedAbilityFacet.getPoolAbilityKeyed(id, aCategory, nature, key) == cna
+					&& !isKeyedInNature(aCategory, key, i))
+				{
+					aggregate.add(cna.getAbility());
+				}
 			}
 		}
-
-		addUniqueAbilitiesToMap(aHashMap, getAbilityList(aCategory, Nature.VIRTUAL));
-		addUniqueAbilitiesToMap(aHashMap, getAbilityList(aCategory, Nature.AUTOMATIC));
-
-		List<Ability> aggregate = new ArrayList<>(aHashMap.values());
 		return aggregate;
 	}
 
 	/**
-	 * @param aHashMap
-	 * @param abilityList TODO
+	 * Identifies if an ability with the given key is held in the given
+	 * category with a nature of higher priority than the given one.
+	 * 
+	 * @param aCategory The ability category to be queried.
+	 * @param key The key of the ability.
+	 * @param priority The index into ABILITY_NATURE_PRIORITY of the nature
+	 *            being processed.
+	 * @return true if a higher priority nature holds the ability.
 	 */
-	private static void addUniqueAbilitiesToMap(final Map<String, Ability> aHashMap, Collection<Ability> abilityList)
+	private boolean isKeyedInNature(Category<Ability> aCategory, String key, int priority)
 	{
-		for (Ability vFeat : abilityList)
+		for (int i = 0; i < priority; i++)
 		{
-			if (!aHashMap.containsKey(vFeat.getKeyName()))
+			if (grantedAbilityFacet.getPoolAbilityKeyed(id, aCategory, ABILITY_NATURE_PRIORITY[i], key) != null)
 			{
-				aHashMap.put(vFeat.getKeyName(), vFeat);
+				return true;
 			}
 		}
+		return false;
 	}
 
 	private void processAbilityListsOnAdd(CDOMObject cdo, CDOMReference<? extends CDOMList<?>> ref)
@@ -8350,15 +8398,12 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 	 */
 	public HashMapToList<CDOMList<Spell>, Integer> getSpellLevelInfo(Spell sp)
 	{
-		HashMapToList<CDOMList<Spell>, Integer> hml = cache.get(MapKey.SPELL_PC_INFO, sp);
-		if (hml == null)
-		{
-			hml = availSpellFacet.getSpellLevelInfo(id, sp);
-			cache.addToMapFor(MapKey.SPELL_PC_INFO, sp, hml);
-		}
-		HashMapToList<CDOMList<Spell>, Integer> newhml = new HashMapToList<>();
-		newhml.addAllLists(hml);
-		return newhml;
+		/*
+		 * Not cached: the facet answers from the data set's SpellLevelIndex
+		 * and the character's few additional spell levels, and returns a new
+		 * HashMapToList on each call
+		 */
+		return availSpellFacet.getSpellLevelInfo(id, sp);
 	}
 
 	/**
@@ -8888,7 +8933,7 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 	private Set<Ability> getAbilityList(Category<Ability> cat, Nature nature)
 	{
 		Set<Ability> newSet = new HashSet<>();
-		Collection<CNAbility> cnas = grantedAbilityFacet.getPoolAbilities(id, cat, nature);
+		Collection<CNAbility> cnas = grantedAbilityFacet.getPoolAbilitiesView(id, cat, nature);
 		for (CNAbility cna : cnas)
 		{
 			newSet.add(cna.getAbility());
@@ -9852,10 +9897,100 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 		return templateFeatFacet.getSet(id, template);
 	}
 
+	/**
+	 * Returns a read only view of the abilities granted to the character. The
+	 * view reflects later changes to the character, so it must not be
+	 * iterated while the character is being modified. Use getCNAbilities()
+	 * for an independent copy.
+	 * 
+	 * @return A read only view of the abilities granted to the character.
+	 */
+	public List<CNAbility> getCNAbilitiesView()
+	{
+		return grantedAbilityFacet.getCNAbilitiesView(id);
+	}
+
+	/**
+	 * Returns a read only view of the abilities granted to the character in
+	 * any pool of the given parent category, see getCNAbilitiesView().
+	 * 
+	 * @param cat The parent category of the abilities.
+	 * @param n The nature of the abilities, or null for any nature.
+	 * @return A read only view of the matching abilities.
+	 */
+	public List<CNAbility> getCNAbilitiesView(Category<Ability> cat, Nature n)
+	{
+		if (!cat.getParentCategory().equals(cat))
+		{
+			throw new IllegalArgumentException("Category for getCNAbilitiesView must be parent category, was: " + cat);
+		}
+		return grantedAbilityFacet.getCNAbilitiesView(id, cat, n);
+	}
+
+	/**
+	 * Returns a read only view of the abilities granted to the character in
+	 * exactly the given pool category, see getCNAbilitiesView().
+	 * 
+	 * @param cat The pool category of the abilities.
+	 * @param n The nature of the abilities, or null for any nature.
+	 * @return A read only view of the matching abilities.
+	 */
+	public List<CNAbility> getPoolAbilitiesView(Category<Ability> cat, Nature n)
+	{
+		return grantedAbilityFacet.getPoolAbilitiesView(id, cat, n);
+	}
+
+	/**
+	 * Returns the number of abilities granted to the character in exactly the
+	 * given pool category, without building a collection.
+	 * 
+	 * @param cat The pool category of the abilities.
+	 * @param n The nature of the abilities, or null for any nature.
+	 * @return The number of matching abilities.
+	 */
+	public int getPoolAbilityCount(Category<Ability> cat, Nature n)
+	{
+		return grantedAbilityFacet.getPoolCount(id, cat, n);
+	}
+
+	/**
+	 * Returns a read only view of the abilities granted to the character in
+	 * exactly the given pool category, with each ability only once, see
+	 * getCNAbilitiesView(). This holds the same abilities as
+	 * getPoolAbilities(Category, Nature) without copying them.
+	 * 
+	 * @param cat The pool category of the abilities.
+	 * @param n The nature of the abilities, or null for any nature.
+	 * @return A read only view of the distinct matching abilities.
+	 */
+	public List<CNAbility> getDistinctPoolAbilitiesView(Category<Ability> cat, Nature n)
+	{
+		return grantedAbilityFacet.getDistinctPoolAbilitiesView(id, cat, n);
+	}
+
+	/**
+	 * Returns a read only view of the abilities granted to the character in
+	 * any pool of the given parent category, with each ability only once, see
+	 * getCNAbilitiesView(). This holds the same abilities as
+	 * getCNAbilities(Category, Nature) without copying them.
+	 * 
+	 * @param cat The parent category of the abilities.
+	 * @param n The nature of the abilities, or null for any nature.
+	 * @return A read only view of the distinct matching abilities.
+	 */
+	public List<CNAbility> getDistinctCNAbilitiesView(Category<Ability> cat, Nature n)
+	{
+		if (!cat.getParentCategory().equals(cat))
+		{
+			throw new IllegalArgumentException(
+				"Category for getDistinctCNAbilitiesView must be parent category, was: " + cat);
+		}
+		return grantedAbilityFacet.getDistinctCNAbilitiesView(id, cat, n);
+	}
+
 	public Collection<CNAbility> getCNAbilities()
 	{
-		Set<CNAbility> set = new HashSet<>(grantedAbilityFacet.getCNAbilities(id));
-		return set;
+		return new ArrayList<>(grantedAbilityFacet.getDistinctCNAbilitiesView(id));
 	}
 
 	public Collection<CNAbility> getCNAbilities(Category<Ability> cat, Nature n)
@@ -9864,8 +9999,7 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 		{
 			throw new IllegalArgumentException("Category for getCNAbilities must be parent category");
 		}
-		Set<CNAbility> set = new HashSet<>(grantedAbilityFacet.getCNAbilities(id, cat, n));
-		return set;
+		return new ArrayList<>(grantedAbilityFacet.getDistinctCNAbilitiesView(id, cat, n));
 	}
 
 	public List<?> getDetailedAssociations(ChooseDriver cd)
@@ -9886,20 +10020,17 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 		{
 			throw new IllegalArgumentException("Category for getCNAbilities must be parent category, was: " + cat);
 		}
-		List<CNAbility> list = new ArrayList<>(grantedAbilityFacet.getCNAbilities(id, cat));
-		return list;
+		return new ArrayList<>(grantedAbilityFacet.getCNAbilitiesView(id, cat, null));
 	}
 
 	public List<CNAbility> getPoolAbilities(Category<Ability> cat)
 	{
-		List<CNAbility> list = new ArrayList<>(grantedAbilityFacet.getPoolAbilities(id, cat));
-		return list;
+		return new ArrayList<>(grantedAbilityFacet.getPoolAbilitiesView(id, cat, null));
 	}
 
 	public Collection<CNAbility> getPoolAbilities(Category<Ability> cat, Nature n)
 	{
-		Set<CNAbility> set = new HashSet<>(grantedAbilityFacet.getPoolAbilities(id, cat, n));
-		return set;
+		return new ArrayList<>(grantedAbilityFacet.getDistinctPoolAbilitiesView(id, cat, n));
 	}
 
 	public Collection<CNAbilitySelection> getSaveAbilities()
@@ -0,0 +1,137 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.core;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import pcgen.cdom.content.CNAbilityFactory;
+import pcgen.cdom.enumeration.FactKey;
+import pcgen.cdom.enumeration.FactSetKey;
+import pcgen.cdom.enumeration.MovementType;
+import pcgen.cdom.enumeration.RaceType;
+import pcgen.facade.core.DataSetFacade;
+import pcgen.persistence.PersistenceManager;
+import pcgen.persistence.SourceFileLoader;
+import pcgen.util.enumeration.VisionType;
+
+/**
+ * A ResidentDataSet is a loaded data set that is kept in memory while other
+ * data is in use, so that it can be made current again without reloading.
+ * 
+ * A loaded data set lives in the LoadContext of its GameMode and in a few
+ * process wide registries (FactKey, FactSetKey, RaceType, MovementType,
+ * VisionType and the equipment types), its sources are recorded as the chosen
+ * campaign source files of the GameMode, and the options set by its campaigns
+ * are written into the settings. Those are replaced whenever other data is
+ * loaded, so a ResidentDataSet keeps a copy of them, taken by
+ * capture() immediately after the load, and reinstates them in activate().
+ * 
+ * Only one data set is current at a time; characters must be closed before
+ * another data set is activated, just as they must be before loading.
+ */
+public final class ResidentDataSet
+{
+	private final DataSetFacade dataSet;
+	private final GameMode gameMode;
+	private final GameMode.LoadState loadState;
+	private final String section15;
+	private final Collection<FactKey<?>> factKeys;
+	private final Collection<FactSetKey<?>> factSetKeys;
+	private final Collection<RaceType> raceTypes;
+	private final Collection<MovementType> movementTypes;
+	private final Map<String, VisionType> visionTypes;
+	private final Collection<String> equipmentTypes;
+	private final List<URI> chosenSources;
+	private final Map<String, String> campaignOptions;
+
+	private ResidentDataSet(DataSetFacade dataSet, GameMode gameMode, String section15,
+		Map<String, String> campaignOptions)
+	{
+		this.dataSet = dataSet;
+		this.gameMode = gameMode;
+		this.section15 = section15;
+		this.campaignOptions = new LinkedHashMap<>(campaignOptions);
+		loadState = gameMode.captureLoadContext();
+		factKeys = new ArrayList<>(FactKey.getAllConstants());
+		factSetKeys = new ArrayList<>(FactSetKey.getAllConstants());
+		raceTypes = new ArrayList<>(RaceType.getAllConstants());
+		movementTypes = new ArrayList<>(MovementType.getAllConstants());
+		visionTypes = VisionType.getConstantMap();
+		equipmentTypes = Equipment.getEquipmentTypes();
+		chosenSources = new ArrayList<>(PersistenceManager.getInstance().getChosenCampaignSourcefiles(gameMode));
+	}
+
+	/**
+	 * Captures the data set that has just been loaded into the current
+	 * GameMode. This must be called before any other data is loaded.
+	 * 
+	 * @param dataSet
+	 *            The DataSetFacade built from the loaded data
+	 * @param section15
+	 *            The section 15 (license) text of the loaded sources
+	 * @param campaignOptions
+	 *            The options set by the loaded campaigns, as returned by
+	 *            SourceFileLoader.getCampaignOptions()
+	 * @return A ResidentDataSet that can later make the data current again
+	 */
+	public static ResidentDataSet capture(DataSetFacade dataSet, String section15,
+		Map<String, String> campaignOptions)
+	{
+		return new ResidentDataSet(dataSet, SettingsHandler.getGame(), section15, campaignOptions);
+	}
+
+	/**
+	 * Makes this data set the current one: selects its GameMode, sets the
+	 * options of its campaigns, reinstates its LoadContext and restores the
+	 * registries and chosen sources captured with it.
+	 */
+	public void activate()
+	{
+		SettingsHandler.setGame(gameMode.getName());
+		Globals.initPreferences();
+		SourceFileLoader.applyCampaignOptions(campaignOptions);
+		gameMode.restoreLoadContext(loadState);
+		FactKey.restoreConstants(factKeys);
+		FactSetKey.restoreConstants(factSetKeys);
+		RaceType.restoreConstants(raceTypes);
+		MovementType.restoreConstants(movementTypes);
+		VisionType.restoreConstants(visionTypes);
+		Equipment.restoreEquipmentTypes(equipmentTypes);
+		CNAbilityFactory.reset();
+		PersistenceManager.getInstance().setChosenCampaignSourcefiles(chosenSources, gameMode);
+	}
+
+	/**
+	 * @return The DataSetFacade built from this data set
+	 */
+	public DataSetFacade getDataSet()
+	{
+		return dataSet;
+	}
+
+	/**
+	 * @return The section 15 (license) text of the sources of this data set
+	 */
+	public String getSection15()
+	{
+		return section15;
+	}
+}
@@ -24,6 +24,8 @@ import java.util.Vector;
 import java.util.stream.IntStream;
 
 import pcgen.base.util.RandomUtil;
+import pcgen.core.dice.CompiledDice;
+import pcgen.core.dice.DiceCompiler;
 import pcgen.util.Logging;
 
 import org.nfunk.jep.JEP;
@@ -149,6 +151,9 @@ public final class RollingMethods
 	 * Functions builtin include max, min, roll
 	 *  Add new functions to DiceExpressionFunctions
 	 *
+	 * Simple sums of dice and constants are compiled once (see DiceCompiler)
+	 * and rolled directly; other expressions are evaluated through JEP.
+	 *
 	 * @param method String formatted string representing dice roll
 	 *
 	 * @return int dice total
@@ -161,6 +166,11 @@ public final class RollingMethods
 		{
 			return r;
 		}
+		final CompiledDice compiled = DiceCompiler.compile(method);
+		if (compiled != null)
+		{
+			return compiled.roll();
+		}
 		final StringBuilder expression = new StringBuilder(method.replaceAll("d%", "1d100"));
 		int index = expression.lastIndexOf("d");
 		while (index != -1)
@@ -27,10 +27,13 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.StringTokenizer;
 
+import pcgen.cdom.enumeration.CharID;
 import pcgen.core.character.CachedVariable;
 import pcgen.core.character.CharacterSpell;
 import pcgen.core.utils.CoreUtility;
 import pcgen.io.ExportHandler;
+import pcgen.util.CalculationMetrics;
+import pcgen.util.CalculationMetrics.Metric;
 import pcgen.util.Logging;
 import pcgen.util.PJEP;
 import pcgen.util.PjepPool;
@@ -488,7 +491,7 @@ public abstract class VariableProcessor
 
 		try
 		{
-			parser = PjepPool.getInstance().aquire(this, src);
+			parser = PjepPool.getInstance().aquire(this, src, getMetricsOwner());
 			parser.parseExpression(formula);
 			if (parser.hasError())
 			{
@@ -627,13 +630,24 @@ public abstract class VariableProcessor
 		{
 			if (cached.getSerial() >= getSerial())
 			{
+				CalculationMetrics.increment(getMetricsOwner(), Metric.VARIABLE_CACHE_HIT);
 				return cached.getValue();
 			}
 			fVariableCache.remove(lookup);
 		}
+		CalculationMetrics.increment(getMetricsOwner(), Metric.VARIABLE_CACHE_MISS);
 		return null;
 	}
 
+	/**
+	 * @return The identifier under which this processor's work is counted
+	 * in the CalculationMetrics.
+	 */
+	private CharID getMetricsOwner()
+	{
+		return (pc == null) ? null : pc.getCharID();
+	}
+
 	/**
 	 * Add a new variable to the cache.
 	 *
@@ -33,6 +33,7 @@ import pcgen.core.PlayerCharacter;
 import pcgen.core.utils.CoreUtility;
 import pcgen.persistence.lst.output.prereq.PrerequisiteWriter;
 import pcgen.rules.context.LoadContext;
+import pcgen.util.LoadInterner;
 
 /**
  * {@code BonusObj}
@@ -258,7 +259,7 @@ public abstract class BonusObj extends ConcretePrereqObject implements Serializa
 	 */
 	public void setVariable(final String aString)
 	{
-		varPart = aString.toUpperCase();
+		varPart = LoadInterner.intern(aString.toUpperCase());
 	}
 
 	/**
@@ -346,17 +347,17 @@ public abstract class BonusObj extends ConcretePrereqObject implements Serializa
 
 	protected void setBonusName(final String aName)
 	{
-		bonusName = aName;
+		bonusName = LoadInterner.intern(aName);
 	}
 
 	protected void setTypeOfBonus(final String type)
 	{
-		typeOfBonus = type;
+		typeOfBonus = LoadInterner.intern(type);
 	}
 
 	protected void addBonusInfo(final Object obj)
 	{
-		bonusInfo.add(obj);
+		bonusInfo.add((obj instanceof String) ? LoadInterner.intern((String) obj) : obj);
 	}
 
 	protected void replaceBonusInfo(final Object oldObj, final Object newObj)
@@ -376,7 +377,7 @@ public abstract class BonusObj extends ConcretePrereqObject implements Serializa
 	{
 		if (bonusType.isEmpty())
 		{
-			bonusType = typeString.toUpperCase();
+			bonusType = LoadInterner.intern(typeString.toUpperCase());
 
 			return true;
 		}
@@ -594,7 +595,7 @@ public abstract class BonusObj extends ConcretePrereqObject implements Serializa
 
 	public void putOriginalString(String bonusString)
 	{
-		originalString = bonusString;
+		originalString = LoadInterner.intern(bonusString);
 	}
 
 	public String getLSTformat()
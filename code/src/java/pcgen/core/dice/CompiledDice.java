@@ -0,0 +1,217 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.core.dice;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntUnaryOperator;
+
+import pcgen.base.util.RandomUtil;
+
+/**
+ * A CompiledDice is a dice expression (such as "3d6+2" or
+ * "roll(4,6,top(3))") that has been parsed once into an immutable form. It can
+ * then be rolled any number of times without being parsed again, rolled in
+ * bulk into a primitive array, and can report the exact distribution of its
+ * results.
+ * 
+ * Instances are obtained from DiceCompiler and are safe to share between
+ * threads.
+ */
+public final class CompiledDice
+{
+
+	/**
+	 * The widest range of results for which an exact distribution is
+	 * calculated. Beyond this the convolution becomes too expensive to be
+	 * useful for an interactive display.
+	 */
+	private static final int MAX_DISTRIBUTION_SPAN = 10000;
+
+	/**
+	 * The expression this CompiledDice was compiled from.
+	 */
+	private final String expression;
+
+	/**
+	 * The dice terms of the expression, in the order they are rolled.
+	 */
+	private final DiceTerm[] terms;
+
+	/**
+	 * The sum of the constant terms of the expression.
+	 */
+	private final int constant;
+
+	/**
+	 * The size of the scratch buffer needed to roll the largest term.
+	 */
+	private final int maxCount;
+
+	/**
+	 * The lazily calculated distribution of the results.
+	 */
+	private volatile DiceDistribution distribution;
+
+	CompiledDice(String expression, List<DiceTerm> terms, int constant)
+	{
+		this.expression = expression;
+		this.terms = terms.toArray(new DiceTerm[0]);
+		this.constant = constant;
+		int max = 0;
+		for (DiceTerm term : this.terms)
+		{
+			max = Math.max(max, term.getCount());
+		}
+		maxCount = max;
+	}
+
+	/**
+	 * Rolls this expression once, using the shared RandomUtil generator (so the
+	 * results match those of RollingMethods for the same seed).
+	 * 
+	 * @return The result of the roll
+	 */
+	public int roll()
+	{
+		return roll(RandomUtil::getRandomInt, new int[maxCount]);
+	}
+
+	/**
+	 * Rolls this expression once, using the given generator.
+	 * 
+	 * @param random
+	 *            The random number generator to use
+	 * @return The result of the roll
+	 */
+	public int roll(Random random)
+	{
+		return roll(random::nextInt, new int[maxCount]);
+	}
+
+	/**
+	 * Fills the given array with independent rolls of this expression, using
+	 * the given generator. Only a single scratch buffer is allocated for the
+	 * entire batch.
+	 * 
+	 * @param results
+	 *            The array to be filled with results
+	 * @param random
+	 *            The random number generator to use
+	 */
+	public void rollInto(int[] results, Random random)
+	{
+		IntUnaryOperator source = random::nextInt;
+		int[] scratch = new int[maxCount];
+		for (int i = 0; i < results.length; i++)
+		{
+			results[i] = roll(source, scratch);
+		}
+	}
+
+	/**
+	 * Returns the given number of independent rolls of this expression, using
+	 * the shared RandomUtil generator.
+	 * 
+	 * @param times
+	 *            The number of rolls to make
+	 * @return An array containing the results of the rolls
+	 */
+	public int[] rollMany(int times)
+	{
+		int[] results = new int[times];
+		IntUnaryOperator source = RandomUtil::getRandomInt;
+		int[] scratch = new int[maxCount];
+		for (int i = 0; i < times; i++)
+		{
+			results[i] = roll(source, scratch);
+		}
+		return results;
+	}
+
+	private int roll(IntUnaryOperator source, int[] scratch)
+	{
+		int total = constant;
+		for (DiceTerm term : terms)
+		{
+			total += term.roll(source, scratch);
+		}
+		return total;
+	}
+
+	/**
+	 * Returns the lowest result this expression can produce.
+	 * 
+	 * @return The lowest possible result
+	 */
+	public int getMinimum()
+	{
+		int min = constant;
+		for (DiceTerm term : terms)
+		{
+			min += term.getMinimum();
+		}
+		return min;
+	}
+
+	/**
+	 * Returns the highest result this expression can produce.
+	 * 
+	 * @return The highest possible result
+	 */
+	public int getMaximum()
+	{
+		int max = constant;
+		for (DiceTerm term : terms)
+		{
+			max += term.getMaximum();
+		}
+		return max;
+	}
+
+	/**
+	 * Returns the exact distribution of the results of this expression. The
+	 * distribution is calculated on first use and then retained.
+	 * 
+	 * @return The exact distribution of the results of this expression, or
+	 *         null if it is too expensive to calculate
+	 */
+	public DiceDistribution getDistribution()
+	{
+		DiceDistribution dist = distribution;
+		if ((dist == null) && ((getMaximum() - getMinimum()) <= MAX_DISTRIBUTION_SPAN))
+		{
+			dist = DiceDistribution.constant(constant);
+			for (DiceTerm term : terms)
+			{
+				DiceDistribution termDist = term.getDistribution();
+				if (termDist == null)
+				{
+					return null;
+				}
+				dist = dist.plus(termDist);
+			}
+			distribution = dist;
+		}
+		return dist;
+	}
+
+	@Override
+	public String toString()
+	{
+		return expression;
+	}
+}
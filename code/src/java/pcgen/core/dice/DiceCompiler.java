@@ -0,0 +1,269 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.core.dice;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * DiceCompiler turns dice expressions into CompiledDice objects, caching the
+ * result so that an expression rolled repeatedly (a stat rolling method, a
+ * DiceBag entry, a ROLL() in a formula) is only parsed once.
+ * 
+ * The compiled form covers sums and differences of integer constants and dice
+ * terms, where a dice term is one of:
+ * 
+ * <ul>
+ * <li>{@code NdS}, {@code dS} or {@code d%}</li>
+ * <li>{@code roll(N,S)}, optionally followed by {@code top(K)} and/or
+ * {@code reroll(R)}</li>
+ * </ul>
+ * 
+ * Whitespace is ignored. Anything else (multiplication, functions, lists)
+ * is not compiled; callers such as RollingMethods then fall back to the full
+ * JEP based evaluation.
+ */
+public final class DiceCompiler
+{
+
+	/**
+	 * The maximum number of expressions held in the cache.
+	 */
+	private static final int CACHE_SIZE = 256;
+
+	/**
+	 * The largest total a single dice term may produce, which keeps the sum of
+	 * several terms well inside the range of an int.
+	 */
+	private static final long MAX_TERM_TOTAL = 1 << 24;
+
+	/**
+	 * The most recently used compiled expressions. Expressions that cannot be
+	 * compiled are cached as empty so they are not parsed again either.
+	 */
+	private static final Map<String, Optional<CompiledDice>> CACHE =
+			Collections.synchronizedMap(new LinkedHashMap<>(64, 0.75f, true)
+			{
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, Optional<CompiledDice>> eldest)
+				{
+					return size() > CACHE_SIZE;
+				}
+			});
+
+	private DiceCompiler()
+	{
+		//Don't instantiate utility class
+	}
+
+	/**
+	 * Returns the CompiledDice for the given expression, or null if the
+	 * expression is outside of the subset of dice expressions that can be
+	 * compiled.
+	 * 
+	 * @param expression
+	 *            The dice expression to be compiled
+	 * @return The CompiledDice for the given expression, or null
+	 */
+	public static CompiledDice compile(String expression)
+	{
+		Optional<CompiledDice> compiled = CACHE.get(expression);
+		if (compiled == null)
+		{
+			compiled = Optional.ofNullable(new Parser(expression).parse());
+			CACHE.put(expression, compiled);
+		}
+		return compiled.orElse(null);
+	}
+
+	/**
+	 * Returns the exact distribution of the results of the given expression,
+	 * or null if the expression cannot be compiled.
+	 * 
+	 * @param expression
+	 *            The dice expression
+	 * @return The exact distribution of the results of the given expression,
+	 *         or null
+	 */
+	public static DiceDistribution getDistribution(String expression)
+	{
+		CompiledDice compiled = compile(expression);
+		return (compiled == null) ? null : compiled.getDistribution();
+	}
+
+	/**
+	 * Recursive descent parser for the compiled subset. Every parse method
+	 * returns false (or -1) rather than throwing, since an expression outside
+	 * the subset is not an error.
+	 */
+	private static final class Parser
+	{
+		private final String source;
+		private final String text;
+		private final List<DiceTerm> terms = new ArrayList<>();
+		private int constant;
+		private int pos;
+
+		private Parser(String expression)
+		{
+			source = expression;
+			text = expression.replaceAll("\\s", "");
+		}
+
+		private CompiledDice parse()
+		{
+			if (text.isEmpty())
+			{
+				return null;
+			}
+			boolean negative = consume('-');
+			if (!negative)
+			{
+				consume('+');
+			}
+			if (!parseTerm(negative))
+			{
+				return null;
+			}
+			while (pos < text.length())
+			{
+				if (consume('+'))
+				{
+					negative = false;
+				}
+				else if (consume('-'))
+				{
+					negative = true;
+				}
+				else
+				{
+					return null;
+				}
+				if (!parseTerm(negative))
+				{
+					return null;
+				}
+			}
+			return new CompiledDice(source, terms, constant);
+		}
+
+		private boolean parseTerm(boolean negative)
+		{
+			if (text.startsWith("roll(", pos))
+			{
+				pos += 5;
+				return parseRollFunction(negative);
+			}
+			int count = 1;
+			if (pos < text.length() && Character.isDigit(text.charAt(pos)))
+			{
+				count = parseInt();
+				if (count < 0)
+				{
+					return false;
+				}
+				if (!consume('d'))
+				{
+					constant += negative ? -count : count;
+					return true;
+				}
+			}
+			else if (!consume('d'))
+			{
+				return false;
+			}
+			int sides = consume('%') ? 100 : parseInt();
+			return addTerm(count, sides, count, 0, negative);
+		}
+
+		private boolean parseRollFunction(boolean negative)
+		{
+			int count = parseInt();
+			if ((count < 0) || !consume(','))
+			{
+				return false;
+			}
+			int sides = parseInt();
+			int keep = -1;
+			int reroll = -1;
+			while (consume(','))
+			{
+				if ((keep == -1) && text.startsWith("top(", pos))
+				{
+					pos += 4;
+					keep = parseInt();
+					if ((keep < 1) || !consume(')'))
+					{
+						return false;
+					}
+				}
+				else if ((reroll == -1) && text.startsWith("reroll(", pos))
+				{
+					pos += 7;
+					reroll = parseInt();
+					if ((reroll < 1) || !consume(')'))
+					{
+						return false;
+					}
+				}
+				else
+				{
+					return false;
+				}
+			}
+			return consume(')')
+				&& addTerm(count, sides, (keep == -1) ? count : keep, Math.max(reroll, 0), negative);
+		}
+
+		private boolean addTerm(int count, int sides, int keep, int reroll, boolean negative)
+		{
+			if ((sides < 1) || (reroll >= sides) || (keep > count) || (((long) count * sides) > MAX_TERM_TOTAL))
+			{
+				return false;
+			}
+			terms.add(new DiceTerm(count, sides, keep, reroll, negative));
+			return true;
+		}
+
+		private boolean consume(char c)
+		{
+			if ((pos < text.length()) && (text.charAt(pos) == c))
+			{
+				pos++;
+				return true;
+			}
+			return false;
+		}
+
+		private int parseInt()
+		{
+			int start = pos;
+			while ((pos < text.length()) && Character.isDigit(text.charAt(pos)))
+			{
+				pos++;
+			}
+			if ((pos == start) || ((pos - start) > 9))
+			{
+				return -1;
+			}
+			return Integer.parseInt(text.substring(start, pos));
+		}
+	}
+}
@@ -0,0 +1,373 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.core.dice;
+
+import java.util.Arrays;
+
+/**
+ * An exact probability distribution over the integer results of a dice
+ * expression. Distributions are immutable and are built by convolution, so no
+ * sampling is involved in computing the mean, variance or percentiles.
+ */
+public final class DiceDistribution
+{
+
+	/**
+	 * The distribution of an expression that always produces zero.
+	 */
+	static final DiceDistribution ZERO = new DiceDistribution(0, new double[]{1.0d});
+
+	/**
+	 * The lowest result with a non-zero probability.
+	 */
+	private final int minimum;
+
+	/**
+	 * The probability of each result; index 0 holds the probability of
+	 * {@code minimum}.
+	 */
+	private final double[] probabilities;
+
+	private DiceDistribution(int minimum, double[] probabilities)
+	{
+		this.minimum = minimum;
+		this.probabilities = probabilities;
+	}
+
+	/**
+	 * Returns the distribution of a single die with faces numbered from low to
+	 * high (inclusive), each equally likely.
+	 * 
+	 * @param low
+	 *            The lowest face of the die
+	 * @param high
+	 *            The highest face of the die
+	 * @return The distribution of a single roll of the die
+	 */
+	static DiceDistribution uniform(int low, int high)
+	{
+		double[] probs = new double[high - low + 1];
+		Arrays.fill(probs, 1.0d / probs.length);
+		return new DiceDistribution(low, probs);
+	}
+
+	/**
+	 * Returns the distribution of an expression that always produces the given
+	 * value.
+	 * 
+	 * @param value
+	 *            The constant value
+	 * @return The distribution of the constant
+	 */
+	static DiceDistribution constant(int value)
+	{
+		return new DiceDistribution(value, new double[]{1.0d});
+	}
+
+	/**
+	 * Returns the distribution of the sum of the given number of independent
+	 * rolls of a die with faces numbered from low to high (inclusive), keeping
+	 * only the highest {@code keep} dice.
+	 * 
+	 * @param count
+	 *            The number of dice rolled
+	 * @param low
+	 *            The lowest face of each die
+	 * @param high
+	 *            The highest face of each die
+	 * @param keep
+	 *            The number of highest dice kept
+	 * @return The distribution of the kept total
+	 */
+	static DiceDistribution keepHighest(int count, int low, int high, int keep)
+	{
+		if (keep >= count)
+		{
+			return uniform(low, high).times(count);
+		}
+		int faces = high - low + 1;
+		double p = 1.0d / faces;
+		int span = keep * (faces - 1);
+		/*
+		 * Assign dice to faces from the highest face down. Once m dice have
+		 * been assigned, the kept dice are exactly the first min(m, keep) of
+		 * them, so the state only needs the number assigned and the kept sum
+		 * (measured relative to keep * low).
+		 */
+		double[][] state = new double[count + 1][span + 1];
+		state[0][0] = 1.0d;
+		double[][] binomial = binomials(count);
+		double[] powers = new double[count + 1];
+		powers[0] = 1.0d;
+		for (int i = 1; i <= count; i++)
+		{
+			powers[i] = powers[i - 1] * p;
+		}
+		for (int face = faces - 1; face >= 0; face--)
+		{
+			double[][] next = new double[count + 1][span + 1];
+			for (int assigned = 0; assigned <= count; assigned++)
+			{
+				double[] row = state[assigned];
+				for (int sum = 0; sum <= span; sum++)
+				{
+					double prob = row[sum];
+					if (prob == 0.0d)
+					{
+						continue;
+					}
+					int remaining = count - assigned;
+					int alreadyKept = Math.min(assigned, keep);
+					for (int c = 0; c <= remaining; c++)
+					{
+						int kept = Math.min(c, keep - alreadyKept);
+						next[assigned + c][sum + kept * face] +=
+								prob * binomial[remaining][c] * powers[c];
+					}
+				}
+			}
+			state = next;
+		}
+		return new DiceDistribution(keep * low, trim(state[count]));
+	}
+
+	private static double[][] binomials(int n)
+	{
+		double[][] result = new double[n + 1][];
+		for (int i = 0; i <= n; i++)
+		{
+			result[i] = new double[i + 1];
+			result[i][0] = 1.0d;
+			result[i][i] = 1.0d;
+			for (int j = 1; j < i; j++)
+			{
+				result[i][j] = result[i - 1][j - 1] + result[i - 1][j];
+			}
+		}
+		return result;
+	}
+
+	private static double[] trim(double[] probs)
+	{
+		int end = probs.length;
+		while ((end > 1) && (probs[end - 1] == 0.0d))
+		{
+			end--;
+		}
+		return (end == probs.length) ? probs : Arrays.copyOf(probs, end);
+	}
+
+	/**
+	 * Returns the distribution of the sum of this distribution and the given
+	 * (independent) distribution.
+	 * 
+	 * @param other
+	 *            The distribution to be added to this one
+	 * @return The convolution of the two distributions
+	 */
+	DiceDistribution plus(DiceDistribution other)
+	{
+		double[] result = new double[probabilities.length + other.probabilities.length - 1];
+		for (int i = 0; i < probabilities.length; i++)
+		{
+			double p = probabilities[i];
+			if (p == 0.0d)
+			{
+				continue;
+			}
+			for (int j = 0; j < other.probabilities.length; j++)
+			{
+				result[i + j] += p * other.probabilities[j];
+			}
+		}
+		return new DiceDistribution(minimum + other.minimum, result);
+	}
+
+	/**
+	 * Returns the distribution of the sum of the given number of independent
+	 * samples of this distribution.
+	 * 
+	 * @param count
+	 *            The number of samples (must be zero or greater)
+	 * @return The distribution of the sum
+	 */
+	DiceDistribution times(int count)
+	{
+		DiceDistribution result = ZERO;
+		DiceDistribution square = this;
+		int remaining = count;
+		while (remaining > 0)
+		{
+			if ((remaining & 1) != 0)
+			{
+				result = result.plus(square);
+			}
+			remaining >>= 1;
+			if (remaining > 0)
+			{
+				square = square.plus(square);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the distribution of the negation of this distribution.
+	 * 
+	 * @return The distribution of the negated result
+	 */
+	DiceDistribution negate()
+	{
+		double[] result = new double[probabilities.length];
+		for (int i = 0; i < probabilities.length; i++)
+		{
+			result[probabilities.length - 1 - i] = probabilities[i];
+		}
+		return new DiceDistribution(-getMaximum(), result);
+	}
+
+	/**
+	 * Returns the lowest result that can be produced.
+	 * 
+	 * @return The lowest possible result
+	 */
+	public int getMinimum()
+	{
+		return minimum;
+	}
+
+	/**
+	 * Returns the highest result that can be produced.
+	 * 
+	 * @return The highest possible result
+	 */
+	public int getMaximum()
+	{
+		return minimum + probabilities.length - 1;
+	}
+
+	/**
+	 * Returns the probability of rolling exactly the given value.
+	 * 
+	 * @param value
+	 *            The result to be tested
+	 * @return The probability (0.0 to 1.0) of the given result
+	 */
+	public double getProbability(int value)
+	{
+		int index = value - minimum;
+		if ((index < 0) || (index >= probabilities.length))
+		{
+			return 0.0d;
+		}
+		return probabilities[index];
+	}
+
+	/**
+	 * Returns the probability of rolling the given value or higher.
+	 * 
+	 * @param value
+	 *            The target value
+	 * @return The probability (0.0 to 1.0) of meeting or beating the target
+	 */
+	public double getProbabilityAtLeast(int value)
+	{
+		int start = Math.max(0, value - minimum);
+		double total = 0.0d;
+		for (int i = start; i < probabilities.length; i++)
+		{
+			total += probabilities[i];
+		}
+		return Math.min(1.0d, total);
+	}
+
+	/**
+	 * Returns the expected value of a roll.
+	 * 
+	 * @return The mean of the distribution
+	 */
+	public double getMean()
+	{
+		double mean = 0.0d;
+		for (int i = 0; i < probabilities.length; i++)
+		{
+			mean += probabilities[i] * i;
+		}
+		return minimum + mean;
+	}
+
+	/**
+	 * Returns the variance of a roll.
+	 * 
+	 * @return The variance of the distribution
+	 */
+	public double getVariance()
+	{
+		double offsetMean = getMean() - minimum;
+		double variance = 0.0d;
+		for (int i = 0; i < probabilities.length; i++)
+		{
+			double delta = i - offsetMean;
+			variance += probabilities[i] * delta * delta;
+		}
+		return variance;
+	}
+
+	/**
+	 * Returns the standard deviation of a roll.
+	 * 
+	 * @return The standard deviation of the distribution
+	 */
+	public double getStandardDeviation()
+	{
+		return Math.sqrt(getVariance());
+	}
+
+	/**
+	 * Returns the lowest result for which the cumulative probability reaches
+	 * the given fraction. For example getPercentile(0.5) is the median.
+	 * 
+	 * @param fraction
+	 *            The cumulative fraction (0.0 to 1.0)
+	 * @return The smallest result whose cumulative probability is at least the
+	 *         given fraction
+	 */
+	public int getPercentile(double fraction)
+	{
+		if ((fraction < 0.0d) || (fraction > 1.0d))
+		{
+			throw new IllegalArgumentException("Percentile must be between 0 and 1: " + fraction);
+		}
+		double cumulative = 0.0d;
+		// Tolerate the rounding error accumulated by convolution
+		double target = fraction - 1.0e-12d;
+		for (int i = 0; i < probabilities.length; i++)
+		{
+			cumulative += probabilities[i];
+			if (cumulative >= target)
+			{
+				return minimum + i;
+			}
+		}
+		return getMaximum();
+	}
+
+	@Override
+	public String toString()
+	{
+		return getClass().getSimpleName() + '[' + getMinimum() + ".." + getMaximum() + ", mean=" + getMean() + ']';
+	}
+}
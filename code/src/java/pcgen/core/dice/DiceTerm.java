@@ -0,0 +1,158 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.core.dice;
+
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A single group of identical dice within a CompiledDice expression, such as
+ * the "3d6" in "3d6+2" or the roll(4,6,top(3),reroll(1)) of a stat rolling
+ * method.
+ * 
+ * A term rolls {@code count} dice, each producing a value between
+ * {@code reroll + 1} and {@code sides}, and adds up the highest {@code keep}
+ * of them. The total is negated if the term is subtracted.
+ */
+final class DiceTerm
+{
+
+	/**
+	 * The maximum number of steps spent calculating the distribution of a term
+	 * that keeps only some of its dice.
+	 */
+	private static final long MAX_KEEP_COST = 50_000_000L;
+
+	/**
+	 * The number of dice rolled.
+	 */
+	private final int count;
+
+	/**
+	 * The number of sides on each die.
+	 */
+	private final int sides;
+
+	/**
+	 * The number of (highest) dice added to the total.
+	 */
+	private final int keep;
+
+	/**
+	 * Results at or below this value are never produced (they are "rerolled").
+	 */
+	private final int reroll;
+
+	/**
+	 * true if the term is subtracted from the total.
+	 */
+	private final boolean negative;
+
+	DiceTerm(int count, int sides, int keep, int reroll, boolean negative)
+	{
+		this.count = count;
+		this.sides = sides;
+		this.keep = keep;
+		this.reroll = reroll;
+		this.negative = negative;
+	}
+
+	/**
+	 * Rolls this term.
+	 * 
+	 * @param random
+	 *            Returns a random integer from 0 (inclusive) to the operand
+	 *            (exclusive)
+	 * @param scratch
+	 *            A buffer of at least {@code count} entries, used when only
+	 *            some of the dice are kept
+	 * @return The (signed) total of the term
+	 */
+	int roll(IntUnaryOperator random, int[] scratch)
+	{
+		int faces = sides - reroll;
+		int total;
+		if (keep == count)
+		{
+			total = count * (reroll + 1);
+			for (int i = 0; i < count; i++)
+			{
+				total += random.applyAsInt(faces);
+			}
+		}
+		else
+		{
+			for (int i = 0; i < count; i++)
+			{
+				scratch[i] = random.applyAsInt(faces);
+			}
+			Arrays.sort(scratch, 0, count);
+			total = keep * (reroll + 1);
+			for (int i = count - keep; i < count; i++)
+			{
+				total += scratch[i];
+			}
+		}
+		return negative ? -total : total;
+	}
+
+	/**
+	 * Returns the number of dice rolled by this term.
+	 * 
+	 * @return The number of dice rolled by this term
+	 */
+	int getCount()
+	{
+		return count;
+	}
+
+	/**
+	 * Returns the exact distribution of the (signed) total of this term.
+	 * 
+	 * @return The exact distribution of this term, or null if keeping only
+	 *         some of the dice makes it too expensive to calculate
+	 */
+	DiceDistribution getDistribution()
+	{
+		long faces = sides - reroll;
+		if ((keep < count) && ((faces * (count + 1) * (count + 1) * (keep * (faces - 1) + 1)) > MAX_KEEP_COST))
+		{
+			return null;
+		}
+		DiceDistribution dist = DiceDistribution.keepHighest(count, reroll + 1, sides, keep);
+		return negative ? dist.negate() : dist;
+	}
+
+	/**
+	 * Returns the lowest possible (signed) total of this term.
+	 * 
+	 * @return The lowest possible total of this term
+	 */
+	int getMinimum()
+	{
+		return negative ? -(keep * sides) : keep * (reroll + 1);
+	}
+
+	/**
+	 * Returns the highest possible (signed) total of this term.
+	 * 
+	 * @return The highest possible total of this term
+	 */
+	int getMaximum()
+	{
+		return negative ? -(keep * (reroll + 1)) : keep * sides;
+	}
+}
@@ -32,6 +32,7 @@ import pcgen.core.Globals;
 import pcgen.core.PlayerCharacter;
 import pcgen.core.RuleConstants;
 import pcgen.system.LanguageBundle;
+import pcgen.util.CalculationMetrics;
 import pcgen.util.Logging;
 
 /**
@@ -182,6 +183,7 @@ public final class PrereqHandler
 		{
 			return true;
 		}
+		CalculationMetrics.prereqTested((aPC == null) ? null : aPC.getCharID(), prereq.getKind());
 		final PrerequisiteTestFactory factory = PrerequisiteTestFactory.getInstance();
 		final PrerequisiteTest test = factory.getTest(prereq.getKind());
 
@@ -236,6 +238,7 @@ public final class PrereqHandler
 		{
 			return true;
 		}
+		CalculationMetrics.prereqTested((aPC == null) ? null : aPC.getCharID(), preReq.getKind());
 		final PrerequisiteTestFactory factory = PrerequisiteTestFactory.getInstance();
 		final PrerequisiteTest test = factory.getTest(preReq.getKind());
 
@@ -21,6 +21,7 @@ import java.util.regex.Pattern;
 
 import pcgen.cdom.base.Constants;
 import pcgen.system.LanguageBundle;
+import pcgen.util.LoadInterner;
 
 /**
  * The Class {@code Prerequisite} is the storage format for all
@@ -98,7 +99,7 @@ public class Prerequisite implements Cloneable
 	 */
 	public void setKey(final String val)
 	{
-		this.key = val;
+		this.key = LoadInterner.intern(val);
 	}
 
 	/**
@@ -117,7 +118,7 @@ public class Prerequisite implements Cloneable
 	 */
 	public void setKind(final String val)
 	{
-		this.kind = val;
+		this.kind = LoadInterner.intern(val);
 	}
 
 	/**
@@ -135,7 +136,7 @@ public class Prerequisite implements Cloneable
 	 */
 	public void setOperand(final String val)
 	{
-		this.operand = val;
+		this.operand = LoadInterner.intern(val);
 	}
 
 	/**
@@ -197,7 +198,7 @@ public class Prerequisite implements Cloneable
 	 */
 	public void setSubKey(final String subKey)
 	{
-		this.subKey = subKey;
+		this.subKey = LoadInterner.intern(subKey);
 	}
 
 	/**
@@ -413,7 +414,7 @@ public class Prerequisite implements Cloneable
 	 */
 	public void setCategoryName(String categoryName)
 	{
-		this.categoryName = categoryName;
+		this.categoryName = LoadInterner.intern(categoryName);
 	}
 
 	@Override
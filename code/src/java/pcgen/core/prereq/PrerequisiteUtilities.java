@@ -452,7 +452,7 @@ public final class PrerequisiteUtilities
 			{
 				Logging.errorPrint("Invalid use of child category in PREABILITY");
 			}
-			for (CNAbility cna : character.getCNAbilities(cat))
+			for (CNAbility cna : character.getCNAbilitiesView(cat, null))
 			{
 				abilityList.add(cna.getAbility());
 			}
@@ -461,7 +461,7 @@ public final class PrerequisiteUtilities
 			// Now scan for relevant SERVESAS occurrences
 			for (AbilityCategory aCat : allCats)
 			{
-				for (CNAbility cna : character.getPoolAbilities(aCat))
+				for (CNAbility cna : character.getPoolAbilitiesView(aCat, null))
 				{
 					for (CDOMReference<Ability> ref : cna.getAbility().getSafeListFor(ListKey.SERVES_AS_ABILITY))
 					{
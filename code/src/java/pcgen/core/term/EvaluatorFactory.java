@@ -21,11 +21,13 @@
 package pcgen.core.term;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -39,8 +41,13 @@ public final class EvaluatorFactory
 	Pattern internalVarPattern;
 	Map<String, TermEvaluatorBuilder> BuilderStore;
 
-	private final Map<String, TermEvaluator> SrcNeutralEvaluatorStore = new HashMap<>();
-	private final Map<String, Map<String, TermEvaluator>> SrcDependantEvaluatorStore = new HashMap<>();
+	/*
+	 * PC and EQ are shared by every character, so these stores are filled
+	 * concurrently when characters are calculated on separate threads.
+	 * Building an evaluator twice is harmless; the last one stored wins.
+	 */
+	private final Map<String, TermEvaluator> SrcNeutralEvaluatorStore = new ConcurrentHashMap<>();
+	private final Map<String, Map<String, TermEvaluator>> SrcDependantEvaluatorStore = new ConcurrentHashMap<>();
 
 	public static final EvaluatorFactory PC = new EvaluatorFactory(true, TermEvaluatorBuilderPCVar.values());
 
@@ -181,10 +188,10 @@ public final class EvaluatorFactory
 
 		if (evaluator.isSourceDependant())
 		{
-			Map<String, TermEvaluator> i = SrcDependantEvaluatorStore.get(term);
-			Map<String, TermEvaluator> j = (i == null) ? new HashMap<>() : i;
-			j.put(source, evaluator);
-			SrcDependantEvaluatorStore.put(term, j);
+			// The inner map is synchronized rather than concurrent as source may be null
+			SrcDependantEvaluatorStore
+				.computeIfAbsent(term, t -> Collections.synchronizedMap(new HashMap<>()))
+				.put(source, evaluator);
 		}
 		else
 		{
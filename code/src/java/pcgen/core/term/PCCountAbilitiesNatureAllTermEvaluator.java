@@ -41,7 +41,7 @@ public class PCCountAbilitiesNatureAllTermEvaluator extends BasePCCountAbilities
 	@Override
 	Collection<CNAbility> getAbilities(PlayerCharacter pc)
 	{
-		return pc.getCNAbilities(abCat);
+		return pc.getCNAbilitiesView(abCat, null);
 	}
 
 	@Override
@@ -42,7 +42,7 @@ public class PCCountAbilitiesNatureAutoTermEvaluator extends BasePCCountAbilitie
 	@Override
 	Collection<CNAbility> getAbilities(PlayerCharacter pc)
 	{
-		return pc.getPoolAbilities(abCat, Nature.AUTOMATIC);
+		return pc.getDistinctPoolAbilitiesView(abCat, Nature.AUTOMATIC);
 	}
 
 	@Override
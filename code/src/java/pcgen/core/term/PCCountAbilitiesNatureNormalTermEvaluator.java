@@ -42,7 +42,7 @@ public class PCCountAbilitiesNatureNormalTermEvaluator extends BasePCCountAbilit
 	@Override
 	Collection<CNAbility> getAbilities(PlayerCharacter pc)
 	{
-		return pc.getCNAbilities(abCat, Nature.NORMAL);
+		return pc.getDistinctCNAbilitiesView(abCat, Nature.NORMAL);
 	}
 
 	@Override
@@ -42,7 +42,7 @@ public class PCCountAbilitiesNatureVirtualTermEvaluator extends BasePCCountAbili
 	@Override
 	Collection<CNAbility> getAbilities(PlayerCharacter pc)
 	{
-		return pc.getPoolAbilities(abCat, Nature.VIRTUAL);
+		return pc.getDistinctPoolAbilitiesView(abCat, Nature.VIRTUAL);
 	}
 
 	@Override
@@ -43,7 +43,7 @@ public class PCCountAbilitiesTypeNatureAllTermEvaluator extends BasePCCountAbili
 	@Override
 	Collection<CNAbility> getAbilities(PlayerCharacter pc)
 	{
-		return pc.getPoolAbilities(abCat, Nature.NORMAL);
+		return pc.getDistinctPoolAbilitiesView(abCat, Nature.NORMAL);
 	}
 
 	@Override
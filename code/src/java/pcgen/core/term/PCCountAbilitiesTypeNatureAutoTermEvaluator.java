@@ -43,7 +43,7 @@ public class PCCountAbilitiesTypeNatureAutoTermEvaluator extends BasePCCountAbil
 	@Override
 	Collection<CNAbility> getAbilities(PlayerCharacter pc)
 	{
-		return pc.getPoolAbilities(abCat, Nature.AUTOMATIC);
+		return pc.getDistinctPoolAbilitiesView(abCat, Nature.AUTOMATIC);
 	}
 
 	@Override
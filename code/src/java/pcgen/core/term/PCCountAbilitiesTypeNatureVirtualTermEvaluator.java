@@ -43,7 +43,7 @@ public class PCCountAbilitiesTypeNatureVirtualTermEvaluator extends BasePCCountA
 	@Override
 	Collection<CNAbility> getAbilities(PlayerCharacter pc)
 	{
-		return pc.getPoolAbilities(abCat, Nature.VIRTUAL);
+		return pc.getDistinctPoolAbilitiesView(abCat, Nature.VIRTUAL);
 	}
 
 	@Override
@@ -72,7 +72,7 @@ public class PCCountAbilityNameTermEvaluator extends BasePCCountAbilitiesTermEva
 	@Override
 	List<CNAbility> getAbilities(PlayerCharacter pc)
 	{
-		return pc.getCNAbilities(abCat);
+		return pc.getCNAbilitiesView(abCat, null);
 	}
 
 	public boolean isStatic()
@@ -0,0 +1,422 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.core.validation;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import pcgen.cdom.base.CDOMObject;
+import pcgen.cdom.base.Constants;
+import pcgen.cdom.content.CNAbility;
+import pcgen.cdom.enumeration.Nature;
+import pcgen.cdom.enumeration.ObjectKey;
+import pcgen.core.AbilityCategory;
+import pcgen.core.Deity;
+import pcgen.core.Equipment;
+import pcgen.core.Globals;
+import pcgen.core.PCClass;
+import pcgen.core.PCTemplate;
+import pcgen.core.PlayerCharacter;
+import pcgen.core.SettingsHandler;
+import pcgen.core.character.EquipSet;
+import pcgen.core.character.EquipSlot;
+import pcgen.core.pclevelinfo.PCLevelInfo;
+import pcgen.core.validation.ValidationIssue.Category;
+import pcgen.system.LanguageBundle;
+
+/**
+ * A CharacterValidator checks a character against the rules in a single pass:
+ * the prerequisites of its classes, chosen abilities, templates, deity and
+ * equipped items, its ability, skill point and domain pools, and the slots
+ * its equipment is placed in.
+ * 
+ * Results are cached between calls to validate(). Each check records the
+ * ValidationInput(s) it depends upon (for held objects, derived from the kinds
+ * of their prerequisites), and a later validate() re-runs only the checks
+ * whose inputs have changed since the previous run, plus the checks of newly
+ * held objects. If no input has changed nothing is re-checked at all.
+ * 
+ * A CharacterValidator is intended to live as long as the character it checks.
+ * It is not safe for the character to change while validate() is running.
+ */
+public final class CharacterValidator
+{
+
+	/**
+	 * The checks made of the character as a whole. These are cheap compared
+	 * to prerequisites and draw on too many parts of the character to track,
+	 * so they are re-run after any change to any input.
+	 */
+	private enum CharacterCheck
+	{
+		ABILITY_POOLS, SKILL_POOLS, DOMAIN_POOL, EQUIPMENT_SLOTS
+	}
+
+	private static final Set<ValidationInput> CHARACTER_CHECK_INPUTS = EnumSet.allOf(ValidationInput.class);
+
+	private final PlayerCharacter pc;
+
+	private final Map<ValidationInput, Object> snapshots = new EnumMap<>(ValidationInput.class);
+
+	/**
+	 * The cached prerequisite results, by held object (PCClass, CNAbility,
+	 * PCTemplate, Deity or Equipment).
+	 */
+	private Map<Object, CachedCheck> heldChecks = new HashMap<>();
+
+	private final Map<CharacterCheck, CachedCheck> characterChecks = new EnumMap<>(CharacterCheck.class);
+
+	private List<ValidationIssue> issues = Collections.emptyList();
+	private int lastRecheckCount;
+
+	/**
+	 * Creates a new CharacterValidator for the given character.
+	 * 
+	 * @param pc
+	 *            The character to be validated
+	 */
+	public CharacterValidator(PlayerCharacter pc)
+	{
+		this.pc = Objects.requireNonNull(pc);
+	}
+
+	/**
+	 * Validates the character, re-checking only what has changed since the
+	 * last call.
+	 * 
+	 * @return The issues found, ordered by the part of the character they
+	 *         concern; empty if the character is legal
+	 */
+	public synchronized List<ValidationIssue> validate()
+	{
+		lastRecheckCount = 0;
+		Set<ValidationInput> changed = updateSnapshots();
+		if (changed.isEmpty())
+		{
+			return issues;
+		}
+
+		List<ValidationIssue> found = new ArrayList<>();
+		Map<Object, CachedCheck> previous = heldChecks;
+		heldChecks = new HashMap<>();
+		for (PCClass pcClass : pc.getClassList())
+		{
+			checkHeld(pcClass, pcClass, previous, changed, found);
+		}
+		for (CNAbility cna : pc.getCNAbilities())
+		{
+			// Only abilities the user chose need to meet their prerequisites
+			if (cna.getNature() == Nature.NORMAL)
+			{
+				checkHeld(cna, cna.getAbility(), previous, changed, found);
+			}
+		}
+		for (PCTemplate template : pc.getTemplateSet())
+		{
+			checkHeld(template, template, previous, changed, found);
+		}
+		Deity deity = pc.getDeity();
+		if (deity != null)
+		{
+			checkHeld(deity, deity, previous, changed, found);
+		}
+		for (Equipment eq : pc.getEquippedEquipmentSet())
+		{
+			checkHeld(eq, eq, previous, changed, found);
+		}
+
+		for (CharacterCheck check : CharacterCheck.values())
+		{
+			CachedCheck cached = characterChecks.get(check);
+			if (cached == null || cached.isAffectedBy(changed))
+			{
+				cached = new CachedCheck(CHARACTER_CHECK_INPUTS, runCharacterCheck(check));
+				characterChecks.put(check, cached);
+				lastRecheckCount++;
+			}
+			found.addAll(cached.issues);
+		}
+
+		issues = Collections.unmodifiableList(found);
+		return issues;
+	}
+
+	/**
+	 * Returns the number of checks that were actually run by the last call to
+	 * validate(), as opposed to answered from the cache.
+	 * 
+	 * @return The number of checks re-run by the last validation
+	 */
+	public synchronized int getLastRecheckCount()
+	{
+		return lastRecheckCount;
+	}
+
+	/**
+	 * Discards all cached results, so the next validate() checks everything.
+	 */
+	public synchronized void invalidate()
+	{
+		snapshots.clear();
+		heldChecks.clear();
+		characterChecks.clear();
+	}
+
+	private Set<ValidationInput> updateSnapshots()
+	{
+		Set<ValidationInput> changed = EnumSet.noneOf(ValidationInput.class);
+		for (ValidationInput input : ValidationInput.values())
+		{
+			Object snapshot = input.snapshot(pc);
+			if (!snapshot.equals(snapshots.put(input, snapshot)))
+			{
+				changed.add(input);
+			}
+		}
+		return changed;
+	}
+
+	private void checkHeld(Object key, CDOMObject cdo, Map<Object, CachedCheck> previous,
+		Set<ValidationInput> changed, List<ValidationIssue> found)
+	{
+		CachedCheck cached = previous.get(key);
+		if (cached == null || cached.isAffectedBy(changed))
+		{
+			List<ValidationIssue> result = cdo.qualifies(pc, cdo) ? Collections.emptyList()
+				: Collections.singletonList(createPrerequisiteIssue(key, cdo));
+			cached = new CachedCheck(ValidationInput.forPrerequisites(cdo.getPrerequisiteList()), result);
+			lastRecheckCount++;
+		}
+		heldChecks.put(key, cached);
+		found.addAll(cached.issues);
+	}
+
+	private ValidationIssue createPrerequisiteIssue(Object key, CDOMObject cdo)
+	{
+		String name = cdo.getDisplayName();
+		if (cdo instanceof PCClass)
+		{
+			String message = cdo.containsKey(ObjectKey.EX_CLASS)
+				? LanguageBundle.getFormattedString("in_valClassUnqualifiedExClass", name) //$NON-NLS-1$
+				: LanguageBundle.getFormattedString("in_valClassUnqualified", name); //$NON-NLS-1$
+			return new ValidationIssue(Category.CLASS_QUALIFICATION, cdo, message);
+		}
+		String message;
+		if (key instanceof CNAbility)
+		{
+			message = LanguageBundle.getFormattedString("in_valAbilityPrereq", name, //$NON-NLS-1$
+				((CNAbility) key).getAbilityCategory().getDisplayName());
+		}
+		else if (cdo instanceof PCTemplate)
+		{
+			message = LanguageBundle.getFormattedString("in_valTemplatePrereq", name); //$NON-NLS-1$
+		}
+		else if (cdo instanceof Deity)
+		{
+			message = LanguageBundle.getFormattedString("in_valDeityPrereq", name); //$NON-NLS-1$
+		}
+		else
+		{
+			message = LanguageBundle.getFormattedString("in_valEquipmentPrereq", name); //$NON-NLS-1$
+		}
+		return new ValidationIssue(Category.PREREQUISITE, key, message);
+	}
+
+	private List<ValidationIssue> runCharacterCheck(CharacterCheck check)
+	{
+		List<ValidationIssue> found = new ArrayList<>();
+		switch (check)
+		{
+			case ABILITY_POOLS:
+				checkAbilityPools(found);
+				break;
+			case SKILL_POOLS:
+				checkSkillPools(found);
+				break;
+			case DOMAIN_POOL:
+				checkDomainPool(found);
+				break;
+			case EQUIPMENT_SLOTS:
+				checkEquipmentSlots(found);
+				break;
+			default:
+				throw new IllegalStateException("Unknown check " + check);
+		}
+		return found;
+	}
+
+	private void checkAbilityPools(List<ValidationIssue> found)
+	{
+		for (AbilityCategory cat : SettingsHandler.getGame().getAllAbilityCategories())
+		{
+			// Sub-categories spend from their parent's pool
+			if (cat.getParentCategory() != cat)
+			{
+				continue;
+			}
+			BigDecimal available = pc.getAvailableAbilityPool(cat);
+			if (available.signum() < 0)
+			{
+				found.add(new ValidationIssue(Category.POOL, cat,
+					LanguageBundle.getFormattedString("in_valAbilityPoolOverspent", //$NON-NLS-1$
+						cat.getPluralName(), available.negate().stripTrailingZeros().toPlainString())));
+			}
+		}
+	}
+
+	private void checkSkillPools(List<ValidationIssue> found)
+	{
+		int level = 0;
+		for (PCLevelInfo info : pc.getLevelInfo())
+		{
+			level++;
+			int remaining = info.getSkillPointsRemaining();
+			if (remaining < 0)
+			{
+				found.add(new ValidationIssue(Category.POOL, info,
+					LanguageBundle.getFormattedString("in_valSkillPoolOverspent", level, //$NON-NLS-1$
+						info.getClassKeyName(), info.getClassLevel(), -remaining)));
+			}
+		}
+	}
+
+	private void checkDomainPool(List<ValidationIssue> found)
+	{
+		if (pc.getDomainCount() > pc.getMaxCharacterDomains())
+		{
+			found.add(new ValidationIssue(Category.POOL, null,
+				LanguageBundle.getString("in_domTodoTooManyDomains"))); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Checks the locations of the items in the equipment set used for
+	 * calculation, following the rules of PlayerCharacter.canEquipItem().
+	 * 
+	 * @param found
+	 *            The list to which any issues are added
+	 */
+	private void checkEquipmentSlots(List<ValidationIssue> found)
+	{
+		String calcSetId = pc.getCalcEquipSetId();
+		Map<String, List<Equipment>> byLocation = new LinkedHashMap<>();
+		for (EquipSet es : pc.getDisplay().getEquipSet())
+		{
+			Equipment item = es.getItem();
+			// Only items placed directly in the set; the rest are in containers
+			if (item != null && calcSetId.equals(es.getParentIdPath()))
+			{
+				byLocation.computeIfAbsent(es.getName(), k -> new ArrayList<>()).add(item);
+			}
+		}
+
+		for (Map.Entry<String, List<Equipment>> entry : byLocation.entrySet())
+		{
+			String location = entry.getKey();
+			if (location.startsWith(Constants.EQUIP_LOCATION_CARRIED)
+				|| location.startsWith(Constants.EQUIP_LOCATION_EQUIPPED)
+				|| location.startsWith(Constants.EQUIP_LOCATION_NOTCARRIED)
+				|| location.equals(Constants.EQUIP_LOCATION_NATURAL_SECONDARY))
+			{
+				continue;
+			}
+			EquipSlot slot = Globals.getEquipSlotByName(location);
+			if (slot == null)
+			{
+				continue;
+			}
+			int used = 0;
+			String slotType = null;
+			for (Equipment item : entry.getValue())
+			{
+				if (item.isUnarmed())
+				{
+					continue;
+				}
+				used += item.getSlots(pc);
+				for (String type : slot.getContainType())
+				{
+					if (slotType == null && item.isType(type))
+					{
+						slotType = type;
+					}
+				}
+			}
+			if (slotType == null)
+			{
+				continue;
+			}
+			int allowed = slot.getSlotCount() + (int) pc.getTotalBonusTo("SLOTS", slotType); //$NON-NLS-1$
+			if (used > allowed)
+			{
+				found.add(new ValidationIssue(Category.SLOT, location,
+					LanguageBundle.getFormattedString("in_valSlotOverfilled", location, used, allowed))); //$NON-NLS-1$
+			}
+		}
+
+		boolean twoHanded = hasWeapon(byLocation, Constants.EQUIP_LOCATION_BOTH)
+			|| hasWeapon(byLocation, Constants.EQUIP_LOCATION_DOUBLE);
+		boolean oneHanded = hasWeapon(byLocation, Constants.EQUIP_LOCATION_PRIMARY)
+			|| hasWeapon(byLocation, Constants.EQUIP_LOCATION_SECONDARY);
+		if (twoHanded && oneHanded)
+		{
+			found.add(new ValidationIssue(Category.SLOT, Constants.EQUIP_LOCATION_BOTH,
+				LanguageBundle.getString("in_valHandsConflict"))); //$NON-NLS-1$
+		}
+	}
+
+	private static boolean hasWeapon(Map<String, List<Equipment>> byLocation, String location)
+	{
+		List<Equipment> items = byLocation.get(location);
+		return items != null && items.stream().anyMatch(eq -> eq.isWeapon() && !eq.isNatural());
+	}
+
+	/**
+	 * The result of one check along with the inputs it depends upon.
+	 */
+	private static final class CachedCheck
+	{
+		private final Set<ValidationInput> inputs;
+		private final List<ValidationIssue> issues;
+
+		private CachedCheck(Set<ValidationInput> inputs, List<ValidationIssue> issues)
+		{
+			this.inputs = inputs;
+			this.issues = issues;
+		}
+
+		private boolean isAffectedBy(Set<ValidationInput> changed)
+		{
+			for (ValidationInput input : inputs)
+			{
+				if (changed.contains(input))
+				{
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+}
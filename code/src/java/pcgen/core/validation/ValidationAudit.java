@@ -0,0 +1,151 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.core.validation;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import pcgen.cdom.base.Constants;
+import pcgen.core.Campaign;
+import pcgen.io.CharacterBatch;
+import pcgen.io.CharacterBatch.BatchReport;
+import pcgen.io.CharacterBatch.BatchResult;
+import pcgen.io.PCGFile;
+
+/**
+ * ValidationAudit validates every character file in a directory tree, using
+ * a CharacterBatch so that characters are checked across several threads.
+ * This allows, for example, an organized play coordinator to check a whole
+ * set of submitted characters at once.
+ */
+public final class ValidationAudit
+{
+
+	private ValidationAudit()
+	{
+		// Utility class
+	}
+
+	/**
+	 * Returns the character files in a directory and all of its
+	 * sub-directories, in a stable (sorted by path) order.
+	 * 
+	 * @param dir
+	 *            The directory to be searched
+	 * @return The character files found
+	 */
+	public static List<File> findCharacterFiles(File dir)
+	{
+		List<File> found = new ArrayList<>();
+		addCharacterFiles(dir, found);
+		found.sort(null);
+		return found;
+	}
+
+	private static void addCharacterFiles(File dir, List<File> found)
+	{
+		File[] children = dir.listFiles();
+		if (children == null)
+		{
+			return;
+		}
+		for (File child : children)
+		{
+			if (child.isDirectory())
+			{
+				addCharacterFiles(child, found);
+			}
+			else if (PCGFile.isPCGenCharacterFile(child))
+			{
+				found.add(child);
+			}
+		}
+	}
+
+	/**
+	 * Loads and validates every character file found in the directory tree.
+	 * The data set the characters use must already be loaded.
+	 * 
+	 * @param dir
+	 *            The directory containing the character files
+	 * @param campaigns
+	 *            The sources the characters are loaded with
+	 * @param threads
+	 *            The number of characters to be validated at once
+	 * @return The report of the batch, where each successful result holds the
+	 *         issues found (empty for a legal character)
+	 * @throws InterruptedException
+	 *             if interrupted while waiting for the audit to complete
+	 */
+	public static BatchReport<List<ValidationIssue>> auditDirectory(File dir, Collection<Campaign> campaigns,
+		int threads) throws InterruptedException
+	{
+		return new CharacterBatch(campaigns, threads).run(findCharacterFiles(dir),
+			pc -> new CharacterValidator(pc).validate());
+	}
+
+	/**
+	 * Writes a plain text report of an audit, listing each file followed by
+	 * its issues, then a summary line.
+	 * 
+	 * @param report
+	 *            The report of the audit
+	 * @param out
+	 *            The Writer to which the report is written
+	 * @throws IOException
+	 *             if the report could not be written
+	 */
+	public static void writeReport(BatchReport<List<ValidationIssue>> report, Writer out) throws IOException
+	{
+		int legal = 0;
+		for (BatchResult<List<ValidationIssue>> result : report.getResults())
+		{
+			out.write(result.getFile().getPath());
+			if (!result.isSuccessful())
+			{
+				out.write(": NOT LOADED"); //$NON-NLS-1$
+				out.write(Constants.LINE_SEPARATOR);
+				for (String error : result.getErrors())
+				{
+					out.write("\t" + error + Constants.LINE_SEPARATOR); //$NON-NLS-1$
+				}
+				if (result.getFailure() != null)
+				{
+					out.write("\t" + result.getFailure() + Constants.LINE_SEPARATOR); //$NON-NLS-1$
+				}
+				continue;
+			}
+			List<ValidationIssue> issues = result.getValue();
+			if (issues.isEmpty())
+			{
+				legal++;
+				out.write(": OK" + Constants.LINE_SEPARATOR); //$NON-NLS-1$
+				continue;
+			}
+			out.write(": " + issues.size() + " issue(s)" + Constants.LINE_SEPARATOR); //$NON-NLS-1$ //$NON-NLS-2$
+			for (ValidationIssue issue : issues)
+			{
+				out.write("\t" + issue + Constants.LINE_SEPARATOR); //$NON-NLS-1$
+			}
+		}
+		out.write(legal + " of " + report.getResults().size() + " characters are legal. " //$NON-NLS-1$ //$NON-NLS-2$
+			+ report + Constants.LINE_SEPARATOR);
+	}
+}
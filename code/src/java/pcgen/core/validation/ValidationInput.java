@@ -0,0 +1,316 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.core.validation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import pcgen.cdom.base.CDOMObject;
+import pcgen.cdom.enumeration.ListKey;
+import pcgen.core.Equipment;
+import pcgen.core.PCClass;
+import pcgen.core.PCStat;
+import pcgen.core.PlayerCharacter;
+import pcgen.core.Skill;
+import pcgen.core.analysis.SkillRankControl;
+import pcgen.core.display.CharacterDisplay;
+import pcgen.core.prereq.Prerequisite;
+
+/**
+ * A ValidationInput is a part of a character that validation checks depend
+ * upon. Each input can take a snapshot of its current state; the
+ * CharacterValidator compares snapshots between runs to find what changed and
+ * re-runs only the checks which depend on a changed input.
+ * 
+ * Snapshots must be comparable with equals() and must not be affected by
+ * later changes to the character.
+ */
+public enum ValidationInput
+{
+	/**
+	 * The total score of each stat.
+	 */
+	STATS
+	{
+		@Override
+		Object snapshot(PlayerCharacter pc)
+		{
+			Map<PCStat, Integer> scores = new HashMap<>();
+			for (PCStat stat : pc.getStatSet())
+			{
+				scores.put(stat, pc.getTotalStatFor(stat));
+			}
+			return scores;
+		}
+	},
+
+	/**
+	 * The alignment of the character.
+	 */
+	ALIGNMENT
+	{
+		@Override
+		Object snapshot(PlayerCharacter pc)
+		{
+			return Collections.singletonList(pc.getDisplay().getPCAlignment());
+		}
+	},
+
+	/**
+	 * The race of the character.
+	 */
+	RACE
+	{
+		@Override
+		Object snapshot(PlayerCharacter pc)
+		{
+			return Collections.singletonList(pc.getRace());
+		}
+	},
+
+	/**
+	 * The level in each class.
+	 */
+	CLASSES
+	{
+		@Override
+		Object snapshot(PlayerCharacter pc)
+		{
+			Map<PCClass, Integer> levels = new HashMap<>();
+			for (PCClass pcClass : pc.getClassSet())
+			{
+				levels.put(pcClass, pc.getLevel(pcClass));
+			}
+			return levels;
+		}
+	},
+
+	/**
+	 * The abilities held by the character.
+	 */
+	ABILITIES
+	{
+		@Override
+		Object snapshot(PlayerCharacter pc)
+		{
+			return new HashSet<>(pc.getCNAbilities());
+		}
+	},
+
+	/**
+	 * The total rank in each skill.
+	 */
+	SKILLS
+	{
+		@Override
+		Object snapshot(PlayerCharacter pc)
+		{
+			Map<Skill, Float> ranks = new HashMap<>();
+			for (Skill skill : pc.getSkillSet())
+			{
+				ranks.put(skill, SkillRankControl.getTotalRank(pc, skill));
+			}
+			return ranks;
+		}
+	},
+
+	/**
+	 * The equipment held, with quantity and where it is equipped.
+	 */
+	EQUIPMENT
+	{
+		@Override
+		Object snapshot(PlayerCharacter pc)
+		{
+			CharacterDisplay display = pc.getDisplay();
+			List<Object> state = new ArrayList<>();
+			for (Equipment eq : display.getEquipmentSet())
+			{
+				state.add(eq);
+				state.add(eq.getQty());
+				state.add(eq.isEquipped());
+			}
+			display.getEquipSet().forEach(es -> {
+				state.add(es.getIdPath());
+				state.add(es.getItem());
+			});
+			return state;
+		}
+	},
+
+	/**
+	 * The templates applied to the character.
+	 */
+	TEMPLATES
+	{
+		@Override
+		Object snapshot(PlayerCharacter pc)
+		{
+			return new HashSet<>(pc.getTemplateSet());
+		}
+	},
+
+	/**
+	 * The deity and domains of the character.
+	 */
+	DEITY
+	{
+		@Override
+		Object snapshot(PlayerCharacter pc)
+		{
+			List<Object> state = new ArrayList<>();
+			state.add(pc.getDeity());
+			state.add(new HashSet<>(pc.getDomainSet()));
+			return state;
+		}
+	},
+
+	/**
+	 * The languages known by the character.
+	 */
+	LANGUAGES
+	{
+		@Override
+		Object snapshot(PlayerCharacter pc)
+		{
+			return new HashSet<>(pc.getLanguageSet());
+		}
+	},
+
+	/**
+	 * The held objects which grant QUALIFY. As QUALIFY overrides any
+	 * prerequisite, every prerequisite check depends on this input.
+	 */
+	QUALIFY
+	{
+		@Override
+		Object snapshot(PlayerCharacter pc)
+		{
+			Set<CDOMObject> grantors = Collections.newSetFromMap(new IdentityHashMap<>());
+			for (CDOMObject cdo : pc.getCDOMObjectList())
+			{
+				if (cdo.containsListFor(ListKey.QUALIFY))
+				{
+					grantors.add(cdo);
+				}
+			}
+			return grantors;
+		}
+	},
+
+	/**
+	 * Any change to the character that is tracked by its serial (i.e. that
+	 * marks the character as changed). Checks which cannot name narrower
+	 * inputs depend on this along with all the other inputs, as not every
+	 * change (e.g. setting a stat) updates the serial.
+	 */
+	ANY
+	{
+		@Override
+		Object snapshot(PlayerCharacter pc)
+		{
+			return pc.getSerial();
+		}
+	};
+
+	/**
+	 * The inputs used by each kind of prerequisite, as returned by
+	 * Prerequisite.getKind(). Kinds not listed are assumed to depend on every
+	 * input.
+	 */
+	private static final Map<String, Set<ValidationInput>> KIND_INPUTS = new HashMap<>();
+
+	static
+	{
+		addKind(EnumSet.of(STATS), "stat");
+		addKind(EnumSet.of(ALIGNMENT), "align");
+		// Templates and abilities can change the race type and subtypes
+		addKind(EnumSet.of(RACE, TEMPLATES, ABILITIES), "race", "racetype");
+		addKind(EnumSet.of(CLASSES), "class", "level", "pclevel", "levelmax", "subclass", "hd");
+		addKind(EnumSet.of(ABILITIES), "ability");
+		addKind(EnumSet.of(SKILLS), "skill");
+		addKind(EnumSet.of(EQUIPMENT), "equip", "equipboth", "equipprimary", "equipsecondary", "equiptwoweapon",
+			"item", "armortype", "wield");
+		addKind(EnumSet.of(TEMPLATES), "template");
+		addKind(EnumSet.of(DEITY), "deity", "has.deity", "deitydomain", "domain");
+		addKind(EnumSet.of(DEITY, ALIGNMENT), "deityalign");
+		addKind(EnumSet.of(LANGUAGES), "lang");
+	}
+
+	private static void addKind(Set<ValidationInput> inputs, String... kinds)
+	{
+		for (String kind : kinds)
+		{
+			KIND_INPUTS.put(kind, inputs);
+		}
+	}
+
+	/**
+	 * Takes a snapshot of the current state of this input on the given
+	 * character.
+	 * 
+	 * @param pc
+	 *            The character
+	 * @return The snapshot
+	 */
+	abstract Object snapshot(PlayerCharacter pc);
+
+	/**
+	 * Returns the inputs that the given prerequisites depend upon. QUALIFY is
+	 * always included, and if any prerequisite kind is not known every input
+	 * is.
+	 * 
+	 * @param prereqs
+	 *            The prerequisites of an object
+	 * @return The inputs the prerequisites depend upon
+	 */
+	static Set<ValidationInput> forPrerequisites(Collection<Prerequisite> prereqs)
+	{
+		Set<ValidationInput> inputs = EnumSet.of(QUALIFY);
+		addInputs(prereqs, inputs);
+		return inputs;
+	}
+
+	private static void addInputs(Collection<Prerequisite> prereqs, Set<ValidationInput> inputs)
+	{
+		for (Prerequisite prereq : prereqs)
+		{
+			String kind = prereq.getKind();
+			if (kind != null)
+			{
+				Set<ValidationInput> kindInputs = KIND_INPUTS.get(kind.toLowerCase(Locale.ENGLISH));
+				if (kindInputs == null)
+				{
+					inputs.addAll(EnumSet.allOf(ValidationInput.class));
+				}
+				else
+				{
+					inputs.addAll(kindInputs);
+				}
+			}
+			addInputs(prereq.getPrerequisites(), inputs);
+		}
+	}
+}
@@ -0,0 +1,128 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.core.validation;
+
+import java.util.Objects;
+
+/**
+ * A ValidationIssue is a single rule problem found on a character by a
+ * CharacterValidator.
+ */
+public final class ValidationIssue
+{
+
+	/**
+	 * The kinds of problem a CharacterValidator reports.
+	 */
+	public enum Category
+	{
+		/**
+		 * A class the character has levels in no longer meets its
+		 * requirements.
+		 */
+		CLASS_QUALIFICATION,
+
+		/**
+		 * A held ability, template, deity or equipped item does not meet its
+		 * prerequisites.
+		 */
+		PREREQUISITE,
+
+		/**
+		 * More has been spent from a pool (abilities, skill points, domains)
+		 * than it holds.
+		 */
+		POOL,
+
+		/**
+		 * More items are equipped in a location than it has slots for.
+		 */
+		SLOT
+	}
+
+	private final Category category;
+	private final Object source;
+	private final String message;
+
+	/**
+	 * Creates a new ValidationIssue.
+	 * 
+	 * @param category
+	 *            The kind of problem
+	 * @param source
+	 *            The object with the problem, e.g. the PCClass or
+	 *            AbilityCategory
+	 * @param message
+	 *            The (localized) description of the problem
+	 */
+	public ValidationIssue(Category category, Object source, String message)
+	{
+		this.category = Objects.requireNonNull(category);
+		this.source = source;
+		this.message = Objects.requireNonNull(message);
+	}
+
+	/**
+	 * @return The kind of problem
+	 */
+	public Category getCategory()
+	{
+		return category;
+	}
+
+	/**
+	 * @return The object with the problem
+	 */
+	public Object getSource()
+	{
+		return source;
+	}
+
+	/**
+	 * @return The description of the problem
+	 */
+	public String getMessage()
+	{
+		return message;
+	}
+
+	@Override
+	public boolean equals(Object o)
+	{
+		if (this == o)
+		{
+			return true;
+		}
+		if (!(o instanceof ValidationIssue))
+		{
+			return false;
+		}
+		ValidationIssue other = (ValidationIssue) o;
+		return category == other.category && Objects.equals(source, other.source) && message.equals(other.message);
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return category.hashCode() * 31 + message.hashCode();
+	}
+
+	@Override
+	public String toString()
+	{
+		return category + ": " + message;
+	}
+}
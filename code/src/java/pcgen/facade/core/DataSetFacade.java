@@ -24,6 +24,7 @@ import pcgen.core.AbilityCategory;
 import pcgen.core.BodyStructure;
 import pcgen.core.Campaign;
 import pcgen.core.Deity;
+import pcgen.core.EquipmentCatalog;
 import pcgen.core.GameMode;
 import pcgen.core.Kit;
 import pcgen.core.PCAlignment;
@@ -81,6 +82,12 @@ public interface DataSetFacade
 	 */
 	public void addEquipment(EquipmentFacade equip);
 
+	/**
+	 * @return An indexed catalog of the current equipment list, for fast
+	 * filtering of large lists of equipment.
+	 */
+	public EquipmentCatalog getEquipmentCatalog();
+
 	public ListFacade<BodyStructure> getEquipmentLocations();
 
 	public ListFacade<String> getXPTableNames();
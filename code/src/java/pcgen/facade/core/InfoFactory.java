@@ -18,6 +18,8 @@
  */
 package pcgen.facade.core;
 
+import java.util.Collection;
+
 import pcgen.core.Deity;
 import pcgen.core.EquipmentModifier;
 import pcgen.core.Kit;
@@ -121,6 +123,16 @@ public interface InfoFactory
 	 */
 	public String getHTMLInfo(InfoFacade facade);
 
+	/**
+	 * Prepares the HTML information for the given objects ahead of it being
+	 * requested, for example for the rows of a list that is about to be
+	 * shown. The work is done on a background thread so it does not hold up
+	 * the user.
+	 *
+	 * @param facades The objects that will likely be displayed.
+	 */
+	public void prerenderHTMLInfo(Collection<? extends InfoFacade> facades);
+
 	/**
 	 * Produce the HTML information string for spell book or spell list.
 	 *
@@ -288,10 +288,12 @@ public final class PCGenActionMap extends ActionMap
 		@Override
 		public void actionPerformed(ActionEvent e)
 		{
-			if (frame.saveAllCharacters() && !CharacterManager.saveCurrentParty())
-			{
-				frame.showSavePartyChooser();
-			}
+			frame.saveAllCharacters(ok -> {
+				if (ok && !CharacterManager.saveCurrentParty())
+				{
+					frame.showSavePartyChooser();
+				}
+			});
 		}
 
 	}
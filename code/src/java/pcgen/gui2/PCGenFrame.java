@@ -37,7 +37,10 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Observer;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.logging.LogRecord;
 
 import javax.swing.Action;
@@ -53,12 +56,15 @@ import javax.swing.KeyStroke;
 import javax.swing.SwingConstants;
 import javax.swing.SwingUtilities;
 import javax.swing.SwingWorker;
+import javax.swing.Timer;
 import javax.swing.WindowConstants;
 
 import pcgen.cdom.base.Constants;
 import pcgen.core.Campaign;
+import pcgen.core.DataSetCache;
 import pcgen.core.GameMode;
 import pcgen.core.Globals;
+import pcgen.core.ResidentDataSet;
 import pcgen.core.utils.ShowMessageDelegate;
 import pcgen.facade.core.CharacterFacade;
 import pcgen.facade.core.CharacterStubFacade;
@@ -75,6 +81,7 @@ import pcgen.facade.util.event.ReferenceEvent;
 import pcgen.facade.util.event.ReferenceListener;
 import pcgen.gui2.dialog.ChooserDialog;
 import pcgen.gui2.dialog.RadioChooserDialog;
+import pcgen.gui2.facade.Gui2InfoFactory;
 import pcgen.gui2.tools.CharacterSelectionListener;
 import pcgen.gui2.tools.Icons;
 import pcgen.gui2.util.ShowMessageGuiObserver;
@@ -119,6 +126,7 @@ public final class PCGenFrame extends JFrame implements UIDelegate, CharacterSel
 	private final DefaultReferenceFacade<DataSetFacade> currentDataSetRef;
 	private final FilenameListener filenameListener;
 	private SourceLoadWorker sourceLoader;
+	private final DataSetCache residentDataSets;
 	private String section15;
 	private String lastCharacterPath;
 	/**
@@ -135,12 +143,15 @@ public final class PCGenFrame extends JFrame implements UIDelegate, CharacterSel
 		this.actionMap = new PCGenActionMap(this, uiContext);
 		this.statusBar = new PCGenStatusBar(this);
 		this.filenameListener = new FilenameListener();
+		this.residentDataSets = new DataSetCache(
+			PCGenSettings.OPTIONS_CONTEXT.initInt(PCGenSettings.OPTION_RESIDENT_DATA_SETS, 2));
 		Observer messageObserver = new ShowMessageGuiObserver(this);
 		ShowMessageDelegate.getInstance().addObserver(messageObserver);
 		ChooserFactory.setDelegate(this);
 		initComponents();
 		pack();
 		initSettings();
+		initAutosave();
 		Platform.runLater(() ->
 			javaFXStage = new Stage()
 		);
@@ -176,6 +187,29 @@ public final class PCGenFrame extends JFrame implements UIDelegate, CharacterSel
 		});
 	}
 
+	/**
+	 * Start the timer which periodically saves changed characters in the 
+	 * background, if the user has asked for autosaving. The timer fires on 
+	 * the Swing thread so the character snapshots are taken between edits.
+	 */
+	private void initAutosave()
+	{
+		int minutes = PCGenSettings.OPTIONS_CONTEXT.initInt(PCGenSettings.OPTION_AUTOSAVE_MINUTES, 0);
+		if (minutes <= 0)
+		{
+			return;
+		}
+		int delay = (int) TimeUnit.MINUTES.toMillis(minutes);
+		Timer autosaveTimer = new Timer(delay, e -> {
+			int count = CharacterManager.autosaveCharacters();
+			if (count > 0)
+			{
+				Logging.log(Logging.INFO, "Autosaving " + count + " character(s)"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		});
+		autosaveTimer.start();
+	}
+
 	/**
 	 * This is called after initialization and starts up the PCGenFrame
 	 * by setting it visible and then performing other startup actions
@@ -333,6 +367,8 @@ public final class PCGenFrame extends JFrame implements UIDelegate, CharacterSel
 		{
 			currentSourceSelection.set(null);
 			currentDataSetRef.set(null);
+			residentDataSets.clear();
+			Gui2InfoFactory.clearSharedCache();
 			Globals.emptyLists();
 			updateTitle();
 		}
@@ -363,6 +399,15 @@ public final class PCGenFrame extends JFrame implements UIDelegate, CharacterSel
 		//make sure all characters are closed before loading new sources.
 		if (closeAllCharacters())
 		{
+			ResidentDataSet resident = residentDataSets.get(getSelectionKey(sources));
+			if (resident != null)
+			{
+				//These sources were loaded recently, so just switch back to them
+				resident.activate();
+				section15 = resident.getSection15();
+				setLoadedSources(sources, resident.getDataSet());
+				return true;
+			}
 			sourceLoader = new SourceLoadWorker(sources, this);
 			sourceLoader.start();
 			return true;
@@ -370,6 +415,44 @@ public final class PCGenFrame extends JFrame implements UIDelegate, CharacterSel
 		return false;
 	}
 
+	private static String getSelectionKey(SourceSelectionFacade sources)
+	{
+		return DataSetCache.getSelectionKey(sources.getGameMode().get(), sources.getCampaigns());
+	}
+
+	/**
+	 * Records the given sources and data set as the ones currently loaded.
+	 * @param sources the sources that were loaded, or null if loading failed
+	 * @param data the data set built from the sources, or null if loading failed
+	 */
+	private void setLoadedSources(SourceSelectionFacade sources, DataSetFacade data)
+	{
+		if (data != null)
+		{
+			currentSourceSelection.set(sources);
+
+			StringBuilder sourceString = new StringBuilder(100);
+			ListFacade<Campaign> campaigns = sources.getCampaigns();
+			for (int i = 0; i < campaigns.getSize(); i++)
+			{
+				if (i > 0)
+				{
+					sourceString.append('|');
+				}
+				sourceString.append(campaigns.getElementAt(i));
+			}
+			PCGenSettings.getInstance().setProperty(PCGenSettings.LAST_LOADED_GAME,
+				sources.getGameMode().toString());
+			PCGenSettings.getInstance().setProperty(PCGenSettings.LAST_LOADED_SOURCES, sourceString.toString());
+		}
+		else
+		{
+			currentSourceSelection.set(null);
+		}
+		currentDataSetRef.set(data);
+		updateTitle();
+	}
+
 	private static boolean checkSourceEquality(SourceSelectionFacade source1, SourceSelectionFacade source2)
 	{
 		if (source1 == source2)
@@ -611,6 +694,12 @@ public final class PCGenFrame extends JFrame implements UIDelegate, CharacterSel
 		return characters.isEmpty();
 	}
 
+	/**
+	 * Ask the user where the party should be saved and then save it. The
+	 * characters are written in the background, and the party file is
+	 * written once they have all been saved.
+	 * @return false if the user cancelled the save.
+	 */
 	boolean showSavePartyChooser()
 	{
 		PartyFacade party = CharacterManager.getCharacters();
@@ -653,22 +742,34 @@ public final class PCGenFrame extends JFrame implements UIDelegate, CharacterSel
 		}
 		party.setFile(file);
 		context.setProperty(PCGenSettings.PCP_SAVE_PATH, file.getParent());
-		if (!saveAllCharacters())
-		{
-			showErrorMessage(LanguageBundle.getString("in_savePartyFailTitle"), //$NON-NLS-1$
-				LanguageBundle.getString("in_savePartyFailMsg")); //$NON-NLS-1$
-			return false;
-		}
-		if (!CharacterManager.saveCurrentParty())
-		{
-			return showSavePartyChooser();
-		}
+		saveAllCharacters(ok -> {
+			if (!ok)
+			{
+				showErrorMessage(LanguageBundle.getString("in_savePartyFailTitle"), //$NON-NLS-1$
+					LanguageBundle.getString("in_savePartyFailMsg")); //$NON-NLS-1$
+			}
+			else if (!CharacterManager.saveCurrentParty())
+			{
+				showSavePartyChooser();
+			}
+		});
 		return true;
 	}
 
-	boolean saveAllCharacters()
+	/**
+	 * Save all of the open characters. Characters without a file are saved
+	 * through a file chooser first. The others are each snapshotted in their
+	 * own Swing event, so the user can keep working between snapshots, and
+	 * are then written in the background. The Swing thread is never blocked
+	 * waiting for the writes.
+	 * 
+	 * @param onComplete Called on the Swing thread once all of the saves have
+	 *            finished, with true if they all succeeded.
+	 */
+	void saveAllCharacters(Consumer<Boolean> onComplete)
 	{
 		boolean ok = true;
+		List<CharacterFacade> toBeSaved = new ArrayList<>();
 		for (CharacterFacade character : CharacterManager.getCharacters())
 		{
 			File file = character.getFileRef().get();
@@ -679,10 +780,52 @@ public final class PCGenFrame extends JFrame implements UIDelegate, CharacterSel
 			else
 			{
 				prepareForSave(character, true);
-				ok &= reallySaveCharacter(character);
+				toBeSaved.add(character);
 			}
 		}
-		return ok;
+		final boolean choosersOk = ok;
+		List<CompletableFuture<Boolean>> saves = new ArrayList<>();
+		CompletableFuture<Void> snapshotsTaken = new CompletableFuture<>();
+		queueSaveSnapshot(toBeSaved.iterator(), saves, snapshotsTaken);
+		snapshotsTaken
+			.thenCompose(v -> CompletableFuture.allOf(saves.toArray(new CompletableFuture<?>[0]))
+				.thenApply(w -> saves.stream().allMatch(CompletableFuture::join)))
+			.exceptionally(e -> {
+				Logging.errorPrint("Unable to save all characters", e); //$NON-NLS-1$
+				return false;
+			})
+			.thenAccept(savesOk -> SwingUtilities.invokeLater(() -> onComplete.accept(choosersOk && savesOk)));
+	}
+
+	/**
+	 * Start the background save of the next character in a later Swing event,
+	 * and then queue the character after it. Taking one snapshot per event
+	 * lets the user's own events be handled between the snapshots.
+	 * 
+	 * @param characters The characters still to be saved.
+	 * @param saves The saves started so far.
+	 * @param snapshotsTaken Completed once all of the snapshots have been
+	 *            taken.
+	 */
+	private static void queueSaveSnapshot(Iterator<CharacterFacade> characters,
+		List<CompletableFuture<Boolean>> saves, CompletableFuture<Void> snapshotsTaken)
+	{
+		if (!characters.hasNext())
+		{
+			snapshotsTaken.complete(null);
+			return;
+		}
+		SwingUtilities.invokeLater(() -> {
+			try
+			{
+				saves.add(CharacterManager.saveCharacterInBackground(characters.next()));
+				queueSaveSnapshot(characters, saves, snapshotsTaken);
+			}
+			catch (RuntimeException e)
+			{
+				snapshotsTaken.completeExceptionally(e);
+			}
+		});
 	}
 
 	/**
@@ -1316,28 +1459,10 @@ public final class PCGenFrame extends JFrame implements UIDelegate, CharacterSel
 			DataSetFacade data = loader.getDataSetFacade();
 			if (data != null)
 			{
-				currentSourceSelection.set(sources);
-
-				StringBuilder sourceString = new StringBuilder(100);
-				ListFacade<Campaign> campaigns = sources.getCampaigns();
-				for (int i = 0; i < campaigns.getSize(); i++)
-				{
-					if (i > 0)
-					{
-						sourceString.append('|');
-					}
-					sourceString.append(campaigns.getElementAt(i));
-				}
-				PCGenSettings.getInstance().setProperty(PCGenSettings.LAST_LOADED_GAME,
-					sources.getGameMode().toString());
-				PCGenSettings.getInstance().setProperty(PCGenSettings.LAST_LOADED_SOURCES, sourceString.toString());
+				residentDataSets.put(getSelectionKey(sources),
+					ResidentDataSet.capture(data, sec15, loader.getCampaignOptions()));
 			}
-			else
-			{
-				currentSourceSelection.set(null);
-			}
-			currentDataSetRef.set(data);
-			updateTitle();
+			setLoadedSources(sources, data);
 		}
 
 		private void showLicenses()
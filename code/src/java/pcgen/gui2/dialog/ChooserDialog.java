@@ -56,6 +56,7 @@ import pcgen.facade.core.InfoFactory;
 import pcgen.facade.util.DefaultListFacade;
 import pcgen.facade.util.DelegatingListFacade;
 import pcgen.facade.util.ListFacade;
+import pcgen.facade.util.ListFacades;
 import pcgen.facade.util.event.ReferenceEvent;
 import pcgen.facade.util.event.ReferenceListener;
 import pcgen.gui2.UIPropertyContext;
@@ -91,6 +92,9 @@ import org.apache.commons.lang3.StringUtils;
 public class ChooserDialog extends JDialog implements ActionListener, ReferenceListener<Integer>, ListSelectionListener
 {
 
+	/** The number of available choices whose info is prepared in advance */
+	private static final int PRERENDER_COUNT = 30;
+
 	private final ChooserFacade chooser;
 	private final JTreeViewTable<InfoFacade> availTable;
 	private final JTextField availInput;
@@ -265,6 +269,7 @@ public class ChooserDialog extends JDialog implements ActionListener, ReferenceL
 			if (availTable != null)
 			{
 				availTable.getSelectionModel().addListSelectionListener(this);
+				prerenderAvailableInfo();
 			}
 		}
 		else
@@ -303,6 +308,21 @@ public class ChooserDialog extends JDialog implements ActionListener, ReferenceL
 		}
 	}
 
+	/**
+	 * Asks the info factory to prepare the descriptions of the first few
+	 * available choices, so that selecting them shows the info immediately.
+	 */
+	private void prerenderAvailableInfo()
+	{
+		InfoFactory factory = chooser.getInfoFactory();
+		ListFacade<InfoFacade> availableList = chooser.getAvailableList();
+		if (factory != null && availableList != null)
+		{
+			List<InfoFacade> available = ListFacades.wrap(availableList);
+			factory.prerenderHTMLInfo(available.subList(0, Math.min(PRERENDER_COUNT, available.size())));
+		}
+	}
+
 	private void doOK(final javafx.event.ActionEvent event)
 	{
 		if (chooser.isRequireCompleteSelection() && chooser.getRemainingSelections().get() > 0)
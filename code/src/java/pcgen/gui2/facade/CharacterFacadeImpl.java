@@ -35,6 +35,9 @@ import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import javax.swing.SwingUtilities;
 
 import pcgen.cdom.base.AssociatedPrereqObject;
 import pcgen.cdom.base.CDOMObject;
@@ -58,6 +61,7 @@ import pcgen.cdom.facet.event.DataFacetChangeListener;
 import pcgen.cdom.facet.fact.XPFacet;
 import pcgen.cdom.facet.model.LanguageFacet;
 import pcgen.cdom.facet.model.TemplateFacet;
+import pcgen.cdom.formula.SolverProfile;
 import pcgen.cdom.helper.ClassSource;
 import pcgen.cdom.inst.PCClassLevel;
 import pcgen.cdom.meta.CorePerspective;
@@ -71,6 +75,7 @@ import pcgen.core.Campaign;
 import pcgen.core.Deity;
 import pcgen.core.Domain;
 import pcgen.core.Equipment;
+import pcgen.core.EquipmentCatalog;
 import pcgen.core.EquipmentModifier;
 import pcgen.core.GameMode;
 import pcgen.core.GearBuySellScheme;
@@ -139,6 +144,7 @@ import pcgen.facade.util.event.ListEvent;
 import pcgen.facade.util.event.ListListener;
 import pcgen.gui2.UIPropertyContext;
 import pcgen.gui2.util.CoreInterfaceUtilities;
+import pcgen.io.ExportCache;
 import pcgen.io.ExportException;
 import pcgen.io.ExportHandler;
 import pcgen.io.PCGIOHandler;
@@ -151,6 +157,7 @@ import pcgen.pluginmgr.messages.PlayerCharacterWasClosedMessage;
 import pcgen.system.CharacterManager;
 import pcgen.system.LanguageBundle;
 import pcgen.system.PCGenSettings;
+import pcgen.util.CalculationMetrics;
 import pcgen.util.Logging;
 import pcgen.util.enumeration.Load;
 import pcgen.util.enumeration.Tab;
@@ -239,6 +246,8 @@ public class CharacterFacadeImpl
 	private boolean allowDebt;
 
 	private int lastExportCharSerial = 0;
+	private volatile int lastSavedSerial = -1;
+	private volatile int savingSerial = -1;
 	private PlayerCharacter lastExportChar;
 	private LanguageListener langListener;
 	private TemplateListener templateListener;
@@ -273,9 +282,22 @@ public class CharacterFacadeImpl
 		characterAbilities.closeCharacter();
 		charLevelsFacade.closeCharacter();
 		companionSupportFacade.closeCharacter();
+		spellSupportFacade.closeCharacter();
 		PluginManager.getInstance().getPostbox().handleMessage(new PlayerCharacterWasClosedMessage(this, theCharacter));
 		Globals.getPCList().remove(theCharacter);
-		lastExportChar = null;
+		CalculationMetrics.remove(theCharacter.getCharID());
+		SolverProfile.remove(theCharacter.getCharID());
+		ExportCache.release(theCharacter);
+		synchronized (this)
+		{
+			if (lastExportChar != null)
+			{
+				CalculationMetrics.remove(lastExportChar.getCharID());
+				SolverProfile.remove(lastExportChar.getCharID());
+				ExportCache.release(lastExportChar);
+			}
+			lastExportChar = null;
+		}
 		/*
 		 * Unfortunately, a dummy rather than null is necessary because the UI
 		 * does model swaps and such that do not pause events in the UI so that
@@ -293,7 +315,7 @@ public class CharacterFacadeImpl
 
 		todoManager = new TodoManager();
 
-		infoFactory = new Gui2InfoFactory(theCharacter);
+		infoFactory = new Gui2InfoFactory(theCharacter, dataSet);
 		characterAbilities = new CharacterAbilities(theCharacter, delegate, dataSet, todoManager);
 		descriptionFacade = new DescriptionFacadeImpl(theCharacter);
 		spellSupportFacade = new SpellSupportFacadeImpl(theCharacter, delegate, dataSet, todoManager, this);
@@ -1832,6 +1854,12 @@ public class CharacterFacadeImpl
 			// serial when checking for real changes
 			// Get serial at beginning so we can detect if a change occurs during clone and preparePCForOutput
 			lastExportCharSerial = theCharacter.getSerial();
+			if (exportPc != null)
+			{
+				// The previous copy is being replaced, so nothing will report on it again
+				CalculationMetrics.remove(exportPc.getCharID());
+				SolverProfile.remove(exportPc.getCharID());
+			}
 			exportPc = theCharacter.clone();
 
 			// Get the PC all up to date, (equipment and active bonuses etc)
@@ -1996,10 +2024,64 @@ public class CharacterFacadeImpl
 	{
 		GameMode mode = dataSet.getGameMode();
 		List<Campaign> campaigns = ListFacades.wrap(dataSet.getCampaigns());
+		int serial = theCharacter.getSerial();
 		(new PCGIOHandler()).write(theCharacter, mode, campaigns, file.get());
+		lastSavedSerial = serial;
 		theCharacter.setDirty(false);
 	}
 
+	/**
+	 * Save a snapshot of the character to disc using its filename. The 
+	 * snapshot is taken before this method returns and is then written on the 
+	 * background save thread. Once the write succeeds the character is marked 
+	 * as saved on the event dispatch thread, unless it has been changed in the 
+	 * meantime. A failed write leaves the character unsaved, so the next 
+	 * autosave tries again. Note this method is not part of the 
+	 * CharacterFacade and should only be used by the ChracterManager class.
+	 * 
+	 * @return A future which completes once the character file has been 
+	 * replaced, or completes exceptionally if the write failed.
+	 */
+	public CompletableFuture<Void> saveInBackground()
+	{
+		GameMode mode = dataSet.getGameMode();
+		List<Campaign> campaigns = ListFacades.wrap(dataSet.getCampaigns());
+		final PlayerCharacter pc = theCharacter;
+		final int serial = pc.getSerial();
+		savingSerial = serial;
+		CompletableFuture<Void> write = PCGIOHandler.writeInBackground(pc, mode, campaigns, file.get());
+		write.whenComplete((v, e) -> SwingUtilities.invokeLater(() -> {
+			if (savingSerial == serial)
+			{
+				savingSerial = -1;
+			}
+			if (e == null)
+			{
+				lastSavedSerial = serial;
+				// The character may have been edited or closed while it was written
+				if (theCharacter == pc && pc.getSerial() == serial)
+				{
+					pc.setDirty(false);
+				}
+			}
+		}));
+		return write;
+	}
+
+	/**
+	 * Identify if the character has been changed since it was last saved, or 
+	 * since the save currently being written was queued. Note this method is 
+	 * not part of the CharacterFacade and should only be used by the 
+	 * ChracterManager class.
+	 * 
+	 * @return true if the character has unsaved changes.
+	 */
+	public boolean isChangedSinceSave()
+	{
+		int serial = theCharacter.getSerial();
+		return theCharacter.isDirty() && serial != lastSavedSerial && serial != savingSerial;
+	}
+
 	@Override
 	public boolean isAutomatic(Language language)
 	{
@@ -2451,6 +2533,16 @@ public class CharacterFacadeImpl
 		}
 
 		PObject pObj = (PObject) infoFacade;
+		if (pObj instanceof Equipment)
+		{
+			// Reuse the qualification held by the catalog, which only calculates this item if it is missing
+			EquipmentCatalog.CharacterColumns columns = infoFactory.getCatalogColumns();
+			int row = (columns == null) ? -1 : columns.getCatalog().indexOf((Equipment) pObj);
+			if (row >= 0)
+			{
+				return columns.isQualified(row);
+			}
+		}
 		if (!theCharacter.isQualified(pObj))
 		{
 			return false;
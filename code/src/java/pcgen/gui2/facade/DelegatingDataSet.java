@@ -28,6 +28,7 @@ import pcgen.core.AbilityCategory;
 import pcgen.core.BodyStructure;
 import pcgen.core.Campaign;
 import pcgen.core.Deity;
+import pcgen.core.EquipmentCatalog;
 import pcgen.core.GameMode;
 import pcgen.core.Kit;
 import pcgen.core.PCAlignment;
@@ -306,6 +307,12 @@ public class DelegatingDataSet implements DataSetFacade
 		delegate.addEquipment(equip);
 	}
 
+	@Override
+	public EquipmentCatalog getEquipmentCatalog()
+	{
+		return delegate.getEquipmentCatalog();
+	}
+
 	@Override
 	public ListFacade<BodyStructure> getEquipmentLocations()
 	{
@@ -32,6 +32,10 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
 
 import pcgen.base.formula.Formula;
 import pcgen.base.lang.StringUtil;
@@ -70,6 +74,7 @@ import pcgen.core.BonusManager.TempBonusInfo;
 import pcgen.core.Deity;
 import pcgen.core.Domain;
 import pcgen.core.Equipment;
+import pcgen.core.EquipmentCatalog;
 import pcgen.core.EquipmentModifier;
 import pcgen.core.Globals;
 import pcgen.core.Kit;
@@ -101,6 +106,7 @@ import pcgen.core.kit.BaseKit;
 import pcgen.core.prereq.PrerequisiteUtilities;
 import pcgen.core.spell.Spell;
 import pcgen.facade.core.AbilityFacade;
+import pcgen.facade.core.DataSetFacade;
 import pcgen.facade.core.DomainFacade;
 import pcgen.facade.core.EquipmentFacade;
 import pcgen.facade.core.InfoFacade;
@@ -133,7 +139,8 @@ public class Gui2InfoFactory implements InfoFactory
 	/** A default return value for an invalid request. */
 	private static final String EMPTY_STRING = ""; //$NON-NLS-1$
 	private static final NumberFormat ADJ_FMT = new DecimalFormat("+0;-0"); //$NON-NLS-1$
-	private static final NumberFormat COST_FMT = new DecimalFormat("#,##0.##"); //$NON-NLS-1$
+	private static final String COST_PATTERN = "#,##0.##"; //$NON-NLS-1$
+	private static final NumberFormat COST_FMT = new DecimalFormat(COST_PATTERN);
 
 	/** Constant for 2 spaces in HTML */
 	private static final String TWO_SPACES = " &nbsp;"; //$NON-NLS-1$
@@ -142,17 +149,73 @@ public class Gui2InfoFactory implements InfoFactory
 	/** Constant for HTML bold end tag */
 	private static final String END_BOLD = "</b>"; //$NON-NLS-1$
 
+	/** Builds HTML for prerenderHTMLInfo away from the event dispatch thread */
+	private static final ExecutorService PRERENDER_EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+		Thread thread = new Thread(r, "Info-prerender-thread"); //$NON-NLS-1$
+		thread.setDaemon(true);
+		thread.setPriority(Thread.MIN_PRIORITY);
+		return thread;
+	});
+
+	/**
+	 * HTML that does not depend on any character, one cache for each loaded
+	 * data set, shared by all factories for characters of that data set.
+	 */
+	private static final Map<LoadContext, InfoHtmlCache> INDEPENDENT_CACHES = new WeakHashMap<>();
+
+	/** Qualifies the character independent part of an object's HTML */
+	private static final String SUMMARY = "summary"; //$NON-NLS-1$
+
 	private final PlayerCharacter pc;
 	private final CharacterDisplay charDisplay;
 
+	/** The data set whose equipment catalog supplies costs and weights, may be null */
+	private final DataSetFacade dataSet;
+
+	/** HTML built for this factory's character, layered over independentCache */
+	private final InfoHtmlCache cache = new InfoHtmlCache(500);
+
+	/** HTML that does not depend on the character, shared for the data set */
+	private final InfoHtmlCache independentCache;
+
 	/**
 	 * Create a new Gui2InfoFactory instance for the character.
 	 * @param pc The character
 	 */
 	public Gui2InfoFactory(PlayerCharacter pc)
+	{
+		this(pc, null);
+	}
+
+	/**
+	 * Create a new Gui2InfoFactory instance for the character. The cost and 
+	 * weight of equipment in the data set are read from the data set's 
+	 * EquipmentCatalog, so each item is calculated once until the character 
+	 * changes, rather than each time it is displayed.
+	 * @param pc The character
+	 * @param dataSet The character's data set, may be null
+	 */
+	public Gui2InfoFactory(PlayerCharacter pc, DataSetFacade dataSet)
 	{
 		this.pc = pc;
 		this.charDisplay = pc == null ? null : pc.getDisplay();
+		this.dataSet = dataSet;
+		this.independentCache = getIndependentCache(Globals.getContext());
+	}
+
+	/**
+	 * Returns the cache of character independent HTML for the given data
+	 * set, creating it if needed.
+	 * 
+	 * @param context The load context of the data set
+	 * @return The cache of character independent HTML
+	 */
+	private static InfoHtmlCache getIndependentCache(LoadContext context)
+	{
+		synchronized (INDEPENDENT_CACHES)
+		{
+			return INDEPENDENT_CACHES.computeIfAbsent(context, c -> new InfoHtmlCache(2000));
+		}
 	}
 
 	@Override
@@ -164,47 +227,17 @@ public class Gui2InfoFactory implements InfoFactory
 
 	@Override
 	public String getHTMLInfo(Race race)
+	{
+		return getCachedHTMLInfo(race, null, () -> buildHTMLInfo(race));
+	}
+
+	private String buildHTMLInfo(Race race)
 	{
 		final HtmlInfoBuilder infoText = new HtmlInfoBuilder();
 
 		if (!race.isUnselected())
 		{
-			infoText.appendTitleElement(OutputNameFormatting.piString(race));
-
-			infoText.appendLineBreak();
-			RaceType rt = race.get(ObjectKey.RACETYPE);
-			if (rt != null)
-			{
-				infoText.appendI18nElement("in_irInfoRaceType", rt.toString()); //$NON-NLS-1$
-			}
-
-			List<RaceSubType> rst = race.getListFor(ListKey.RACESUBTYPE);
-			if (rst != null)
-			{
-				infoText.appendSpacer();
-				infoText.appendI18nElement("in_irInfoSubType", StringUtil.join(rst, ", ")); //$NON-NLS-1$
-			}
-			if (!race.getType().isEmpty())
-			{
-				infoText.appendSpacer();
-				infoText.appendI18nElement("in_irInfoType", race.getType()); //$NON-NLS-1$
-			}
-
-			appendFacts(infoText, race);
-
-			infoText.appendLineBreak();
-			String size = getSize(race);
-			
-			if (StringUtils.isNotEmpty(size))
-			{
-				infoText.appendI18nElement("in_size", size); //$NON-NLS-1$
-			}
-			String movement = getMovement(race);
-			if (!movement.isEmpty())
-			{
-				infoText.appendSpacer();
-				infoText.appendI18nElement("in_movement", movement); //$NON-NLS-1$
-			}
+			infoText.append(getIndependentHTML(race, SUMMARY, () -> buildSummaryHTML(race)));
 			String vision = getVision(race);
 			if (!vision.isEmpty())
 			{
@@ -267,82 +300,71 @@ public class Gui2InfoFactory implements InfoFactory
 		return infoText.toString();
 	}
 
-	@Override
-	public String getHTMLInfo(PCClass aClass, PCClass possibleParentClass)
+	/**
+	 * Builds the part of the race's HTML that does not depend on the
+	 * character, so it can be shared and built ahead of time.
+	 * 
+	 * @param race The race to be described
+	 * @return The HTML fragment
+	 */
+	private static String buildSummaryHTML(Race race)
 	{
-		PCClass parentClass = aClass;
+		final HtmlInfoBuilder infoText = new HtmlInfoBuilder(null, false);
+		infoText.appendTitleElement(OutputNameFormatting.piString(race));
 
-		String aString;
-		boolean isSubClass = aClass instanceof SubClass;
-		if (isSubClass && possibleParentClass != null)
+		infoText.appendLineBreak();
+		RaceType rt = race.get(ObjectKey.RACETYPE);
+		if (rt != null)
 		{
-			parentClass = possibleParentClass;
+			infoText.appendI18nElement("in_irInfoRaceType", rt.toString()); //$NON-NLS-1$
 		}
 
-		final HtmlInfoBuilder b = new HtmlInfoBuilder(OutputNameFormatting.piString(aClass));
-		b.appendLineBreak();
-
-		// Subclass cost - at the top to make choices easier
-		if (isSubClass && aClass.getSafe(IntegerKey.COST) != 0)
+		List<RaceSubType> rst = race.getListFor(ListKey.RACESUBTYPE);
+		if (rst != null)
 		{
-			b.appendI18nElement("in_clInfoCost", String.valueOf(aClass.getSafe(IntegerKey.COST))); //$NON-NLS-1$
-			b.appendLineBreak();
+			infoText.appendSpacer();
+			infoText.appendI18nElement("in_irInfoSubType", StringUtil.join(rst, ", ")); //$NON-NLS-1$
 		}
-
-		// Type
-		aString = aClass.getType();
-		if (isSubClass && (aString.isEmpty()))
+		if (!race.getType().isEmpty())
 		{
-			aString = parentClass.getType();
+			infoText.appendSpacer();
+			infoText.appendI18nElement("in_irInfoType", race.getType()); //$NON-NLS-1$
 		}
-		b.appendI18nElement("in_clInfoType", aString); //$NON-NLS-1$
 
-		// Hit Die
-		HitDie hitDie = aClass.getSafe(ObjectKey.LEVEL_HITDIE);
-		if (isSubClass && HitDie.ZERO.equals(hitDie))
+		appendFacts(infoText, race);
+
+		infoText.appendLineBreak();
+		String size = formatSize(race);
+
+		if (StringUtils.isNotEmpty(size))
 		{
-			hitDie = parentClass.getSafe(ObjectKey.LEVEL_HITDIE);
+			infoText.appendI18nElement("in_size", size); //$NON-NLS-1$
 		}
-		if (!HitDie.ZERO.equals(hitDie))
+		String movement = formatMovement(race);
+		if (!movement.isEmpty())
 		{
-			b.appendSpacer();
-			b.appendI18nElement("in_clInfoHD", "d" + hitDie.getDie()); //$NON-NLS-1$  //$NON-NLS-2$
+			infoText.appendSpacer();
+			infoText.appendI18nElement("in_movement", movement); //$NON-NLS-1$
 		}
+		return infoText.toString();
+	}
 
-		appendFacts(b, aClass);
-
-		if (SettingsHandler.getGame().getTabShown(Tab.SPELLS))
-		{
-			FactKey<String> fk = FactKey.valueOf("SpellType");
-			aString = aClass.getResolved(fk);
-
-			if (isSubClass && aString == null)
-			{
-				aString = parentClass.getSpellType();
-			}
-
-			b.appendSpacer();
-			b.appendI18nElement("in_clInfoSpellType", aString); //$NON-NLS-1$
-
-			aString = aClass.getSpellBaseStat();
+	@Override
+	public String getHTMLInfo(PCClass aClass, PCClass possibleParentClass)
+	{
+		return getCachedHTMLInfo(aClass, possibleParentClass, () -> buildHTMLInfo(aClass, possibleParentClass));
+	}
 
-			/*
-			 * CONSIDER This test here is the ONLY place where the "magical"
-			 * value of null is tested for in getSpellBaseStat(). This is
-			 * currently set by SubClass and SubstititionClass, so it IS
-			 * used, but the question is: Is there a better method for
-			 * identifying this special deferral to the "parentClass" other
-			 * than null SpellBaseStat? - thpr 11/9/06
-			 */
-			if (isSubClass && ((aString == null) || (aString.isEmpty())))
-			{
-				aString = parentClass.getSpellBaseStat();
-			}
+	private String buildHTMLInfo(PCClass aClass, PCClass possibleParentClass)
+	{
+		boolean isSubClass = aClass instanceof SubClass;
+		final PCClass parentClass = (isSubClass && possibleParentClass != null) ? possibleParentClass : aClass;
 
-			b.appendSpacer();
-			b.appendI18nElement("in_clInfoBaseStat", aString); //$NON-NLS-1$
-		}
+		final HtmlInfoBuilder b = new HtmlInfoBuilder();
+		b.append(getIndependentHTML(aClass, List.of(SUMMARY, parentClass),
+			() -> buildSummaryHTML(aClass, parentClass)));
 
+		String aString;
 		// Prereqs
 		aString = PrerequisiteUtilities.preReqHTMLStringsForList(pc, null, aClass.getPrerequisiteList(), false);
 		if (isSubClass && (aString.isEmpty()))
@@ -399,28 +421,101 @@ public class Gui2InfoFactory implements InfoFactory
 		return b.toString();
 	}
 
-	@Override
-	public String getHTMLInfo(Skill skill)
+	/**
+	 * Builds the part of the class's HTML that does not depend on the
+	 * character, so it can be shared and built ahead of time.
+	 * 
+	 * @param aClass The class to be described
+	 * @param parentClass The class a subclass defers to, otherwise aClass
+	 * @return The HTML fragment
+	 */
+	private static String buildSummaryHTML(PCClass aClass, PCClass parentClass)
 	{
-		if (skill == null)
+		String aString;
+		boolean isSubClass = aClass instanceof SubClass;
+
+		final HtmlInfoBuilder b = new HtmlInfoBuilder(OutputNameFormatting.piString(aClass), false);
+		b.appendLineBreak();
+
+		// Subclass cost - at the top to make choices easier
+		if (isSubClass && aClass.getSafe(IntegerKey.COST) != 0)
 		{
-			return EMPTY_STRING;
+			b.appendI18nElement("in_clInfoCost", String.valueOf(aClass.getSafe(IntegerKey.COST))); //$NON-NLS-1$
+			b.appendLineBreak();
 		}
 
-		final HtmlInfoBuilder infoText = new HtmlInfoBuilder();
+		// Type
+		aString = aClass.getType();
+		if (isSubClass && (aString.isEmpty()))
+		{
+			aString = parentClass.getType();
+		}
+		b.appendI18nElement("in_clInfoType", aString); //$NON-NLS-1$
 
-		infoText.appendTitleElement(OutputNameFormatting.piString(skill));
+		// Hit Die
+		HitDie hitDie = aClass.getSafe(ObjectKey.LEVEL_HITDIE);
+		if (isSubClass && HitDie.ZERO.equals(hitDie))
+		{
+			hitDie = parentClass.getSafe(ObjectKey.LEVEL_HITDIE);
+		}
+		if (!HitDie.ZERO.equals(hitDie))
+		{
+			b.appendSpacer();
+			b.appendI18nElement("in_clInfoHD", "d" + hitDie.getDie()); //$NON-NLS-1$  //$NON-NLS-2$
+		}
 
-		infoText.appendLineBreak();
-		String typeString = StringUtil.join(skill.getTrueTypeList(true), ". ");
-		if (StringUtils.isNotBlank(typeString))
+		appendFacts(b, aClass);
+
+		if (SettingsHandler.getGame().getTabShown(Tab.SPELLS))
 		{
-			infoText.appendI18nElement("in_igInfoLabelTextType", //$NON-NLS-1$
-				typeString);
-			infoText.appendLineBreak();
+			FactKey<String> fk = FactKey.valueOf("SpellType");
+			aString = aClass.getResolved(fk);
+
+			if (isSubClass && aString == null)
+			{
+				aString = parentClass.getSpellType();
+			}
+
+			b.appendSpacer();
+			b.appendI18nElement("in_clInfoSpellType", aString); //$NON-NLS-1$
+
+			aString = aClass.getSpellBaseStat();
+
+			/*
+			 * CONSIDER This test here is the ONLY place where the "magical"
+			 * value of null is tested for in getSpellBaseStat(). This is
+			 * currently set by SubClass and SubstititionClass, so it IS
+			 * used, but the question is: Is there a better method for
+			 * identifying this special deferral to the "parentClass" other
+			 * than null SpellBaseStat? - thpr 11/9/06
+			 */
+			if (isSubClass && ((aString == null) || (aString.isEmpty())))
+			{
+				aString = parentClass.getSpellBaseStat();
+			}
+
+			b.appendSpacer();
+			b.appendI18nElement("in_clInfoBaseStat", aString); //$NON-NLS-1$
 		}
 
-		appendFacts(infoText, skill);
+		return b.toString();
+	}
+
+	@Override
+	public String getHTMLInfo(Skill skill)
+	{
+		return getCachedHTMLInfo(skill, getSkillDisplayOptions(), () -> buildHTMLInfo(skill));
+	}
+
+	private String buildHTMLInfo(Skill skill)
+	{
+		if (skill == null)
+		{
+			return EMPTY_STRING;
+		}
+
+		final HtmlInfoBuilder infoText = new HtmlInfoBuilder();
+		infoText.append(getIndependentHTML(skill, SUMMARY, () -> buildSummaryHTML(skill)));
 
 		String aString = SkillInfoUtilities.getKeyStatFromStats(pc, skill);
 		if (!aString.isEmpty())
@@ -492,42 +587,48 @@ public class Gui2InfoFactory implements InfoFactory
 		return infoText.toString();
 	}
 
-	@Override
-	public String getHTMLInfo(AbilityFacade abilityFacade)
+	/**
+	 * Builds the part of the skill's HTML that does not depend on the
+	 * character, so it can be shared and built ahead of time.
+	 * 
+	 * @param skill The skill to be described
+	 * @return The HTML fragment
+	 */
+	private static String buildSummaryHTML(Skill skill)
 	{
-		if (!(abilityFacade instanceof Ability))
-		{
-			return EMPTY_STRING;
-		}
-		Ability ability = (Ability) abilityFacade;
-
-		final HtmlInfoBuilder infoText = new HtmlInfoBuilder();
-		infoText.appendTitleElement(OutputNameFormatting.piString(ability));
-		infoText.appendLineBreak();
+		final HtmlInfoBuilder infoText = new HtmlInfoBuilder(null, false);
 
-		infoText.appendI18nFormattedElement("Ability.Info.Type", //$NON-NLS-1$
-			StringUtil.join(ability.getTrueTypeList(true), ". ")); //$NON-NLS-1$
+		infoText.appendTitleElement(OutputNameFormatting.piString(skill));
 
-		BigDecimal costStr = ability.getSafe(ObjectKey.SELECTION_COST);
-		if (!costStr.equals(BigDecimal.ONE))
+		infoText.appendLineBreak();
+		String typeString = StringUtil.join(skill.getTrueTypeList(true), ". ");
+		if (StringUtils.isNotBlank(typeString))
 		{
-			infoText.appendI18nFormattedElement("Ability.Info.Cost", //$NON-NLS-1$
-				COST_FMT.format(costStr));
+			infoText.appendI18nElement("in_igInfoLabelTextType", //$NON-NLS-1$
+				typeString);
+			infoText.appendLineBreak();
 		}
 
-		if (ability.getSafe(ObjectKey.MULTIPLE_ALLOWED))
-		{
-			infoText.appendSpacer();
-			infoText.append(LanguageBundle.getString("Ability.Info.Multiple")); //$NON-NLS-1$
-		}
+		appendFacts(infoText, skill);
+		return infoText.toString();
+	}
 
-		if (ability.getSafe(ObjectKey.STACKS))
+	@Override
+	public String getHTMLInfo(AbilityFacade abilityFacade)
+	{
+		return getCachedHTMLInfo(abilityFacade, null, () -> buildHTMLInfo(abilityFacade));
+	}
+
+	private String buildHTMLInfo(AbilityFacade abilityFacade)
+	{
+		if (!(abilityFacade instanceof Ability))
 		{
-			infoText.appendSpacer();
-			infoText.append(LanguageBundle.getString("Ability.Info.Stacks")); //$NON-NLS-1$
+			return EMPTY_STRING;
 		}
+		Ability ability = (Ability) abilityFacade;
 
-		appendFacts(infoText, ability);
+		final HtmlInfoBuilder infoText = new HtmlInfoBuilder();
+		infoText.append(getIndependentHTML(ability, SUMMARY, () -> buildSummaryHTML(ability)));
 
 		final String cString =
 				PrerequisiteUtilities.preReqHTMLStringsForList(pc, null, ability.getPrerequisiteList(), false);
@@ -583,8 +684,54 @@ public class Gui2InfoFactory implements InfoFactory
 		return infoText.toString();
 	}
 
+	/**
+	 * Builds the part of the ability's HTML that does not depend on the
+	 * character, so it can be shared and built ahead of time.
+	 * 
+	 * @param ability The ability to be described
+	 * @return The HTML fragment
+	 */
+	private static String buildSummaryHTML(Ability ability)
+	{
+		final HtmlInfoBuilder infoText = new HtmlInfoBuilder(null, false);
+		infoText.appendTitleElement(OutputNameFormatting.piString(ability));
+		infoText.appendLineBreak();
+
+		infoText.appendI18nFormattedElement("Ability.Info.Type", //$NON-NLS-1$
+			StringUtil.join(ability.getTrueTypeList(true), ". ")); //$NON-NLS-1$
+
+		BigDecimal costStr = ability.getSafe(ObjectKey.SELECTION_COST);
+		if (!costStr.equals(BigDecimal.ONE))
+		{
+			// Not COST_FMT, as formats are not thread safe and this may be
+			// built while prerendering
+			infoText.appendI18nFormattedElement("Ability.Info.Cost", //$NON-NLS-1$
+				new DecimalFormat(COST_PATTERN).format(costStr));
+		}
+
+		if (ability.getSafe(ObjectKey.MULTIPLE_ALLOWED))
+		{
+			infoText.appendSpacer();
+			infoText.append(LanguageBundle.getString("Ability.Info.Multiple")); //$NON-NLS-1$
+		}
+
+		if (ability.getSafe(ObjectKey.STACKS))
+		{
+			infoText.appendSpacer();
+			infoText.append(LanguageBundle.getString("Ability.Info.Stacks")); //$NON-NLS-1$
+		}
+
+		appendFacts(infoText, ability);
+		return infoText.toString();
+	}
+
 	@Override
 	public String getHTMLInfo(Deity deity)
+	{
+		return getCachedHTMLInfo(deity, null, () -> buildHTMLInfo(deity));
+	}
+
+	private String buildHTMLInfo(Deity deity)
 	{
 		if (deity == null)
 		{
@@ -646,6 +793,11 @@ public class Gui2InfoFactory implements InfoFactory
 
 	@Override
 	public String getHTMLInfo(DomainFacade domainFacade)
+	{
+		return getCachedHTMLInfo(domainFacade, null, () -> buildHTMLInfo(domainFacade));
+	}
+
+	private String buildHTMLInfo(DomainFacade domainFacade)
 	{
 		if (!(domainFacade instanceof DomainFacadeImpl))
 		{
@@ -658,9 +810,7 @@ public class Gui2InfoFactory implements InfoFactory
 
 		if (aDomain != null)
 		{
-			infoText.appendTitleElement(OutputNameFormatting.piString(aDomain));
-
-			appendFacts(infoText, aDomain);
+			infoText.append(getIndependentHTML(aDomain, SUMMARY, () -> buildSummaryHTML(aDomain)));
 
 			String aString = pc.getDescription(aDomain);
 			if (!aString.isEmpty())
@@ -705,8 +855,27 @@ public class Gui2InfoFactory implements InfoFactory
 		return infoText.toString();
 	}
 
+	/**
+	 * Builds the part of the domain's HTML that does not depend on the
+	 * character, so it can be shared and built ahead of time.
+	 * 
+	 * @param aDomain The domain to be described
+	 * @return The HTML fragment
+	 */
+	private static String buildSummaryHTML(Domain aDomain)
+	{
+		final HtmlInfoBuilder infoText = new HtmlInfoBuilder(OutputNameFormatting.piString(aDomain), false);
+		appendFacts(infoText, aDomain);
+		return infoText.toString();
+	}
+
 	@Override
 	public String getHTMLInfo(EquipmentFacade equipFacade)
+	{
+		return getCachedHTMLInfo(equipFacade, null, () -> buildHTMLInfo(equipFacade));
+	}
+
+	private String buildHTMLInfo(EquipmentFacade equipFacade)
 	{
 		if (equipFacade == null || !(equipFacade instanceof Equipment))
 		{
@@ -1026,6 +1195,11 @@ public class Gui2InfoFactory implements InfoFactory
 
 	@Override
 	public String getHTMLInfo(EquipmentModifier equipMod, EquipmentFacade equipFacade)
+	{
+		return getCachedHTMLInfo(equipMod, equipFacade, () -> buildHTMLInfo(equipMod, equipFacade));
+	}
+
+	private String buildHTMLInfo(EquipmentModifier equipMod, EquipmentFacade equipFacade)
 	{
 		if (equipMod == null || equipFacade == null
 			|| !(equipFacade instanceof Equipment))
@@ -1117,6 +1291,11 @@ public class Gui2InfoFactory implements InfoFactory
 
 	@Override
 	public String getHTMLInfo(PCTemplate template)
+	{
+		return getCachedHTMLInfo(template, null, () -> buildHTMLInfo(template));
+	}
+
+	private String buildHTMLInfo(PCTemplate template)
 	{
 		if (template == null)
 		{
@@ -1124,23 +1303,7 @@ public class Gui2InfoFactory implements InfoFactory
 		}
 
 		final HtmlInfoBuilder infoText = new HtmlInfoBuilder();
-
-		infoText.appendTitleElement(OutputNameFormatting.piString(template));
-
-		appendFacts(infoText, template);
-
-		RaceType rt = template.get(ObjectKey.RACETYPE);
-		if (rt != null)
-		{
-			infoText.appendLineBreak();
-			infoText.appendI18nElement("in_irInfoRaceType", rt.toString()); //$NON-NLS-1$
-		}
-
-		if (!template.getType().isEmpty())
-		{
-			infoText.appendSpacer();
-			infoText.appendI18nElement("in_irInfoType", template.getType()); //$NON-NLS-1$
-		}
+		infoText.append(getIndependentHTML(template, SUMMARY, () -> buildSummaryHTML(template)));
 
 		String aString = pc.getDescription(template);
 		if (!aString.isEmpty())
@@ -1181,8 +1344,43 @@ public class Gui2InfoFactory implements InfoFactory
 		return infoText.toString();
 	}
 
+	/**
+	 * Builds the part of the template's HTML that does not depend on the
+	 * character, so it can be shared and built ahead of time.
+	 * 
+	 * @param template The template to be described
+	 * @return The HTML fragment
+	 */
+	private static String buildSummaryHTML(PCTemplate template)
+	{
+		final HtmlInfoBuilder infoText = new HtmlInfoBuilder(null, false);
+
+		infoText.appendTitleElement(OutputNameFormatting.piString(template));
+
+		appendFacts(infoText, template);
+
+		RaceType rt = template.get(ObjectKey.RACETYPE);
+		if (rt != null)
+		{
+			infoText.appendLineBreak();
+			infoText.appendI18nElement("in_irInfoRaceType", rt.toString()); //$NON-NLS-1$
+		}
+
+		if (!template.getType().isEmpty())
+		{
+			infoText.appendSpacer();
+			infoText.appendI18nElement("in_irInfoType", template.getType()); //$NON-NLS-1$
+		}
+		return infoText.toString();
+	}
+
 	@Override
 	public String getHTMLInfo(Kit kit)
+	{
+		return getCachedHTMLInfo(kit, null, () -> buildHTMLInfo(kit));
+	}
+
+	private String buildHTMLInfo(Kit kit)
 	{
 		if (kit == null)
 		{
@@ -1190,10 +1388,7 @@ public class Gui2InfoFactory implements InfoFactory
 		}
 
 		final HtmlInfoBuilder infoText = new HtmlInfoBuilder();
-
-		infoText.appendTitleElement(OutputNameFormatting.piString(kit));
-
-		appendFacts(infoText, kit);
+		infoText.append(getIndependentHTML(kit, SUMMARY, () -> buildSummaryHTML(kit)));
 
 		String aString = PrerequisiteUtilities.preReqHTMLStringsForList(pc, null, kit.getPrerequisiteList(), false);
 		if (!aString.isEmpty())
@@ -1262,8 +1457,27 @@ public class Gui2InfoFactory implements InfoFactory
 		return infoText.toString();
 	}
 
+	/**
+	 * Builds the part of the kit's HTML that does not depend on the
+	 * character, so it can be shared and built ahead of time.
+	 * 
+	 * @param kit The kit to be described
+	 * @return The HTML fragment
+	 */
+	private static String buildSummaryHTML(Kit kit)
+	{
+		final HtmlInfoBuilder infoText = new HtmlInfoBuilder(OutputNameFormatting.piString(kit), false);
+		appendFacts(infoText, kit);
+		return infoText.toString();
+	}
+
 	@Override
 	public String getHTMLInfo(TempBonusFacade tempBonusFacade)
+	{
+		return getCachedHTMLInfo(tempBonusFacade, null, () -> buildHTMLInfo(tempBonusFacade));
+	}
+
+	private String buildHTMLInfo(TempBonusFacade tempBonusFacade)
 	{
 		if (tempBonusFacade == null)
 		{
@@ -1414,6 +1628,12 @@ public class Gui2InfoFactory implements InfoFactory
 			return getHTMLInfo((TempBonusFacade) facade);
 		}
 
+		// The generic description does not depend on the character
+		return getIndependentHTML(facade, null, () -> buildGenericHTMLInfo(facade));
+	}
+
+	private static String buildGenericHTMLInfo(InfoFacade facade)
+	{
 		final HtmlInfoBuilder infoText = new HtmlInfoBuilder();
 		infoText.appendTitleElement(facade.toString());
 		infoText.appendLineBreak();
@@ -1430,6 +1650,131 @@ public class Gui2InfoFactory implements InfoFactory
 		return infoText.toString();
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * Only the parts of the HTML that do not depend on the character are
+	 * built here, as the character may be changed on the event dispatch
+	 * thread while they are built. The rest is added when the HTML is
+	 * requested.
+	 */
+	@Override
+	public void prerenderHTMLInfo(Collection<? extends InfoFacade> facades)
+	{
+		if (facades.isEmpty())
+		{
+			return;
+		}
+		final List<InfoFacade> pending = new ArrayList<>(facades);
+		PRERENDER_EXECUTOR.execute(() -> pending.forEach(this::prerenderIndependentHTML));
+	}
+
+	/**
+	 * Builds the character independent HTML that getHTMLInfo(InfoFacade)
+	 * would use for the given object.
+	 * 
+	 * @param facade The object to be described
+	 */
+	private void prerenderIndependentHTML(InfoFacade facade)
+	{
+		if (facade instanceof Ability)
+		{
+			Ability ability = (Ability) facade;
+			getIndependentHTML(ability, SUMMARY, () -> buildSummaryHTML(ability));
+		}
+		else if (facade instanceof PCClass)
+		{
+			PCClass aClass = (PCClass) facade;
+			getIndependentHTML(aClass, List.of(SUMMARY, aClass), () -> buildSummaryHTML(aClass, aClass));
+		}
+		else if (facade instanceof DomainFacadeImpl)
+		{
+			Domain aDomain = ((DomainFacadeImpl) facade).getRawObject();
+			if (aDomain != null)
+			{
+				getIndependentHTML(aDomain, SUMMARY, () -> buildSummaryHTML(aDomain));
+			}
+		}
+		else if (!(facade instanceof AbilityFacade) && !(facade instanceof DomainFacade)
+			&& !(facade instanceof EquipmentFacade) && !(facade instanceof SpellFacade)
+			&& !(facade instanceof TempBonusFacade))
+		{
+			getIndependentHTML(facade, null, () -> buildGenericHTMLInfo(facade));
+		}
+	}
+
+	/**
+	 * Discards the character independent HTML of all data sets, which holds
+	 * onto the objects it describes. Called when the loaded data is unloaded.
+	 */
+	public static void clearSharedCache()
+	{
+		synchronized (INDEPENDENT_CACHES)
+		{
+			INDEPENDENT_CACHES.values().forEach(InfoHtmlCache::clear);
+			INDEPENDENT_CACHES.clear();
+		}
+	}
+
+	/**
+	 * Returns the HTML for the part of an object's description that does not
+	 * depend on the character, from the cache shared by all characters of the
+	 * data set.
+	 * 
+	 * @param target
+	 *            The object the HTML describes
+	 * @param part
+	 *            Identifies the part of the description, may be null
+	 * @param builder
+	 *            Builds the HTML, without reference to the character
+	 * @return The HTML for the given part of the object's description
+	 */
+	private String getIndependentHTML(Object target, Object part, Supplier<String> builder)
+	{
+		return independentCache.get(target, part, InfoHtmlCache.CHARACTER_INDEPENDENT, builder);
+	}
+
+	/**
+	 * Returns the cached HTML for the given object, building it if the cached
+	 * copy is missing or was built before the character last changed.
+	 * 
+	 * @param target
+	 *            The object the HTML describes
+	 * @param qualifier
+	 *            Any additional object the HTML depends on, may be null
+	 * @param builder
+	 *            Builds the HTML
+	 * @return The HTML describing the given object
+	 */
+	private String getCachedHTMLInfo(Object target, Object qualifier, Supplier<String> builder)
+	{
+		if (target == null)
+		{
+			return builder.get();
+		}
+		return cache.get(target, qualifier, (pc == null) ? 0L : pc.getChangeStamp(), builder);
+	}
+
+	/**
+	 * Returns a value identifying the skill display options in effect, as
+	 * they change the skill HTML without changing the character.
+	 * 
+	 * @return The skill display options in effect
+	 */
+	private static Integer getSkillDisplayOptions()
+	{
+		int options = 0;
+		if (PCGenSettings.OPTIONS_CONTEXT.getBoolean(PCGenSettings.OPTION_SHOW_SKILL_MOD_BREAKDOWN, false))
+		{
+			options |= 1;
+		}
+		if (PCGenSettings.OPTIONS_CONTEXT.getBoolean(PCGenSettings.OPTION_SHOW_SKILL_RANK_BREAKDOWN, false))
+		{
+			options |= 2;
+		}
+		return options;
+	}
+
 	private final Comparator<BonusObj> BONUS_COMPARATOR =
 			Comparator.comparing(BonusObj::getTypeOfBonus)
 			.thenComparing(BonusObj::getBonusInfo);
@@ -1505,6 +1850,12 @@ public class Gui2InfoFactory implements InfoFactory
 	{
 		if (equipment instanceof Equipment)
 		{
+			EquipmentCatalog.CharacterColumns columns = getCatalogColumns();
+			int row = (columns == null) ? -1 : columns.getCatalog().indexOf((Equipment) equipment);
+			if (row >= 0)
+			{
+				return (float) columns.getCost(row);
+			}
 			return ((Equipment) equipment).getCost(pc).floatValue();
 		}
 		return 0;
@@ -1515,12 +1866,30 @@ public class Gui2InfoFactory implements InfoFactory
 	{
 		if (equipment instanceof Equipment)
 		{
-			Float weight = ((Equipment) equipment).getWeight(pc);
+			EquipmentCatalog.CharacterColumns columns = getCatalogColumns();
+			int row = (columns == null) ? -1 : columns.getCatalog().indexOf((Equipment) equipment);
+			double weight =
+					(row >= 0) ? (float) columns.getWeight(row) : ((Equipment) equipment).getWeight(pc);
 			return (float) Globals.getGameModeUnitSet().convertWeightToUnitSet(weight);
 		}
 		return 0;
 	}
 
+	/**
+	 * @return The catalog columns of the data set's equipment for the 
+	 * character, or null if there is no data set or character. Rows are 
+	 * calculated as they are read, so a single lookup stays cheap.
+	 */
+	EquipmentCatalog.CharacterColumns getCatalogColumns()
+	{
+		if (dataSet == null || pc == null)
+		{
+			return null;
+		}
+		EquipmentCatalog catalog = dataSet.getEquipmentCatalog();
+		return (catalog == null) ? null : catalog.forCharacter(pc);
+	}
+
 	@Override
 	public String getLevelAdjustment(PCTemplate template)
 	{
@@ -1545,6 +1914,11 @@ public class Gui2InfoFactory implements InfoFactory
 
 	@Override
 	public String getHTMLInfo(SpellFacade spell)
+	{
+		return getCachedHTMLInfo(spell, null, () -> buildHTMLInfo(spell));
+	}
+
+	private String buildHTMLInfo(SpellFacade spell)
 	{
 		Objects.requireNonNull(spell);
 		CharacterSpell cs = spell.getCharSpell();
@@ -2151,6 +2525,11 @@ public class Gui2InfoFactory implements InfoFactory
 
 	@Override
 	public String getMovement(Race race)
+	{
+		return formatMovement(race);
+	}
+
+	private static String formatMovement(Race race)
 	{
 		List<SimpleMovement> movements = race.getListFor(ListKey.BASE_MOVEMENT);
 		if (movements != null && !movements.isEmpty())
@@ -2160,7 +2539,7 @@ public class Gui2InfoFactory implements InfoFactory
 		return EMPTY_STRING;
 	}
 
-	private void appendFacts(HtmlInfoBuilder infoText, CDOMObject cdo)
+	private static void appendFacts(HtmlInfoBuilder infoText, CDOMObject cdo)
 	{
 		Class<? extends CDOMObject> cl = cdo.getClass();
 		LoadContext context = Globals.getContext();
@@ -2210,7 +2589,7 @@ public class Gui2InfoFactory implements InfoFactory
 
 	}
 
-	private <T> String getSetString(CDOMObject cdo, FactSetKey<T> fk)
+	private static <T> String getSetString(CDOMObject cdo, FactSetKey<T> fk)
 	{
 		List<Indirect<T>> set = cdo.getSetFor(fk);
 		if (set == null)
@@ -2233,6 +2612,11 @@ public class Gui2InfoFactory implements InfoFactory
 
 	@Override
 	public String getSize(Race race)
+	{
+		return formatSize(race);
+	}
+
+	private static String formatSize(Race race)
 	{
 		Formula formula = race.get(FormulaKey.SIZE);
 		return (formula == null) ? "" : formula.toString();
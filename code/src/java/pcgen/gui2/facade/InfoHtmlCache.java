@@ -0,0 +1,174 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.gui2.facade;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * InfoHtmlCache is a size bounded, least recently used cache of the HTML
+ * produced by Gui2InfoFactory. Each entry is keyed by the object described
+ * (by identity) plus an optional qualifier (by equality, so equal values
+ * such as display options share an entry), and is stamped with the change
+ * stamp of the character it was built for. An entry is only reused while that
+ * stamp is unchanged, so any change to the character invalidates everything
+ * built for it without the cache needing to know what changed.
+ * 
+ * Entries built independently of any character use a fixed stamp and so live
+ * until they are evicted or the cache is cleared.
+ * 
+ * The cache may be used from more than one thread. HTML is built outside the
+ * lock, so a slow build does not hold up other threads; if two threads build
+ * the same entry at once the later one is kept.
+ */
+final class InfoHtmlCache
+{
+
+	/**
+	 * The stamp used for entries that do not depend on a character.
+	 */
+	static final long CHARACTER_INDEPENDENT = Long.MIN_VALUE;
+
+	private final Map<Key, Entry> entries;
+
+	/**
+	 * Constructs a new InfoHtmlCache holding at most the given number of
+	 * entries.
+	 * 
+	 * @param maxSize
+	 *            The maximum number of entries held
+	 */
+	InfoHtmlCache(final int maxSize)
+	{
+		entries = new LinkedHashMap<>(Math.min(maxSize, 64), 0.75f, true)
+		{
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest)
+			{
+				return size() > maxSize;
+			}
+		};
+	}
+
+	/**
+	 * Returns the HTML for the given object, building and retaining it if there
+	 * is no entry built for the given stamp.
+	 * 
+	 * @param target
+	 *            The object the HTML describes
+	 * @param qualifier
+	 *            Any additional information the HTML depends on, may be null
+	 * @param stamp
+	 *            The change stamp of the character the HTML is built for, taken
+	 *            before building, or CHARACTER_INDEPENDENT
+	 * @param builder
+	 *            Builds the HTML if it is not cached
+	 * @return The HTML for the given object
+	 */
+	String get(Object target, Object qualifier, long stamp, Supplier<String> builder)
+	{
+		Key key = new Key(target, qualifier);
+		synchronized (entries)
+		{
+			Entry entry = entries.get(key);
+			if ((entry != null) && (entry.stamp == stamp))
+			{
+				return entry.html;
+			}
+		}
+		String html = builder.get();
+		synchronized (entries)
+		{
+			entries.put(key, new Entry(stamp, html));
+		}
+		return html;
+	}
+
+	/**
+	 * Returns true if there is an entry for the given object that was built
+	 * for the given stamp.
+	 * 
+	 * @param target
+	 *            The object the HTML describes
+	 * @param qualifier
+	 *            Any additional information the HTML depends on, may be null
+	 * @param stamp
+	 *            The change stamp of the character the HTML is built for
+	 * @return true if the HTML for the given object is cached
+	 */
+	boolean contains(Object target, Object qualifier, long stamp)
+	{
+		synchronized (entries)
+		{
+			Entry entry = entries.get(new Key(target, qualifier));
+			return (entry != null) && (entry.stamp == stamp);
+		}
+	}
+
+	/**
+	 * Removes all entries from the cache.
+	 */
+	void clear()
+	{
+		synchronized (entries)
+		{
+			entries.clear();
+		}
+	}
+
+	private static final class Key
+	{
+		private final Object target;
+		private final Object qualifier;
+
+		private Key(Object target, Object qualifier)
+		{
+			this.target = target;
+			this.qualifier = qualifier;
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return System.identityHashCode(target) * 31 + Objects.hashCode(qualifier);
+		}
+
+		@Override
+		public boolean equals(Object o)
+		{
+			if (o instanceof Key)
+			{
+				Key other = (Key) o;
+				return (target == other.target) && Objects.equals(qualifier, other.qualifier);
+			}
+			return false;
+		}
+	}
+
+	private static final class Entry
+	{
+		private final long stamp;
+		private final String html;
+
+		private Entry(long stamp, String html)
+		{
+			this.stamp = stamp;
+			this.html = html;
+		}
+	}
+}
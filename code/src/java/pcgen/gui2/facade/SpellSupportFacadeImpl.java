@@ -28,18 +28,28 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
 
-import pcgen.base.util.DoubleKeyMapToList;
-import pcgen.base.util.HashMapToList;
 import pcgen.cdom.base.CDOMList;
 import pcgen.cdom.base.CDOMObject;
 import pcgen.cdom.base.Constants;
 import pcgen.cdom.content.CNAbility;
+import pcgen.cdom.enumeration.CharID;
 import pcgen.cdom.enumeration.FactKey;
 import pcgen.cdom.enumeration.IntegerKey;
 import pcgen.cdom.enumeration.ObjectKey;
+import pcgen.cdom.facet.AvailableSpellFacet;
+import pcgen.cdom.facet.FacetLibrary;
+import pcgen.cdom.facet.event.SubScopeFacetChangeEvent;
+import pcgen.cdom.facet.event.SubScopeFacetChangeListener;
+import pcgen.cdom.list.ClassSpellList;
+import pcgen.cdom.list.DomainSpellList;
 import pcgen.core.Ability;
 import pcgen.core.AbilityCategory;
 import pcgen.core.Equipment;
@@ -111,6 +121,15 @@ public class SpellSupportFacadeImpl implements SpellSupportFacade, EquipmentList
 	private final CharacterFacadeImpl pcFacade;
 	private final InfoFactory infoFactory;
 
+	/**
+	 * The available spell nodes by class, spell and level. This lets a
+	 * refresh add and remove only the nodes whose availability changed.
+	 */
+	private Map<PCClass, Map<Spell, Map<String, SpellNodeImpl>>> availableNodeIndex = new LinkedHashMap<>();
+	private List<PCClass> availableCastingClasses = Collections.emptyList();
+	private boolean availableSpellsChanged = true;
+	private final AvailableSpellListener availableSpellListener = new AvailableSpellListener();
+
 	/**
 	 * Create a new instance of SpellSupportFacadeImpl to manage the display and update of a 
 	 * character's spells.
@@ -137,6 +156,7 @@ public class SpellSupportFacadeImpl implements SpellSupportFacade, EquipmentList
 		defaultSpellBook = new DefaultReferenceFacade<>(charDisplay.getSpellBookNameToAutoAddKnown());
 
 		availableSpellNodes = new DefaultListFacade<>();
+		FacetLibrary.getFacet(AvailableSpellFacet.class).addSubScopeFacetChangeListener(availableSpellListener);
 		buildAvailableNodes();
 		allKnownSpellNodes = new DefaultListFacade<>();
 		knownSpellNodes = new DefaultListFacade<>();
@@ -149,6 +169,55 @@ public class SpellSupportFacadeImpl implements SpellSupportFacade, EquipmentList
 		updateSpellsTodo();
 	}
 
+	/**
+	 * Stop listening for changes to the character's spells, in preparation
+	 * for the character being closed.
+	 */
+	void closeCharacter()
+	{
+		FacetLibrary.getFacet(AvailableSpellFacet.class).removeSubScopeFacetChangeListener(availableSpellListener);
+	}
+
+	/**
+	 * @return the spells available to the character's spellcasting classes
+	 */
+	ListFacade<SpellNode> getAvailableSpellNodes()
+	{
+		return availableSpellNodes;
+	}
+
+	/**
+	 * @return the spells known by the character, including those from their race
+	 */
+	ListFacade<SpellNode> getAllKnownSpellNodes()
+	{
+		return allKnownSpellNodes;
+	}
+
+	/**
+	 * @return the spells in the character's known spells list
+	 */
+	ListFacade<SpellNode> getKnownSpellNodes()
+	{
+		return knownSpellNodes;
+	}
+
+	/**
+	 * @return the spells on the character's prepared spell lists
+	 */
+	ListFacade<SpellNode> getPreparedSpellNodes()
+	{
+		return preparedSpellNodes;
+	}
+
+	/**
+	 * @return the spells in the character's spell books
+	 */
+	ListFacade<SpellNode> getBookSpellNodes()
+	{
+		return bookSpellNodes;
+	}
+
 	/**
 	 * Write a non PDF (e.g. html, text) character sheet for the character to
 	 * the output file. The character sheet will be built according to the
@@ -367,71 +436,123 @@ public class SpellSupportFacadeImpl implements SpellSupportFacade, EquipmentList
 	}
 
 	/**
-	 * Construct the list of available spells for the character. 
+	 * Update the list of available spells for the character. Nothing is done
+	 * unless the character's available spells or spellcasting classes have
+	 * changed since the last update, and then only the nodes for spells whose
+	 * availability changed are added or removed.
 	 */
 	private void buildAvailableNodes()
 	{
-		availableSpellNodes.clearContents();
 		// Scan character classes for spell classes
 		List<PCClass> classList = getCharactersSpellcastingClasses();
+		if (!availableSpellsChanged && classList.equals(availableCastingClasses))
+		{
+			return;
+		}
+		availableSpellsChanged = false;
+		availableCastingClasses = classList;
+
+		AvailableSpellFacet availableSpellFacet = FacetLibrary.getFacet(AvailableSpellFacet.class);
+		CharID id = pc.getCharID();
+		Map<PCClass, Map<Spell, Map<String, SpellNodeImpl>>> oldIndex = availableNodeIndex;
+		Map<PCClass, Map<Spell, Map<String, SpellNodeImpl>>> newIndex = new LinkedHashMap<>();
+		List<SpellNode> added = new ArrayList<>();
+		List<SpellNode> removed = new ArrayList<>();
 
 		// Look at each spell on each spellcasting class
 		for (PCClass pcClass : classList)
 		{
-			DoubleKeyMapToList<SpellFacade, String, SpellNode> existingSpells =
-					buildExistingSpellMap(availableSpellNodes, pcClass);
-
-			for (Spell spell : pc.getAllSpellsInLists(charDisplay.getSpellLists(pcClass)))
+			List<? extends CDOMList<Spell>> classSpellLists = charDisplay.getSpellLists(pcClass);
+			Set<Spell> spells = new LinkedHashSet<>();
+			/*
+			 * Levels are gathered by spell key, as a spell is available at the
+			 * levels of any spell with the same key (see getSpellLevelInfo)
+			 */
+			Map<String, SortedSet<Integer>> levelsByKey = new HashMap<>();
+			for (CDOMList<Spell> list : availableSpellFacet.getScopes1(id))
 			{
-				// Create SpellNodeImpl for each spell
-				CharacterSpell charSpell = new CharacterSpell(pcClass, spell);
-				SpellFacadeImplem spellImplem = new SpellFacadeImplem(pc, spell, charSpell, null);
-
-				HashMapToList<CDOMList<Spell>, Integer> levelInfo = pc.getSpellLevelInfo(spell);
-
-				for (CDOMList<Spell> spellList : charDisplay.getSpellLists(pcClass))
+				if (!classSpellLists.contains(list))
 				{
-					List<Integer> levels = levelInfo.getListFor(spellList);
-					if (levels != null)
+					continue;
+				}
+				boolean levelList = (list instanceof ClassSpellList) || (list instanceof DomainSpellList);
+				for (Integer level : availableSpellFacet.getScopes2(id, list))
+				{
+					for (Spell spell : availableSpellFacet.getSet(id, list, level))
 					{
-						for (Integer level : levels)
+						spells.add(spell);
+						if (levelList)
 						{
-							SpellNodeImpl node = new SpellNodeImpl(spellImplem, pcClass, String.valueOf(level), null);
-							if (!existingSpells.containsInList(spellImplem, node.getSpellLevel(), node))
-							{
-								// Add to list
-								availableSpellNodes.addElement(node);
-							}
+							levelsByKey.computeIfAbsent(spell.getKeyName(), k -> new TreeSet<>()).add(level);
 						}
 					}
 				}
 			}
-		}
-	}
-
-	/**
-	 * Create a map of the spell nodes for a class in the supplied list. This
-	 * is intended to allow quick checking of the presence of a spell in the 
-	 * list.
-	 * 
-	 * @param spellNodeList The list of spell nodes 
-	 * @param pcClass The class to filter the map by
-	 * @return A double map to the class' spells from the list. 
-	 */
-	private DoubleKeyMapToList<SpellFacade, String, SpellNode> buildExistingSpellMap(
-		DefaultListFacade<SpellNode> spellNodeList, PCClass pcClass)
-	{
-		DoubleKeyMapToList<SpellFacade, String, SpellNode> spellMap = new DoubleKeyMapToList<>();
 
-		for (SpellNode spellNode : spellNodeList)
-		{
-			if (pcClass.equals(spellNode.getSpellcastingClass()))
+			Map<Spell, Map<String, SpellNodeImpl>> oldSpells = oldIndex.remove(pcClass);
+			Map<Spell, Map<String, SpellNodeImpl>> newSpells = new LinkedHashMap<>();
+			for (Spell spell : spells)
+			{
+				Map<String, SpellNodeImpl> oldLevels = (oldSpells == null) ? null : oldSpells.remove(spell);
+				Map<String, SpellNodeImpl> newLevels = new LinkedHashMap<>();
+				SpellFacade spellImplem = null;
+				if (oldLevels != null && !oldLevels.isEmpty())
+				{
+					spellImplem = oldLevels.values().iterator().next().getSpell();
+				}
+				for (Integer level : levelsByKey.getOrDefault(spell.getKeyName(), Collections.emptySortedSet()))
+				{
+					String levelString = String.valueOf(level);
+					SpellNodeImpl node = (oldLevels == null) ? null : oldLevels.remove(levelString);
+					if (node == null)
+					{
+						if (spellImplem == null)
+						{
+							// Create SpellNodeImpl for each spell
+							CharacterSpell charSpell = new CharacterSpell(pcClass, spell);
+							spellImplem = new SpellFacadeImplem(pc, spell, charSpell, null);
+						}
+						node = new SpellNodeImpl(spellImplem, pcClass, levelString, null);
+						added.add(node);
+					}
+					newLevels.put(levelString, node);
+				}
+				if (oldLevels != null)
+				{
+					removed.addAll(oldLevels.values());
+				}
+				newSpells.put(spell, newLevels);
+			}
+			if (oldSpells != null)
 			{
-				spellMap.addToListFor(spellNode.getSpell(), spellNode.getSpellLevel(), spellNode);
+				oldSpells.values().forEach(levels -> removed.addAll(levels.values()));
 			}
+			newIndex.put(pcClass, newSpells);
+		}
+		// Classes that are no longer spellcasters
+		for (Map<Spell, Map<String, SpellNodeImpl>> oldSpells : oldIndex.values())
+		{
+			oldSpells.values().forEach(levels -> removed.addAll(levels.values()));
 		}
+		availableNodeIndex = newIndex;
 
-		return spellMap;
+		if (removed.size() + added.size() > availableSpellNodes.getSize() / 2)
+		{
+			// A wholesale change is cheaper to apply as a single event
+			List<SpellNode> contents = new ArrayList<>();
+			newIndex.values()
+				.forEach(spellMap -> spellMap.values().forEach(levels -> contents.addAll(levels.values())));
+			availableSpellNodes.setContents(contents);
+			return;
+		}
+		for (SpellNode node : removed)
+		{
+			availableSpellNodes.removeElement(node);
+		}
+		for (SpellNode node : added)
+		{
+			availableSpellNodes.addElement(node);
+		}
 	}
 
 	/**
@@ -440,10 +561,10 @@ public class SpellSupportFacadeImpl implements SpellSupportFacade, EquipmentList
 	 */
 	private void buildKnownPreparedNodes()
 	{
-		allKnownSpellNodes.clearContents();
-		knownSpellNodes.clearContents();
-		bookSpellNodes.clearContents();
-		preparedSpellNodes.clearContents();
+		List<SpellNode> allKnown = new ArrayList<>();
+		List<SpellNode> known = new ArrayList<>();
+		List<SpellNode> book = new ArrayList<>();
+		List<SpellNode> prepared = new ArrayList<>();
 
 		// Ensure spell information is up to date
 		pc.getSpellList();
@@ -458,9 +579,15 @@ public class SpellSupportFacadeImpl implements SpellSupportFacade, EquipmentList
 		// Look at each spell on each spellcasting class
 		for (PObject pcClass : pobjList)
 		{
-			buildKnownPreparedSpellsForCDOMObject(pcClass);
+			buildKnownPreparedSpellsForCDOMObject(pcClass, allKnown, known, book, prepared);
 		}
 
+		// Only the nodes that differ from the current contents are replaced
+		updateSpellNodes(allKnownSpellNodes, allKnown);
+		updateSpellNodes(knownSpellNodes, known);
+		updateSpellNodes(bookSpellNodes, book);
+		updateSpellNodes(preparedSpellNodes, prepared);
+
 		spellBooks.clear();
 		spellBookNames.clearContents();
 		for (SpellBook spellBook : charDisplay.getSpellBooks())
@@ -481,7 +608,82 @@ public class SpellSupportFacadeImpl implements SpellSupportFacade, EquipmentList
 		}
 	}
 
-	private void buildKnownPreparedSpellsForCDOMObject(CDOMObject pObject)
+	/**
+	 * Make the contents of a spell node list match the given nodes, keeping
+	 * the current nodes that are unchanged. Spell nodes are equal regardless
+	 * of their count, so a node whose count changed is replaced.
+	 * 
+	 * @param nodeList The list to be updated.
+	 * @param newNodes The nodes the list should contain.
+	 */
+	private static void updateSpellNodes(DefaultListFacade<SpellNode> nodeList, List<SpellNode> newNodes)
+	{
+		Map<SpellNode, List<SpellNode>> pending = new HashMap<>();
+		for (SpellNode node : newNodes)
+		{
+			pending.computeIfAbsent(node, k -> new ArrayList<>(1)).add(node);
+		}
+		int kept = 0;
+		for (int i = nodeList.getSize() - 1; i >= 0; i--)
+		{
+			SpellNode current = nodeList.getElementAt(i);
+			List<SpellNode> matches = pending.get(current);
+			if (matches != null && removeSameCount(matches, current))
+			{
+				kept++;
+			}
+			else
+			{
+				nodeList.removeElement(i);
+			}
+		}
+		if (kept == newNodes.size())
+		{
+			return;
+		}
+		for (SpellNode node : newNodes)
+		{
+			if (removeIdentity(pending.get(node), node))
+			{
+				nodeList.addElement(node);
+			}
+		}
+	}
+
+	/**
+	 * Remove the first node with the same count as the given node.
+	 */
+	private static boolean removeSameCount(List<SpellNode> nodes, SpellNode node)
+	{
+		for (Iterator<SpellNode> it = nodes.iterator(); it.hasNext();)
+		{
+			if (it.next().getCount() == node.getCount())
+			{
+				it.remove();
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Remove the given node instance, if it is still pending.
+	 */
+	private static boolean removeIdentity(List<SpellNode> nodes, SpellNode node)
+	{
+		for (Iterator<SpellNode> it = nodes.iterator(); it.hasNext();)
+		{
+			if (it.next() == node)
+			{
+				it.remove();
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void buildKnownPreparedSpellsForCDOMObject(CDOMObject pObject, List<SpellNode> allKnown,
+		List<SpellNode> known, List<SpellNode> book, List<SpellNode> prepared)
 	{
 		Collection<? extends CharacterSpell> sp = charDisplay.getCharacterSpells(pObject);
 		List<CharacterSpell> cSpells = new ArrayList<>(sp);
@@ -495,42 +697,42 @@ public class SpellSupportFacadeImpl implements SpellSupportFacade, EquipmentList
 			for (SpellInfo spellInfo : charSpell.getInfoList())
 			{
 				// Create SpellNodeImpl for each spell
-				String book = spellInfo.getBook();
-				boolean isKnown = Globals.getDefaultSpellBook().equals(book);
+				String bookName = spellInfo.getBook();
+				boolean isKnown = Globals.getDefaultSpellBook().equals(bookName);
 				SpellFacadeImplem spellImplem = new SpellFacadeImplem(pc, charSpell.getSpell(), charSpell, spellInfo);
 				SpellNodeImpl node;
 				if (pcClass != null)
 				{
 					node = new SpellNodeImpl(spellImplem, pcClass, String.valueOf(spellInfo.getActualLevel()),
-						getRootNode(book));
+						getRootNode(bookName));
 				}
 				else
 				{
 					node = new SpellNodeImpl(spellImplem, String.valueOf(spellInfo.getActualLevel()),
-						getRootNode(book));
+						getRootNode(bookName));
 				}
 				if (spellInfo.getTimes() > 1)
 				{
 					node.addCount(spellInfo.getTimes() - 1);
 				}
-				boolean isSpellBook = charDisplay.getSpellBookByName(book).getType() == SpellBook.TYPE_SPELL_BOOK;
+				boolean isSpellBook = charDisplay.getSpellBookByName(bookName).getType() == SpellBook.TYPE_SPELL_BOOK;
 				// Add to list
 				if (isKnown)
 				{
-					allKnownSpellNodes.addElement(node);
-					knownSpellNodes.addElement(node);
+					allKnown.add(node);
+					known.add(node);
 				}
 				else if (isSpellBook)
 				{
-					bookSpellNodes.addElement(node);
+					book.add(node);
 				}
 				else if (pObject instanceof Race)
 				{
-					allKnownSpellNodes.addElement(node);
+					allKnown.add(node);
 				}
 				else
 				{
-					preparedSpellNodes.addElement(node);
+					prepared.add(node);
 				}
 			}
 		}
@@ -719,6 +921,31 @@ public class SpellSupportFacadeImpl implements SpellSupportFacade, EquipmentList
 		}
 	}
 
+	/**
+	 * Marks the available spells as needing an update when the character's
+	 * available spells change.
+	 */
+	private class AvailableSpellListener implements SubScopeFacetChangeListener<CDOMList<Spell>, Integer, Spell>
+	{
+		@Override
+		public void dataAdded(SubScopeFacetChangeEvent<CDOMList<Spell>, Integer, Spell> dfce)
+		{
+			if (dfce.getCharID().equals(pc.getCharID()))
+			{
+				availableSpellsChanged = true;
+			}
+		}
+
+		@Override
+		public void dataRemoved(SubScopeFacetChangeEvent<CDOMList<Spell>, Integer, Spell> dfce)
+		{
+			if (dfce.getCharID().equals(pc.getCharID()))
+			{
+				availableSpellsChanged = true;
+			}
+		}
+	}
+
 	public class RootNodeImpl implements RootNode
 	{
 
@@ -18,19 +18,32 @@
 package pcgen.gui2.solverview;
 
 import java.awt.Dimension;
+import java.awt.FlowLayout;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.Insets;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
+import javax.swing.DefaultListModel;
+import javax.swing.JButton;
+import javax.swing.JCheckBox;
 import javax.swing.JComboBox;
+import javax.swing.JFileChooser;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
+import javax.swing.JList;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTable;
 import javax.swing.JTextField;
@@ -50,11 +63,13 @@ import pcgen.cdom.facet.ScopeFacet;
 import pcgen.cdom.facet.SolverManagerFacet;
 import pcgen.cdom.facet.model.VarScopedFacet;
 import pcgen.cdom.formula.PCGenScoped;
+import pcgen.cdom.formula.SolverProfile;
 import pcgen.facade.core.CharacterFacade;
 import pcgen.gui2.tools.Utility;
 import pcgen.rules.context.LoadContext;
 import pcgen.system.CharacterManager;
 import pcgen.system.LanguageBundle;
+import pcgen.util.Logging;
 
 public final class SolverViewFrame extends JFrame
 {
@@ -80,6 +95,10 @@ public final class SolverViewFrame extends JFrame
 
 	private SolverTableModel tableModel;
 
+	private ProfileTableModel profileModel;
+
+	private final DefaultListModel<String> chainModel = new DefaultListModel<>();
+
 	public SolverViewFrame()
 	{
 		identifierChooser = new JComboBox<>();
@@ -225,10 +244,59 @@ public final class SolverViewFrame extends JFrame
 				scopeChooser.addItem(new LegalScopeWrapper(lvs));
 			}
 			update();
+			updateProfile();
 		}
 
 	}
 
+	private void updateProfile()
+	{
+		if (activeIdentifier == null)
+		{
+			profileModel.setStatistics(Collections.emptyList());
+			chainModel.clear();
+			return;
+		}
+		SolverProfile profile = SolverProfile.get(activeIdentifier);
+		chainModel.clear();
+		if (profile == null)
+		{
+			profileModel.setStatistics(Collections.emptyList());
+			return;
+		}
+		profileModel.setStatistics(profile.getVariableStatistics());
+		for (SolverProfile.Chain chain : profile.getLongestChains())
+		{
+			chainModel.addElement(chain.toString());
+		}
+	}
+
+	private void exportProfile()
+	{
+		SolverProfile profile = (activeIdentifier == null) ? null : SolverProfile.get(activeIdentifier);
+		if (profile == null)
+		{
+			return;
+		}
+		JFileChooser chooser = new JFileChooser();
+		chooser.setSelectedFile(new File("solverprofile.txt")); //$NON-NLS-1$
+		if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION)
+		{
+			return;
+		}
+		File file = chooser.getSelectedFile();
+		String name = ((PCRef) identifierChooser.getSelectedItem()).name;
+		try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8))
+		{
+			profile.writeReport(writer, name);
+		}
+		catch (IOException e)
+		{
+			Logging.errorPrint("Unable to export solver profile to " + file, e);
+			JOptionPane.showMessageDialog(this, e.getLocalizedMessage(), getTitle(), JOptionPane.ERROR_MESSAGE);
+		}
+	}
+
 	private void updateObjects()
 	{
 		if (activeIdentifier != null)
@@ -306,6 +374,52 @@ public final class SolverViewFrame extends JFrame
 		gridbag.setConstraints(pane, c);
 		getContentPane().add(pane);
 
+		JPanel profileControls = new JPanel(new FlowLayout(FlowLayout.LEFT));
+		JCheckBox recordProfile =
+				new JCheckBox(LanguageBundle.getString("in_SolverView_Record"), SolverProfile.isEnabled()); //$NON-NLS-1$
+		recordProfile.addActionListener(e -> SolverProfile.setEnabled(recordProfile.isSelected()));
+		profileControls.add(recordProfile);
+		JButton refreshButton = new JButton(LanguageBundle.getString("in_SolverView_Refresh")); //$NON-NLS-1$
+		refreshButton.addActionListener(e -> updateProfile());
+		profileControls.add(refreshButton);
+		JButton resetButton = new JButton(LanguageBundle.getString("in_SolverView_Reset")); //$NON-NLS-1$
+		resetButton.addActionListener(e -> {
+			SolverProfile profile = (activeIdentifier == null) ? null : SolverProfile.get(activeIdentifier);
+			if (profile != null)
+			{
+				profile.clear();
+			}
+			updateProfile();
+		});
+		profileControls.add(resetButton);
+		JButton exportButton = new JButton(LanguageBundle.getString("in_SolverView_Export")); //$NON-NLS-1$
+		exportButton.addActionListener(e -> exportProfile());
+		profileControls.add(exportButton);
+		Utility.buildConstraints(c, 0, 3, col, 1, 0, 20);
+		gridbag.setConstraints(profileControls, c);
+		getContentPane().add(profileControls);
+
+		profileModel = new ProfileTableModel();
+		JTable profileTable = new JTable(profileModel);
+		profileTable.setAutoCreateRowSorter(true);
+		profileTable.setFillsViewportHeight(true);
+		Utility.buildConstraints(c, 0, 4, col, 1, 0, 1000);
+		JScrollPane profilePane = new JScrollPane(profileTable);
+		profilePane.setPreferredSize(new Dimension(500, 200));
+		gridbag.setConstraints(profilePane, c);
+		getContentPane().add(profilePane);
+
+		Utility.buildConstraints(c, 0, 5, col, 1, 0, 20);
+		label = new JLabel(LanguageBundle.getString("in_SolverView_Chains")); //$NON-NLS-1$
+		gridbag.setConstraints(label, c);
+		getContentPane().add(label);
+
+		Utility.buildConstraints(c, 0, 6, col, 1, 0, 300);
+		JScrollPane chainPane = new JScrollPane(new JList<>(chainModel));
+		chainPane.setPreferredSize(new Dimension(500, 100));
+		gridbag.setConstraints(chainPane, c);
+		getContentPane().add(chainPane);
+
 		setTitle("Core Variable Debug View");
 		getContentPane().setSize(500, 400);
 		pack();
@@ -371,6 +485,86 @@ public final class SolverViewFrame extends JFrame
 		}
 	}
 
+	private static class ProfileTableModel extends AbstractTableModel
+	{
+		private final String[] columnNames =
+				{"Variable", "Scope", "Re-solves", "Solves", "Time (ms)", "Max Fan-out", "Total Fan-out"};
+
+		private List<SolverProfile.VariableStatistics> statistics = Collections.emptyList();
+
+		@Override
+		public String getColumnName(int column)
+		{
+			return columnNames[column];
+		}
+
+		@Override
+		public Class<?> getColumnClass(int columnIndex)
+		{
+			switch (columnIndex)
+			{
+				case 0:
+				case 1:
+					return String.class;
+				case 4:
+					return Double.class;
+				case 5:
+					return Integer.class;
+				default:
+					return Long.class;
+			}
+		}
+
+		@Override
+		public int getRowCount()
+		{
+			return statistics.size();
+		}
+
+		@Override
+		public int getColumnCount()
+		{
+			return columnNames.length;
+		}
+
+		@Override
+		public Object getValueAt(int rowIndex, int columnIndex)
+		{
+			SolverProfile.VariableStatistics stats = statistics.get(rowIndex);
+			switch (columnIndex)
+			{
+				case 0:
+					return stats.getName();
+				case 1:
+					return stats.getScopeName();
+				case 2:
+					return stats.getResolves();
+				case 3:
+					return stats.getSolves();
+				case 4:
+					return stats.getNanos() / 1_000_000.0;
+				case 5:
+					return stats.getMaxFanOut();
+				case 6:
+					return stats.getTotalFanOut();
+				default:
+					return "";
+			}
+		}
+
+		@Override
+		public boolean isCellEditable(int rowIndex, int columnIndex)
+		{
+			return false;
+		}
+
+		public void setStatistics(List<SolverProfile.VariableStatistics> statistics)
+		{
+			this.statistics = statistics;
+			fireTableDataChanged();
+		}
+	}
+
 	private static final class PCRef
 	{
 		public String name;
@@ -24,26 +24,36 @@ import java.lang.management.MemoryUsage;
 import java.text.DecimalFormat;
 import java.text.MessageFormat;
 import java.text.NumberFormat;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.stream.Collectors;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Handler;
 import java.util.logging.LogRecord;
 
+import pcgen.cdom.base.PCGenIdentifier;
+import pcgen.facade.core.CharacterFacade;
+import pcgen.system.CharacterManager;
 import pcgen.system.LoggingRecorder;
+import pcgen.util.CalculationMetrics;
+import pcgen.util.CalculationMetrics.Metric;
+import pcgen.util.CalculationMetrics.Snapshot;
 import pcgen.util.Logging;
 
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
+import javafx.scene.control.CheckBox;
 import javafx.scene.control.TableView;
 import javafx.scene.control.TextArea;
 
 /**
- * A dialog that shows logs and memory usage.
+ * A dialog that shows logs, memory usage and calculation metrics.
  * Over time we could add more debug and troubleshooting information into the pane.
  */
 public class DebugDialogController
@@ -55,6 +65,12 @@ public class DebugDialogController
 
 	private final ObservableList<Map<String, String>> memoryTableData = FXCollections.observableArrayList();
 	@FXML
+	private TableView<Map<String, String>> metricsTable;
+	@FXML
+	private CheckBox metricsEnabled;
+
+	private final ObservableList<Map<String, String>> metricsTableData = FXCollections.observableArrayList();
+	@FXML
 	private TextArea logText;
 
 	private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
@@ -64,6 +80,9 @@ public class DebugDialogController
 	{
 		memoryTable.setItems(memoryTableData);
 		setMemoryTableData();
+		metricsTable.setItems(metricsTableData);
+		metricsEnabled.setSelected(CalculationMetrics.isEnabled());
+		setMetricsTableData();
 		logText.setText(LoggingRecorder.getLogs());
 		Logging.registerHandler(new LogHandler());
 	}
@@ -120,6 +139,66 @@ public class DebugDialogController
 		}
 	}
 
+	/**
+	 * Rebuild the metrics table, one row per character. Must be called on
+	 * the JavaFX thread.
+	 */
+	private void setMetricsTableData()
+	{
+		Map<PCGenIdentifier, String> names = new HashMap<>();
+		for (CharacterFacade character : CharacterManager.getCharacters())
+		{
+			names.put(character.getCharID(), character.getNameRef().get());
+		}
+
+		final NumberFormat format = new DecimalFormat("###,###,###");
+		metricsTableData.clear();
+		for (Snapshot snapshot : CalculationMetrics.getSnapshots())
+		{
+			Map<String, String> dataRow = new HashMap<>();
+			PCGenIdentifier owner = snapshot.getOwner();
+			dataRow.put("metricsOwner", names.getOrDefault(owner, CalculationMetrics.describe(owner)));
+			dataRow.put("metricsBonusCalcs", format.format(snapshot.getCount(Metric.ACTIVE_BONUS_CALC)));
+			dataRow.put("metricsBonusLoops", format.format(snapshot.getCount(Metric.ACTIVE_BONUS_LOOP)));
+			dataRow.put("metricsBonusMillis",
+				format.format(TimeUnit.NANOSECONDS.toMillis(snapshot.getNanos(Metric.ACTIVE_BONUS_CALC))));
+			dataRow.put("metricsBonusMapMillis",
+				format.format(TimeUnit.NANOSECONDS.toMillis(snapshot.getNanos(Metric.BONUS_MAP_BUILD))));
+			double hitRate = snapshot.getVariableCacheHitRate();
+			dataRow.put("metricsCacheHitRate", Double.isNaN(hitRate) ? "-" : String.valueOf(Math.round(100 * hitRate)));
+			dataRow.put("metricsPjep", format.format(snapshot.getCount(Metric.PJEP_ACQUIRE)));
+			dataRow.put("metricsPrereqs", format.format(snapshot.getCount(Metric.PREREQ_TEST)));
+			dataRow.put("metricsPrereqKinds", getTopPrereqKinds(snapshot));
+			dataRow.put("metricsSetDirty", format.format(snapshot.getCount(Metric.SET_DIRTY)));
+			dataRow.put("metricsFacetEvents", format.format(snapshot.getCount(Metric.FACET_EVENT)));
+			dataRow.put("metricsFacetListeners", format.format(snapshot.getCount(Metric.FACET_LISTENER_CALL)));
+			metricsTableData.add(dataRow);
+		}
+		metricsTable.refresh();
+	}
+
+	private static String getTopPrereqKinds(Snapshot snapshot)
+	{
+		return snapshot.getPrereqCounts().entrySet().stream()
+			.sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+			.limit(5)
+			.map(e -> e.getKey() + '=' + e.getValue())
+			.collect(Collectors.joining(", "));
+	}
+
+	@FXML
+	private void toggleMetrics(final ActionEvent actionEvent)
+	{
+		CalculationMetrics.setEnabled(metricsEnabled.isSelected());
+	}
+
+	@FXML
+	private void resetMetrics(final ActionEvent actionEvent)
+	{
+		CalculationMetrics.reset();
+		setMetricsTableData();
+	}
+
 	@FXML
 	private void clearLogs(final ActionEvent actionEvent)
 	{
@@ -130,6 +209,7 @@ public class DebugDialogController
 	void initTimer()
 	{
 		scheduler.scheduleAtFixedRate(this::setMemoryTableData, 0, 30, TimeUnit.SECONDS);
+		scheduler.scheduleAtFixedRate(() -> Platform.runLater(this::setMetricsTableData), 5, 5, TimeUnit.SECONDS);
 	}
 
 	private final class LogHandler extends Handler implements Runnable
@@ -0,0 +1,459 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.io;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import pcgen.cdom.base.Constants;
+import pcgen.cdom.formula.SolverProfile;
+import pcgen.core.Campaign;
+import pcgen.core.PlayerCharacter;
+import pcgen.util.CalculationMetrics;
+import pcgen.util.Logging;
+import pcgen.util.fop.FopTask;
+
+/**
+ * CharacterBatch processes a set of character (.pcg) files against the
+ * currently loaded data set on a bounded pool of threads. Each character is
+ * loaded, fully recalculated (as for output) and then passed to a
+ * CharacterTask, such as an export, whose result is collected in a
+ * BatchReport along with the timing of each phase and overall throughput.
+ * 
+ * The data set must be completely loaded before a batch is run and must not
+ * be changed while it runs. Creating a PlayerCharacter and parsing its .pcg
+ * file still write to the data set (e.g. custom equipment is imported into
+ * the reference context), so those steps are done one character at a time.
+ * Recalculation and the task run concurrently. Characters are not added to
+ * the global character list and are discarded once their task completes.
+ */
+public final class CharacterBatch
+{
+
+	/**
+	 * Guards the steps that write to the shared data set.
+	 */
+	private static final Object LOAD_LOCK = new Object();
+
+	/**
+	 * The work to be done on each loaded and recalculated character.
+	 * 
+	 * @param <R>
+	 *            The type of result produced for each character
+	 */
+	@FunctionalInterface
+	public interface CharacterTask<R>
+	{
+		/**
+		 * Processes a character. This is called on a pool thread, concurrently
+		 * with other characters of the batch, so must not change shared state.
+		 * 
+		 * @param pc
+		 *            The loaded and recalculated character
+		 * @return The result for the character
+		 * @throws Exception
+		 *             if the character could not be processed
+		 */
+		R process(PlayerCharacter pc) throws Exception;
+	}
+
+	private final List<Campaign> campaigns;
+	private final int threads;
+
+	/**
+	 * Creates a new CharacterBatch.
+	 * 
+	 * @param campaigns
+	 *            The sources the characters are loaded with
+	 * @param threads
+	 *            The maximum number of characters processed at once
+	 */
+	public CharacterBatch(Collection<Campaign> campaigns, int threads)
+	{
+		Objects.requireNonNull(campaigns, "Campaigns cannot be null");
+		if (threads < 1)
+		{
+			throw new IllegalArgumentException("Thread count must be at least 1, was " + threads);
+		}
+		this.campaigns = new ArrayList<>(campaigns);
+		this.threads = threads;
+	}
+
+	/**
+	 * Returns a CharacterTask which exports each character using the given
+	 * output sheet template, producing the text of the output.
+	 * 
+	 * @param template
+	 *            The output sheet template
+	 * @return A CharacterTask that exports characters to a String
+	 */
+	public static CharacterTask<String> exportTask(File template)
+	{
+		Objects.requireNonNull(template, "Template cannot be null");
+		return pc -> {
+			StringWriter out = new StringWriter();
+			try (BufferedWriter bw = new BufferedWriter(out))
+			{
+				new ExportHandler(template).write(pc, bw);
+			}
+			return out.toString();
+		};
+	}
+
+	/**
+	 * Returns a CharacterTask which exports each character as a pdf file in
+	 * the given directory, named after its .pcg file. The XML produced by the
+	 * template is streamed through the stylesheet while it is written.
+	 * 
+	 * @param template
+	 *            The output sheet template producing the XML (or FO) source
+	 * @param xsltFile
+	 *            The stylesheet transforming the XML to FO, or null if the
+	 *            template produces FO
+	 * @param outputDir
+	 *            The directory the pdf files are written to
+	 * @return A CharacterTask that exports characters to pdf files
+	 */
+	public static CharacterTask<File> pdfExportTask(File template, File xsltFile, File outputDir)
+	{
+		Objects.requireNonNull(template, "Template cannot be null");
+		Objects.requireNonNull(outputDir, "Output directory cannot be null");
+		return pc -> {
+			String name = new File(pc.getFileName()).getName();
+			if (name.toLowerCase(Locale.ENGLISH).endsWith(Constants.EXTENSION_CHARACTER_FILE))
+			{
+				name = name.substring(0, name.length() - Constants.EXTENSION_CHARACTER_FILE.length());
+			}
+			File pdf = new File(outputDir, name + ".pdf"); //$NON-NLS-1$
+			FopTask fopTask = new ExportHandler(template).newPdfTask(pc, xsltFile,
+				new BufferedOutputStream(new FileOutputStream(pdf)));
+			fopTask.run();
+			String errors = fopTask.getErrorMessages();
+			if (!errors.isEmpty())
+			{
+				throw new ExportException(errors.trim(), null);
+			}
+			return pdf;
+		};
+	}
+
+	/**
+	 * Loads, recalculates and processes each of the given character files.
+	 * Blocks until all the files have been processed.
+	 * 
+	 * @param files
+	 *            The .pcg files to be processed
+	 * @param task
+	 *            The work to be done on each character
+	 * @return The report of the batch, with results in the order of the files
+	 * @throws InterruptedException
+	 *             if interrupted while waiting for the batch to complete; any
+	 *             characters not yet started are abandoned
+	 */
+	public <R> BatchReport<R> run(List<File> files, CharacterTask<R> task) throws InterruptedException
+	{
+		Objects.requireNonNull(task, "Task cannot be null");
+		AtomicInteger threadCount = new AtomicInteger();
+		ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+			Thread thread = new Thread(r, "Character-batch-" + threadCount.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		long start = System.nanoTime();
+		try
+		{
+			List<Future<BatchResult<R>>> futures = new ArrayList<>(files.size());
+			for (File file : files)
+			{
+				futures.add(pool.submit(() -> process(file, task)));
+			}
+			List<BatchResult<R>> results = new ArrayList<>(files.size());
+			for (int i = 0; i < futures.size(); i++)
+			{
+				try
+				{
+					results.add(futures.get(i).get());
+				}
+				catch (ExecutionException e)
+				{
+					// process catches everything, so this is an Error
+					results.add(BatchResult.failed(files.get(i), e.getCause()));
+				}
+			}
+			BatchReport<R> report = new BatchReport<>(results, threads, System.nanoTime() - start);
+			Logging.log(Logging.INFO, report.toString());
+			return report;
+		}
+		finally
+		{
+			pool.shutdownNow();
+			pool.awaitTermination(1, TimeUnit.MINUTES);
+		}
+	}
+
+	private <R> BatchResult<R> process(File file, CharacterTask<R> task)
+	{
+		BatchResult<R> result = new BatchResult<>(file);
+		PlayerCharacter pc = null;
+		try
+		{
+			if (!file.isFile())
+			{
+				// PCGIOHandler only logs a missing file, and would yield an empty character
+				throw new FileNotFoundException(file.getAbsolutePath());
+			}
+			long phaseStart = System.nanoTime();
+			PCGIOHandler ioHandler = new PCGIOHandler();
+			synchronized (LOAD_LOCK)
+			{
+				pc = new PlayerCharacter(campaigns);
+				pc.setFileName(file.getAbsolutePath());
+				ioHandler.read(pc, file.getAbsolutePath());
+			}
+			result.errors.addAll(ioHandler.getErrors());
+			result.warnings.addAll(ioHandler.getWarnings());
+			result.loadNanos = System.nanoTime() - phaseStart;
+			if (!result.errors.isEmpty())
+			{
+				// As with opening a character, errors mean it is most likely broken
+				return result;
+			}
+
+			phaseStart = System.nanoTime();
+			pc.preparePCForOutput();
+			result.calculateNanos = System.nanoTime() - phaseStart;
+
+			phaseStart = System.nanoTime();
+			result.value = task.process(pc);
+			result.taskNanos = System.nanoTime() - phaseStart;
+		}
+		catch (Exception e)
+		{
+			Logging.errorPrint("Unable to process character " + file, e); //$NON-NLS-1$
+			result.failure = e;
+		}
+		finally
+		{
+			if (pc != null)
+			{
+				CalculationMetrics.remove(pc.getCharID());
+				SolverProfile.remove(pc.getCharID());
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * The outcome of processing one character file in a batch.
+	 * 
+	 * @param <R>
+	 *            The type of result produced for each character
+	 */
+	public static final class BatchResult<R>
+	{
+		private final File file;
+		private final List<String> errors = new ArrayList<>();
+		private final List<String> warnings = new ArrayList<>();
+		private R value;
+		private Throwable failure;
+		private long loadNanos;
+		private long calculateNanos;
+		private long taskNanos;
+
+		private BatchResult(File file)
+		{
+			this.file = file;
+		}
+
+		private static <R> BatchResult<R> failed(File file, Throwable failure)
+		{
+			BatchResult<R> result = new BatchResult<>(file);
+			result.failure = failure;
+			return result;
+		}
+
+		/**
+		 * @return The character file that was processed
+		 */
+		public File getFile()
+		{
+			return file;
+		}
+
+		/**
+		 * @return true if the character loaded without errors and the task
+		 *         completed
+		 */
+		public boolean isSuccessful()
+		{
+			return failure == null && errors.isEmpty();
+		}
+
+		/**
+		 * @return The result of the task, or null if it did not complete
+		 */
+		public R getValue()
+		{
+			return value;
+		}
+
+		/**
+		 * @return The errors reported while loading the character
+		 */
+		public List<String> getErrors()
+		{
+			return Collections.unmodifiableList(errors);
+		}
+
+		/**
+		 * @return The warnings reported while loading the character
+		 */
+		public List<String> getWarnings()
+		{
+			return Collections.unmodifiableList(warnings);
+		}
+
+		/**
+		 * @return The exception that stopped the character being processed,
+		 *         or null if there was none
+		 */
+		public Throwable getFailure()
+		{
+			return failure;
+		}
+
+		/**
+		 * @return The time taken to load the character, including any wait
+		 *         for other characters to finish loading, in nanoseconds
+		 */
+		public long getLoadNanos()
+		{
+			return loadNanos;
+		}
+
+		/**
+		 * @return The time taken to recalculate the character, in nanoseconds
+		 */
+		public long getCalculateNanos()
+		{
+			return calculateNanos;
+		}
+
+		/**
+		 * @return The time taken by the task, in nanoseconds
+		 */
+		public long getTaskNanos()
+		{
+			return taskNanos;
+		}
+	}
+
+	/**
+	 * The results of a batch run along with its throughput.
+	 * 
+	 * @param <R>
+	 *            The type of result produced for each character
+	 */
+	public static final class BatchReport<R>
+	{
+		private final List<BatchResult<R>> results;
+		private final int threads;
+		private final long elapsedNanos;
+
+		private BatchReport(List<BatchResult<R>> results, int threads, long elapsedNanos)
+		{
+			this.results = Collections.unmodifiableList(results);
+			this.threads = threads;
+			this.elapsedNanos = elapsedNanos;
+		}
+
+		/**
+		 * @return The results for each file, in the order the files were given
+		 */
+		public List<BatchResult<R>> getResults()
+		{
+			return results;
+		}
+
+		/**
+		 * @return The number of characters processed successfully
+		 */
+		public int getSuccessCount()
+		{
+			return (int) results.stream().filter(BatchResult::isSuccessful).count();
+		}
+
+		/**
+		 * @return The number of threads the batch was run with
+		 */
+		public int getThreads()
+		{
+			return threads;
+		}
+
+		/**
+		 * @return The wall clock time taken by the batch, in nanoseconds
+		 */
+		public long getElapsedNanos()
+		{
+			return elapsedNanos;
+		}
+
+		/**
+		 * @return The number of characters processed per second of wall clock
+		 *         time, whether or not they were successful
+		 */
+		public double getCharactersPerSecond()
+		{
+			return (elapsedNanos == 0) ? 0 : results.size() * 1.0e9 / elapsedNanos;
+		}
+
+		@Override
+		public String toString()
+		{
+			long load = 0;
+			long calculate = 0;
+			long task = 0;
+			for (BatchResult<R> result : results)
+			{
+				load += result.loadNanos;
+				calculate += result.calculateNanos;
+				task += result.taskNanos;
+			}
+			return String.format("Character batch: %d of %d characters succeeded on %d threads in %d ms" //$NON-NLS-1$
+				+ " (%.1f characters/s; load %d ms, calculate %d ms, task %d ms)", //$NON-NLS-1$
+				getSuccessCount(), results.size(), threads, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+				getCharactersPerSecond(), TimeUnit.NANOSECONDS.toMillis(load),
+				TimeUnit.NANOSECONDS.toMillis(calculate), TimeUnit.NANOSECONDS.toMillis(task));
+		}
+	}
+}
@@ -0,0 +1,330 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.io;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Supplier;
+
+import pcgen.core.PlayerCharacter;
+
+/**
+ * ExportCache holds the values derived from a character during one export, so
+ * that the many output tokens of a character sheet can share the lists and
+ * values they compute instead of rebuilding them on every token. Values are
+ * held per character and are discarded as soon as the character changes (as
+ * reported by its change stamp). Characters are held weakly, so a cache that
+ * outlives an export never keeps a closed character in memory.
+ * 
+ * It also gathers, per output token, how often it found its values in the
+ * cache and, while CalculationMetrics are enabled, the time spent in the token.
+ * 
+ * An ExportCache is owned by an ExportHandler and, like it, is not thread-safe.
+ * Tokens evaluated without an ExportHandler use a cache of their own thread.
+ */
+public final class ExportCache
+{
+	private static final ThreadLocal<ExportCache> STANDALONE_CACHE = ThreadLocal.withInitial(ExportCache::new);
+
+	/*
+	 * PlayerCharacter does not override equals, so this is keyed by identity.
+	 */
+	private final Map<PlayerCharacter, CharacterValues> values = new WeakHashMap<>();
+
+	private final Map<String, TokenStats> stats = new HashMap<>();
+
+	/**
+	 * Builds a key for a cached value from the given parts. Keys with equal
+	 * parts are equal, so tokens that derive the same value can share it.
+	 * 
+	 * @param parts
+	 *            The parts of the key (e.g. the name of the value and the
+	 *            options it was built with)
+	 * @return A key for a cached value
+	 */
+	public static Object key(Object... parts)
+	{
+		return Arrays.asList(parts);
+	}
+
+	/**
+	 * Returns the value cached for the given character under the given key,
+	 * computing and caching it with the given Supplier if it is not present.
+	 * 
+	 * @param pc
+	 *            The character the value is derived from
+	 * @param tokenName
+	 *            The name of the token requesting the value, for the statistics
+	 * @param key
+	 *            The key of the value
+	 * @param supplier
+	 *            Computes the value if it is not cached
+	 * @return The value for the given key
+	 */
+	public <T> T get(PlayerCharacter pc, String tokenName, Object key, Supplier<T> supplier)
+	{
+		CharacterValues cv = getValues(pc);
+		@SuppressWarnings("unchecked")
+		T value = (T) cv.map.get(key);
+		if (value != null || cv.map.containsKey(key))
+		{
+			getStats(tokenName).hits++;
+			return value;
+		}
+		getStats(tokenName).misses++;
+		// Not computeIfAbsent, as the Supplier may itself use this cache
+		value = supplier.get();
+		cv.map.put(key, value);
+		return value;
+	}
+
+	/**
+	 * Returns the value cached for the given character under the given key, if
+	 * any.
+	 * 
+	 * @param pc
+	 *            The character the value is derived from
+	 * @param tokenName
+	 *            The name of the token requesting the value, for the statistics
+	 * @param key
+	 *            The key of the value
+	 * @return The cached value; null if no value is cached
+	 */
+	public <T> T getIfPresent(PlayerCharacter pc, String tokenName, Object key)
+	{
+		@SuppressWarnings("unchecked")
+		T value = (T) getValues(pc).map.get(key);
+		TokenStats ts = getStats(tokenName);
+		if (value == null)
+		{
+			ts.misses++;
+		}
+		else
+		{
+			ts.hits++;
+		}
+		return value;
+	}
+
+	/**
+	 * Caches a value for the given character under the given key.
+	 * 
+	 * @param pc
+	 *            The character the value is derived from
+	 * @param key
+	 *            The key of the value
+	 * @param value
+	 *            The value to be cached
+	 */
+	public void put(PlayerCharacter pc, Object key, Object value)
+	{
+		getValues(pc).map.put(key, value);
+	}
+
+	/**
+	 * Shares a value through the cache of the given ExportHandler. If there is
+	 * no ExportHandler (as when a token is evaluated outside an export), the
+	 * value is shared through a cache of the current thread instead.
+	 * 
+	 * @param eh
+	 *            The ExportHandler in use; may be null
+	 * @param pc
+	 *            The character the value is derived from
+	 * @param tokenName
+	 *            The name of the token requesting the value
+	 * @param key
+	 *            The key of the value
+	 * @param supplier
+	 *            Computes the value if it is not cached
+	 * @return The value for the given key
+	 */
+	public static <T> T get(ExportHandler eh, PlayerCharacter pc, String tokenName, Object key, Supplier<T> supplier)
+	{
+		if (pc == null)
+		{
+			return supplier.get();
+		}
+		return forHandler(eh, pc).get(pc, tokenName, key, supplier);
+	}
+
+	/**
+	 * Returns the cache to be used for values derived from the given character
+	 * by a token called with the given ExportHandler. Tokens evaluated outside
+	 * an export (e.g. from a formula) have no ExportHandler, so they share a
+	 * cache of the current thread, which keeps the values of only the last
+	 * character it was used for.
+	 * 
+	 * @param eh
+	 *            The ExportHandler in use; may be null
+	 * @param pc
+	 *            The character the values are derived from
+	 * @return The cache to use
+	 */
+	public static ExportCache forHandler(ExportHandler eh, PlayerCharacter pc)
+	{
+		if (eh != null)
+		{
+			return eh.getExportCache();
+		}
+		ExportCache cache = STANDALONE_CACHE.get();
+		if (!cache.values.containsKey(pc))
+		{
+			cache.clear();
+		}
+		return cache;
+	}
+
+	/**
+	 * Discards the values the current thread's standalone cache holds for the
+	 * given character, as when the character is closed.
+	 * 
+	 * @param pc
+	 *            The character whose values should be discarded
+	 */
+	public static void release(PlayerCharacter pc)
+	{
+		ExportCache cache = STANDALONE_CACHE.get();
+		if (cache.values.containsKey(pc))
+		{
+			cache.clear();
+		}
+	}
+
+	private CharacterValues getValues(PlayerCharacter pc)
+	{
+		long changeStamp = pc.getChangeStamp();
+		CharacterValues cv = values.get(pc);
+		if (cv == null)
+		{
+			cv = new CharacterValues(changeStamp);
+			values.put(pc, cv);
+		}
+		else if (cv.changeStamp != changeStamp)
+		{
+			cv.map.clear();
+			cv.changeStamp = changeStamp;
+		}
+		return cv;
+	}
+
+	private TokenStats getStats(String tokenName)
+	{
+		return stats.computeIfAbsent(tokenName, TokenStats::new);
+	}
+
+	/**
+	 * Records one evaluation of an output token.
+	 * 
+	 * @param tokenName
+	 *            The name of the token
+	 * @param nanos
+	 *            The time spent evaluating the token, in nanoseconds
+	 */
+	void recordToken(String tokenName, long nanos)
+	{
+		TokenStats ts = getStats(tokenName);
+		ts.calls++;
+		ts.nanos += nanos;
+	}
+
+	/**
+	 * Returns the statistics gathered for each output token, most expensive
+	 * first.
+	 * 
+	 * @return The statistics of each output token
+	 */
+	public List<TokenStats> getTokenStats()
+	{
+		List<TokenStats> list = new ArrayList<>(stats.values());
+		list.sort(Comparator.comparingLong(TokenStats::getNanos).reversed());
+		return list;
+	}
+
+	/**
+	 * Discards the cached values and statistics.
+	 */
+	public void clear()
+	{
+		values.clear();
+		stats.clear();
+	}
+
+	private static final class CharacterValues
+	{
+		private final Map<Object, Object> map = new HashMap<>();
+		private long changeStamp;
+
+		private CharacterValues(long changeStamp)
+		{
+			this.changeStamp = changeStamp;
+		}
+	}
+
+	/**
+	 * The time spent in, and the cache use of, one output token during an
+	 * export.
+	 */
+	public static final class TokenStats
+	{
+		private final String tokenName;
+		private int calls;
+		private long nanos;
+		private int hits;
+		private int misses;
+
+		private TokenStats(String tokenName)
+		{
+			this.tokenName = tokenName;
+		}
+
+		public String getTokenName()
+		{
+			return tokenName;
+		}
+
+		public int getCalls()
+		{
+			return calls;
+		}
+
+		public long getNanos()
+		{
+			return nanos;
+		}
+
+		public int getHits()
+		{
+			return hits;
+		}
+
+		public int getMisses()
+		{
+			return misses;
+		}
+
+		@Override
+		public String toString()
+		{
+			return String.format("%s: %d calls, %.1f ms, cache %d hits / %d misses", tokenName, calls,
+				nanos / 1_000_000.0, hits, misses);
+		}
+	}
+}
@@ -26,8 +26,10 @@ import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.Serializable;
 import java.io.StringWriter;
 import java.io.Writer;
@@ -90,9 +92,11 @@ import pcgen.io.freemarker.PCStringDirective;
 import pcgen.io.freemarker.PCVarFunction;
 import pcgen.output.publish.OutputDB;
 import pcgen.system.PluginLoader;
+import pcgen.util.CalculationMetrics;
 import pcgen.util.Delta;
 import pcgen.util.Logging;
 import pcgen.util.enumeration.View;
+import pcgen.util.fop.FopTask;
 
 import freemarker.template.Configuration;
 import freemarker.template.Template;
@@ -172,6 +176,9 @@ public final class ExportHandler
 	/** The templating engine we will be using for this export. */
 	private ExportEngine exportEngine;
 
+	/** The values shared by the output tokens during an export. */
+	private final ExportCache exportCache = new ExportCache();
+
 	/**
 	 * Constructor.  Populates the token map (a list of possible output tokens) and 
 	 * sets the character sheet template we are using.
@@ -248,6 +255,7 @@ public final class ExportHandler
 
 			// Now actually process the FOR loops in the template
 			// and then clear the loop variables
+			exportCache.clear();
 			loopFOR(root, 0, 0, 1, out, aPC);
 			loopVariables.clear();
 		}
@@ -255,6 +263,59 @@ public final class ExportHandler
 		{
 			Logging.errorPrint("Error in ExportHandler::write", exc);
 		}
+		finally
+		{
+			finishExportSession();
+		}
+	}
+
+	/**
+	 * Creates a FopTask which renders the given PlayerCharacter as a pdf
+	 * document. The handler's template produces the XML (or FO) source, which
+	 * is written on a separate thread and streamed into the task as it runs,
+	 * so the whole document is never held in memory.
+	 *
+	 * @param aPC the PlayerCharacter to render
+	 * @param xsltFile the stylesheet transforming the XML to FO, or null if
+	 *            the template produces FO
+	 * @param outputPdf the stream the pdf is written to, closed by the task
+	 * @return the FopTask to be run
+	 * @throws FileNotFoundException if xsltFile is not null and does not exist
+	 */
+	public FopTask newPdfTask(PlayerCharacter aPC, File xsltFile, OutputStream outputPdf)
+		throws FileNotFoundException
+	{
+		Objects.requireNonNull(templateFile);
+		return FopTask.newFopTask(out -> write(aPC, out), xsltFile, outputPdf);
+	}
+
+	/**
+	 * Returns the cache of values shared by the output tokens of the export
+	 * in progress.
+	 * 
+	 * @return The ExportCache of this ExportHandler
+	 */
+	public ExportCache getExportCache()
+	{
+		return exportCache;
+	}
+
+	/**
+	 * Reports the output token statistics of the finished export and discards
+	 * the values cached for it.
+	 */
+	private void finishExportSession()
+	{
+		if (Logging.isDebugMode())
+		{
+			StringBuilder sb = new StringBuilder("Output token statistics for ").append(templateFile.getName());
+			for (ExportCache.TokenStats ts : exportCache.getTokenStats())
+			{
+				sb.append(Constants.LINE_SEPARATOR).append("  ").append(ts);
+			}
+			Logging.debugPrint(sb.toString());
+		}
+		exportCache.clear();
 	}
 
 	/**
@@ -534,7 +595,7 @@ public final class ExportHandler
 	 * 
 	 * @param newToken the token to add
 	 */
-	public static void addToTokenMap(Token newToken)
+	public static synchronized void addToTokenMap(Token newToken)
 	{
 		Token test = TOKEN_MAP.put(newToken.getTokenName(), newToken);
 		if (test != null)
@@ -1713,7 +1774,7 @@ public final class ExportHandler
 	 * Populate the token map (if not already done so), e.g. Add all 
 	 * of the types of Output Tokens to the map
 	 */
-	private static void populateTokenMap()
+	private static synchronized void populateTokenMap()
 	{
 		if (!tokenMapPopulated)
 		{
@@ -1913,13 +1974,19 @@ public final class ExportHandler
 			else if (TOKEN_MAP.get(firstToken) != null)
 			{
 				Token token = TOKEN_MAP.get(firstToken);
+				long start = CalculationMetrics.start();
+				String value = token.getToken(tokenString, aPC, this);
+				if (start != 0L)
+				{
+					exportCache.recordToken(token.getTokenName(), System.nanoTime() - start);
+				}
 				if (token.isEncoded())
 				{
-					FileAccess.encodeWrite(output, token.getToken(tokenString, aPC, this));
+					FileAccess.encodeWrite(output, value);
 				}
 				else
 				{
-					FileAccess.write(output, token.getToken(tokenString, aPC, this));
+					FileAccess.write(output, value);
 				}
 			}
 			// Default case
@@ -3258,7 +3325,7 @@ public final class ExportHandler
 		// Set an output filter based on the type of template in use.
 		FileAccess.setCurrentOutputFilter(templateFile.getName());
 
-
+		exportCache.clear();
 		try (BufferedReader br = new BufferedReader(new InputStreamReader(
 				new FileInputStream(templateFile),
 				StandardCharsets.UTF_8
@@ -3342,6 +3409,10 @@ public final class ExportHandler
 		{
 			Logging.errorPrint("Error in ExportHandler::write", exc);
 		}
+		finally
+		{
+			finishExportSession();
+		}
 	}
 
 	/**
@@ -35,8 +35,14 @@ import pcgen.io.filters.PatternFilter;
  */
 public final class FileAccess
 {
-	private static OutputFilter outputFilter = null;
-	private static int maxLength = -1;
+	/*
+	 * The filter and max length are set by the export running on the current
+	 * thread, so that characters may be exported concurrently. Threads which
+	 * have not set a filter use the one most recently set by any thread.
+	 */
+	private static volatile OutputFilter lastOutputFilter = null;
+	private static final ThreadLocal<OutputFilter> OUTPUT_FILTER = new ThreadLocal<>();
+	private static final ThreadLocal<Integer> MAX_LENGTH = ThreadLocal.withInitial(() -> -1);
 
 	private FileAccess()
 	{
@@ -52,6 +58,11 @@ public final class FileAccess
 	public static String filterString(String aString)
 	{
 		String outputString = aString;
+		OutputFilter outputFilter = OUTPUT_FILTER.get();
+		if (outputFilter == null)
+		{
+			outputFilter = lastOutputFilter;
+		}
 		if (outputFilter != null)
 		{
 			outputString = outputFilter.filterString(aString);
@@ -67,14 +78,16 @@ public final class FileAccess
 	 */
 	public static void setCurrentOutputFilter(String templateFilename)
 	{
+		OutputFilter filter;
 		try
 		{
-			outputFilter = new PatternFilter(templateFilename);
+			filter = new PatternFilter(templateFilename);
 		}
 		catch (IOException e)
 		{
-			outputFilter = new CharacterFilter(templateFilename);
+			filter = new CharacterFilter(templateFilename);
 		}
+		setCurrentOutputFilter(filter);
 	}
 
 	/**
@@ -83,7 +96,8 @@ public final class FileAccess
 	 */
 	public static void setCurrentOutputFilter(OutputFilter filter)
 	{
-		outputFilter = filter;
+		OUTPUT_FILTER.set(filter);
+		lastOutputFilter = filter;
 	}
 
 	/**
@@ -102,7 +116,7 @@ public final class FileAccess
 	 */
 	public static void maxLength(int anInt)
 	{
-		maxLength = anInt;
+		MAX_LENGTH.set(anInt);
 	}
 
 	/**
@@ -139,6 +153,7 @@ public final class FileAccess
 		}
 
 		// Trim the string to the length of maxLength
+		int maxLength = MAX_LENGTH.get();
 		if ((maxLength > 0) && (aString.length() > maxLength))
 		{
 			outputString = aString.substring(0, maxLength);
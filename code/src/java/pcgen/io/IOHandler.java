@@ -25,6 +25,8 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.List;
 
 import pcgen.core.Campaign;
@@ -128,25 +130,60 @@ public abstract class IOHandler
 	 * @param outFile The file to be backed up.
 	 */
 	public void createBackupForFile(File outFile)
+	{
+		File bakFile = getBackupFile(outFile);
+		if (bakFile != null)
+		{
+			outFile.renameTo(bakFile);
+		}
+	}
+
+	/**
+	 * Create a backup copy of the specified file, but only if backups are 
+	 * enabled, the file exists and the file is not empty. Unlike 
+	 * {@link #createBackupForFile(File)} the original file stays in place, 
+	 * so a reader never finds the file missing while it is being replaced.
+	 *  
+	 * @param outFile The file to be backed up.
+	 * @throws IOException If the backup could not be written.
+	 */
+	public static void copyBackupForFile(File outFile) throws IOException
+	{
+		File bakFile = getBackupFile(outFile);
+		if (bakFile != null)
+		{
+			Files.copy(outFile.toPath(), bakFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * Identify the backup file for the specified file, removing any previous 
+	 * backup.
+	 * 
+	 * @param outFile The file to be backed up.
+	 * @return The backup file, or null if no backup should be made.
+	 */
+	private static File getBackupFile(File outFile)
 	{
 		// Make a backup of the old file, if it exists and isn't empty
-		if (PCGenSettings.getCreatePcgBackup() && outFile.exists() && outFile.length() > 0)
+		if (!PCGenSettings.getCreatePcgBackup() || !outFile.exists() || outFile.length() <= 0)
+		{
+			return null;
+		}
+		String file = outFile.getName();
+		String backupPcgPath = PCGenSettings.getBackupPcgDir();
+		if (backupPcgPath == null || backupPcgPath.isEmpty())
 		{
-			String file = outFile.getName();
-			String backupPcgPath = PCGenSettings.getBackupPcgDir();
-			if (backupPcgPath == null || backupPcgPath.isEmpty())
-			{
-				backupPcgPath = outFile.getParent();
-			}
-			final String BAK_PREFIX = ".bak"; //$NON-NLS-1$
-			File bakFile = new File(backupPcgPath, file + BAK_PREFIX);
+			backupPcgPath = outFile.getParent();
+		}
+		final String BAK_PREFIX = ".bak"; //$NON-NLS-1$
+		File bakFile = new File(backupPcgPath, file + BAK_PREFIX);
 
-			if (bakFile.exists() && outFile.exists() && outFile.length() > 0)
-			{
-				bakFile.delete();
-			}
-			outFile.renameTo(bakFile);
+		if (bakFile.exists())
+		{
+			bakFile.delete();
 		}
+		return bakFile;
 	}
 
 	/**
@@ -25,20 +25,34 @@ import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
 import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
 import pcgen.cdom.base.Constants;
@@ -57,6 +71,7 @@ import pcgen.facade.core.SourceSelectionFacade;
 import pcgen.system.LanguageBundle;
 import pcgen.system.PCGenPropBundle;
 import pcgen.system.PCGenSettings;
+import pcgen.util.CalculationMetrics;
 import pcgen.util.FileHelper;
 import pcgen.util.Logging;
 
@@ -72,6 +87,15 @@ import org.jetbrains.annotations.Nullable;
 public final class PCGIOHandler extends IOHandler
 {
 
+	/**
+	 * The thread on which background saves are serialized and written.
+	 */
+	private static final ExecutorService SAVE_EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+		Thread thread = new Thread(r, "Character-save-thread"); //$NON-NLS-1$
+		thread.setDaemon(true);
+		return thread;
+	});
+
 	private final List<String> errors = new ArrayList<>();
 	private final List<String> warnings = new ArrayList<>();
 
@@ -280,8 +304,9 @@ public final class PCGIOHandler extends IOHandler
 	/**
 	 * Writes the contents of the given PlayerCharacter to a file. This method also includes
 	 * safely backing up the original character file, but only once we know we have 
-	 * successfully exported the character to a string ready for writing. This means that if 
-	 * the save fails, the file system is untouched.
+	 * successfully exported the character to a string ready for writing. The new contents 
+	 * are written to a temporary file which then replaces the original, so if the save 
+	 * fails, the original file is untouched.
 	 * 
 	 * @param pcToBeWritten the PlayerCharacter to write
 	 * @param mode          The character's game mode.
@@ -293,16 +318,10 @@ public final class PCGIOHandler extends IOHandler
 		final String pcgString;
 		pcgString = (new PCGVer2Creator(pcToBeWritten, mode, campaigns)).createPCGString();
 
-		// Do backup now that we have the character ready to save
-		createBackupForFile(outFile);
-
-		// Now save the character
-
-		try (FileWriter fileWriter = new FileWriter(outFile, StandardCharsets.UTF_8);
-		     Writer bw = new BufferedWriter(fileWriter))
+		try
 		{
+			writeAtomically(pcgString, outFile);
 			pcToBeWritten.setDirty(false);
-			bw.write(pcgString);
 		}
 		catch (IOException ioe)
 		{
@@ -310,6 +329,154 @@ public final class PCGIOHandler extends IOHandler
 		}
 	}
 
+	/**
+	 * Writes a snapshot of the given PlayerCharacter to a file on the background 
+	 * save thread. The snapshot is taken on the calling thread, so the character 
+	 * may be edited as soon as this method returns; the serialization and all 
+	 * file access happen on the save thread. Saves are processed one at a time in 
+	 * the order they were requested.
+	 * 
+	 * Note the character is not marked as clean by this method, as it may have 
+	 * changed by the time the save completes. Callers should compare the serial 
+	 * they captured with the character's current serial.
+	 * 
+	 * @param pcToBeWritten the PlayerCharacter to write
+	 * @param mode          The character's game mode.
+	 * @param campaigns     The character's sources.
+	 * @param outFile       The file to write the character to.
+	 * @return A future which completes once the file has been replaced, or 
+	 * completes exceptionally if the save failed.
+	 */
+	public static CompletableFuture<Void> writeInBackground(PlayerCharacter pcToBeWritten, GameMode mode,
+		List<Campaign> campaigns, File outFile)
+	{
+		final PlayerCharacter snapshot = pcToBeWritten.clone();
+		final List<Campaign> sources = new ArrayList<>(campaigns);
+		return CompletableFuture.runAsync(() -> {
+			try
+			{
+				String pcgString = (new PCGVer2Creator(snapshot, mode, sources)).createPCGString();
+				writeAtomically(pcgString, outFile);
+			}
+			catch (IOException e)
+			{
+				throw new UncheckedIOException(e);
+			}
+			finally
+			{
+				CalculationMetrics.remove(snapshot.getCharID());
+			}
+		}, SAVE_EXECUTOR);
+	}
+
+	/**
+	 * Blocks until all saves requested through 
+	 * {@link #writeInBackground(PlayerCharacter, GameMode, List, File)} 
+	 * before this call have finished. Used on shutdown so no save is lost.
+	 */
+	public static void awaitPendingSaves()
+	{
+		try
+		{
+			SAVE_EXECUTOR.submit(() -> {
+			}).get();
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+		catch (ExecutionException e)
+		{
+			Logging.errorPrint("Unable to wait for pending saves", e);
+		}
+	}
+
+	/**
+	 * Replaces the contents of a file. The text is written to a temporary file 
+	 * in the same directory and forced to disk, the original is backed up and 
+	 * then the temporary file is moved over the original. Where the file system 
+	 * supports it the move is atomic, so the target file is always either the 
+	 * complete old contents or the complete new contents.
+	 * 
+	 * @param text The new contents of the file.
+	 * @param outFile The file to be replaced.
+	 * @throws IOException If the file could not be written.
+	 */
+	static void writeAtomically(String text, File outFile) throws IOException
+	{
+		Path temp = createTempFileFor(outFile.getAbsoluteFile().toPath());
+		try
+		{
+			try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE);
+				Writer bw = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8)))
+			{
+				bw.write(text);
+				bw.flush();
+				channel.force(true);
+			}
+
+			// Do backup now that the new contents are safely on disk
+			copyBackupForFile(outFile);
+
+			try
+			{
+				Files.move(temp, outFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+			}
+			catch (AtomicMoveNotSupportedException e)
+			{
+				Files.move(temp, outFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		finally
+		{
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	/**
+	 * Creates an empty temporary file alongside the target file. Unlike
+	 * Files.createTempFile, which makes the file readable only by its owner,
+	 * the file gets the same permissions as the target, or the default
+	 * permissions of a new file if there is no target yet. So replacing the
+	 * target does not change who may read it.
+	 * 
+	 * @param target The file that the temporary file will replace.
+	 * @return The new temporary file.
+	 * @throws IOException If the file could not be created.
+	 */
+	private static Path createTempFileFor(Path target) throws IOException
+	{
+		String prefix = target.getFileName() + "."; //$NON-NLS-1$
+		while (true)
+		{
+			Path temp = target.resolveSibling(
+				prefix + Long.toUnsignedString(ThreadLocalRandom.current().nextLong(), 36) + ".tmp"); //$NON-NLS-1$
+			try
+			{
+				Files.createFile(temp);
+			}
+			catch (FileAlreadyExistsException e)
+			{
+				continue;
+			}
+			PosixFileAttributeView view = Files.getFileAttributeView(target, PosixFileAttributeView.class);
+			if (view != null && Files.exists(target))
+			{
+				try
+				{
+					Files.setPosixFilePermissions(temp, view.readAttributes().permissions());
+				}
+				catch (IOException e)
+				{
+					Files.deleteIfExists(temp);
+					throw e;
+				}
+			}
+			return temp;
+		}
+	}
+
 	/*
 	 * ###############################################################
 	 * private helper methods
@@ -34,6 +34,7 @@ import pcgen.core.AbilityCategory;
 import pcgen.core.PlayerCharacter;
 import pcgen.core.SettingsHandler;
 import pcgen.core.analysis.QualifiedName;
+import pcgen.io.ExportCache;
 import pcgen.io.ExportHandler;
 import pcgen.util.enumeration.View;
 
@@ -51,13 +52,6 @@ public class AbilityListToken extends Token
 {
 	private static final String DELIM = ", ";
 
-	//TODO: Should these be static to enable the caching?
-	private MapToList<Ability, CNAbility> abilityMap = null;
-	private PlayerCharacter lastPC = null;
-	private int lastPCSerial;
-	private String lastType = "";
-	private AbilityCategory lastCategory = null;
-
 	/** Token Name */
 	public static final String TOKENNAME = "ABILITYLIST";
 
@@ -80,7 +74,7 @@ public class AbilityListToken extends Token
 		final String catString = aTok.nextToken();
 		final AbilityCategory aCategory = SettingsHandler.getGame().getAbilityCategory(catString);
 
-		return getTokenForCategory(pc, aTok, tokenString, aCategory);
+		return getTokenForCategory(pc, eh, aTok, tokenString, aCategory);
 	}
 
 	/**
@@ -88,31 +82,25 @@ public class AbilityListToken extends Token
 	 * category.
 	 *  
 	 * @param pc The character being processed.
+	 * @param eh The export handler in use for the export.
 	 * @param aTok The tokenised request, already past the category.
 	 * @param tokenString The output token requested 
 	 * @param aCategory The ability category being output.
 	 * @return The token value.
 	 */
-	protected String getTokenForCategory(PlayerCharacter pc, final StringTokenizer aTok, final String tokenString,
-		final AbilityCategory aCategory)
+	protected String getTokenForCategory(PlayerCharacter pc, ExportHandler eh, final StringTokenizer aTok,
+		final String tokenString, final AbilityCategory aCategory)
 	{
 		if (aCategory == null)
 		{
 			return "";
 		}
 		StringBuilder retString = new StringBuilder();
-		// If we haven't cached some of the processign data, then do so, this is so that 
-		// if the Output Sheet loops over this token we don't process one-off stuff more than 
-		// once
-		if ((lastPC != pc) || !aCategory.equals(lastCategory) || (lastPCSerial != pc.getSerial())
-			|| !tokenString.equals(lastType))
-		{
-			abilityMap = getAbilityList(pc, aCategory);
-			lastPC = pc;
-			lastCategory = aCategory;
-			lastPCSerial = pc.getSerial();
-			lastType = tokenString;
-		}
+		// Share the ability list with the rest of the export, so that if the
+		// Output Sheet loops over this token we don't process one-off stuff
+		// more than once
+		MapToList<Ability, CNAbility> abilityMap = ExportCache.get(eh, pc, getTokenName(),
+			ExportCache.key(getClass(), tokenString, aCategory), () -> getAbilityList(pc, aCategory));
 
 		// Default values
 		List<String> types = new ArrayList<>();
@@ -178,7 +166,7 @@ public class AbilityListToken extends Token
 		{
 			if (AbilityCategory.ANY.equals(aCategory) || aCat.getParentCategory().equals(aCategory))
 			{
-				for (CNAbility cna : pc.getPoolAbilities(aCat, Nature.NORMAL))
+				for (CNAbility cna : pc.getDistinctPoolAbilitiesView(aCat, Nature.NORMAL))
 				{
 					listOfAbilities.addToListFor(cna.getAbility(), cna);
 				}
@@ -50,6 +50,7 @@ import pcgen.core.Globals;
 import pcgen.core.PlayerCharacter;
 import pcgen.core.SettingsHandler;
 import pcgen.core.analysis.QualifiedName;
+import pcgen.io.ExportCache;
 import pcgen.io.ExportHandler;
 import pcgen.util.Logging;
 import pcgen.util.enumeration.View;
@@ -82,18 +83,6 @@ public class AbilityToken extends Token
 	/** The current visibility filtering to apply */
 	private View view = View.VISIBLE_EXPORT;
 
-	/** The cached PC */
-	private PlayerCharacter cachedPC = null;
-
-	/** The cached PC serial (serial holds whether a PC has been changed) */
-	private int cachedPcSerial = 0;
-
-	/** The last token in the list of abilities */
-	private String lastToken = null;
-
-	/** The last ability category in the list of abilities */
-	private AbilityCategory lastCategory = null;
-
 	/**
 	 * Get the TOKENNAME
 	 * 
@@ -141,20 +130,12 @@ public class AbilityToken extends Token
 	protected String getTokenForCategory(String tokenSource, PlayerCharacter pc, ExportHandler eh,
 		final StringTokenizer aTok, final String tokenString, final AbilityCategory aCategory)
 	{
-		boolean cacheAbilityProcessingData = (cachedPC != pc || !aCategory.equals(lastCategory)
-			|| cachedPcSerial != pc.getSerial() || !tokenString.equals(lastToken));
-
 		// As this method can effectively be called by an OS FOR token, there 
-		// is a performance saving in caching some of the one-off processing data 
-		if (cacheAbilityProcessingData)
-		{
-			// Overridden by subclasses to return the right list.
-			abilityList = getAbilityList(pc, aCategory);
-			cachedPC = pc;
-			lastCategory = aCategory;
-			cachedPcSerial = pc.getSerial();
-			lastToken = tokenString;
-		}
+		// is a performance saving in sharing the one-off processing data
+		// through the export cache.
+		// getAbilityList is overridden by subclasses to return the right list.
+		abilityList = ExportCache.get(eh, pc, getTokenName(), ExportCache.key(getClass(), tokenString, aCategory),
+			() -> getAbilityList(pc, aCategory));
 
 		// Ability Types Filter List
 		List<String> types = new ArrayList<>();
@@ -729,7 +710,7 @@ public class AbilityToken extends Token
 		{
 			if (AbilityCategory.ANY.equals(aCategory) || aCat.getParentCategory().equals(aCategory))
 			{
-				for (CNAbility cna : pc.getPoolAbilities(aCat, Nature.NORMAL))
+				for (CNAbility cna : pc.getDistinctPoolAbilitiesView(aCat, Nature.NORMAL))
 				{
 					listOfAbilities.addToListFor(cna.getAbility(), cna);
 				}
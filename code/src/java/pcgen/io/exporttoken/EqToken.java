@@ -42,6 +42,7 @@ import pcgen.core.EquipmentUtilities;
 import pcgen.core.Globals;
 import pcgen.core.PlayerCharacter;
 import pcgen.core.analysis.OutputNameFormatting;
+import pcgen.io.ExportCache;
 import pcgen.io.ExportHandler;
 import pcgen.io.FileAccess;
 import pcgen.util.BigDecimalHelper;
@@ -53,10 +54,6 @@ public class EqToken extends Token
 {
 	/** Token Name */
 	public static final String TOKENNAME = "EQ";
-	private static String cachedString = null;
-	private static List<Equipment> cachedList = null;
-	private static int cachedSerial = 0;
-	private static PlayerCharacter cachedPC = null;
 
 	@Override
 	public String getTokenName()
@@ -124,17 +121,13 @@ public class EqToken extends Token
 		// check to see if this was the same as the last list we were asked to export.
 		//
 		String comparatorString = tokenSource.split("[0-9]+")[0];
-		List<Equipment> eqList = null;
+		Object cacheKey = ExportCache.key(TOKENNAME, comparatorString);
+		ExportCache cache = ExportCache.forHandler(eh, pc);
+		List<Equipment> eqList = cache.getIfPresent(pc, TOKENNAME, cacheKey);
 		StringTokenizer aTok = null;
 		int temp = -1;
-		if (comparatorString.equals(cachedString) && pc == cachedPC && pc.getSerial() == cachedSerial)
+		if (eqList != null)
 		{
-			//			cacheHit++;
-			//			if (cacheHit%100==0) {
-			//				System.out.println("cacheHit"+cacheHit + ", cacheMiss="+cacheMiss);
-			//			}
-
-			eqList = cachedList;
 			tokenSource = tokenSource.substring(comparatorString.length());
 			aTok = new StringTokenizer(tokenSource, ".", false);
 			String token = aTok.nextToken();
@@ -212,10 +205,7 @@ public class EqToken extends Token
 
 			}
 
-			cachedList = eqList;
-			cachedString = comparatorString;
-			cachedPC = pc;
-			cachedSerial = pc.getSerial();
+			cache.put(pc, cacheKey, eqList);
 		}
 
 		// Now that we have the list, get the token for the appropriate element
@@ -39,6 +39,7 @@ import pcgen.core.analysis.SkillModifier;
 import pcgen.core.analysis.SkillRankControl;
 import pcgen.core.display.SkillCostDisplay;
 import pcgen.core.display.SkillDisplay;
+import pcgen.io.ExportCache;
 import pcgen.io.ExportHandler;
 import pcgen.util.Logging;
 import pcgen.util.enumeration.View;
@@ -80,11 +81,6 @@ public class SkillToken extends Token
 	public static final int SKILL_SIZE = 16;
 	public static final int SKILL_CLASSES = 17;
 
-	// Cache the skill list as it is expensive to build
-	private List<Skill> cachedSkillList = null;
-	private PlayerCharacter lastPC = null;
-	private int lastPCSerial;
-
 	@Override
 	public String getTokenName()
 	{
@@ -117,7 +113,7 @@ public class SkillToken extends Token
 		try
 		{
 			final int i = Integer.parseInt(details.getSkillId());
-			final List<Skill> pcSkills = new ArrayList<>(getSkillList(pc));
+			final List<Skill> pcSkills = new ArrayList<>(getSkillList(pc, eh, getTokenName()));
 
 			SkillFilter filter = details.getSkillFilter();
 			if (filter == null || filter == SkillFilter.Selected)
@@ -154,19 +150,19 @@ public class SkillToken extends Token
 		return skill;
 	}
 
-	private synchronized List<Skill> getSkillList(PlayerCharacter pc)
+	/**
+	 * Returns the character's exported skills in output order. The list is
+	 * expensive to build, so it is shared by all skill tokens of an export.
+	 * 
+	 * @param pc The character being exported.
+	 * @param eh The ExportHandler in use; may be null.
+	 * @param tokenName The name of the token requesting the list.
+	 * @return The skills in output order; must not be modified.
+	 */
+	public static List<Skill> getSkillList(PlayerCharacter pc, ExportHandler eh, String tokenName)
 	{
-		if (pc == lastPC && pc.getSerial() == lastPCSerial)
-		{
-			return cachedSkillList;
-		}
-
-		final List<Skill> pcSkills =
-				SkillDisplay.getSkillListInOutputOrder(pc, pc.getDisplay().getPartialSkillList(View.VISIBLE_EXPORT));
-		cachedSkillList = pcSkills;
-		lastPC = pc;
-		lastPCSerial = pc.getSerial();
-		return pcSkills;
+		return ExportCache.get(eh, pc, tokenName, ExportCache.key("SkillsInOutputOrder"),
+			() -> SkillDisplay.getSkillListInOutputOrder(pc, pc.getDisplay().getPartialSkillList(View.VISIBLE_EXPORT)));
 	}
 
 	/**
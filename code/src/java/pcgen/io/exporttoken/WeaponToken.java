@@ -53,6 +53,7 @@ import pcgen.core.analysis.OutputNameFormatting;
 import pcgen.core.analysis.SizeUtilities;
 import pcgen.core.display.CharacterDisplay;
 import pcgen.core.display.UnarmedDamageDisplay;
+import pcgen.io.ExportCache;
 import pcgen.io.ExportHandler;
 import pcgen.system.LanguageBundle;
 import pcgen.util.Delta;
@@ -144,7 +145,10 @@ public class WeaponToken extends Token
 			token = aTok.nextToken();
 		}
 
-		List<Equipment> weaponList = pc.getExpandedWeapons(merge);
+		// The expanded weapons are cloned, so share them with the rest of the export
+		int weaponMerge = merge;
+		List<Equipment> weaponList = new ArrayList<>(ExportCache.get(eh, pc, TOKENNAME,
+			ExportCache.key("ExpandedWeapons", weaponMerge), () -> pc.getExpandedWeapons(weaponMerge)));
 
 		if (token.equals("ALL"))
 		{
@@ -0,0 +1,370 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.persistence;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import pcgen.core.Campaign;
+import pcgen.persistence.lst.LstFileLoader;
+import pcgen.util.Logging;
+
+/**
+ * CampaignCatalog keeps the text of every PCC file read during campaign
+ * discovery in a single file, keyed by the PCC's path, size and last
+ * modification time. On the next start an unchanged PCC is served from the
+ * catalog, so an unchanged install reads one file instead of several hundred.
+ * New or changed PCC files are read from disk and replace their entry when
+ * the catalog is saved; entries for PCC files that were not requested are
+ * dropped at that point.
+ * 
+ * Alongside the text, the catalog keeps a {@link CampaignSnapshot} of the
+ * Campaign parsed from each PCC where one can be taken, so an unchanged PCC
+ * can be rebuilt by {@link #restore(URI)} without being parsed at all.
+ * 
+ * How a PCC is parsed depends on the application and its plugins as well as
+ * on the file, so the catalog records a description of both (typically the
+ * application version and a fingerprint of the plugins) and a catalog written
+ * for a different application or set of plugins is discarded.
+ * 
+ * This class is thread safe, so a catalog may be shared by loaders parsing
+ * PCC files concurrently.
+ */
+public final class CampaignCatalog
+{
+	/**
+	 * The name of the catalog file in the settings directory.
+	 */
+	public static final String CATALOG_FILE_NAME = "campaignCatalog.dat"; //$NON-NLS-1$
+
+	private static final int FORMAT_VERSION = 3;
+
+	private final File catalogFile;
+
+	/**
+	 * The description of the application and plugins the catalog is used with.
+	 */
+	private final String environment;
+
+	/**
+	 * The entries read from the catalog file.
+	 */
+	private final Map<URI, Entry> stored = new ConcurrentHashMap<>();
+
+	/**
+	 * The entries served or read during this run, which are the ones saved.
+	 */
+	private final Map<URI, Entry> current = new ConcurrentHashMap<>();
+
+	private final AtomicInteger hits = new AtomicInteger();
+	private final AtomicInteger misses = new AtomicInteger();
+	private final AtomicInteger restored = new AtomicInteger();
+	private final AtomicInteger captured = new AtomicInteger();
+
+	/**
+	 * Creates a catalog backed by the given file. The file is not read until
+	 * {@link #load()} is called.
+	 * 
+	 * @param catalogFile The file the catalog is stored in
+	 * @param environment The description of the application and plugins
+	 *            parsing the PCC files; a catalog stored with a different
+	 *            description is not used
+	 */
+	public CampaignCatalog(File catalogFile, String environment)
+	{
+		this.catalogFile = catalogFile;
+		this.environment = environment;
+	}
+
+	/**
+	 * Reads the stored entries from the catalog file. A missing, unreadable or
+	 * outdated catalog, or one stored for a different application or set of
+	 * plugins, is treated as empty.
+	 */
+	public void load()
+	{
+		stored.clear();
+		if (!catalogFile.isFile())
+		{
+			return;
+		}
+		try (DataInputStream in = new DataInputStream(
+			new GZIPInputStream(new BufferedInputStream(Files.newInputStream(catalogFile.toPath())))))
+		{
+			if (in.readInt() != FORMAT_VERSION)
+			{
+				return;
+			}
+			String storedEnvironment = in.readUTF();
+			if (!environment.equals(storedEnvironment))
+			{
+				Logging.debugPrint("Discarding campaign catalog stored for " + storedEnvironment); //$NON-NLS-1$
+				return;
+			}
+			int count = in.readInt();
+			for (int i = 0; i < count; i++)
+			{
+				URI uri = URI.create(in.readUTF());
+				long size = in.readLong();
+				long modified = in.readLong();
+				byte[] text = new byte[in.readInt()];
+				in.readFully(text);
+				int snapshotLength = in.readInt();
+				byte[] snapshot = null;
+				if (snapshotLength >= 0)
+				{
+					snapshot = new byte[snapshotLength];
+					in.readFully(snapshot);
+				}
+				stored.put(uri, new Entry(size, modified, new String(text, StandardCharsets.UTF_8), snapshot));
+			}
+		}
+		catch (IOException | IllegalArgumentException e)
+		{
+			Logging.log(Logging.WARNING, "Ignoring unreadable campaign catalog " + catalogFile + ": " + e);
+			stored.clear();
+		}
+	}
+
+	/**
+	 * Rebuilds the Campaign of the given PCC file from its stored snapshot, if
+	 * the file has not changed since the snapshot was taken.
+	 * 
+	 * @param uri The URI of the PCC file
+	 * @return A new Campaign equal to the one parsed from the file, or null if
+	 *         the file must be parsed
+	 */
+	public Campaign restore(URI uri)
+	{
+		Entry entry = getUnchanged(uri);
+		if ((entry == null) || (entry.snapshot == null))
+		{
+			return null;
+		}
+		try
+		{
+			Campaign campaign = CampaignSnapshot.restore(uri, entry.snapshot);
+			hits.incrementAndGet();
+			restored.incrementAndGet();
+			current.put(uri, entry);
+			return campaign;
+		}
+		catch (IOException e)
+		{
+			Logging.log(Logging.WARNING, "Ignoring unreadable campaign snapshot for " + uri + ": " + e);
+			return null;
+		}
+	}
+
+	/**
+	 * Stores a snapshot of a Campaign parsed from the text returned by
+	 * {@link #read(URI)}, so the next run can restore it without parsing.
+	 * Nothing is stored if the Campaign cannot be captured.
+	 * 
+	 * @param uri The URI of the PCC file
+	 * @param campaign The Campaign parsed from the file
+	 */
+	public void capture(URI uri, Campaign campaign)
+	{
+		Entry entry = current.get(uri);
+		if ((entry == null) || (entry.snapshot != null))
+		{
+			return;
+		}
+		byte[] snapshot = CampaignSnapshot.capture(campaign);
+		if (snapshot != null)
+		{
+			current.put(uri, new Entry(entry.size, entry.modified, entry.text, snapshot));
+			captured.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Returns the text of the given PCC file, from the catalog if the file
+	 * has not changed since it was stored, otherwise from the file itself.
+	 * 
+	 * @param uri The URI of the PCC file
+	 * @return The text of the file, or null if it could not be read
+	 * @throws PersistenceLayerException if the URI cannot be read
+	 */
+	public String read(URI uri) throws PersistenceLayerException
+	{
+		File file = "file".equals(uri.getScheme()) ? new File(uri) : null;
+		if (file == null)
+		{
+			return LstFileLoader.readFromURI(uri);
+		}
+		Entry entry = getUnchanged(uri);
+		if (entry != null)
+		{
+			hits.incrementAndGet();
+			current.put(uri, entry);
+			return entry.text;
+		}
+		long size = file.length();
+		long modified = file.lastModified();
+		misses.incrementAndGet();
+		String text = LstFileLoader.readFromURI(uri);
+		if (text != null)
+		{
+			current.put(uri, new Entry(size, modified, text, null));
+		}
+		return text;
+	}
+
+	/**
+	 * Returns the stored entry for the given PCC file if the file still has
+	 * the size and modification time recorded in it.
+	 */
+	private Entry getUnchanged(URI uri)
+	{
+		Entry entry = stored.get(uri);
+		if ((entry == null) || !"file".equals(uri.getScheme())) //$NON-NLS-1$
+		{
+			return null;
+		}
+		File file = new File(uri);
+		return ((entry.size == file.length()) && (entry.modified == file.lastModified())) ? entry : null;
+	}
+
+	/**
+	 * Writes the entries used during this run to the catalog file, if they
+	 * differ from what was loaded. The file is replaced atomically where the
+	 * file system allows it.
+	 */
+	public void save()
+	{
+		if ((misses.get() == 0) && (captured.get() == 0) && current.keySet().equals(stored.keySet()))
+		{
+			return;
+		}
+		File temp = null;
+		try
+		{
+			File dir = catalogFile.getAbsoluteFile().getParentFile();
+			Files.createDirectories(dir.toPath());
+			temp = File.createTempFile("campaignCatalog", ".tmp", dir); //$NON-NLS-1$ //$NON-NLS-2$
+			try (OutputStream os = Files.newOutputStream(temp.toPath());
+				DataOutputStream out = new DataOutputStream(new GZIPOutputStream(new BufferedOutputStream(os))))
+			{
+				out.writeInt(FORMAT_VERSION);
+				out.writeUTF(environment);
+				out.writeInt(current.size());
+				for (Map.Entry<URI, Entry> me : current.entrySet())
+				{
+					Entry entry = me.getValue();
+					out.writeUTF(me.getKey().toString());
+					out.writeLong(entry.size);
+					out.writeLong(entry.modified);
+					byte[] text = entry.text.getBytes(StandardCharsets.UTF_8);
+					out.writeInt(text.length);
+					out.write(text);
+					if (entry.snapshot == null)
+					{
+						out.writeInt(-1);
+					}
+					else
+					{
+						out.writeInt(entry.snapshot.length);
+						out.write(entry.snapshot);
+					}
+				}
+			}
+			try
+			{
+				Files.move(temp.toPath(), catalogFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+			}
+			catch (IOException e)
+			{
+				Files.move(temp.toPath(), catalogFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+			temp = null;
+		}
+		catch (IOException e)
+		{
+			Logging.log(Logging.WARNING, "Unable to save campaign catalog " + catalogFile + ": " + e);
+		}
+		finally
+		{
+			if (temp != null)
+			{
+				try
+				{
+					Files.deleteIfExists(temp.toPath());
+				}
+				catch (IOException e)
+				{
+					Logging.log(Logging.WARNING, "Unable to delete " + temp + ": " + e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return The number of PCC files served from the catalog
+	 */
+	public int getHits()
+	{
+		return hits.get();
+	}
+
+	/**
+	 * @return The number of PCC files that had to be read from disk
+	 */
+	public int getMisses()
+	{
+		return misses.get();
+	}
+
+	/**
+	 * @return The number of PCC files rebuilt from a snapshot without parsing
+	 */
+	public int getRestored()
+	{
+		return restored.get();
+	}
+
+	private static final class Entry
+	{
+		private final long size;
+		private final long modified;
+		private final String text;
+		private final byte[] snapshot;
+
+		private Entry(long size, long modified, String text, byte[] snapshot)
+		{
+			this.size = size;
+			this.modified = modified;
+			this.text = text;
+			this.snapshot = snapshot;
+		}
+	}
+}
@@ -22,13 +22,21 @@ import java.io.File;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.LinkedList;
-
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+
 import pcgen.core.Campaign;
 import pcgen.core.Globals;
 import pcgen.persistence.lst.CampaignLoader;
+import pcgen.persistence.lst.prereq.PreParserFactory;
 import pcgen.system.ConfigurationSettings;
 import pcgen.system.LanguageBundle;
+import pcgen.system.PCGenPropBundle;
 import pcgen.system.PCGenSettings;
 import pcgen.system.PCGenTask;
 import pcgen.util.Logging;
@@ -77,30 +85,141 @@ public class CampaignFileLoader extends PCGenTask
 	 * {@link #campaignFiles campaignFiles} to a {@link pcgen.persistence.lst.CampaignLoader CampaignLoader},
 	 * which will load the data within into the {@link pcgen.rules.context.LoadContext LoadContext}
 	 * of the {@link pcgen.core.Campaign Campaign}.
+	 * 
+	 * The files are read (through the {@link CampaignCatalog}) and parsed
+	 * concurrently, but the campaigns are added to the Global container on
+	 * this thread and in the order the files were found. Unchanged files are
+	 * restored from the catalog without parsing; a file whose parse reported
+	 * any message is not captured, so the message is reported on every run.
 	 * @param campaignFiles
 	 */
 	private void loadCampaigns(List<URI> campaignFiles)
 	{
-		int progress = 0;
-		CampaignLoader campaignLoader = new CampaignLoader();
-		for (URI uri : campaignFiles)
+		CampaignCatalog catalog =
+				new CampaignCatalog(new File(ConfigurationSettings.getSettingsDir(), CampaignCatalog.CATALOG_FILE_NAME),
+					PCGenPropBundle.getVersionNumber() + '|' + ConfigurationSettings.getPluginsFingerprint());
+		catalog.load();
+		ParseLogListener listener = new ParseLogListener();
+		try
 		{
-			// Do not load campaign if already loaded
-			if (Globals.getCampaignByURI(uri, false) == null)
+			// Make sure the shared prerequisite parser exists before the workers race to create it
+			PreParserFactory.getInstance();
+		}
+		catch (PersistenceLayerException ex)
+		{
+			Logging.errorPrint("PersistanceLayer", ex);
+		}
+
+		int threads = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), campaignFiles.size()));
+		ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+			Thread thread = new Thread(r, "PCC Loader"); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		Logging.registerHandler(listener);
+		try
+		{
+			List<Future<Campaign>> parsed = new ArrayList<>(campaignFiles.size());
+			for (URI uri : campaignFiles)
 			{
-				try
+				// Do not load campaign if already loaded
+				if (Globals.getCampaignByURI(uri, false) == null)
 				{
-					// Pass this URI to campaign loader
-					campaignLoader.loadCampaignLstFile(uri);
+					parsed.add(executor.submit(() -> loadCampaign(catalog, listener, uri)));
 				}
-				catch (PersistenceLayerException ex)
+				else
 				{
-					// LATER: This is not an appropriate way to deal with this exception.
-					// Deal with it this way because of the way the loading takes place.  XXX
-					Logging.errorPrint("PersistanceLayer", ex);
+					parsed.add(null);
 				}
 			}
-			setProgress(progress++);
+
+			int progress = 0;
+			CampaignLoader campaignLoader = new CampaignLoader();
+			for (Future<Campaign> future : parsed)
+			{
+				if (future != null)
+				{
+					try
+					{
+						campaignLoader.registerCampaign(future.get());
+					}
+					catch (ExecutionException ex)
+					{
+						// LATER: This is not an appropriate way to deal with this exception.
+						// Deal with it this way because of the way the loading takes place.  XXX
+						Logging.errorPrint("PersistanceLayer", ex.getCause());
+					}
+					catch (InterruptedException ex)
+					{
+						Thread.currentThread().interrupt();
+						return;
+					}
+				}
+				setProgress(progress++);
+			}
+		}
+		finally
+		{
+			executor.shutdownNow();
+			Logging.removeHandler(listener);
+		}
+		catalog.save();
+		Logging.debugPrint("Campaign catalog: " + catalog.getHits() + " unchanged (" + catalog.getRestored()
+			+ " not parsed), " + catalog.getMisses() + " read from disk");
+	}
+
+	private static Campaign loadCampaign(CampaignCatalog catalog, ParseLogListener listener, URI uri)
+		throws PersistenceLayerException
+	{
+		Campaign campaign = catalog.restore(uri);
+		if (campaign == null)
+		{
+			listener.reset();
+			campaign = new CampaignLoader().parseCampaign(uri, catalog.read(uri));
+			if (!listener.reset())
+			{
+				catalog.capture(uri, campaign);
+			}
+		}
+		return campaign;
+	}
+
+	/**
+	 * Notes, per thread, whether anything was logged at LST_INFO or above.
+	 */
+	private static final class ParseLogListener extends Handler
+	{
+		private final ThreadLocal<Boolean> logged = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+		@Override
+		public void publish(LogRecord record)
+		{
+			if (record.getLevel().intValue() >= Logging.LST_INFO.intValue())
+			{
+				logged.set(Boolean.TRUE);
+			}
+		}
+
+		/**
+		 * @return true if anything was logged on this thread since the last reset
+		 */
+		private boolean reset()
+		{
+			boolean result = logged.get();
+			logged.set(Boolean.FALSE);
+			return result;
+		}
+
+		@Override
+		public void flush()
+		{
+			// Nothing is buffered
+		}
+
+		@Override
+		public void close()
+		{
+			// Nothing to release
 		}
 	}
 
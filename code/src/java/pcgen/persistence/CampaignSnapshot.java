@@ -0,0 +1,548 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.persistence;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import pcgen.cdom.content.CampaignURL;
+import pcgen.cdom.enumeration.IntegerKey;
+import pcgen.cdom.enumeration.ListKey;
+import pcgen.cdom.enumeration.MapKey;
+import pcgen.cdom.enumeration.ObjectKey;
+import pcgen.cdom.enumeration.StringKey;
+import pcgen.cdom.enumeration.Type;
+import pcgen.core.Campaign;
+import pcgen.core.prereq.Prerequisite;
+import pcgen.persistence.lst.CampaignSourceEntry;
+import pcgen.persistence.lst.output.prereq.PrerequisiteWriter;
+import pcgen.persistence.lst.prereq.PreParserFactory;
+
+/**
+ * CampaignSnapshot converts the parsed contents of a Campaign to and from a
+ * compact binary form, so a PCC file that has not changed can be rebuilt
+ * without running its tokens again.
+ * 
+ * Only campaigns made of plain values (strings, numbers, types, dates,
+ * enumerations, source entries, URLs and prerequisites) are captured. A
+ * campaign that uses anything else, such as formulas, facts or forward
+ * references into its own LoadContext, has no snapshot and is always
+ * parsed. Every snapshot is checked by restoring it and comparing the result
+ * with the parsed campaign before it is handed out, so a snapshot either
+ * rebuilds an equal campaign or does not exist.
+ */
+final class CampaignSnapshot
+{
+	private static final byte STRING = 'S';
+	private static final byte INTEGER = 'I';
+	private static final byte BOOLEAN = 'Z';
+	private static final byte TYPE = 'T';
+	private static final byte DATE = 'D';
+	private static final byte URI_VALUE = 'R';
+	private static final byte ENUM = 'E';
+	private static final byte CLASS = 'C';
+	private static final byte SOURCE_ENTRY = 'F';
+	private static final byte CAMPAIGN_URL = 'U';
+
+	private static final KeyNames INTEGER_KEYS = new KeyNames(IntegerKey.class);
+	private static final KeyNames STRING_KEYS = new KeyNames(StringKey.class);
+	private static final KeyNames OBJECT_KEYS = new KeyNames(ObjectKey.class);
+	private static final KeyNames LIST_KEYS = new KeyNames(ListKey.class);
+	private static final KeyNames MAP_KEYS = new KeyNames(MapKey.class);
+
+	private CampaignSnapshot()
+	{
+		// Utility class
+	}
+
+	/**
+	 * Captures the contents of a parsed campaign.
+	 * 
+	 * @param campaign The campaign, as produced by the CampaignLoader
+	 * @return The snapshot, or null if the campaign cannot be captured
+	 */
+	static byte[] capture(Campaign campaign)
+	{
+		if (!campaign.getFormulaKeys().isEmpty() || !campaign.getVariableKeys().isEmpty()
+			|| !campaign.getFactKeys().isEmpty() || !campaign.getFactSetKeys().isEmpty()
+			|| !campaign.getModifiedLists().isEmpty())
+		{
+			return null;
+		}
+		byte[] snapshot;
+		try
+		{
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			try (DataOutputStream out = new DataOutputStream(bytes))
+			{
+				write(out, campaign);
+			}
+			snapshot = bytes.toByteArray();
+		}
+		catch (IOException | UnsupportedValueException e)
+		{
+			return null;
+		}
+		try
+		{
+			Campaign restored = restore(campaign.getSourceURI(), snapshot);
+			return isEquivalent(campaign, restored) ? snapshot : null;
+		}
+		catch (IOException e)
+		{
+			return null;
+		}
+	}
+
+	/**
+	 * Rebuilds a campaign from a snapshot produced by
+	 * {@link #capture(Campaign)}.
+	 * 
+	 * @param sourceURI The URI of the PCC file the snapshot was taken from
+	 * @param snapshot The snapshot
+	 * @return A new campaign with the captured contents
+	 * @throws IOException if the snapshot is malformed
+	 */
+	static Campaign restore(URI sourceURI, byte[] snapshot) throws IOException
+	{
+		Campaign campaign = new Campaign();
+		campaign.setSourceURI(sourceURI);
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(snapshot)))
+		{
+			read(in, campaign);
+		}
+		catch (PersistenceLayerException | ReflectiveOperationException | RuntimeException e)
+		{
+			throw new IOException("Malformed campaign snapshot for " + sourceURI, e);
+		}
+		return campaign;
+	}
+
+	private static void write(DataOutput out, Campaign campaign) throws IOException, UnsupportedValueException
+	{
+		writeString(out, campaign.getDisplayName());
+
+		List<Prerequisite> prereqs = campaign.getPrerequisiteList();
+		out.writeInt(prereqs.size());
+		PrerequisiteWriter prereqWriter = new PrerequisiteWriter();
+		for (Prerequisite prereq : prereqs)
+		{
+			StringWriter sw = new StringWriter();
+			try
+			{
+				prereqWriter.write(sw, prereq);
+			}
+			catch (PersistenceLayerException e)
+			{
+				throw new UnsupportedValueException();
+			}
+			writeString(out, sw.toString());
+		}
+
+		out.writeInt(campaign.getIntegerKeys().size());
+		for (IntegerKey key : campaign.getIntegerKeys())
+		{
+			writeString(out, INTEGER_KEYS.nameOf(key));
+			out.writeInt(campaign.get(key));
+		}
+
+		out.writeInt(campaign.getStringKeys().size());
+		for (StringKey key : campaign.getStringKeys())
+		{
+			writeString(out, STRING_KEYS.nameOf(key));
+			writeString(out, campaign.get(key));
+		}
+
+		int objectCount = 0;
+		for (ObjectKey<?> key : campaign.getObjectKeys())
+		{
+			if (key != ObjectKey.SOURCE_CAMPAIGN)
+			{
+				objectCount++;
+			}
+		}
+		out.writeInt(objectCount);
+		for (ObjectKey<?> key : campaign.getObjectKeys())
+		{
+			if (key != ObjectKey.SOURCE_CAMPAIGN)
+			{
+				writeString(out, OBJECT_KEYS.nameOf(key));
+				writeValue(out, campaign.get(key));
+			}
+		}
+
+		out.writeInt(campaign.getListKeys().size());
+		for (ListKey<?> key : campaign.getListKeys())
+		{
+			writeString(out, LIST_KEYS.nameOf(key));
+			List<?> values = campaign.getListFor(key);
+			out.writeInt(values.size());
+			for (Object value : values)
+			{
+				writeValue(out, value);
+			}
+		}
+
+		out.writeInt(campaign.getMapKeys().size());
+		for (MapKey<?, ?> key : campaign.getMapKeys())
+		{
+			writeString(out, MAP_KEYS.nameOf(key));
+			Map<?, ?> values = campaign.getMapFor(key);
+			out.writeInt(values.size());
+			for (Map.Entry<?, ?> me : values.entrySet())
+			{
+				writeValue(out, me.getKey());
+				writeValue(out, me.getValue());
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void read(DataInput in, Campaign campaign)
+		throws IOException, PersistenceLayerException, ReflectiveOperationException
+	{
+		campaign.setName(readString(in));
+
+		int count = in.readInt();
+		for (int i = 0; i < count; i++)
+		{
+			campaign.addPrerequisite(PreParserFactory.getInstance().parse(readString(in)));
+		}
+
+		count = in.readInt();
+		for (int i = 0; i < count; i++)
+		{
+			campaign.put((IntegerKey) INTEGER_KEYS.keyFor(readString(in)), in.readInt());
+		}
+
+		count = in.readInt();
+		for (int i = 0; i < count; i++)
+		{
+			campaign.put((StringKey) STRING_KEYS.keyFor(readString(in)), readString(in));
+		}
+
+		count = in.readInt();
+		for (int i = 0; i < count; i++)
+		{
+			ObjectKey<Object> key = (ObjectKey<Object>) OBJECT_KEYS.keyFor(readString(in));
+			campaign.put(key, readValue(in, campaign));
+		}
+
+		count = in.readInt();
+		for (int i = 0; i < count; i++)
+		{
+			ListKey<Object> key = (ListKey<Object>) LIST_KEYS.keyFor(readString(in));
+			int size = in.readInt();
+			for (int j = 0; j < size; j++)
+			{
+				campaign.addToListFor(key, readValue(in, campaign));
+			}
+		}
+
+		count = in.readInt();
+		for (int i = 0; i < count; i++)
+		{
+			MapKey<Object, Object> key = (MapKey<Object, Object>) MAP_KEYS.keyFor(readString(in));
+			int size = in.readInt();
+			for (int j = 0; j < size; j++)
+			{
+				Object mapKey = readValue(in, campaign);
+				campaign.addToMapFor(key, mapKey, readValue(in, campaign));
+			}
+		}
+	}
+
+	private static void writeValue(DataOutput out, Object value) throws IOException, UnsupportedValueException
+	{
+		if (value instanceof String)
+		{
+			out.writeByte(STRING);
+			writeString(out, (String) value);
+		}
+		else if (value instanceof Integer)
+		{
+			out.writeByte(INTEGER);
+			out.writeInt((Integer) value);
+		}
+		else if (value instanceof Boolean)
+		{
+			out.writeByte(BOOLEAN);
+			out.writeBoolean((Boolean) value);
+		}
+		else if (value instanceof Type)
+		{
+			out.writeByte(TYPE);
+			writeString(out, value.toString());
+		}
+		else if ((value != null) && (value.getClass() == Date.class))
+		{
+			out.writeByte(DATE);
+			out.writeLong(((Date) value).getTime());
+		}
+		else if (value instanceof URI)
+		{
+			out.writeByte(URI_VALUE);
+			writeString(out, value.toString());
+		}
+		else if (value instanceof Enum)
+		{
+			out.writeByte(ENUM);
+			writeString(out, ((Enum<?>) value).getDeclaringClass().getName());
+			writeString(out, ((Enum<?>) value).name());
+		}
+		else if (value instanceof Class)
+		{
+			out.writeByte(CLASS);
+			writeString(out, ((Class<?>) value).getName());
+		}
+		else if (value instanceof CampaignSourceEntry)
+		{
+			CampaignSourceEntry cse = (CampaignSourceEntry) value;
+			if (!cse.getPrerequisites().isEmpty())
+			{
+				throw new UnsupportedValueException();
+			}
+			out.writeByte(SOURCE_ENTRY);
+			writeString(out, cse.getLSTformat());
+		}
+		else if (value instanceof CampaignURL)
+		{
+			CampaignURL url = (CampaignURL) value;
+			out.writeByte(CAMPAIGN_URL);
+			writeString(out, url.getUrlKind().name());
+			writeString(out, url.getUrlName());
+			writeString(out, url.getUri().toString());
+			writeString(out, url.getUrlDesc());
+		}
+		else
+		{
+			throw new UnsupportedValueException();
+		}
+	}
+
+	private static Object readValue(DataInput in, Campaign campaign) throws IOException, ReflectiveOperationException
+	{
+		byte tag = in.readByte();
+		switch (tag)
+		{
+			case STRING:
+				return readString(in);
+			case INTEGER:
+				return in.readInt();
+			case BOOLEAN:
+				return in.readBoolean();
+			case TYPE:
+				return Type.getConstant(readString(in));
+			case DATE:
+				return new Date(in.readLong());
+			case URI_VALUE:
+				return URI.create(readString(in));
+			case ENUM:
+				Class<?> enumClass = loadClass(readString(in));
+				String name = readString(in);
+				for (Object constant : enumClass.getEnumConstants())
+				{
+					if (((Enum<?>) constant).name().equals(name))
+					{
+						return constant;
+					}
+				}
+				throw new IOException("Unknown constant " + name + " in " + enumClass);
+			case CLASS:
+				return loadClass(readString(in));
+			case SOURCE_ENTRY:
+				CampaignSourceEntry cse =
+						CampaignSourceEntry.getNewCSE(campaign, campaign.getSourceURI(), readString(in));
+				if (cse == null)
+				{
+					throw new IOException("Unreadable source entry in " + campaign.getSourceURI());
+				}
+				return cse;
+			case CAMPAIGN_URL:
+				CampaignURL.URLKind kind = CampaignURL.URLKind.valueOf(readString(in));
+				String urlName = readString(in);
+				URI uri = URI.create(readString(in));
+				return new CampaignURL(kind, urlName, uri, readString(in));
+			default:
+				throw new IOException("Unknown value tag " + tag);
+		}
+	}
+
+	/**
+	 * Checks that a restored campaign holds the same values as the parsed one.
+	 * The SOURCE_CAMPAIGN of each campaign refers to itself, so it is checked
+	 * for that rather than compared.
+	 */
+	private static boolean isEquivalent(Campaign parsed, Campaign restored)
+	{
+		if (!Objects.equals(parsed.getDisplayName(), restored.getDisplayName())
+			|| !Objects.equals(parsed.getSourceURI(), restored.getSourceURI())
+			|| !new HashSet<>(parsed.getPrerequisiteList()).equals(new HashSet<>(restored.getPrerequisiteList()))
+			|| !parsed.getIntegerKeys().equals(restored.getIntegerKeys())
+			|| !parsed.getStringKeys().equals(restored.getStringKeys())
+			|| !parsed.getObjectKeys().equals(restored.getObjectKeys())
+			|| !parsed.getListKeys().equals(restored.getListKeys())
+			|| !parsed.getMapKeys().equals(restored.getMapKeys()))
+		{
+			return false;
+		}
+		if (parsed.getCampaignContext().getReferenceContext().getAllManufacturers().size() != restored
+			.getCampaignContext().getReferenceContext().getAllManufacturers().size())
+		{
+			return false;
+		}
+		for (IntegerKey key : parsed.getIntegerKeys())
+		{
+			if (!Objects.equals(parsed.get(key), restored.get(key)))
+			{
+				return false;
+			}
+		}
+		for (StringKey key : parsed.getStringKeys())
+		{
+			if (!Objects.equals(parsed.get(key), restored.get(key)))
+			{
+				return false;
+			}
+		}
+		for (ObjectKey<?> key : parsed.getObjectKeys())
+		{
+			if (key == ObjectKey.SOURCE_CAMPAIGN)
+			{
+				if ((parsed.get(key) != parsed) || (restored.get(key) != restored))
+				{
+					return false;
+				}
+			}
+			else if (!Objects.equals(parsed.get(key), restored.get(key)))
+			{
+				return false;
+			}
+		}
+		for (ListKey<?> key : parsed.getListKeys())
+		{
+			if (!Objects.equals(parsed.getListFor(key), restored.getListFor(key)))
+			{
+				return false;
+			}
+		}
+		for (MapKey<?, ?> key : parsed.getMapKeys())
+		{
+			if (!Objects.equals(parsed.getMapFor(key), restored.getMapFor(key)))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static Class<?> loadClass(String name) throws ClassNotFoundException
+	{
+		return Class.forName(name, false, CampaignSnapshot.class.getClassLoader());
+	}
+
+	private static void writeString(DataOutput out, String value) throws IOException
+	{
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(DataInput in) throws IOException
+	{
+		byte[] bytes = new byte[in.readInt()];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Maps the public constants of a key class to and from their field names,
+	 * which stay stable between runs.
+	 */
+	private static final class KeyNames
+	{
+		private final Map<String, Object> keys = new HashMap<>();
+		private final Map<Object, String> names = new IdentityHashMap<>();
+
+		private KeyNames(Class<?> keyClass)
+		{
+			for (Field field : keyClass.getDeclaredFields())
+			{
+				int mod = field.getModifiers();
+				if (Modifier.isStatic(mod) && Modifier.isFinal(mod) && Modifier.isPublic(mod)
+					&& (field.getType() == keyClass))
+				{
+					try
+					{
+						Object key = field.get(null);
+						keys.put(field.getName(), key);
+						names.put(key, field.getName());
+					}
+					catch (IllegalAccessException e)
+					{
+						// Not a usable constant; campaigns using it are not captured
+					}
+				}
+			}
+		}
+
+		private String nameOf(Object key) throws UnsupportedValueException
+		{
+			String name = names.get(key);
+			if (name == null)
+			{
+				throw new UnsupportedValueException();
+			}
+			return name;
+		}
+
+		private Object keyFor(String name) throws IOException
+		{
+			Object key = keys.get(name);
+			if (key == null)
+			{
+				throw new IOException("Unknown key " + name);
+			}
+			return key;
+		}
+	}
+
+	/**
+	 * Thrown while capturing a campaign that holds a value this class cannot
+	 * store.
+	 */
+	private static final class UnsupportedValueException extends Exception
+	{
+		private static final long serialVersionUID = 1L;
+	}
+}
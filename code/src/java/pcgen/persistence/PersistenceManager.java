@@ -84,4 +84,16 @@ public final class PersistenceManager
 		return INSTANCE.getChosenCampaignSourcefiles(SettingsHandler.getGame());
 	}
 
+	/**
+	 * Get the chosen campaign source files for the specific game mode.
+	 * @param game The game mode.
+	 * @return the chosen campaign source files
+	 * 
+	 * CODE-1889 to remove use of this method
+	 */
+	public List<URI> getChosenCampaignSourcefiles(GameMode game)
+	{
+		return INSTANCE.getChosenCampaignSourcefiles(game);
+	}
+
 }
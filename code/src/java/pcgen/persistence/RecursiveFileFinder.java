@@ -3,7 +3,11 @@ package pcgen.persistence;
 import java.io.File;
 import java.io.FilenameFilter;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
 import org.apache.commons.lang3.StringUtils;
 
 public class RecursiveFileFinder
@@ -20,6 +24,8 @@ public class RecursiveFileFinder
 	/**
 	 * Recursively looks inside a given directory for PCC files
 	 * and adds them to the {@link #campaignFiles campaignFiles} list.
+	 * Sub-directories are searched concurrently, but the files are added
+	 * in the same order a sequential walk would produce.
 	 *  @param aDirectory    The directory to search.
 	 * @param campaignFiles
 	 */
@@ -29,19 +35,57 @@ public class RecursiveFileFinder
 		{
 			return;
 		}
-		_findFiles(aDirectory, campaignFiles);
+		campaignFiles.addAll(ForkJoinPool.commonPool().invoke(new DirectoryTask(aDirectory)));
 	}
 
-	private void _findFiles(File aDirectory, List<URI> campaignFiles)
+	/**
+	 * Lists one directory, forking a sub-task for each sub-directory and
+	 * joining the results in listing order.
+	 */
+	private final class DirectoryTask extends RecursiveTask<List<URI>>
 	{
-		for (final File file : aDirectory.listFiles(pccFileFilter))
+		private final File directory;
+
+		private DirectoryTask(File directory)
 		{
-			if (file.isDirectory())
+			this.directory = directory;
+		}
+
+		@Override
+		protected List<URI> compute()
+		{
+			File[] files = directory.listFiles(pccFileFilter);
+			List<URI> found = new ArrayList<>();
+			if (files == null)
+			{
+				return found;
+			}
+			List<Object> ordered = new ArrayList<>(files.length);
+			for (final File file : files)
+			{
+				if (file.isDirectory())
+				{
+					DirectoryTask task = new DirectoryTask(file);
+					task.fork();
+					ordered.add(task);
+				}
+				else
+				{
+					ordered.add(file.toURI());
+				}
+			}
+			for (Object o : ordered)
 			{
-				_findFiles(file, campaignFiles);
-				continue;
+				if (o instanceof DirectoryTask)
+				{
+					found.addAll(((DirectoryTask) o).join());
+				}
+				else
+				{
+					found.add((URI) o);
+				}
 			}
-			campaignFiles.add(file.toURI());
+			return found;
 		}
 	}
 }
@@ -24,9 +24,12 @@ import java.io.IOException;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Observable;
 import java.util.Observer;
 import java.util.Set;
@@ -39,6 +42,7 @@ import pcgen.base.formula.base.LegalScope;
 import pcgen.base.util.AbstractMapToList;
 import pcgen.base.util.FormatManager;
 import pcgen.base.util.HashMapToList;
+import pcgen.cdom.base.CDOMObject;
 import pcgen.cdom.base.Constants;
 import pcgen.cdom.content.ContentDefinition;
 import pcgen.cdom.content.fact.FactDefinition;
@@ -120,6 +124,7 @@ import pcgen.system.ConfigurationSettings;
 import pcgen.system.LanguageBundle;
 import pcgen.system.PCGenSettings;
 import pcgen.system.PCGenTask;
+import pcgen.util.LoadInterner;
 import pcgen.util.Logging;
 
 public class SourceFileLoader extends PCGenTask implements Observer
@@ -171,6 +176,7 @@ public class SourceFileLoader extends PCGenTask implements Observer
 	private final Collection<CampaignSourceEntry> licenseFiles = new ArrayList<>();
 	private final Collection<String> sourcesSet = new TreeSet<>();
 	private final Collection<Campaign> loadedCampaigns = new ArrayList<>();
+	private final Map<String, String> campaignOptions = new LinkedHashMap<>();
 	private final StringBuilder sec15 = new StringBuilder(500);
 	private final StringBuilder licensesToDisplayString = new StringBuilder(500);
 	private final StringBuilder matureCampaigns = new StringBuilder(100);
@@ -254,6 +260,18 @@ public class SourceFileLoader extends PCGenTask implements Observer
 		return sec15.toString();
 	}
 
+	/**
+	 * Returns the options set by the loaded campaigns, in the order they were
+	 * applied, so that they can be applied again when the loaded data is
+	 * reused.
+	 * 
+	 * @return The options set by the loaded campaigns
+	 */
+	public Map<String, String> getCampaignOptions()
+	{
+		return Collections.unmodifiableMap(campaignOptions);
+	}
+
 	public String getLicenses()
 	{
 		return licensesToDisplayString.toString();
@@ -471,6 +489,7 @@ public class SourceFileLoader extends PCGenTask implements Observer
 
 		sourcesSet.clear();
 		licenseFiles.clear();
+		campaignOptions.clear();
 
 		if (selectedCampaigns.isEmpty())
 		{
@@ -481,6 +500,7 @@ public class SourceFileLoader extends PCGenTask implements Observer
 		// -- sage_sam
 		try
 		{
+			LoadInterner.start();
 			LoadContext context = Globals.getContext();
 			loadCampaigns(selectedGame, selectedCampaigns, context);
 
@@ -505,6 +525,7 @@ public class SourceFileLoader extends PCGenTask implements Observer
 			 * context.setLoaded, not in finishLoad
 			 */
 			context.loadCampaignFacets();
+			trimLoadedObjects(context);
 
 			dataset = new DataSet(context, selectedGame, new DefaultListFacade<>(selectedCampaigns));
 			//			//  Show the licenses
@@ -515,6 +536,14 @@ public class SourceFileLoader extends PCGenTask implements Observer
 			Logging.errorPrint("Exception loading files.", thr);
 			uiDelegate.showErrorMessage(Constants.APPLICATION_NAME, "Failed to load campaigns, see log for details.");
 		}
+		finally
+		{
+			LoadInterner.Report report = LoadInterner.finish();
+			if (report != null)
+			{
+				Logging.log(Logging.INFO, report.toString());
+			}
+		}
 	}
 
 	private void loadCampaigns(GameMode gamemode, final List<Campaign> aSelectedCampaignsList, LoadContext context)
@@ -786,6 +815,21 @@ public class SourceFileLoader extends PCGenTask implements Observer
 		}
 	}
 
+	/**
+	 * Release the spare capacity in the storage of every loaded object, now
+	 * that loading is complete.
+	 */
+	private void trimLoadedObjects(LoadContext context)
+	{
+		for (Object obj : context.getReferenceContext().getAllConstructedObjects())
+		{
+			if (obj instanceof CDOMObject)
+			{
+				((CDOMObject) obj).trimToSize();
+			}
+		}
+	}
+
 	private void referenceAllCategories(LoadContext context)
 	{
 		GameMode gamemode = SettingsHandler.getGame();
@@ -1059,28 +1103,46 @@ public class SourceFileLoader extends PCGenTask implements Observer
 	 * 
 	 * @param aCamp
 	 */
-	private static void setCampaignOptions(Campaign aCamp)
+	private void setCampaignOptions(Campaign aCamp)
 	{
 		Set<String> keys = aCamp.getKeysFor(MapKey.PROPERTY);
 		if (keys != null)
 		{
+			Map<String, String> options = new LinkedHashMap<>();
 			for (final String key : keys)
 			{
-				String value = aCamp.get(MapKey.PROPERTY, key);
-				if (key.contains("."))
-				{
-					PCGenSettings.getInstance().setProperty(key, value);
-				}
-				else
-				{
-					PCGenSettings.OPTIONS_CONTEXT.setProperty(key, value);
-				}
-				// Note: This is just until we transition all settings from the legacy settings
-				SettingsHandler.setPCGenOption(key, value);
+				options.put(key, aCamp.get(MapKey.PROPERTY, key));
+			}
+			campaignOptions.putAll(options);
+			applyCampaignOptions(options);
+		}
+	}
+
+	/**
+	 * Sets the given options, as specified by campaigns, in the settings.
+	 * 
+	 * @param options
+	 *            The options to be set, keyed by option name
+	 */
+	public static void applyCampaignOptions(Map<String, String> options)
+	{
+		for (Map.Entry<String, String> entry : options.entrySet())
+		{
+			String key = entry.getKey();
+			String value = entry.getValue();
+			if (key.contains("."))
+			{
+				PCGenSettings.getInstance().setProperty(key, value);
+			}
+			else
+			{
+				PCGenSettings.OPTIONS_CONTEXT.setProperty(key, value);
 			}
-			// Make sure any game mode settings are applied.
-			SystemCollections.getUnmodifiableGameModeList().forEach(GameMode::applyPreferences);
+			// Note: This is just until we transition all settings from the legacy settings
+			SettingsHandler.setPCGenOption(key, value);
 		}
+		// Make sure any game mode settings are applied.
+		SystemCollections.getUnmodifiableGameModeList().forEach(GameMode::applyPreferences);
 	}
 
 	/**
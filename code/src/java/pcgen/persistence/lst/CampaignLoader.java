@@ -144,14 +144,46 @@ public class CampaignLoader extends LstLineFileLoader
 	 */
 	public void loadCampaignLstFile(URI filePath) throws PersistenceLayerException
 	{
+		registerCampaign(parseCampaign(filePath, LstFileLoader.readFromURI(filePath)));
+	}
+
+	/**
+	 * Parses the text of a campaign LST file into a new Campaign without
+	 * adding it to the Global container. This touches no global state, so
+	 * separate CampaignLoader instances may parse campaigns concurrently.
+	 * 
+	 * @param filePath The file path the text was read from.
+	 * @param source The text of the campaign LST file.
+	 * @return The parsed Campaign.
+	 * @throws PersistenceLayerException  if problems with lst file.
+	 */
+	public Campaign parseCampaign(URI filePath, String source) throws PersistenceLayerException
+	{
+		if (source == null)
+		{
+			throw new PersistenceLayerException("Unable to read campaign file " + filePath);
+		}
 		// Instantiate a Campaign, which will automatically establish a LoadContext
 		campaign = new Campaign();
 		campaign.setSourceURI(filePath);
 
 		// Parses the data in the referenced URI and loads it into a LoadContext;
 		// this quickly goes to the parseLine method below
-		super.loadLstFile(campaign.getCampaignContext(), filePath);
+		LoadContext context = campaign.getCampaignContext();
+		context.setSourceURI(filePath);
+		super.loadLstString(context, filePath, source);
+		return campaign;
+	}
 
+	/**
+	 * Adds a Campaign produced by {@link #parseCampaign(URI, String)} to the
+	 * Global container, unless a campaign from the same file is already there.
+	 * 
+	 * @param parsed The parsed Campaign.
+	 */
+	public void registerCampaign(Campaign parsed)
+	{
+		campaign = parsed;
 		// Make sure this campaign has not already been added to the Global container
 		if (Globals.getCampaignByURI(campaign.getSourceURI(), false) == null)
 		{
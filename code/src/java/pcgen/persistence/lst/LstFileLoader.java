@@ -24,7 +24,12 @@ import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 import pcgen.cdom.base.Constants;
 import pcgen.core.SettingsHandler;
@@ -66,6 +71,18 @@ public final class LstFileLoader
 	/** The String that separates individual objects */
 	public static final String LINE_SEPARATOR_REGEXP = "(\r\n?|\n)"; //$NON-NLS-1$
 
+	/**
+	 * Files up to this size are read into the loading thread's reused buffer;
+	 * larger files are read into a buffer of their own.
+	 */
+	private static final int REUSED_BUFFER_LIMIT = 4 * 1024 * 1024;
+
+	/**
+	 * The read buffer of each loading thread, reused for every file that
+	 * thread reads.
+	 */
+	private static final ThreadLocal<ReadBuffer> READ_BUFFER = ThreadLocal.withInitial(ReadBuffer::new);
+
 	/**
 	 * This method reads the given URL and stores its contents in the provided
 	 * data buffer, returning a URL to the specified file for use in log/error
@@ -102,6 +119,11 @@ public final class LstFileLoader
 			//only load local urls, unless loading of URLs is allowed
 			if (!CoreUtility.isNetURL(url) || SettingsHandler.isLoadURLs())
 			{
+				Path path = getLocalPath(uri);
+				if (path != null)
+				{
+					return readFromPath(path);
+				}
 				InputStream inputStream = url.openStream();
 				// Java doesn't handle BOM correctly. See http://bugs.sun.com/bugdatabase/view_bug.do?bug_id=4508058
 				try (var bomInputStream = new BOMInputStream(inputStream))
@@ -129,4 +151,82 @@ public final class LstFileLoader
 		}
 		return null;
 	}
+
+	/**
+	 * Returns the local file for the given URI, or null if the URI is not a
+	 * file: URI in the default file system.
+	 */
+	private static Path getLocalPath(URI uri)
+	{
+		if (!"file".equalsIgnoreCase(uri.getScheme()))
+		{
+			return null;
+		}
+		try
+		{
+			return Path.of(uri);
+		}
+		catch (IllegalArgumentException | FileSystemNotFoundException e)
+		{
+			return null;
+		}
+	}
+
+	/**
+	 * Reads a local UTF-8 file into the thread's reused buffer and decodes it
+	 * straight into a String, so the only allocation of the size of the file
+	 * is the String itself.
+	 */
+	private static String readFromPath(Path path) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+		{
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE)
+			{
+				throw new IOException("File is too large to load: " + path);
+			}
+			byte[] bytes = READ_BUFFER.get().get((int) size);
+			ByteBuffer target = ByteBuffer.wrap(bytes, 0, (int) size);
+			int length = 0;
+			while (length < size)
+			{
+				int read = channel.read(target);
+				if (read < 0)
+				{
+					break;
+				}
+				length += read;
+			}
+			// Java doesn't handle BOM correctly. See http://bugs.sun.com/bugdatabase/view_bug.do?bug_id=4508058
+			int start = 0;
+			if ((length >= 3) && (bytes[0] == (byte) 0xEF) && (bytes[1] == (byte) 0xBB) && (bytes[2] == (byte) 0xBF))
+			{
+				start = 3;
+			}
+			// Like new String(byte[], UTF_8), malformed input is replaced rather than rejected
+			return new String(bytes, start, length - start, StandardCharsets.UTF_8);
+		}
+	}
+
+	/**
+	 * A read buffer which is grown as needed, up to REUSED_BUFFER_LIMIT.
+	 */
+	private static final class ReadBuffer
+	{
+		private byte[] bytes = new byte[0];
+
+		private byte[] get(int size)
+		{
+			if (size > REUSED_BUFFER_LIMIT)
+			{
+				return new byte[size];
+			}
+			if (bytes.length < size)
+			{
+				bytes = new byte[Math.max(size, Math.min(bytes.length * 2, REUSED_BUFFER_LIMIT))];
+			}
+			return bytes;
+		}
+	}
 }
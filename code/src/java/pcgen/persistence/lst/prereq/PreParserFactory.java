@@ -30,6 +30,7 @@ import pcgen.core.prereq.Prerequisite;
 import pcgen.core.prereq.PrerequisiteOperator;
 import pcgen.persistence.PersistenceLayerException;
 import pcgen.system.PluginLoader;
+import pcgen.util.LoadInterner;
 import pcgen.util.Logging;
 
 public final class PreParserFactory implements PluginLoader
@@ -130,6 +131,16 @@ public final class PreParserFactory implements PluginLoader
 			throw new PersistenceLayerException("'" + prereqStr + "'" + " is a badly formatted prereq.");
 		}
 
+		/*
+		 * While data is loading, identical PRE strings share one (immutable)
+		 * Prerequisite tree.
+		 */
+		Prerequisite shared = LoadInterner.getShared(LoadInterner.Category.PREREQUISITE, prereqStr);
+		if (shared != null)
+		{
+			return shared;
+		}
+
 		String kind = prereqStr.substring(0, index);
 		String formula = prereqStr.substring(index + 1);
 
@@ -161,10 +172,15 @@ public final class PreParserFactory implements PluginLoader
 				&& prereq.getOperator().equals(PrerequisiteOperator.GTEQ) && prereq.getOperand().equals("1"))
 			{
 				Prerequisite sub = prereq.getPrerequisites().get(0);
-				sub.setOriginalCheckmult(prereq.isOriginalCheckMult());
+				if (sub.isOriginalCheckMult() != prereq.isOriginalCheckMult())
+				{
+					// The sub-prerequisite may be shared, so alter a copy
+					sub = sub.clone();
+					sub.setOriginalCheckmult(prereq.isOriginalCheckMult());
+				}
 				prereq = sub;
 			}
-			return prereq;
+			return LoadInterner.share(LoadInterner.Category.PREREQUISITE, prereqStr, prereq);
 		}
 		catch (Throwable t)
 		{
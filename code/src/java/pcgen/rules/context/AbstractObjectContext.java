@@ -48,138 +48,152 @@ public abstract class AbstractObjectContext implements ObjectCommitStrategy
 {
 	private final TrackingObjectCommitStrategy edits = new TrackingObjectCommitStrategy();
 
+	/**
+	 * Returns the ObjectCommitStrategy that receives the edits made by tokens.
+	 * By default the edits are staged, and only applied to the
+	 * ObjectCommitStrategy returned by getCommitStrategy() on commit().
+	 * Subclasses which apply edits directly must also override commit() and
+	 * rollback().
+	 * 
+	 * @return The ObjectCommitStrategy that receives the edits made by tokens
+	 */
+	protected ObjectCommitStrategy getEditStrategy()
+	{
+		return edits;
+	}
+
 	@Override
 	public void setSourceURI(URI sourceURI)
 	{
-		edits.setSourceURI(sourceURI);
+		getEditStrategy().setSourceURI(sourceURI);
 		getCommitStrategy().setSourceURI(sourceURI);
 	}
 
 	@Override
 	public void setExtractURI(URI extractURI)
 	{
-		edits.setExtractURI(extractURI);
+		getEditStrategy().setExtractURI(extractURI);
 		getCommitStrategy().setExtractURI(extractURI);
 	}
 
 	@Override
 	public <T> void addToList(CDOMObject cdo, ListKey<T> key, T value)
 	{
-		edits.addToList(cdo, key, value);
+		getEditStrategy().addToList(cdo, key, value);
 	}
 
 	@Override
 	public <T> void addToSet(CDOMObject cdo, FactSetKey<T> key, Indirect<T> value)
 	{
-		edits.addToSet(cdo, key, value);
+		getEditStrategy().addToSet(cdo, key, value);
 	}
 
 	@Override
 	public <K, V> void put(CDOMObject cdo, MapKey<K, V> mk, K key, V value)
 	{
-		edits.put(cdo, mk, key, value);
+		getEditStrategy().put(cdo, mk, key, value);
 	}
 
 	@Override
 	public void put(CDOMObject cdo, FormulaKey fk, Formula f)
 	{
-		edits.put(cdo, fk, f);
+		getEditStrategy().put(cdo, fk, f);
 	}
 
 	@Override
 	public void put(ConcretePrereqObject cpo, Prerequisite p)
 	{
-		edits.put(cpo, p);
+		getEditStrategy().put(cpo, p);
 	}
 
 	@Override
 	public void clearPrerequisiteList(ConcretePrereqObject cpo)
 	{
-		edits.clearPrerequisiteList(cpo);
+		getEditStrategy().clearPrerequisiteList(cpo);
 	}
 
 	@Override
 	public void put(CDOMObject cdo, IntegerKey ik, Integer i)
 	{
-		edits.put(cdo, ik, i);
+		getEditStrategy().put(cdo, ik, i);
 	}
 
 	@Override
 	public void remove(CDOMObject cdo, IntegerKey ik)
 	{
-		edits.remove(cdo, ik);
+		getEditStrategy().remove(cdo, ik);
 	}
 
 	@Override
 	public <T> void put(CDOMObject cdo, ObjectKey<T> sk, T s)
 	{
-		edits.put(cdo, sk, s);
+		getEditStrategy().put(cdo, sk, s);
 	}
 
 	@Override
 	public void remove(CDOMObject cdo, ObjectKey<?> sk)
 	{
-		edits.remove(cdo, sk);
+		getEditStrategy().remove(cdo, sk);
 	}
 
 	@Override
 	public <T> void put(CDOMObject cdo, FactKey<T> sk, Indirect<T> s)
 	{
-		edits.put(cdo, sk, s);
+		getEditStrategy().put(cdo, sk, s);
 	}
 
 	@Override
 	public void remove(CDOMObject cdo, FactKey<?> sk)
 	{
-		edits.remove(cdo, sk);
+		getEditStrategy().remove(cdo, sk);
 	}
 
 	@Override
 	public void put(CDOMObject cdo, StringKey sk, String s)
 	{
-		edits.put(cdo, sk, s);
+		getEditStrategy().put(cdo, sk, s);
 	}
 
 	@Override
 	public void remove(CDOMObject cdo, StringKey sk)
 	{
-		edits.remove(cdo, sk);
+		getEditStrategy().remove(cdo, sk);
 	}
 
 	@Override
 	public void put(CDOMObject cdo, VariableKey vk, Formula f)
 	{
-		edits.put(cdo, vk, f);
+		getEditStrategy().put(cdo, vk, f);
 	}
 
 	@Override
 	public <T> void removeFromList(CDOMObject cdo, ListKey<T> lk, T val)
 	{
-		edits.removeFromList(cdo, lk, val);
+		getEditStrategy().removeFromList(cdo, lk, val);
 	}
 
 	@Override
 	public void removeList(CDOMObject cdo, ListKey<?> lk)
 	{
-		edits.removeList(cdo, lk);
+		getEditStrategy().removeList(cdo, lk);
 	}
 
 	@Override
 	public <T> void removeFromSet(CDOMObject cdo, FactSetKey<T> lk, Indirect<T> val)
 	{
-		edits.removeFromSet(cdo, lk, val);
+		getEditStrategy().removeFromSet(cdo, lk, val);
 	}
 
 	@Override
 	public void removeSet(CDOMObject cdo, FactSetKey<?> lk)
 	{
-		edits.removeSet(cdo, lk);
+		getEditStrategy().removeSet(cdo, lk);
 	}
 
 	@Override
 	public <K, V> void remove(CDOMObject cdo, MapKey<K, V> mk, K key)
 	{
-		edits.remove(cdo, mk, key);
+		getEditStrategy().remove(cdo, mk, key);
 	}
 
 	void commit()
@@ -842,7 +856,7 @@ public abstract class AbstractObjectContext implements ObjectCommitStrategy
 	@Override
 	public <T> void removePatternFromList(CDOMObject cdo, ListKey<T> lk, String pattern)
 	{
-		edits.removePatternFromList(cdo, lk, pattern);
+		getEditStrategy().removePatternFromList(cdo, lk, pattern);
 	}
 
 	@Override
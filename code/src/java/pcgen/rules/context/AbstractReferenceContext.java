@@ -29,6 +29,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import pcgen.base.format.dice.DiceFormat;
 import pcgen.base.formatmanager.ArrayFormatFactory;
@@ -67,6 +71,7 @@ import pcgen.core.PCClass;
 import pcgen.core.SubClass;
 import pcgen.output.channel.compat.HandedCompat;
 import pcgen.util.Logging;
+import pcgen.util.ParseDiagnostic;
 
 /**
  * An AbstractReferenceContext is responsible for dealing with References during load of a
@@ -98,6 +103,12 @@ public abstract class AbstractReferenceContext
 	private static final Class<DataTable> DATA_TABLE_CLASS = DataTable.class;
 	private static final Class<TableColumn> TABLE_COLUMN_CLASS = TableColumn.class;
 
+	/**
+	 * Whether ReferenceManufacturers without a parent are processed
+	 * concurrently; only switched off to compare with serial processing.
+	 */
+	private static volatile boolean concurrentProcessing = true;
+
 	private DoubleKeyMap<Class<?>, Object, WeakReference<List<?>>> sortedMap = new DoubleKeyMap<>();
 
 	private final Map<CDOMObject, CDOMSingleRef<?>> directRefCache = new HashMap<>();
@@ -148,12 +159,76 @@ public abstract class AbstractReferenceContext
 
 	public boolean validate(UnconstructedValidator validator)
 	{
-		boolean returnGood = true;
-		for (ReferenceManufacturer<?> ref : getAllManufacturers())
+		return processManufacturers(ref -> ref.validate(validator));
+	}
+
+	/**
+	 * Applies the given action to every ReferenceManufacturer in this
+	 * AbstractReferenceContext, returning true if the action returned true for
+	 * all of them. The action is applied to all ReferenceManufacturers even if
+	 * it fails for one of them.
+	 * 
+	 * Each ReferenceManufacturer holds its own objects and references, so the
+	 * ReferenceManufacturers without a parent are processed concurrently.
+	 * Those with a parent (the categorized manufacturers) are populated from
+	 * their parent, so they are processed afterwards, one at a time and in
+	 * order. Parse messages queued while a ReferenceManufacturer is processed
+	 * on another thread are added to the queue of the calling thread, in the
+	 * order of the ReferenceManufacturers, so they are replayed or cleared
+	 * just as if the ReferenceManufacturers had been processed serially.
+	 * 
+	 * @param action
+	 *            The action to be applied to each ReferenceManufacturer
+	 * @return true if the action returned true for every
+	 *         ReferenceManufacturer; false otherwise
+	 */
+	private boolean processManufacturers(Predicate<ReferenceManufacturer<?>> action)
+	{
+		List<ReferenceManufacturer<?>> independent = new ArrayList<>();
+		List<ReferenceManufacturer<?>> dependent = new ArrayList<>();
+		for (ReferenceManufacturer<?> rm : getAllManufacturers())
 		{
-			returnGood &= ref.validate(validator);
+			if (CATEGORIZED_CLASS.isAssignableFrom(rm.getReferenceClass()) || (rm.getFactory().getParent() != null))
+			{
+				dependent.add(rm);
+			}
+			else
+			{
+				independent.add(rm);
+			}
 		}
-		return returnGood;
+		// every manufacturer is processed, even once one has failed
+		AtomicBoolean returnGood = new AtomicBoolean(true);
+		Stream<ReferenceManufacturer<?>> stream =
+				concurrentProcessing ? independent.parallelStream() : independent.stream();
+		List<List<ParseDiagnostic>> messages = stream.map(rm -> {
+			List<ParseDiagnostic> queued = new ArrayList<>();
+			if (!Logging.collectParseMessages(() -> action.test(rm), queued))
+			{
+				returnGood.set(false);
+			}
+			return queued;
+		}).collect(Collectors.toList());
+		messages.forEach(Logging::addParseDiagnostics);
+		boolean dependentGood = true;
+		for (ReferenceManufacturer<?> rm : dependent)
+		{
+			dependentGood &= action.test(rm);
+		}
+		return returnGood.get() && dependentGood;
+	}
+
+	/**
+	 * Sets whether the ReferenceManufacturers without a parent are processed
+	 * concurrently. This is on by default.
+	 * 
+	 * @param concurrent
+	 *            true to process the ReferenceManufacturers concurrently; false
+	 *            to process them one at a time
+	 */
+	static void setConcurrentProcessing(boolean concurrent)
+	{
+		concurrentProcessing = concurrent;
 	}
 
 	public <T extends Loadable> CDOMGroupRef<T> getCDOMAllReference(Class<T> c)
@@ -399,12 +474,7 @@ public abstract class AbstractReferenceContext
 
 	public boolean resolveReferences(UnconstructedValidator validator)
 	{
-		boolean returnGood = true;
-		for (ReferenceManufacturer<?> rs : getAllManufacturers())
-		{
-			returnGood &= processResolution(validator, rs);
-		}
-		return returnGood;
+		return processManufacturers(rs -> processResolution(validator, rs));
 	}
 
 	private <T extends Loadable> boolean processResolution(UnconstructedValidator validator,
@@ -418,10 +488,10 @@ public abstract class AbstractReferenceContext
 
 	public void buildDeferredObjects()
 	{
-		for (ReferenceManufacturer<?> rs : getAllManufacturers())
-		{
+		processManufacturers(rs -> {
 			rs.buildDeferredObjects();
-		}
+			return true;
+		});
 	}
 
 	public <T extends Loadable> T constructNowIfNecessary(Class<T> cl, String name)
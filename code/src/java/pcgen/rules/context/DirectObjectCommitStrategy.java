@@ -0,0 +1,628 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.rules.context;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import pcgen.base.formula.Formula;
+import pcgen.base.util.Indirect;
+import pcgen.cdom.base.CDOMObject;
+import pcgen.cdom.base.ConcretePrereqObject;
+import pcgen.cdom.base.Constants;
+import pcgen.cdom.enumeration.FactKey;
+import pcgen.cdom.enumeration.FactSetKey;
+import pcgen.cdom.enumeration.FormulaKey;
+import pcgen.cdom.enumeration.IntegerKey;
+import pcgen.cdom.enumeration.ListKey;
+import pcgen.cdom.enumeration.MapKey;
+import pcgen.cdom.enumeration.ObjectKey;
+import pcgen.cdom.enumeration.StringKey;
+import pcgen.cdom.enumeration.VariableKey;
+import pcgen.core.prereq.Prerequisite;
+
+/**
+ * A DirectObjectCommitStrategy writes edits straight into the target
+ * CDOMObject, rather than staging them in shadow objects as the
+ * TrackingObjectCommitStrategy does.
+ * 
+ * So that a token which fails to parse leaves no trace, the first edit of each
+ * key of an object since the last commit() takes a snapshot of the prior value
+ * of that key. commit() discards the snapshots; rollback() restores them.
+ * Appending to a list or fact set only records its prior length, and editing a
+ * map only records the prior values of the entries edited, so the common edits
+ * do not copy the existing contents.
+ * 
+ * Unlike the staged strategy, edits take effect in the order they are made,
+ * and are visible to the get methods as soon as they are made. This is only
+ * suitable for runtime loading, where nothing inspects the pending changes of
+ * a token.
+ */
+public class DirectObjectCommitStrategy extends ConsolidatedObjectCommitStrategy
+{
+	/**
+	 * Identifies the prerequisites of a ConcretePrereqObject in the undo log.
+	 */
+	private static final Object PREREQUISITES = new Object();
+
+	private final List<Undo> undoLog = new ArrayList<>();
+
+	/**
+	 * Accepts the edits made since the last commit or rollback.
+	 */
+	public void commit()
+	{
+		undoLog.clear();
+	}
+
+	/**
+	 * Reverts the edits made since the last commit or rollback.
+	 */
+	public void rollback()
+	{
+		for (int i = undoLog.size() - 1; i >= 0; i--)
+		{
+			undoLog.get(i).restore();
+		}
+		undoLog.clear();
+	}
+
+	/**
+	 * Returns the position in the undo log of the record of the given key of
+	 * the given object, or -1 if it has not been recorded. Tokens touch very
+	 * few keys, so a scan is sufficient.
+	 */
+	private int indexOf(ConcretePrereqObject owner, Object key)
+	{
+		for (int i = 0; i < undoLog.size(); i++)
+		{
+			Undo undo = undoLog.get(i);
+			if ((undo.owner == owner) && undo.key.equals(key))
+			{
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private boolean isRecorded(ConcretePrereqObject owner, Object key)
+	{
+		return indexOf(owner, key) != -1;
+	}
+
+	private void recordPrerequisites(ConcretePrereqObject cpo)
+	{
+		Objects.requireNonNull(cpo, "Cannot assign contents to null object");
+		if (!isRecorded(cpo, PREREQUISITES))
+		{
+			List<Prerequisite> old = cpo.getPrerequisiteList();
+			undoLog.add(new Undo(cpo, PREREQUISITES)
+			{
+				@Override
+				void restore()
+				{
+					cpo.clearPrerequisiteList();
+					cpo.addAllPrerequisites(old);
+				}
+			});
+		}
+	}
+
+	private void record(CDOMObject cdo, StringKey sk)
+	{
+		if (!isRecorded(cdo, sk))
+		{
+			String old = cdo.get(sk);
+			undoLog.add(new Undo(cdo, sk)
+			{
+				@Override
+				void restore()
+				{
+					if (old == null)
+					{
+						cdo.remove(sk);
+					}
+					else
+					{
+						cdo.put(sk, old);
+					}
+				}
+			});
+		}
+	}
+
+	private void record(CDOMObject cdo, IntegerKey ik)
+	{
+		if (!isRecorded(cdo, ik))
+		{
+			Integer old = cdo.get(ik);
+			undoLog.add(new Undo(cdo, ik)
+			{
+				@Override
+				void restore()
+				{
+					if (old == null)
+					{
+						cdo.remove(ik);
+					}
+					else
+					{
+						cdo.put(ik, old);
+					}
+				}
+			});
+		}
+	}
+
+	private void record(CDOMObject cdo, FormulaKey fk)
+	{
+		if (!isRecorded(cdo, fk))
+		{
+			Formula old = cdo.get(fk);
+			undoLog.add(new Undo(cdo, fk)
+			{
+				@Override
+				void restore()
+				{
+					if (old == null)
+					{
+						cdo.remove(fk);
+					}
+					else
+					{
+						cdo.put(fk, old);
+					}
+				}
+			});
+		}
+	}
+
+	private void record(CDOMObject cdo, VariableKey vk)
+	{
+		if (!isRecorded(cdo, vk))
+		{
+			Formula old = cdo.get(vk);
+			undoLog.add(new Undo(cdo, vk)
+			{
+				@Override
+				void restore()
+				{
+					if (old == null)
+					{
+						cdo.remove(vk);
+					}
+					else
+					{
+						cdo.put(vk, old);
+					}
+				}
+			});
+		}
+	}
+
+	private <T> void record(CDOMObject cdo, ObjectKey<T> ok)
+	{
+		if (!isRecorded(cdo, ok))
+		{
+			T old = cdo.get(ok);
+			undoLog.add(new Undo(cdo, ok)
+			{
+				@Override
+				void restore()
+				{
+					if (old == null)
+					{
+						cdo.remove(ok);
+					}
+					else
+					{
+						cdo.put(ok, old);
+					}
+				}
+			});
+		}
+	}
+
+	private <T> void record(CDOMObject cdo, FactKey<T> fk)
+	{
+		if (!isRecorded(cdo, fk))
+		{
+			Indirect<T> old = cdo.get(fk);
+			undoLog.add(new Undo(cdo, fk)
+			{
+				@Override
+				void restore()
+				{
+					if (old == null)
+					{
+						cdo.remove(fk);
+					}
+					else
+					{
+						cdo.put(fk, old);
+					}
+				}
+			});
+		}
+	}
+
+	/**
+	 * Records the length of a list before an item is appended to it. Rolling
+	 * back only needs to truncate the list, so it is not copied.
+	 */
+	private <T> void recordAppend(CDOMObject cdo, ListKey<T> lk)
+	{
+		if (indexOf(cdo, lk) == -1)
+		{
+			int oldSize = cdo.getSafeSizeOfListFor(lk);
+			undoLog.add(new AppendUndo(cdo, lk)
+			{
+				@Override
+				void restore()
+				{
+					List<T> current = cdo.removeListFor(lk);
+					if ((current != null) && (oldSize > 0))
+					{
+						cdo.addAllToListFor(lk, current.subList(0, oldSize));
+					}
+				}
+
+				@Override
+				Undo snapshot()
+				{
+					return listSnapshot(cdo, lk, cdo.getListFor(lk), oldSize);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Records the contents of a list before it is edited other than by
+	 * appending to it.
+	 */
+	private <T> void record(CDOMObject cdo, ListKey<T> lk)
+	{
+		int index = indexOf(cdo, lk);
+		if (index == -1)
+		{
+			List<T> current = cdo.getListFor(lk);
+			undoLog.add(listSnapshot(cdo, lk, current, (current == null) ? 0 : current.size()));
+		}
+		else
+		{
+			upgrade(index);
+		}
+	}
+
+	private static <T> Undo listSnapshot(CDOMObject cdo, ListKey<T> lk, List<T> current, int oldSize)
+	{
+		List<T> old = (oldSize == 0) ? null : current.subList(0, oldSize);
+		return new Undo(cdo, lk)
+		{
+			@Override
+			void restore()
+			{
+				cdo.removeListFor(lk);
+				if (old != null)
+				{
+					cdo.addAllToListFor(lk, old);
+				}
+			}
+		};
+	}
+
+	/**
+	 * Records the size of a fact set before an item is appended to it.
+	 */
+	private <T> void recordAppend(CDOMObject cdo, FactSetKey<T> fsk)
+	{
+		if (indexOf(cdo, fsk) == -1)
+		{
+			int oldSize = cdo.getSafeSizeOfSetFor(fsk);
+			undoLog.add(new AppendUndo(cdo, fsk)
+			{
+				@Override
+				void restore()
+				{
+					List<Indirect<T>> current = cdo.getSetFor(fsk);
+					cdo.removeSetFor(fsk);
+					if (current != null)
+					{
+						for (Indirect<T> value : current.subList(0, oldSize))
+						{
+							cdo.addToSetFor(fsk, value);
+						}
+					}
+				}
+
+				@Override
+				Undo snapshot()
+				{
+					return setSnapshot(cdo, fsk, cdo.getSetFor(fsk), oldSize);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Records the contents of a fact set before it is edited other than by
+	 * appending to it.
+	 */
+	private <T> void record(CDOMObject cdo, FactSetKey<T> fsk)
+	{
+		int index = indexOf(cdo, fsk);
+		if (index == -1)
+		{
+			List<Indirect<T>> current = cdo.getSetFor(fsk);
+			undoLog.add(setSnapshot(cdo, fsk, current, (current == null) ? 0 : current.size()));
+		}
+		else
+		{
+			upgrade(index);
+		}
+	}
+
+	private static <T> Undo setSnapshot(CDOMObject cdo, FactSetKey<T> fsk, List<Indirect<T>> current,
+		int oldSize)
+	{
+		List<Indirect<T>> old = (oldSize == 0) ? null : current.subList(0, oldSize);
+		return new Undo(cdo, fsk)
+		{
+			@Override
+			void restore()
+			{
+				cdo.removeSetFor(fsk);
+				if (old != null)
+				{
+					for (Indirect<T> value : old)
+					{
+						cdo.addToSetFor(fsk, value);
+					}
+				}
+			}
+		};
+	}
+
+	/**
+	 * Replaces an append-only record with a snapshot of the prior contents,
+	 * which are the start of the current contents since only appends have
+	 * been made.
+	 */
+	private void upgrade(int index)
+	{
+		Undo undo = undoLog.get(index);
+		if (undo instanceof AppendUndo)
+		{
+			undoLog.set(index, ((AppendUndo) undo).snapshot());
+		}
+	}
+
+	/**
+	 * Records the prior value of one entry of a map. Only the entries edited
+	 * are recorded, rather than the whole map.
+	 */
+	private <K, V> void record(CDOMObject cdo, MapKey<K, V> mk, K key)
+	{
+		List<Object> entryKey = List.of(mk, key);
+		if (indexOf(cdo, entryKey) == -1)
+		{
+			V old = cdo.get(mk, key);
+			undoLog.add(new Undo(cdo, entryKey)
+			{
+				@Override
+				void restore()
+				{
+					if (old == null)
+					{
+						cdo.removeFromMapFor(mk, key);
+					}
+					else
+					{
+						cdo.addToMapFor(mk, key, old);
+					}
+				}
+			});
+		}
+	}
+
+	@Override
+	public void put(CDOMObject cdo, StringKey sk, String s)
+	{
+		if (s != null && s.startsWith(Constants.LST_DOT_CLEAR))
+		{
+			throw new IllegalArgumentException("Cannot set a value to " + s);
+		}
+		record(cdo, sk);
+		super.put(cdo, sk, s);
+	}
+
+	@Override
+	public void remove(CDOMObject cdo, StringKey sk)
+	{
+		record(cdo, sk);
+		super.remove(cdo, sk);
+	}
+
+	@Override
+	public <T> void put(CDOMObject cdo, ObjectKey<T> sk, T s)
+	{
+		record(cdo, sk);
+		super.put(cdo, sk, s);
+	}
+
+	@Override
+	public void remove(CDOMObject cdo, ObjectKey<?> sk)
+	{
+		record(cdo, sk);
+		super.remove(cdo, sk);
+	}
+
+	@Override
+	public <T> void put(CDOMObject cdo, FactKey<T> sk, Indirect<T> s)
+	{
+		record(cdo, sk);
+		super.put(cdo, sk, s);
+	}
+
+	@Override
+	public void remove(CDOMObject cdo, FactKey<?> sk)
+	{
+		record(cdo, sk);
+		super.remove(cdo, sk);
+	}
+
+	@Override
+	public void put(CDOMObject cdo, IntegerKey ik, Integer i)
+	{
+		record(cdo, ik);
+		super.put(cdo, ik, i);
+	}
+
+	@Override
+	public void remove(CDOMObject cdo, IntegerKey ik)
+	{
+		record(cdo, ik);
+		super.remove(cdo, ik);
+	}
+
+	@Override
+	public void put(CDOMObject cdo, FormulaKey fk, Formula f)
+	{
+		record(cdo, fk);
+		super.put(cdo, fk, f);
+	}
+
+	@Override
+	public void put(CDOMObject obj, VariableKey vk, Formula f)
+	{
+		record(obj, vk);
+		super.put(obj, vk, f);
+	}
+
+	@Override
+	public <T> void addToList(CDOMObject cdo, ListKey<T> key, T value)
+	{
+		recordAppend(cdo, key);
+		super.addToList(cdo, key, value);
+	}
+
+	@Override
+	public void removeList(CDOMObject cdo, ListKey<?> lk)
+	{
+		record(cdo, lk);
+		super.removeList(cdo, lk);
+	}
+
+	@Override
+	public <T> void removeFromList(CDOMObject cdo, ListKey<T> lk, T val)
+	{
+		record(cdo, lk);
+		super.removeFromList(cdo, lk, val);
+	}
+
+	@Override
+	public <T> void removePatternFromList(CDOMObject cdo, ListKey<T> lk, String pattern)
+	{
+		record(cdo, lk);
+		super.removePatternFromList(cdo, lk, pattern);
+	}
+
+	@Override
+	public <T> void addToSet(CDOMObject cdo, FactSetKey<T> key, Indirect<T> value)
+	{
+		recordAppend(cdo, key);
+		super.addToSet(cdo, key, value);
+	}
+
+	@Override
+	public void removeSet(CDOMObject cdo, FactSetKey<?> lk)
+	{
+		record(cdo, lk);
+		super.removeSet(cdo, lk);
+	}
+
+	@Override
+	public <T> void removeFromSet(CDOMObject cdo, FactSetKey<T> lk, Indirect<T> val)
+	{
+		record(cdo, lk);
+		super.removeFromSet(cdo, lk, val);
+	}
+
+	@Override
+	public <K, V> void put(CDOMObject cdo, MapKey<K, V> mk, K key, V value)
+	{
+		record(cdo, mk, key);
+		super.put(cdo, mk, key, value);
+	}
+
+	@Override
+	public <K, V> void remove(CDOMObject cdo, MapKey<K, V> mk, K key)
+	{
+		record(cdo, mk, key);
+		super.remove(cdo, mk, key);
+	}
+
+	@Override
+	public void put(ConcretePrereqObject cpo, Prerequisite p)
+	{
+		recordPrerequisites(cpo);
+		super.put(cpo, p);
+	}
+
+	@Override
+	public void clearPrerequisiteList(ConcretePrereqObject cpo)
+	{
+		recordPrerequisites(cpo);
+		super.clearPrerequisiteList(cpo);
+	}
+
+	/**
+	 * A snapshot of one key of one object, taken before its first edit since
+	 * the last commit.
+	 */
+	private abstract static class Undo
+	{
+		private final ConcretePrereqObject owner;
+		private final Object key;
+
+		private Undo(ConcretePrereqObject owner, Object key)
+		{
+			this.owner = Objects.requireNonNull(owner, "Cannot edit contents of null object");
+			this.key = key;
+		}
+
+		abstract void restore();
+	}
+
+	/**
+	 * A record of a list or fact set to which items have only been appended,
+	 * so it can be restored by truncation.
+	 */
+	private abstract static class AppendUndo extends Undo
+	{
+		private AppendUndo(ConcretePrereqObject owner, Object key)
+		{
+			super(owner, key);
+		}
+
+		/**
+		 * Returns a full snapshot of the prior contents, to be used once an
+		 * edit other than an append is made.
+		 */
+		abstract Undo snapshot();
+	}
+}
@@ -40,11 +40,7 @@ public class LoadValidator implements UnconstructedValidator
 	@Override
 	public <T> boolean allowUnconstructed(ClassIdentity<T> cl, String s)
 	{
-		if (simpleMap == null)
-		{
-			buildSimpleMap();
-		}
-		List<String> list = simpleMap.getListFor(cl.getPersistentFormat());
+		List<String> list = getSimpleMap().getListFor(cl.getPersistentFormat());
 		if (list != null)
 		{
 			for (String key : list)
@@ -58,8 +54,15 @@ public class LoadValidator implements UnconstructedValidator
 		return false;
 	}
 
-	private void buildSimpleMap()
+	/*
+	 * Synchronized as ReferenceManufacturers may be resolved concurrently
+	 */
+	private synchronized HashMapToList<String, String> getSimpleMap()
 	{
+		if (simpleMap != null)
+		{
+			return simpleMap;
+		}
 		simpleMap = new HashMapToList<>();
 		for (Campaign c : campaignList)
 		{
@@ -69,6 +72,7 @@ public class LoadValidator implements UnconstructedValidator
 					q.getQualifiedReference().getLSTformat(false));
 			}
 		}
+		return simpleMap;
 	}
 
 	@Override
@@ -17,13 +17,36 @@
  */
 package pcgen.rules.context;
 
+/**
+ * The ObjectContext used when loading data for play. Token edits are written
+ * directly into the target objects, with only a small undo log kept so that a
+ * token which fails to parse can be rolled back.
+ */
 public class RuntimeObjectContext extends AbstractObjectContext
 {
-	public final ConsolidatedObjectCommitStrategy commit = new ConsolidatedObjectCommitStrategy();
+	public final DirectObjectCommitStrategy commit = new DirectObjectCommitStrategy();
 
 	@Override
 	protected ObjectCommitStrategy getCommitStrategy()
 	{
 		return commit;
 	}
+
+	@Override
+	protected ObjectCommitStrategy getEditStrategy()
+	{
+		return commit;
+	}
+
+	@Override
+	void commit()
+	{
+		commit.commit();
+	}
+
+	@Override
+	void rollback()
+	{
+		commit.rollback();
+	}
 }
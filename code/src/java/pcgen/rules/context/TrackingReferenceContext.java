@@ -79,7 +79,7 @@ public final class TrackingReferenceContext extends RuntimeReferenceContext impl
 	}
 
 	@Override
-	public void unconstructedReferenceFound(UnconstructedEvent e)
+	public synchronized void unconstructedReferenceFound(UnconstructedEvent e)
 	{
 		CDOMReference<?> ref = e.getReference();
 		Set<URI> uris = track.getSecondaryKeySet(ref);
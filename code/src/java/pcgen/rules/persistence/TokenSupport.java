@@ -49,6 +49,8 @@ import pcgen.rules.persistence.util.TokenFamily;
 import pcgen.rules.persistence.util.TokenFamilyIterator;
 import pcgen.rules.persistence.util.TokenFamilySubIterator;
 import pcgen.util.Logging;
+import pcgen.util.ParseDiagnostic;
+import pcgen.util.ParseDiagnostic.Code;
 
 public class TokenSupport
 {
@@ -119,24 +121,14 @@ public class TokenSupport
 				{
 					return true;
 				}
-				if (Logging.isLoggable(Logging.LST_ERROR))
-				{
-					Logging.addParseMessage(Logging.LST_ERROR, "Failed in parsing typeStr: " + tokenName + ' '
-						+ tokenValue + " for " + cl.getName() + ' ' + target.getDisplayName());
-				}
+				// The text is only built if the message is replayed
+				Logging.addParseDiagnostic(ParseDiagnostic.forToken(Logging.LST_ERROR, Code.TOKEN_FAILED, tokenName,
+					tokenValue, target, context.getSourceURI()));
 			}
 		}
-		if (tokenName.startsWith(" "))
-		{
-			Logging.addParseMessage(Logging.LST_ERROR,
-				"Illegal whitespace at start of token '" + tokenName + "' '" + tokenValue + "' for " + cl.getName()
-					+ ' ' + target.getDisplayName() + " in " + context.getSourceURI());
-		}
-		else
-		{
-			Logging.addParseMessage(Logging.LST_ERROR, "Illegal Token '" + tokenName + "' '" + tokenValue + "' for "
-				+ cl.getName() + ' ' + target.getDisplayName() + " in " + context.getSourceURI());
-		}
+		Code code = tokenName.startsWith(" ") ? Code.ILLEGAL_WHITESPACE : Code.ILLEGAL_TOKEN;
+		Logging.addParseDiagnostic(
+			ParseDiagnostic.forToken(Logging.LST_ERROR, code, tokenName, tokenValue, target, context.getSourceURI()));
 		return false;
 	}
 
@@ -171,11 +163,7 @@ public class TokenSupport
 			context.addDeferredMethodController(controller);
 			return true;
 		}
-		if (Logging.isLoggable(Logging.LST_INFO))
-		{
-			Logging.addParseMessage(Logging.LST_INFO, "Failed in parsing token: " + tokenName + ' ' + tokenValue
-				+ " for " + target.getClass().getName() + ' ' + target);
-		}
+		Logging.addParseDiagnostic(ParseDiagnostic.forInterfaceToken(Logging.LST_INFO, tokenName, tokenValue, target));
 		return false;
 	}
 
@@ -221,9 +209,10 @@ public class TokenSupport
 
 	public <T> ParseResult processSubToken(LoadContext context, T cdo, String tokenName, String key, String value)
 	{
-		ComplexParseResult cpr = new ComplexParseResult();
 		Class<T> cl = (Class<T>) cdo.getClass();
 		List<? extends CDOMToken<T>> tokenList = getTokens(cl, tokenName, key);
+		// Failures are only turned into messages if no token accepts the value
+		List<ParseResult> failures = null;
 		if (tokenList != null)
 		{
 			for (CDOMToken<T> token : tokenList)
@@ -233,6 +222,18 @@ public class TokenSupport
 				{
 					return pr;
 				}
+				if (failures == null)
+				{
+					failures = new ArrayList<>(tokenList.size());
+				}
+				failures.add(pr);
+			}
+		}
+		ComplexParseResult cpr = new ComplexParseResult();
+		if (failures != null)
+		{
+			for (ParseResult pr : failures)
+			{
 				cpr.copyMessages(pr);
 				cpr.addErrorMessage("Failed in parsing subtoken: " + key + " of " + value);
 			}
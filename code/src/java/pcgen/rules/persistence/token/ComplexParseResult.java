@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.logging.Level;
 
 import pcgen.util.Logging;
+import pcgen.util.ParseDiagnostic;
 
 /**
  * Class that implements ParseResult for providing more complicated feedback.
@@ -88,7 +89,7 @@ public class ComplexParseResult implements ParseResult
 	{
 		for (QueuedMessage msg : queuedMessages)
 		{
-			Logging.addParseMessage(msg.level, generateText(msg, uri), msg.stackTrace);
+			Logging.addParseDiagnostic(ParseDiagnostic.message(msg.level, msg.message, uri, msg.stackTrace));
 		}
 	}
 
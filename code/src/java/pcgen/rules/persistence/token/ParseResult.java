@@ -21,6 +21,7 @@ import java.net.URI;
 import java.util.logging.Level;
 
 import pcgen.util.Logging;
+import pcgen.util.ParseDiagnostic;
 
 /**
  * Interface to provide feedback on parsing operations.
@@ -62,13 +63,17 @@ public interface ParseResult
 	{
 		public final Level level;
 		public final String message;
+		/**
+		 * The stack where the message was created, or null unless parse stack
+		 * capture is on.
+		 */
 		public final StackTraceElement[] stackTrace;
 
 		public QueuedMessage(Level lvl, String msg)
 		{
 			level = lvl;
 			message = msg;
-			stackTrace = Thread.currentThread().getStackTrace();
+			stackTrace = Logging.captureParseStack();
 		}
 	}
 
@@ -123,7 +128,7 @@ public interface ParseResult
 		@Override
 		public void addMessagesToLog(URI uri)
 		{
-			Logging.addParseMessage(error.level, generateText(error, uri), error.stackTrace);
+			Logging.addParseDiagnostic(ParseDiagnostic.message(error.level, error.message, uri, error.stackTrace));
 		}
 
 		@Override
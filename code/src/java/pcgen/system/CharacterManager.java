@@ -23,6 +23,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
 
 import pcgen.cdom.base.Constants;
@@ -389,6 +390,67 @@ public final class CharacterManager
 		return true;
 	}
 
+	/**
+	 * Saves a snapshot of this character to the character's file specified
+	 * by character.getFileRef().getReference(). The snapshot is taken before 
+	 * this method returns, and it is written to disk in the background so the 
+	 * character can continue to be edited. Any failure is reported through 
+	 * the character's UIDelegate.
+	 * @param character the character to be saved
+	 * @return A future holding true if the save succeeded, false if not 
+	 */
+	public static CompletableFuture<Boolean> saveCharacterInBackground(CharacterFacade character)
+	{
+		File file = character.getFileRef().get();
+		if (StringUtils.isBlank(file.getName()))
+		{
+			return CompletableFuture.completedFuture(false);
+		}
+		if (!(character instanceof CharacterFacadeImpl))
+		{
+			Logging.errorPrint("Could not save " + character.getNameRef().get()
+				+ " due to unexpected class of character: " + character.getClass().getCanonicalName());
+			return CompletableFuture.completedFuture(false);
+		}
+
+		String name = character.getNameRef().get();
+		Logging.log(Logging.INFO, "Saving character " + name //$NON-NLS-1$
+			+ " - " + file.getAbsolutePath()); //$NON-NLS-1$
+		UIDelegate delegate = character.getUIDelegate();
+		RECENT_CHARACTERS.addRecentFile(file);
+		return ((CharacterFacadeImpl) character).saveInBackground().handle((v, e) -> {
+			if (e != null)
+			{
+				Logging.errorPrint("Could not save " + name, e);
+				delegate.showErrorMessage(Constants.APPLICATION_NAME, "Could not save " + name);
+				return false;
+			}
+			return true;
+		});
+	}
+
+	/**
+	 * Saves each open character which has a file and has been changed since 
+	 * it was last saved. Characters whose serial has not moved on since their 
+	 * last save are skipped. The saves are written in the background.
+	 * @return The number of characters queued to be saved.
+	 */
+	public static int autosaveCharacters()
+	{
+		int count = 0;
+		for (CharacterFacade character : CHARACTERS)
+		{
+			if (character instanceof CharacterFacadeImpl
+				&& ((CharacterFacadeImpl) character).isChangedSinceSave()
+				&& characterFilenameValid(character))
+			{
+				saveCharacterInBackground(character);
+				count++;
+			}
+		}
+		return count;
+	}
+
 	public static boolean saveCurrentParty()
 	{
 		File file = CHARACTERS.getFileRef().get();
@@ -123,6 +123,15 @@ public final class ConfigurationSettings extends PropertyContext
 		return getDirectory(PLUGINS_DIR);
 	}
 
+	/**
+	 * @return A fingerprint of the installed plugins, which changes whenever
+	 *         a plugin is added, removed or replaced
+	 */
+	public static String getPluginsFingerprint()
+	{
+		return PluginClassLoader.getFingerprint(new File(getPluginsDir()));
+	}
+
 	public static String getPreviewDir()
 	{
 		return getDirectory(PREVIEW_DIR);
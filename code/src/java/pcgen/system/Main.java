@@ -42,6 +42,7 @@ import pcgen.gui3.JFXPanelFromResource;
 import pcgen.gui3.dialog.OptionsPathDialogController;
 import pcgen.gui3.preloader.PCGenPreloader;
 import pcgen.io.ExportHandler;
+import pcgen.io.PCGIOHandler;
 import pcgen.persistence.CampaignFileLoader;
 import pcgen.persistence.GameModeFileLoader;
 import pcgen.persistence.PersistenceLayerException;
@@ -53,6 +54,7 @@ import pcgen.rules.persistence.TokenLibrary;
 import pcgen.system.application.DeadlockDetectorTask;
 import pcgen.system.application.LoggingUncaughtExceptionHandler;
 import pcgen.system.application.PCGenLoggingDeadlockHandler;
+import pcgen.util.CalculationMetrics;
 import pcgen.util.Logging;
 import pcgen.util.PJEP;
 
@@ -105,6 +107,7 @@ public final class Main
 		Thread.setDefaultUncaughtExceptionHandler(new LoggingUncaughtExceptionHandler());
 		DeadlockDetectorTask deadlockDetectorTask = new DeadlockDetectorTask(new PCGenLoggingDeadlockHandler());
 		deadlockDetectorTask.initialize();
+		CalculationMetrics.registerMBean();
 
 		logSystemProps();
 		configFactory = new PropertyContextFactory(getConfigPath());
@@ -291,6 +294,9 @@ public final class Main
 			CustomData.writeCustomItems();
 		}
 
+		// Let any characters being saved in the background finish writing
+		PCGIOHandler.awaitPendingSaves();
+
 		System.exit(0);
 	}
 
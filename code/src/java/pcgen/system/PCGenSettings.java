@@ -54,6 +54,16 @@ public final class PCGenSettings extends PropertyContext
 	public static final String OPTION_ALLOW_OVERRIDE_DUPLICATES = "allowOverrideDuplicates";
 	public static final String OPTION_SKILL_FILTER = "skillsOutputFilter";
 	public static final String OPTION_GENERATE_TEMP_FILE_WITH_PDF = "generateTempFileWithPdf";
+	/**
+	 * The number of loaded data sets kept in memory for switching between
+	 * source selections without reloading.
+	 */
+	public static final String OPTION_RESIDENT_DATA_SETS = "residentDataSets";
+	/**
+	 * The number of minutes between automatic saves of changed characters,
+	 * or 0 if characters are not saved automatically.
+	 */
+	public static final String OPTION_AUTOSAVE_MINUTES = "autosaveMinutes";
 	/**
 	 * The key for the path to the character files.
 	 */
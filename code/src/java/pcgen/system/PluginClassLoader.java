@@ -24,15 +24,20 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.Enumeration;
-import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.zip.CRC32;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
@@ -59,6 +64,17 @@ class PluginClassLoader extends PCGenTask
 		thread.setDaemon(true);
 		return thread;
 	});
+	/**
+	 * Defines the classes named by plugin indexes, so that class definition
+	 * for several jars can proceed while the dispatcher hands earlier classes
+	 * to the PluginLoaders.
+	 */
+	private final ExecutorService classDefiner =
+			Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors()), r -> {
+				Thread thread = new Thread(r, "Plugin-defining-thread");
+				thread.setDaemon(true);
+				return thread;
+			});
 	private final LinkedList<File> jarFiles = new LinkedList<>();
 	private int progress = 0;
 
@@ -83,6 +99,87 @@ class PluginClassLoader extends PCGenTask
 	}
 
 	private void loadClasses(final File pluginJar) throws IOException
+	{
+		PluginIndex index;
+		try (ZipFile file = new ZipFile(pluginJar))
+		{
+			index = PluginIndex.read(file);
+		}
+		if (index == null)
+		{
+			scanClasses(pluginJar);
+		}
+		else
+		{
+			loadIndexedClasses(pluginJar, index);
+		}
+	}
+
+	/**
+	 * Loads only the classes that the jar's index says can be assigned to a
+	 * registered plugin type. Other classes are left undefined unless a
+	 * plugin class refers to them. The loader is not closed, as classes are
+	 * read from the jar on demand.
+	 */
+	private void loadIndexedClasses(final File pluginJar, PluginIndex index) throws IOException
+	{
+		final JarClassLoader loader = new JarClassLoader(pluginJar.toURI().toURL());
+		final List<Future<Class<?>>> classList = new ArrayList<>();
+		for (final String name : index.getClassNames())
+		{
+			if (isPluginClass(index, name))
+			{
+				classList.add(classDefiner.submit(() -> Class.forName(name, false, loader)));
+			}
+		}
+		dispatcher.execute(() -> {
+			boolean pluginFound = false;
+			for (final Future<Class<?>> future : classList)
+			{
+				try
+				{
+					Class<?> clazz = future.get();
+					pluginFound |= processClass(Class.forName(clazz.getName(), true, loader));
+				}
+				catch (ExecutionException ex)
+				{
+					Logging.errorPrint("Error occurred while loading plugin: " + pluginJar.getName(), ex.getCause());
+				}
+				catch (ClassNotFoundException | NoClassDefFoundError ex)
+				{
+					Logging.errorPrint("Error occurred while loading plugin: " + pluginJar.getName(), ex);
+				}
+				catch (InterruptedException ex)
+				{
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+			if (!pluginFound)
+			{
+				Logging.log(Logging.WARNING, "Plugin not found in " + pluginJar.getName());
+			}
+			progress++;
+			setProgress(progress);
+		});
+	}
+
+	private boolean isPluginClass(PluginIndex index, String className)
+	{
+		for (final Class<?> key : loaderMap.getKeySet())
+		{
+			if ((key == null) || index.isAssignableTo(className, key))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Reads and defines every class in a jar that has no plugin index.
+	 */
+	private void scanClasses(final File pluginJar) throws IOException
 	{
 		try (JarClassLoader loader = new JarClassLoader(pluginJar.toURI().toURL());
 				ZipFile file = new ZipFile(pluginJar))
@@ -175,6 +272,7 @@ class PluginClassLoader extends PCGenTask
 		findJarFiles(pluginDir);
 		setMaximum(jarFiles.size());
 		loadClasses();
+		classDefiner.shutdown();
 		Future<?> future = dispatcher.submit(dispatcher::shutdown);
 		try
 		{
@@ -189,6 +287,11 @@ class PluginClassLoader extends PCGenTask
 	}
 
 	private void findJarFiles(File pluginDir)
+	{
+		findPluginFiles(pluginDir, jarFiles);
+	}
+
+	private static void findPluginFiles(File pluginDir, Collection<File> files)
 	{
 		if (!pluginDir.isDirectory())
 		{
@@ -199,11 +302,33 @@ class PluginClassLoader extends PCGenTask
 		{
 			if (file.isDirectory())
 			{
-				findJarFiles(file);
+				findPluginFiles(file, files);
 				continue;
 			}
-			jarFiles.add(file);
+			files.add(file);
+		}
+	}
+
+	/**
+	 * Returns a fingerprint of the plugin files in the given directory, built
+	 * from the path, size and modification time of each, so it changes
+	 * whenever a plugin is added, removed or replaced.
+	 * 
+	 * @param pluginDir The directory the plugins are loaded from
+	 * @return The fingerprint of the plugins
+	 */
+	static String getFingerprint(File pluginDir)
+	{
+		List<File> files = new ArrayList<>();
+		findPluginFiles(pluginDir, files);
+		files.sort(Comparator.comparing(File::getPath));
+		CRC32 crc = new CRC32();
+		for (File file : files)
+		{
+			String description = file.getPath() + '|' + file.length() + '|' + file.lastModified() + '\n';
+			crc.update(description.getBytes(StandardCharsets.UTF_8));
 		}
+		return files.size() + ":" + Long.toHexString(crc.getValue()); //$NON-NLS-1$
 	}
 
 	private void loadClasses()
@@ -225,7 +350,12 @@ class PluginClassLoader extends PCGenTask
 	private static final class JarClassLoader extends URLClassLoader
 	{
 
-		private final Map<String, byte[]> classDefinitions = new HashMap<>();
+		static
+		{
+			ClassLoader.registerAsParallelCapable();
+		}
+
+		private final Map<String, byte[]> classDefinitions = new ConcurrentHashMap<>();
 
 		private JarClassLoader(URL url)
 		{
@@ -243,7 +373,8 @@ class PluginClassLoader extends PCGenTask
 			byte[] bytes = classDefinitions.remove(name);
 			if (bytes == null)
 			{
-				throw new ClassNotFoundException();
+				// Jars loaded through an index are read on demand
+				return super.findClass(name);
 			}
 			return defineClass(name, bytes, 0, bytes.length);
 		}
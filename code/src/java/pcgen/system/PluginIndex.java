@@ -0,0 +1,270 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.system;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * A PluginIndex lists every class in a plugin jar together with the names of
+ * all the types it can be assigned to. It is written into the jar at build
+ * time (see {@link #main(String[])}) so that the PluginClassLoader can pick
+ * out the classes a PluginLoader is interested in without defining every
+ * class in the jar. Jars without an index are still scanned class by class.
+ * 
+ * The index is a UTF-8 text entry with one line per class:
+ * {@code className=supertype,supertype,...}
+ */
+public final class PluginIndex
+{
+	/**
+	 * The name of the index entry within a plugin jar.
+	 */
+	public static final String INDEX_ENTRY = "META-INF/pcgen-plugins.idx"; //$NON-NLS-1$
+
+	private final Map<String, Set<String>> supertypes = new LinkedHashMap<>();
+
+	private PluginIndex()
+	{
+	}
+
+	/**
+	 * Reads the index of the given plugin jar.
+	 * 
+	 * @param jar The plugin jar
+	 * @return The index, or null if the jar has no index
+	 * @throws IOException if the index cannot be read
+	 */
+	static PluginIndex read(ZipFile jar) throws IOException
+	{
+		ZipEntry entry = jar.getEntry(INDEX_ENTRY);
+		if (entry == null)
+		{
+			return null;
+		}
+		PluginIndex index = new PluginIndex();
+		try (BufferedReader reader =
+				new BufferedReader(new InputStreamReader(jar.getInputStream(entry), StandardCharsets.UTF_8)))
+		{
+			String line;
+			while ((line = reader.readLine()) != null)
+			{
+				if (line.isEmpty() || (line.charAt(0) == '#'))
+				{
+					continue;
+				}
+				int equals = line.indexOf('=');
+				String className = (equals < 0) ? line : line.substring(0, equals);
+				Set<String> types = new LinkedHashSet<>();
+				types.add(className);
+				if (equals >= 0)
+				{
+					Collections.addAll(types, StringUtils.split(line.substring(equals + 1), ','));
+				}
+				index.supertypes.put(className, types);
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * @return The names of the classes in the jar, in jar order
+	 */
+	Collection<String> getClassNames()
+	{
+		return Collections.unmodifiableSet(supertypes.keySet());
+	}
+
+	/**
+	 * Returns true if the named class can be assigned to the given type,
+	 * without loading the class.
+	 * 
+	 * @param className The name of a class in the index
+	 * @param type The type to test against
+	 * @return true if the class is assignable to the type
+	 */
+	boolean isAssignableTo(String className, Class<?> type)
+	{
+		Set<String> types = supertypes.get(className);
+		return (types != null) && types.contains(type.getName());
+	}
+
+	/**
+	 * Builds the index for a plugin jar by loading (but not initializing)
+	 * each class in it.
+	 * 
+	 * @param jarFile The plugin jar
+	 * @param parent The class loader that can see the classes the plugins
+	 *            depend on
+	 * @return The index of the jar
+	 * @throws IOException if the jar cannot be read
+	 */
+	static PluginIndex build(File jarFile, ClassLoader parent) throws IOException
+	{
+		PluginIndex index = new PluginIndex();
+		try (ZipFile jar = new ZipFile(jarFile);
+				URLClassLoader loader = new URLClassLoader(new URL[]{jarFile.toURI().toURL()}, parent))
+		{
+			Enumeration<? extends ZipEntry> entries = jar.entries();
+			while (entries.hasMoreElements())
+			{
+				String name = entries.nextElement().getName();
+				if (!name.endsWith(".class"))
+				{
+					continue;
+				}
+				String className = StringUtils.removeEnd(name, ".class").replace('/', '.');
+				Set<String> types = new LinkedHashSet<>();
+				types.add(className);
+				try
+				{
+					addSupertypes(Class.forName(className, false, loader), types);
+				}
+				catch (ClassNotFoundException | LinkageError e)
+				{
+					// Left for the PluginClassLoader to report at startup
+				}
+				index.supertypes.put(className, types);
+			}
+		}
+		return index;
+	}
+
+	private static void addSupertypes(Class<?> clazz, Set<String> types)
+	{
+		Deque<Class<?>> pending = new ArrayDeque<>();
+		pending.add(clazz);
+		while (!pending.isEmpty())
+		{
+			Class<?> current = pending.poll();
+			if (current.getSuperclass() != null)
+			{
+				pending.add(current.getSuperclass());
+			}
+			Collections.addAll(pending, current.getInterfaces());
+			if (current != Object.class)
+			{
+				types.add(current.getName());
+			}
+		}
+	}
+
+	/**
+	 * Rewrites the given jar with this index as its index entry, replacing
+	 * any existing index.
+	 * 
+	 * @param jarFile The plugin jar this index was built from
+	 * @throws IOException if the jar cannot be rewritten
+	 */
+	void write(File jarFile) throws IOException
+	{
+		File temp = File.createTempFile("plugin", ".jar", jarFile.getAbsoluteFile().getParentFile()); //$NON-NLS-1$ //$NON-NLS-2$
+		try (ZipFile jar = new ZipFile(jarFile);
+				OutputStream os = Files.newOutputStream(temp.toPath());
+				ZipOutputStream out = new ZipOutputStream(os))
+		{
+			Enumeration<? extends ZipEntry> entries = jar.entries();
+			while (entries.hasMoreElements())
+			{
+				ZipEntry entry = entries.nextElement();
+				if (INDEX_ENTRY.equals(entry.getName()))
+				{
+					continue;
+				}
+				out.putNextEntry(new ZipEntry(entry.getName()));
+				try (InputStream in = jar.getInputStream(entry))
+				{
+					in.transferTo(out);
+				}
+				out.closeEntry();
+			}
+			out.putNextEntry(new ZipEntry(INDEX_ENTRY));
+			Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+			for (Map.Entry<String, Set<String>> me : supertypes.entrySet())
+			{
+				writer.write(me.getKey());
+				writer.write('=');
+				writer.write(StringUtils.join(me.getValue().stream()
+					.filter(type -> !type.equals(me.getKey())).iterator(), ','));
+				writer.write('\n');
+			}
+			writer.flush();
+			out.closeEntry();
+		}
+		catch (IOException e)
+		{
+			Files.deleteIfExists(temp.toPath());
+			throw e;
+		}
+		Files.move(temp.toPath(), jarFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	/**
+	 * Adds an index to every plugin jar below the given directories. This is
+	 * run by the build after the plugin jars have been created, with the
+	 * PCGen classes and libraries on the class path.
+	 * 
+	 * @param args The plugin directories to index
+	 * @throws IOException if a jar cannot be indexed
+	 */
+	public static void main(String[] args) throws IOException
+	{
+		ClassLoader parent = PluginIndex.class.getClassLoader();
+		for (String dir : args)
+		{
+			List<File> jars;
+			try (Stream<Path> paths = Files.walk(new File(dir).toPath()))
+			{
+				jars = paths.map(Path::toFile)
+					.filter(f -> f.isFile() && StringUtils.endsWithIgnoreCase(f.getName(), ".jar"))
+					.collect(Collectors.toList());
+			}
+			for (File jar : jars)
+			{
+				build(jar, parent).write(jar);
+			}
+		}
+	}
+}
@@ -0,0 +1,521 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.util;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import pcgen.cdom.base.PCGenIdentifier;
+import pcgen.cdom.enumeration.CharID;
+
+/**
+ * CalculationMetrics holds the counters and timers for the hot paths of the
+ * character calculation engine (bonus calculation, variable caching,
+ * prerequisite testing, facet events and so on). Every metric is kept per
+ * owner, which is normally the CharID of a character; events with no owner
+ * are recorded against an unattributed bucket.
+ * <p>
+ * Recording is cheap (a map lookup and a LongAdder increment) but is off
+ * unless the pcgen.metrics system property is true or it is switched on at
+ * run time (e.g. from the debug dialog). The
+ * metrics are published through JMX by {@link #registerMBean()} and shown in
+ * the debug dialog.
+ */
+public final class CalculationMetrics
+{
+
+	/**
+	 * The metrics recorded by the calculation engine.
+	 */
+	public enum Metric
+	{
+		/** A run of PlayerCharacter.calcActiveBonuses (timed). */
+		ACTIVE_BONUS_CALC("calcActiveBonuses", true),
+		/** A pass of the calcActiveBonuses loop. */
+		ACTIVE_BONUS_LOOP("calcActiveBonuses loops", false),
+		/** A run of BonusManager.buildActiveBonusMap (timed). */
+		BONUS_MAP_BUILD("buildActiveBonusMap", true),
+		/** A VariableProcessor cache lookup that found a current value. */
+		VARIABLE_CACHE_HIT("Variable cache hits", false),
+		/** A VariableProcessor cache lookup that did not. */
+		VARIABLE_CACHE_MISS("Variable cache misses", false),
+		/** A parser taken from the PjepPool. */
+		PJEP_ACQUIRE("PJEP acquisitions", false),
+		/** A call to PrereqHandler.passes. */
+		PREREQ_TEST("Prerequisite tests", false),
+		/** A call to PlayerCharacter.setDirty(true). */
+		SET_DIRTY("setDirty", false),
+		/** A data facet change event. */
+		FACET_EVENT("Facet events", false),
+		/** A delivery of a data facet change event to a listener. */
+		FACET_LISTENER_CALL("Facet listener calls", false);
+
+		private final String text;
+		private final boolean timed;
+
+		Metric(String text, boolean timed)
+		{
+			this.text = text;
+			this.timed = timed;
+		}
+
+		/**
+		 * @return true if the time spent is recorded along with the count.
+		 */
+		public boolean isTimed()
+		{
+			return timed;
+		}
+
+		@Override
+		public String toString()
+		{
+			return text;
+		}
+	}
+
+	/**
+	 * The name under which the metrics are registered with JMX.
+	 */
+	public static final String MBEAN_NAME = "pcgen:type=CalculationMetrics";
+
+	private static final Metric[] METRICS = Metric.values();
+
+	private static final String UNATTRIBUTED = "Unattributed";
+
+	private static final Map<PCGenIdentifier, Tally> TALLIES = new ConcurrentHashMap<>();
+
+	private static final Tally UNATTRIBUTED_TALLY = new Tally();
+
+	private static volatile boolean enabled = Boolean.getBoolean("pcgen.metrics"); //$NON-NLS-1$
+
+	private CalculationMetrics()
+	{
+		// Utility class
+	}
+
+	/**
+	 * @return true if metrics are being recorded.
+	 */
+	public static boolean isEnabled()
+	{
+		return enabled;
+	}
+
+	/**
+	 * Turn metric recording on or off. Metrics already recorded are kept.
+	 * @param enabled true to record metrics.
+	 */
+	public static void setEnabled(boolean enabled)
+	{
+		CalculationMetrics.enabled = enabled;
+	}
+
+	/**
+	 * Count one occurrence of a metric.
+	 * @param owner The character the event relates to, may be null.
+	 * @param metric The metric to count.
+	 */
+	public static void increment(PCGenIdentifier owner, Metric metric)
+	{
+		if (enabled)
+		{
+			getTally(owner).counts[metric.ordinal()].increment();
+		}
+	}
+
+	/**
+	 * Count several occurrences of a metric.
+	 * @param owner The character the event relates to, may be null.
+	 * @param metric The metric to count.
+	 * @param count The number of occurrences.
+	 */
+	public static void add(PCGenIdentifier owner, Metric metric, long count)
+	{
+		if (enabled && count != 0)
+		{
+			getTally(owner).counts[metric.ordinal()].add(count);
+		}
+	}
+
+	/**
+	 * Start timing an operation. The value returned should be passed to
+	 * {@link #stop(PCGenIdentifier, Metric, long)} when the operation ends.
+	 * @return The start time, or 0 if metrics are not being recorded.
+	 */
+	public static long start()
+	{
+		return enabled ? System.nanoTime() : 0L;
+	}
+
+	/**
+	 * Count one occurrence of a timed metric, along with the time since it
+	 * was started.
+	 * @param owner The character the event relates to, may be null.
+	 * @param metric The metric to count.
+	 * @param startNanos The value returned by {@link #start()}.
+	 */
+	public static void stop(PCGenIdentifier owner, Metric metric, long startNanos)
+	{
+		if (enabled && startNanos != 0L)
+		{
+			Tally tally = getTally(owner);
+			tally.counts[metric.ordinal()].increment();
+			tally.nanos[metric.ordinal()].add(System.nanoTime() - startNanos);
+		}
+	}
+
+	/**
+	 * Count a prerequisite test, both in total and for its kind.
+	 * @param owner The character tested, may be null.
+	 * @param kind The kind of prerequisite tested.
+	 */
+	public static void prereqTested(PCGenIdentifier owner, String kind)
+	{
+		if (enabled)
+		{
+			Tally tally = getTally(owner);
+			tally.counts[Metric.PREREQ_TEST.ordinal()].increment();
+			tally.prereqKinds.computeIfAbsent(String.valueOf(kind), k -> new LongAdder()).increment();
+		}
+	}
+
+	/**
+	 * Discard the metrics of an owner, e.g. when a character is closed.
+	 * @param owner The owner whose metrics are to be discarded.
+	 */
+	public static void remove(PCGenIdentifier owner)
+	{
+		if (owner != null)
+		{
+			TALLIES.remove(owner);
+		}
+	}
+
+	/**
+	 * Discard all of the recorded metrics.
+	 */
+	public static void reset()
+	{
+		TALLIES.clear();
+		UNATTRIBUTED_TALLY.reset();
+	}
+
+	/**
+	 * Take a snapshot of the recorded metrics. The unattributed bucket is
+	 * included (with a null owner) only if it holds anything.
+	 * @return The snapshots, one per owner.
+	 */
+	public static List<Snapshot> getSnapshots()
+	{
+		List<Snapshot> result = new ArrayList<>(TALLIES.size() + 1);
+		for (Map.Entry<PCGenIdentifier, Tally> entry : TALLIES.entrySet())
+		{
+			result.add(new Snapshot(entry.getKey(), entry.getValue()));
+		}
+		Snapshot unattributed = new Snapshot(null, UNATTRIBUTED_TALLY);
+		if (!unattributed.isEmpty())
+		{
+			result.add(unattributed);
+		}
+		return result;
+	}
+
+	/**
+	 * Take a snapshot of the metrics of one owner.
+	 * @param owner The owner, or null for the unattributed bucket.
+	 * @return The snapshot, empty if nothing has been recorded.
+	 */
+	public static Snapshot getSnapshot(PCGenIdentifier owner)
+	{
+		Tally tally = (owner == null) ? UNATTRIBUTED_TALLY : TALLIES.get(owner);
+		return new Snapshot(owner, (tally == null) ? new Tally() : tally);
+	}
+
+	/**
+	 * Produce a default name for an owner, for use where no better name
+	 * (such as the character's name) is available.
+	 * @param owner The owner, may be null.
+	 * @return The name of the owner.
+	 */
+	public static String describe(PCGenIdentifier owner)
+	{
+		if (owner == null)
+		{
+			return UNATTRIBUTED;
+		}
+		if (owner instanceof CharID)
+		{
+			return "Character " + ((CharID) owner).getOrdinal(); //$NON-NLS-1$
+		}
+		return owner.toString();
+	}
+
+	/**
+	 * Register the metrics with the platform MBean server. Failures are
+	 * logged and otherwise ignored; registering more than once is harmless.
+	 */
+	public static void registerMBean()
+	{
+		try
+		{
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(MBEAN_NAME);
+			if (!server.isRegistered(name))
+			{
+				server.registerMBean(new MXBeanImpl(), name);
+			}
+		}
+		catch (JMException | SecurityException e)
+		{
+			Logging.errorPrint("Unable to register calculation metrics with JMX", e);
+		}
+	}
+
+	private static Tally getTally(PCGenIdentifier owner)
+	{
+		if (owner == null)
+		{
+			return UNATTRIBUTED_TALLY;
+		}
+		Tally tally = TALLIES.get(owner);
+		if (tally == null)
+		{
+			tally = TALLIES.computeIfAbsent(owner, o -> new Tally());
+		}
+		return tally;
+	}
+
+	/**
+	 * The live counters for one owner.
+	 */
+	private static final class Tally
+	{
+		private final LongAdder[] counts = newAdders();
+		private final LongAdder[] nanos = newAdders();
+		private final Map<String, LongAdder> prereqKinds = new ConcurrentHashMap<>();
+
+		private static LongAdder[] newAdders()
+		{
+			LongAdder[] adders = new LongAdder[METRICS.length];
+			for (int i = 0; i < adders.length; i++)
+			{
+				adders[i] = new LongAdder();
+			}
+			return adders;
+		}
+
+		private void reset()
+		{
+			for (int i = 0; i < METRICS.length; i++)
+			{
+				counts[i].reset();
+				nanos[i].reset();
+			}
+			prereqKinds.clear();
+		}
+	}
+
+	/**
+	 * A point in time copy of the metrics of one owner.
+	 */
+	public static final class Snapshot
+	{
+		private final PCGenIdentifier owner;
+		private final long[] counts = new long[METRICS.length];
+		private final long[] nanos = new long[METRICS.length];
+		private final Map<String, Long> prereqKinds = new TreeMap<>();
+
+		private Snapshot(PCGenIdentifier owner, Tally tally)
+		{
+			this.owner = owner;
+			for (int i = 0; i < METRICS.length; i++)
+			{
+				counts[i] = tally.counts[i].sum();
+				nanos[i] = tally.nanos[i].sum();
+			}
+			tally.prereqKinds.forEach((kind, count) -> prereqKinds.put(kind, count.sum()));
+		}
+
+		/**
+		 * @return The owner of the metrics, null for the unattributed bucket.
+		 */
+		public PCGenIdentifier getOwner()
+		{
+			return owner;
+		}
+
+		/**
+		 * @param metric The metric of interest.
+		 * @return The number of times the metric was recorded.
+		 */
+		public long getCount(Metric metric)
+		{
+			return counts[metric.ordinal()];
+		}
+
+		/**
+		 * @param metric The metric of interest.
+		 * @return The total time recorded for the metric in nanoseconds.
+		 */
+		public long getNanos(Metric metric)
+		{
+			return nanos[metric.ordinal()];
+		}
+
+		/**
+		 * @return The number of prerequisite tests by prerequisite kind.
+		 */
+		public Map<String, Long> getPrereqCounts()
+		{
+			return Collections.unmodifiableMap(prereqKinds);
+		}
+
+		/**
+		 * @return The fraction of variable cache lookups that were hits, or
+		 * NaN if there have been no lookups.
+		 */
+		public double getVariableCacheHitRate()
+		{
+			long hits = getCount(Metric.VARIABLE_CACHE_HIT);
+			long total = hits + getCount(Metric.VARIABLE_CACHE_MISS);
+			return (total == 0) ? Double.NaN : (double) hits / total;
+		}
+
+		private boolean isEmpty()
+		{
+			for (long count : counts)
+			{
+				if (count != 0)
+				{
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	private static final class MXBeanImpl implements CalculationMetricsMXBean
+	{
+		@Override
+		public boolean isEnabled()
+		{
+			return CalculationMetrics.isEnabled();
+		}
+
+		@Override
+		public void setEnabled(boolean enabled)
+		{
+			CalculationMetrics.setEnabled(enabled);
+		}
+
+		@Override
+		public String[] getOwners()
+		{
+			return getSnapshots().stream().map(s -> describe(s.getOwner())).sorted().toArray(String[]::new);
+		}
+
+		@Override
+		public Map<String, Long> getTotals()
+		{
+			Map<Metric, Long> totals = new EnumMap<>(Metric.class);
+			for (Snapshot snapshot : getSnapshots())
+			{
+				for (Metric metric : METRICS)
+				{
+					totals.merge(metric, snapshot.getCount(metric), Long::sum);
+				}
+			}
+			return byName(totals);
+		}
+
+		@Override
+		public Map<String, Long> getTotalMillis()
+		{
+			Map<Metric, Long> totals = new EnumMap<>(Metric.class);
+			for (Snapshot snapshot : getSnapshots())
+			{
+				for (Metric metric : METRICS)
+				{
+					if (metric.isTimed())
+					{
+						totals.merge(metric, TimeUnit.NANOSECONDS.toMillis(snapshot.getNanos(metric)), Long::sum);
+					}
+				}
+			}
+			return byName(totals);
+		}
+
+		@Override
+		public Map<String, Long> getCounts(String owner)
+		{
+			Snapshot snapshot = find(owner);
+			Map<Metric, Long> counts = new EnumMap<>(Metric.class);
+			if (snapshot != null)
+			{
+				for (Metric metric : METRICS)
+				{
+					counts.put(metric, snapshot.getCount(metric));
+				}
+			}
+			return byName(counts);
+		}
+
+		@Override
+		public Map<String, Long> getPrereqCounts(String owner)
+		{
+			Snapshot snapshot = find(owner);
+			return (snapshot == null) ? Collections.emptyMap() : new TreeMap<>(snapshot.getPrereqCounts());
+		}
+
+		@Override
+		public void reset()
+		{
+			CalculationMetrics.reset();
+		}
+
+		private static Snapshot find(String owner)
+		{
+			for (Snapshot snapshot : getSnapshots())
+			{
+				if (describe(snapshot.getOwner()).equals(owner))
+				{
+					return snapshot;
+				}
+			}
+			return null;
+		}
+
+		private static Map<String, Long> byName(Map<Metric, Long> values)
+		{
+			Map<String, Long> result = new TreeMap<>();
+			values.forEach((metric, value) -> result.put(metric.toString(), value));
+			return result;
+		}
+	}
+}
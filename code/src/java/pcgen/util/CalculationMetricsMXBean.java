@@ -0,0 +1,73 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.util;
+
+import java.util.Map;
+
+/**
+ * JMX view of the {@link CalculationMetrics} gathered for the characters
+ * currently loaded. Characters are named by their internal identifier
+ * ("Character 3"), since the metrics are kept below the UI layer.
+ */
+public interface CalculationMetricsMXBean
+{
+	/**
+	 * @return true if the calculation engine is currently recording metrics.
+	 */
+	public boolean isEnabled();
+
+	/**
+	 * Turn metric recording on or off.
+	 * @param enabled true to record metrics.
+	 */
+	public void setEnabled(boolean enabled);
+
+	/**
+	 * @return The names of the characters (and other owners) with metrics.
+	 */
+	public String[] getOwners();
+
+	/**
+	 * @return The count of every metric, summed over all owners.
+	 */
+	public Map<String, Long> getTotals();
+
+	/**
+	 * @return The time in milliseconds spent in each timed metric, summed
+	 * over all owners.
+	 */
+	public Map<String, Long> getTotalMillis();
+
+	/**
+	 * Returns the count of every metric recorded for one owner.
+	 * @param owner The owner name, as returned by getOwners().
+	 * @return The counts, or an empty map if the owner is unknown.
+	 */
+	public Map<String, Long> getCounts(String owner);
+
+	/**
+	 * Returns the number of prerequisite tests made for one owner, by
+	 * prerequisite kind.
+	 * @param owner The owner name, as returned by getOwners().
+	 * @return The counts, or an empty map if the owner is unknown.
+	 */
+	public Map<String, Long> getPrereqCounts(String owner);
+
+	/**
+	 * Clear all of the recorded metrics.
+	 */
+	public void reset();
+}
@@ -0,0 +1,296 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.util;
+
+import java.text.MessageFormat;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LoadInterner shares identical immutable values (Strings, Formulas and
+ * Prerequisite trees) created while data is being loaded, so that the loaded
+ * data holds one copy of each rather than one copy per line or token.
+ * <p>
+ * The interner is only active between {@link #start()} and {@link #finish()},
+ * which bracket a data load. Outside of a load every method simply returns the
+ * value it was given, so code used both at load time and at run time may call
+ * it freely. The lookup tables are discarded when the load finishes; the
+ * shared values remain shared.
+ * <p>
+ * Values passed to the interner must not be modified afterwards, as they may
+ * be handed to any number of other objects.
+ */
+public final class LoadInterner
+{
+
+	/**
+	 * The kinds of value shared by the LoadInterner.
+	 */
+	public enum Category
+	{
+		STRING("Strings"), FORMULA("Formulas"), PREREQUISITE("Prerequisites");
+
+		private final String text;
+
+		Category(String text)
+		{
+			this.text = text;
+		}
+
+		@Override
+		public String toString()
+		{
+			return text;
+		}
+	}
+
+	/**
+	 * Approximate size of an empty String (object header, hash, coder and the
+	 * byte array header), used to estimate the memory saved.
+	 */
+	private static final int STRING_OVERHEAD = 40;
+
+	private static volatile Scope scope;
+
+	private static volatile Report lastReport;
+
+	private LoadInterner()
+	{
+		// Utility class
+	}
+
+	/**
+	 * Start a load scope. Any existing scope is discarded.
+	 */
+	public static void start()
+	{
+		scope = new Scope();
+	}
+
+	/**
+	 * End the current load scope, discarding the lookup tables.
+	 * @return The report of what was shared during the load, or null if there
+	 * was no load scope.
+	 */
+	public static Report finish()
+	{
+		Scope ended = scope;
+		scope = null;
+		if (ended == null)
+		{
+			return null;
+		}
+		Report report = new Report(ended);
+		lastReport = report;
+		return report;
+	}
+
+	/**
+	 * @return true if a load scope is active.
+	 */
+	public static boolean isActive()
+	{
+		return scope != null;
+	}
+
+	/**
+	 * @return The report from the most recently finished load, or null if no
+	 * load has finished.
+	 */
+	public static Report getLastReport()
+	{
+		return lastReport;
+	}
+
+	/**
+	 * Returns the shared copy of the given String.
+	 * @param value The String to be shared, may be null.
+	 * @return A String equal to the given String; the given String itself if
+	 * no load is in progress.
+	 */
+	public static String intern(String value)
+	{
+		Scope current = scope;
+		if (current == null || value == null)
+		{
+			return value;
+		}
+		return current.share(Category.STRING, value, value);
+	}
+
+	/**
+	 * Returns the shared value previously recorded for the given key, counting
+	 * the request.
+	 * @param <T> The type of value
+	 * @param category The category of value
+	 * @param key The key identifying the value (e.g. the text it was parsed from)
+	 * @return The shared value, or null if there is none (or no load is in
+	 * progress)
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> T getShared(Category category, Object key)
+	{
+		Scope current = scope;
+		if (current == null)
+		{
+			return null;
+		}
+		T value = (T) current.tables.get(category).get(key);
+		if (value != null)
+		{
+			current.recordHit(category);
+		}
+		return value;
+	}
+
+	/**
+	 * Records the given value as the shared value for the given key, unless a
+	 * value has already been recorded for the key.
+	 * @param <T> The type of value
+	 * @param category The category of value
+	 * @param key The key identifying the value
+	 * @param value The newly created value
+	 * @return The shared value for the key; the given value if it is the
+	 * first for the key or if no load is in progress.
+	 */
+	public static <T> T share(Category category, Object key, T value)
+	{
+		Scope current = scope;
+		if (current == null || key == null || value == null)
+		{
+			return value;
+		}
+		return current.share(category, key, value);
+	}
+
+	private static final class Scope
+	{
+		private final Map<Category, Map<Object, Object>> tables = new EnumMap<>(Category.class);
+		private final Map<Category, LongAdder> requests = new EnumMap<>(Category.class);
+		private final Map<Category, LongAdder> hits = new EnumMap<>(Category.class);
+		private final LongAdder stringBytesSaved = new LongAdder();
+
+		private Scope()
+		{
+			for (Category category : Category.values())
+			{
+				tables.put(category, new ConcurrentHashMap<>());
+				requests.put(category, new LongAdder());
+				hits.put(category, new LongAdder());
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		private <T> T share(Category category, Object key, T value)
+		{
+			requests.get(category).increment();
+			Object existing = tables.get(category).putIfAbsent(key, value);
+			if (existing == null)
+			{
+				return value;
+			}
+			if (existing != value)
+			{
+				hits.get(category).increment();
+				if (category == Category.STRING)
+				{
+					stringBytesSaved.add(STRING_OVERHEAD + ((String) value).length());
+				}
+			}
+			return (T) existing;
+		}
+
+		private void recordHit(Category category)
+		{
+			requests.get(category).increment();
+			hits.get(category).increment();
+		}
+	}
+
+	/**
+	 * The summary of what was shared during one load.
+	 */
+	public static final class Report
+	{
+		private final Map<Category, Long> requests = new EnumMap<>(Category.class);
+		private final Map<Category, Long> shared = new EnumMap<>(Category.class);
+		private final Map<Category, Integer> distinct = new EnumMap<>(Category.class);
+		private final long stringBytesSaved;
+
+		private Report(Scope scope)
+		{
+			for (Category category : Category.values())
+			{
+				requests.put(category, scope.requests.get(category).sum());
+				shared.put(category, scope.hits.get(category).sum());
+				distinct.put(category, scope.tables.get(category).size());
+			}
+			stringBytesSaved = scope.stringBytesSaved.sum();
+		}
+
+		/**
+		 * @param category The category of interest
+		 * @return The number of values offered to the interner
+		 */
+		public long getRequests(Category category)
+		{
+			return requests.get(category);
+		}
+
+		/**
+		 * @param category The category of interest
+		 * @return The number of values replaced by an existing shared value
+		 */
+		public long getShared(Category category)
+		{
+			return shared.get(category);
+		}
+
+		/**
+		 * @param category The category of interest
+		 * @return The number of distinct values retained
+		 */
+		public int getDistinct(Category category)
+		{
+			return distinct.get(category);
+		}
+
+		/**
+		 * @return The estimated number of bytes no longer held by duplicate
+		 * Strings
+		 */
+		public long getStringBytesSaved()
+		{
+			return stringBytesSaved;
+		}
+
+		@Override
+		public String toString()
+		{
+			StringBuilder sb = new StringBuilder("Load deduplication:");
+			for (Category category : Category.values())
+			{
+				sb.append(MessageFormat.format(" {0} {1,number,integer} shared of {2,number,integer} ({3,number,integer} distinct);",
+					category, shared.get(category), requests.get(category), distinct.get(category)));
+			}
+			sb.append(MessageFormat.format(" about {0,number,integer} KB of duplicate Strings released",
+				stringBytesSaved / 1024));
+			return sb.toString();
+		}
+	}
+}
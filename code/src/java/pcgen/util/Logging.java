@@ -24,10 +24,11 @@ import java.io.PrintStream;
 import java.net.URI;
 import java.text.NumberFormat;
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.function.Supplier;
 import java.util.logging.Handler;
 import java.util.logging.Level;
 import java.util.logging.LogManager;
@@ -623,11 +624,48 @@ public final class Logging
 		Logger.getLogger("plugin").setLevel(level);
 	}
 
-	private static final LinkedList<QueuedMessage> queuedMessages = new LinkedList<>();
+	/**
+	 * Parse messages are queued per thread, as each loading thread processes,
+	 * replays and clears its own messages.
+	 */
+	private static final ThreadLocal<ParseMessageQueue> PARSE_MESSAGES =
+			ThreadLocal.withInitial(ParseMessageQueue::new);
+
+	private static volatile boolean parseStackCapture = Boolean.getBoolean("pcgen.parse.stack"); //$NON-NLS-1$
+
+	/**
+	 * Sets whether parse messages capture the stack trace of the code that
+	 * reported them. This is off by default (unless the pcgen.parse.stack
+	 * system property is set) as it is expensive on large loads.
+	 * 
+	 * @param capture true if stack traces should be captured
+	 */
+	public static void setParseStackCapture(boolean capture)
+	{
+		parseStackCapture = capture;
+	}
+
+	/**
+	 * @return true if parse messages capture stack traces
+	 */
+	public static boolean isParseStackCapture()
+	{
+		return parseStackCapture;
+	}
+
+	/**
+	 * Returns the current stack if parse stack capture is on.
+	 * 
+	 * @return The current stack, or null if stack capture is off
+	 */
+	public static StackTraceElement[] captureParseStack()
+	{
+		return parseStackCapture ? Thread.currentThread().getStackTrace() : null;
+	}
 
 	public static void addParseMessage(Level lvl, String msg)
 	{
-		queuedMessages.add(new QueuedMessage(lvl, msg));
+		addParseDiagnostic(ParseDiagnostic.message(lvl, msg));
 	}
 
 	/*
@@ -636,61 +674,97 @@ public final class Logging
 	 */
 	public static void addParseMessage(Level lvl, String msg, StackTraceElement[] stack)
 	{
-		queuedMessages.add(new QueuedMessage(lvl, msg, stack));
+		addParseDiagnostic(ParseDiagnostic.message(lvl, msg, stack));
+	}
+
+	/**
+	 * Queues a diagnostic to be reported if the current parse fails. The text
+	 * of the diagnostic is only built if it is replayed.
+	 * 
+	 * @param diagnostic The diagnostic to queue
+	 */
+	public static void addParseDiagnostic(ParseDiagnostic diagnostic)
+	{
+		PARSE_MESSAGES.get().messages.add(diagnostic);
 	}
 
-	private static int queuedMessageMark = -1;
+	/**
+	 * Runs the given work, moving the parse messages it queues on the current
+	 * thread into the given list rather than leaving them in the queue of the
+	 * thread. This allows work done on a pool thread on behalf of another
+	 * thread to hand its messages back, with addParseDiagnostics, to the
+	 * thread that will replay or clear them.
+	 * 
+	 * @param work The work to be run
+	 * @param messages The list to receive the parse messages queued by the work
+	 * @return The result of the work
+	 */
+	public static <T> T collectParseMessages(Supplier<T> work, List<ParseDiagnostic> messages)
+	{
+		List<ParseDiagnostic> queue = PARSE_MESSAGES.get().messages;
+		int start = queue.size();
+		try
+		{
+			return work.get();
+		}
+		finally
+		{
+			List<ParseDiagnostic> added = queue.subList(Math.min(start, queue.size()), queue.size());
+			messages.addAll(added);
+			added.clear();
+		}
+	}
+
+	/**
+	 * Queues diagnostics, such as those gathered by collectParseMessages, to
+	 * be reported if the current parse fails.
+	 * 
+	 * @param diagnostics The diagnostics to queue, in order
+	 */
+	public static void addParseDiagnostics(Collection<ParseDiagnostic> diagnostics)
+	{
+		PARSE_MESSAGES.get().messages.addAll(diagnostics);
+	}
 
 	public static void rewindParseMessages()
 	{
-		while (queuedMessageMark > -1 && queuedMessages.size() > queuedMessageMark)
+		ParseMessageQueue queue = PARSE_MESSAGES.get();
+		while (queue.mark > -1 && queue.messages.size() > queue.mark)
 		{
-			queuedMessages.removeLast();
+			queue.messages.remove(queue.messages.size() - 1);
 		}
 	}
 
 	public static void replayParsedMessages()
 	{
+		ParseMessageQueue queue = PARSE_MESSAGES.get();
+		if (queue.messages.isEmpty())
+		{
+			queue.mark = -1;
+			return;
+		}
 		Logger l = getLogger();
-		for (QueuedMessage msg : queuedMessages)
+		for (ParseDiagnostic msg : queue.messages)
 		{
-			if (l.isLoggable(msg.level))
+			if (l.isLoggable(msg.getLevel()))
 			{
-				l.log(msg.level, msg.message, msg.stackTrace);
+				l.log(msg.getLevel(), msg.getMessage(), msg.getStackTrace());
 			}
 
 		}
-		queuedMessageMark = -1;
+		queue.mark = -1;
 	}
 
 	public static void clearParseMessages()
 	{
-		queuedMessageMark = -1;
-		queuedMessages.clear();
+		ParseMessageQueue queue = PARSE_MESSAGES.get();
+		queue.mark = -1;
+		queue.messages.clear();
 	}
 
-	private static final class QueuedMessage
+	private static final class ParseMessageQueue
 	{
-		public final Level level;
-		public final String message;
-		private final StackTraceElement[] stackTrace;
-
-		private QueuedMessage(Level lvl, String msg)
-		{
-			level = lvl;
-			message = msg;
-			stackTrace = Thread.currentThread().getStackTrace();
-		}
-
-		/*
-		 * Temporary constructor for use with ParseResult conversion.
-		 * See addParseMessage above.
-		 */
-		private QueuedMessage(Level lvl, String msg, StackTraceElement[] stack)
-		{
-			level = lvl;
-			message = msg;
-			stackTrace = stack;
-		}
+		private final List<ParseDiagnostic> messages = new ArrayList<>();
+		private int mark = -1;
 	}
 }
@@ -0,0 +1,252 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.util;
+
+import java.net.URI;
+import java.util.logging.Level;
+
+import pcgen.cdom.base.Loadable;
+
+/**
+ * A ParseDiagnostic is a message produced while parsing data, held in a
+ * structured form. The text of the message is only built when it is actually
+ * needed, which during a load is rarely the case: most diagnostics are
+ * discarded because a later token succeeded or the line was committed.
+ * 
+ * A stack trace is only captured if stack capture has been switched on with
+ * {@link Logging#setParseStackCapture(boolean)}.
+ */
+public final class ParseDiagnostic
+{
+	/**
+	 * The kind of a ParseDiagnostic, which determines how its text is built.
+	 */
+	public enum Code
+	{
+		/**
+		 * A free text message.
+		 */
+		MESSAGE,
+
+		/**
+		 * One of the tokens for a token name rejected the value.
+		 */
+		TOKEN_FAILED,
+
+		/**
+		 * An interface token rejected the value.
+		 */
+		INTERFACE_TOKEN_FAILED,
+
+		/**
+		 * No token accepted the token name and value.
+		 */
+		ILLEGAL_TOKEN,
+
+		/**
+		 * The token name starts with whitespace.
+		 */
+		ILLEGAL_WHITESPACE
+	}
+
+	private final Level level;
+	private final Code code;
+	private final String detail;
+	private final String token;
+	private final String value;
+	private final Class<?> targetClass;
+	private final Object targetName;
+	private final URI sourceURI;
+	private final boolean showSource;
+	private final StackTraceElement[] stackTrace;
+	private String message;
+
+	private ParseDiagnostic(Level level, Code code, String detail, String token, String value,
+		Class<?> targetClass, Object targetName, URI sourceURI, boolean showSource, StackTraceElement[] stackTrace)
+	{
+		this.level = level;
+		this.code = code;
+		this.detail = detail;
+		this.token = token;
+		this.value = value;
+		this.targetClass = targetClass;
+		this.targetName = targetName;
+		this.sourceURI = sourceURI;
+		this.showSource = showSource;
+		this.stackTrace = stackTrace;
+	}
+
+	/**
+	 * Creates a free text diagnostic.
+	 * 
+	 * @param level The level of the diagnostic
+	 * @param message The text of the diagnostic
+	 * @return The new diagnostic
+	 */
+	public static ParseDiagnostic message(Level level, String message)
+	{
+		return new ParseDiagnostic(level, Code.MESSAGE, message, null, null, null, null, null, false,
+			Logging.captureParseStack());
+	}
+
+	/**
+	 * Creates a free text diagnostic with a stack trace captured by the caller.
+	 * 
+	 * @param level The level of the diagnostic
+	 * @param message The text of the diagnostic
+	 * @param stackTrace The stack trace to report with the diagnostic, may be null
+	 * @return The new diagnostic
+	 */
+	public static ParseDiagnostic message(Level level, String message, StackTraceElement[] stackTrace)
+	{
+		return new ParseDiagnostic(level, Code.MESSAGE, message, null, null, null, null, null, false, stackTrace);
+	}
+
+	/**
+	 * Creates a free text diagnostic whose text names the source it came from.
+	 * 
+	 * @param level The level of the diagnostic
+	 * @param message The text of the diagnostic, without the source
+	 * @param sourceURI The source of the diagnostic
+	 * @param stackTrace The stack trace to report with the diagnostic, may be null
+	 * @return The new diagnostic
+	 */
+	public static ParseDiagnostic message(Level level, String message, URI sourceURI,
+		StackTraceElement[] stackTrace)
+	{
+		return new ParseDiagnostic(level, Code.MESSAGE, message, null, null, null, null, sourceURI, true,
+			stackTrace);
+	}
+
+	/**
+	 * Creates a diagnostic about a token applied to a Loadable.
+	 * 
+	 * @param level The level of the diagnostic
+	 * @param code The kind of diagnostic
+	 * @param token The token name
+	 * @param value The token value
+	 * @param target The object the token was applied to
+	 * @param sourceURI The source of the token
+	 * @return The new diagnostic
+	 */
+	public static ParseDiagnostic forToken(Level level, Code code, String token, String value, Loadable target,
+		URI sourceURI)
+	{
+		return new ParseDiagnostic(level, code, null, token, value, target.getClass(), target.getDisplayName(),
+			sourceURI, false, Logging.captureParseStack());
+	}
+
+	/**
+	 * Creates a diagnostic about a token applied to an object through an
+	 * interface token. The object is only converted to text if the message is
+	 * built.
+	 * 
+	 * @param level The level of the diagnostic
+	 * @param token The token name
+	 * @param value The token value
+	 * @param target The object the token was applied to
+	 * @return The new diagnostic
+	 */
+	public static ParseDiagnostic forInterfaceToken(Level level, String token, String value, Object target)
+	{
+		return new ParseDiagnostic(level, Code.INTERFACE_TOKEN_FAILED, null, token, value, target.getClass(),
+			target, null, false, Logging.captureParseStack());
+	}
+
+	public Level getLevel()
+	{
+		return level;
+	}
+
+	public Code getCode()
+	{
+		return code;
+	}
+
+	/**
+	 * @return The token name, or null if this diagnostic is not about a token
+	 */
+	public String getToken()
+	{
+		return token;
+	}
+
+	/**
+	 * @return The token value, or null if this diagnostic is not about a token
+	 */
+	public String getValue()
+	{
+		return value;
+	}
+
+	/**
+	 * @return The source of the diagnostic, or null if it is not known
+	 */
+	public URI getSourceURI()
+	{
+		return sourceURI;
+	}
+
+	/**
+	 * @return The stack trace captured with the diagnostic, or null if none
+	 *         was captured
+	 */
+	public StackTraceElement[] getStackTrace()
+	{
+		return stackTrace;
+	}
+
+	/**
+	 * Returns the text of the diagnostic, building it on first use.
+	 * 
+	 * @return The text of the diagnostic
+	 */
+	public String getMessage()
+	{
+		if (message == null)
+		{
+			message = buildMessage();
+		}
+		return message;
+	}
+
+	private String buildMessage()
+	{
+		switch (code)
+		{
+			case TOKEN_FAILED:
+				return "Failed in parsing typeStr: " + token + ' ' + value + " for " + targetClass.getName() + ' '
+					+ targetName;
+			case INTERFACE_TOKEN_FAILED:
+				return "Failed in parsing token: " + token + ' ' + value + " for " + targetClass.getName() + ' '
+					+ targetName;
+			case ILLEGAL_WHITESPACE:
+				return "Illegal whitespace at start of token '" + token + "' '" + value + "' for "
+					+ targetClass.getName() + ' ' + targetName + " in " + sourceURI;
+			case ILLEGAL_TOKEN:
+				return "Illegal Token '" + token + "' '" + value + "' for " + targetClass.getName() + ' '
+					+ targetName + " in " + sourceURI;
+			default:
+				return showSource ? detail + " (Source: " + sourceURI + " )" : detail;
+		}
+	}
+
+	@Override
+	public String toString()
+	{
+		return getMessage();
+	}
+}
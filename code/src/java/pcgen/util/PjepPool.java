@@ -21,6 +21,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Stack;
 
+import pcgen.cdom.base.PCGenIdentifier;
+
 public final class PjepPool
 {
 	private Stack<PJEP> freeStack = new Stack<>();
@@ -49,6 +51,21 @@ public final class PjepPool
 
 	public synchronized PJEP aquire(final Object parent, String variableSource)
 	{
+		return aquire(parent, variableSource, null);
+	}
+
+	/**
+	 * Take a parser from the pool, counting the acquisition against the
+	 * given character in the {@link CalculationMetrics}.
+	 *
+	 * @param parent The parent of the parser (used to resolve variables)
+	 * @param variableSource The source of the variables being resolved
+	 * @param owner The character the parser is being used for, may be null
+	 * @return A parser ready for use
+	 */
+	public synchronized PJEP aquire(final Object parent, String variableSource, PCGenIdentifier owner)
+	{
+		CalculationMetrics.increment(owner, CalculationMetrics.Metric.PJEP_ACQUIRE);
 		//System.out.println("aquireJep()");
 		PJEP jep;
 		if (!freeStack.isEmpty())
@@ -101,6 +101,37 @@ public final class VisionType
 		buildMap();
 	}
 
+	/**
+	 * Returns a copy of the mapping from names to VisionTypes, suitable for
+	 * reinstating with restoreConstants(Map) once another data set has been
+	 * loaded.
+	 * 
+	 * @return A copy of the mapping from names to VisionTypes
+	 */
+	public static Map<String, VisionType> getConstantMap()
+	{
+		if (typeMap == null)
+		{
+			buildMap();
+		}
+		Map<String, VisionType> map = new HashMap<>();
+		typeMap.forEach((key, type) -> map.put(key.toString(), type));
+		return map;
+	}
+
+	/**
+	 * Replaces the VisionTypes known to this Class with the given mapping, as
+	 * previously returned by getConstantMap().
+	 * 
+	 * @param constants
+	 *            The mapping from names to VisionTypes
+	 */
+	public static void restoreConstants(Map<String, VisionType> constants)
+	{
+		typeMap = new HashMap<>();
+		constants.forEach((key, type) -> typeMap.put(new CaseInsensitiveString(key), type));
+	}
+
 	public static Collection<VisionType> getAllVisionTypes()
 	{
 		if (typeMap == null)
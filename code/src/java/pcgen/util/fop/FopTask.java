@@ -18,18 +18,27 @@
  */
 package pcgen.util.fop;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.xml.transform.ErrorListener;
 import javax.xml.transform.SourceLocator;
+import javax.xml.transform.Templates;
 import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.sax.SAXResult;
@@ -57,14 +66,30 @@ import org.apache.fop.render.Renderer;
  * source of the task: files or inputstreams. The output of this task can either be an OutputStream
  * which you can point to a file, or a Renderer. The Renderer is used by print preview and for
  * direct printing.
+ * 
+ * Stylesheets are compiled once and reused until the stylesheet file changes. The XML source can
+ * also be supplied as an {@link XmlWriter}, in which case it is written on a separate thread and
+ * transformed as it is produced, rather than being built in memory first.
  */
 public final class FopTask implements Runnable
 {
 	private static final FopFactory FOP_FACTORY = createFopFactory();
-	private static FOUserAgent userAgent;
 
+	/**
+	 * The factory is not thread safe, so all use of it is synchronized on it.
+	 */
 	private static final TransformerFactory TRANS_FACTORY = TransformerFactory.newInstance();
 
+	/**
+	 * Compiled stylesheets, keyed by the absolute stylesheet file.
+	 */
+	private static final Map<File, CompiledStylesheet> TEMPLATES = new ConcurrentHashMap<>();
+
+	/**
+	 * The size of the pipe between the XML writer and the transformer in streaming mode.
+	 */
+	private static final int PIPE_SIZE = 64 * 1024;
+
 	private static FopFactory createFopFactory()
 	{
 
@@ -98,21 +123,26 @@ public final class FopTask implements Runnable
 	}
 
 	private final StreamSource inputSource;
-	private final StreamSource xsltSource;
+	private final XmlWriter xmlWriter;
+	private final File xsltFile;
 	private final Renderer renderer;
 	private final OutputStream outputStream;
+	private final FOUserAgent userAgent;
 
 	private final StringBuilder errorBuilder = new StringBuilder(32);
 
-	private FopTask(StreamSource inputXml, StreamSource xsltSource, Renderer renderer, OutputStream outputStream)
+	private FopTask(StreamSource inputXml, XmlWriter xmlWriter, File xsltFile, Renderer renderer,
+		OutputStream outputStream)
 	{
 		this.inputSource = inputXml;
-		this.xsltSource = xsltSource;
+		this.xmlWriter = xmlWriter;
+		this.xsltFile = xsltFile;
 		this.renderer = renderer;
 		this.outputStream = outputStream;
+		this.userAgent = (renderer == null) ? FOP_FACTORY.newFOUserAgent() : renderer.getUserAgent();
 	}
 
-	private static StreamSource createXsltStreamSource(File xsltFile) throws FileNotFoundException
+	private static File checkXsltFile(File xsltFile) throws FileNotFoundException
 	{
 		if (xsltFile == null)
 		{
@@ -122,7 +152,32 @@ public final class FopTask implements Runnable
 		{
 			throw new FileNotFoundException("xsl file " + xsltFile.getAbsolutePath() + " not found ");
 		}
-		return new StreamSource(xsltFile);
+		return xsltFile.getAbsoluteFile();
+	}
+
+	/**
+	 * Returns the compiled form of the given stylesheet, compiling it if it has not been compiled
+	 * yet or has been modified since.
+	 *
+	 * @param xsltFile the absolute stylesheet file
+	 * @return the compiled stylesheet
+	 * @throws TransformerConfigurationException if the stylesheet cannot be compiled
+	 */
+	private static Templates getTemplates(File xsltFile) throws TransformerConfigurationException
+	{
+		long modified = xsltFile.lastModified();
+		CompiledStylesheet compiled = TEMPLATES.get(xsltFile);
+		if ((compiled == null) || (compiled.modified != modified))
+		{
+			Templates templates;
+			synchronized (TRANS_FACTORY)
+			{
+				templates = TRANS_FACTORY.newTemplates(new StreamSource(xsltFile));
+			}
+			compiled = new CompiledStylesheet(templates, modified);
+			TEMPLATES.put(xsltFile, compiled);
+		}
+		return compiled.templates;
 	}
 
 	public static FopFactory getFactory()
@@ -144,9 +199,7 @@ public final class FopTask implements Runnable
 	public static FopTask newFopTask(InputStream inputXmlStream, File xsltFile, OutputStream outputPdf)
 		throws FileNotFoundException
 	{
-		StreamSource xsltSource = createXsltStreamSource(xsltFile);
-		userAgent = FOP_FACTORY.newFOUserAgent();
-		return new FopTask(new StreamSource(inputXmlStream), xsltSource, null, outputPdf);
+		return new FopTask(new StreamSource(inputXmlStream), null, checkXsltFile(xsltFile), null, outputPdf);
 	}
 
 	/**
@@ -163,9 +216,40 @@ public final class FopTask implements Runnable
 	public static FopTask newFopTask(InputStream inputXmlStream, File xsltFile, Renderer renderer)
 		throws FileNotFoundException
 	{
-		StreamSource xsltSource = createXsltStreamSource(xsltFile);
-		userAgent = renderer.getUserAgent();
-		return new FopTask(new StreamSource(inputXmlStream), xsltSource, renderer, null);
+		return new FopTask(new StreamSource(inputXmlStream), null, checkXsltFile(xsltFile), renderer, null);
+	}
+
+	/**
+	 * Creates a new FopTask that streams the XML written by the given XmlWriter through the given
+	 * xsltFile and outputs a pdf document to the given output stream. The XmlWriter is run on its own
+	 * thread while the task runs, so the export and the rendering overlap.
+	 *
+	 * @param inputXml writes the fop xml input, as UTF-8
+	 * @param xsltFile the transform template file, if null then the identity transformer is used
+	 * @param outputPdf output stream for pdf document
+	 * @return a FopTask to be executed
+	 * @throws FileNotFoundException if xsltFile is not null and does not exist
+	 */
+	public static FopTask newFopTask(XmlWriter inputXml, File xsltFile, OutputStream outputPdf)
+		throws FileNotFoundException
+	{
+		return new FopTask(null, inputXml, checkXsltFile(xsltFile), null, outputPdf);
+	}
+
+	/**
+	 * Creates a new FopTask that streams the XML written by the given XmlWriter through the given
+	 * xsltFile and outputs a pdf document to the given Renderer.
+	 *
+	 * @param inputXml writes the fop xml input, as UTF-8
+	 * @param xsltFile the transform template file, if null then the identity transformer is used
+	 * @param renderer the Renderer to output a pdf document to.
+	 * @return a FopTask to be executed
+	 * @throws FileNotFoundException if xsltFile is not null and does not exist
+	 */
+	public static FopTask newFopTask(XmlWriter inputXml, File xsltFile, Renderer renderer)
+		throws FileNotFoundException
+	{
+		return new FopTask(null, inputXml, checkXsltFile(xsltFile), renderer, null);
 	}
 
 	public String getErrorMessages()
@@ -210,16 +294,26 @@ public final class FopTask implements Runnable
 			}
 
 			Transformer transformer;
-			if (xsltSource != null)
+			if (xsltFile != null)
 			{
-				transformer = TRANS_FACTORY.newTransformer(xsltSource);
+				transformer = getTemplates(xsltFile).newTransformer();
 			}
 			else
 			{
-				transformer = TRANS_FACTORY.newTransformer(); // identity transformer		
+				synchronized (TRANS_FACTORY)
+				{
+					transformer = TRANS_FACTORY.newTransformer(); // identity transformer
+				}
 			}
 			transformer.setErrorListener(new FOPErrorListener());
-			transformer.transform(inputSource, new SAXResult(fop.getDefaultHandler()));
+			if (xmlWriter == null)
+			{
+				transformer.transform(inputSource, new SAXResult(fop.getDefaultHandler()));
+			}
+			else
+			{
+				transformStreamed(transformer, new SAXResult(fop.getDefaultHandler()));
+			}
 		}
 		catch (TransformerException | FOPException | IOException e)
 		{
@@ -233,6 +327,77 @@ public final class FopTask implements Runnable
 		}
 	}
 
+	/**
+	 * Runs the XmlWriter on its own thread, feeding its output to the transformer through a pipe.
+	 */
+	private void transformStreamed(Transformer transformer, SAXResult result) throws TransformerException,
+		IOException
+	{
+		PipedInputStream pipeIn = new PipedInputStream(PIPE_SIZE);
+		PipedOutputStream pipeOut = new PipedOutputStream(pipeIn);
+		Exception[] writeFailure = new Exception[1];
+		Thread writerThread = new Thread(() -> {
+			try (BufferedWriter out = new BufferedWriter(new OutputStreamWriter(pipeOut, StandardCharsets.UTF_8)))
+			{
+				xmlWriter.write(out);
+			}
+			catch (Exception e)
+			{
+				writeFailure[0] = e;
+			}
+		}, "FopTask-xml-writer");
+		writerThread.setDaemon(true);
+		writerThread.start();
+		try (InputStream in = pipeIn)
+		{
+			transformer.transform(new StreamSource(in), result);
+		}
+		finally
+		{
+			// Closing the pipe above releases a writer blocked by a failed transform
+			try
+			{
+				writerThread.join();
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+			}
+			if (writeFailure[0] != null)
+			{
+				errorBuilder.append(writeFailure[0].getMessage()).append(Constants.LINE_SEPARATOR);
+				Logging.errorPrint("Exception writing XML in FopTask:run", writeFailure[0]);
+			}
+		}
+	}
+
+	/**
+	 * Writes the XML input of a streaming FopTask.
+	 */
+	@FunctionalInterface
+	public interface XmlWriter
+	{
+		/**
+		 * Writes the complete XML document to the given writer.
+		 *
+		 * @param out the writer to write to; it is closed by the FopTask
+		 * @throws Exception if the document cannot be written
+		 */
+		void write(BufferedWriter out) throws Exception;
+	}
+
+	private static final class CompiledStylesheet
+	{
+		private final Templates templates;
+		private final long modified;
+
+		private CompiledStylesheet(Templates templates, long modified)
+		{
+			this.templates = templates;
+			this.modified = modified;
+		}
+	}
+
 	/**
 	 * The Class {@code FOPErrorListener} listens for notifications of issues when generating
 	 * PDF files and responds accordingly.
@@ -42,6 +42,8 @@ import javax.swing.event.DocumentListener;
 import javax.swing.table.AbstractTableModel;
 
 import pcgen.core.RollingMethods;
+import pcgen.core.dice.DiceCompiler;
+import pcgen.core.dice.DiceDistribution;
 import pcgen.gui2.tools.Icons;
 import pcgen.util.Logging;
 
@@ -176,6 +178,25 @@ public class DiceBagView extends JInternalFrame implements Observer
 		}
 
 		m_exprResult.setText("<html><b>" + diceRoll + ": " + resultString + "</b></html>");
+		m_exprResult.setToolTipText(getOddsText(diceRoll));
+	}
+
+	/**
+	 * <p>Builds a short description of the exact odds of a dice expression,
+	 * for use as a tooltip on the roll result.</p>
+	 *
+	 * @param diceRoll The dice expression
+	 * @return The odds description, or null if they can't be calculated
+	 */
+	private static String getOddsText(String diceRoll)
+	{
+		DiceDistribution dist = DiceCompiler.getDistribution(diceRoll);
+		if (dist == null)
+		{
+			return null;
+		}
+		return String.format("Range %d-%d, mean %.2f, std dev %.2f, median %d", dist.getMinimum(),
+			dist.getMaximum(), dist.getMean(), dist.getStandardDeviation(), dist.getPercentile(0.5));
 	}
 
 	/**
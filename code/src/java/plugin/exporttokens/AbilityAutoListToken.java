@@ -56,7 +56,7 @@ public class AbilityAutoListToken extends AbilityListToken
 		{
 			if (AbilityCategory.ANY.equals(aCategory) || aCat.getParentCategory().equals(aCategory))
 			{
-				for (CNAbility cna : pc.getPoolAbilities(aCat, Nature.AUTOMATIC))
+				for (CNAbility cna : pc.getDistinctPoolAbilitiesView(aCat, Nature.AUTOMATIC))
 				{
 					listOfAbilities.addToListFor(cna.getAbility(), cna);
 				}
@@ -33,7 +33,7 @@ public class FeatAllListToken extends AbilityListToken
 		// Skip the token itself
 		final String tokenString = aTok.nextToken();
 
-		return getTokenForCategory(pc, aTok, tokenString, AbilityCategory.FEAT);
+		return getTokenForCategory(pc, eh, aTok, tokenString, AbilityCategory.FEAT);
 	}
 
 	@Override
@@ -45,15 +45,15 @@ public class FeatAllListToken extends AbilityListToken
 		{
 			if (aCat.getParentCategory().equals(aCategory))
 			{
-				for (CNAbility cna : pc.getPoolAbilities(aCat, Nature.NORMAL))
+				for (CNAbility cna : pc.getDistinctPoolAbilitiesView(aCat, Nature.NORMAL))
 				{
 					listOfAbilities.addToListFor(cna.getAbility(), cna);
 				}
-				for (CNAbility cna : pc.getPoolAbilities(aCat, Nature.AUTOMATIC))
+				for (CNAbility cna : pc.getDistinctPoolAbilitiesView(aCat, Nature.AUTOMATIC))
 				{
 					listOfAbilities.addToListFor(cna.getAbility(), cna);
 				}
-				for (CNAbility cna : pc.getPoolAbilities(aCat, Nature.VIRTUAL))
+				for (CNAbility cna : pc.getDistinctPoolAbilitiesView(aCat, Nature.VIRTUAL))
 				{
 					listOfAbilities.addToListFor(cna.getAbility(), cna);
 				}
@@ -46,15 +46,15 @@ public class FeatAllToken extends AbilityToken
 		{
 			if (aCat.getParentCategory().equals(aCategory))
 			{
-				for (CNAbility cna : pc.getPoolAbilities(aCat, Nature.NORMAL))
+				for (CNAbility cna : pc.getDistinctPoolAbilitiesView(aCat, Nature.NORMAL))
 				{
 					listOfAbilities.addToListFor(cna.getAbility(), cna);
 				}
-				for (CNAbility cna : pc.getPoolAbilities(aCat, Nature.AUTOMATIC))
+				for (CNAbility cna : pc.getDistinctPoolAbilitiesView(aCat, Nature.AUTOMATIC))
 				{
 					listOfAbilities.addToListFor(cna.getAbility(), cna);
 				}
-				for (CNAbility cna : pc.getPoolAbilities(aCat, Nature.VIRTUAL))
+				for (CNAbility cna : pc.getDistinctPoolAbilitiesView(aCat, Nature.VIRTUAL))
 				{
 					listOfAbilities.addToListFor(cna.getAbility(), cna);
 				}
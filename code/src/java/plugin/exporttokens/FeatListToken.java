@@ -30,7 +30,7 @@ public class FeatListToken extends AbilityListToken
 		// Skip the ABILITYLIST token itself
 		final String tokenString = aTok.nextToken();
 
-		return getTokenForCategory(pc, aTok, tokenString, AbilityCategory.FEAT);
+		return getTokenForCategory(pc, eh, aTok, tokenString, AbilityCategory.FEAT);
 	}
 
 }
@@ -39,13 +39,11 @@ import pcgen.core.analysis.SkillInfoUtilities;
 import pcgen.core.analysis.SkillModifier;
 import pcgen.core.analysis.SkillRankControl;
 import pcgen.core.display.SkillCostDisplay;
-import pcgen.core.display.SkillDisplay;
 import pcgen.io.ExportHandler;
 import pcgen.io.exporttoken.SkillToken;
 import pcgen.io.exporttoken.SkillToken.SkillDetails;
 import pcgen.io.exporttoken.Token;
 import pcgen.util.Logging;
-import pcgen.util.enumeration.View;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -53,11 +51,6 @@ public class SkillSitToken extends Token
 {
 	public static final String TOKENNAME = "SKILLSIT";
 
-	// Cache the skill list as it is expensive to build
-	private List<Skill> cachedSkillList = null;
-	private PlayerCharacter lastPC = null;
-	private int lastPCSerial;
-
 	@Override
 	public String getTokenName()
 	{
@@ -90,7 +83,7 @@ public class SkillSitToken extends Token
 		try
 		{
 			int i = Integer.parseInt(details.getSkillId());
-			final List<Skill> pcSkills = new ArrayList<>(getSkillList(pc));
+			final List<Skill> pcSkills = new ArrayList<>(SkillToken.getSkillList(pc, eh, getTokenName()));
 
 			SkillFilter filter = details.getSkillFilter();
 			if (filter == null || filter == SkillFilter.Selected)
@@ -168,21 +161,6 @@ public class SkillSitToken extends Token
 		return skill;
 	}
 
-	private synchronized List<Skill> getSkillList(PlayerCharacter pc)
-	{
-		if (pc == lastPC && pc.getSerial() == lastPCSerial)
-		{
-			return cachedSkillList;
-		}
-
-		final List<Skill> pcSkills =
-				SkillDisplay.getSkillListInOutputOrder(pc, pc.getDisplay().getPartialSkillList(View.VISIBLE_EXPORT));
-		cachedSkillList = pcSkills;
-		lastPC = pc;
-		lastPCSerial = pc.getSerial();
-		return pcSkills;
-	}
-
 	/**
 	 * Calculate the value of the specified skill property for the
 	 * supplied skill and character.
@@ -56,7 +56,7 @@ public class VAbilityListToken extends AbilityListToken
 		{
 			if (AbilityCategory.ANY.equals(aCategory) || aCat.getParentCategory().equals(aCategory))
 			{
-				for (CNAbility cna : pc.getPoolAbilities(aCat, Nature.VIRTUAL))
+				for (CNAbility cna : pc.getDistinctPoolAbilitiesView(aCat, Nature.VIRTUAL))
 				{
 					listOfAbilities.addToListFor(cna.getAbility(), cna);
 				}
@@ -221,12 +221,7 @@ public class InitiativePlugin implements InteractivePlugin
 		if (message.getSource() != this)
 		{
 			InitHolderList cl = message.getInitHolderList();
-
-			for (InitHolder iH : cl)
-			{
-				theView.addInitHolder(iH);
-			}
-
+			theView.addInitHolders(cl);
 			theView.refreshTable();
 		}
 	}
@@ -20,10 +20,14 @@
  */
 package plugin.initiative.gui;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import javax.swing.JComponent;
 import javax.swing.JFormattedTextField;
 import javax.swing.JPanel;
 
+import gmgen.plugin.InitHolder;
 import pcgen.core.SettingsHandler;
 import pcgen.gui2.dialog.AbstractDialog;
 import pcgen.util.Logging;
@@ -130,7 +134,10 @@ public class AddCombatant extends AbstractDialog
 		// If we are creating multiple guys, loop
 		if (getIntegerValue(numberField, 1) > 1)
 		{
-			for (int i = 1; i <= getIntegerValue(numberField, 1); i++)
+			int count = getIntegerValue(numberField, 1);
+			List<InitHolder> combatants = new ArrayList<>(count);
+
+			for (int i = 1; i <= count; i++)
 			{
 				XMLCombatant xmlcbt = new XMLCombatant(nameField.getText() + " (" + i + ')', playerField.getText(),
 					getIntegerValue(strField, 10), getIntegerValue(dexField, 10), getIntegerValue(conField, 10),
@@ -138,9 +145,11 @@ public class AddCombatant extends AbstractDialog
 					getIntegerValue(fortitudeField, 0), getIntegerValue(reflexField, 0), getIntegerValue(willField, 0),
 					getIntegerValue(hpField, 1), getIntegerValue(hpField, 1), 0, getIntegerValue(bonusField, 0),
 					comString, getFloatValue(crField, 1), 0);
-				initiative.initList.add(xmlcbt);
+				combatants.add(xmlcbt);
 				initiative.addTab(xmlcbt);
 			}
+
+			initiative.initList.addAll(combatants);
 		}
 
 		// If if not, just add one
@@ -29,6 +29,7 @@ import java.io.IOException;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Vector;
@@ -311,6 +312,25 @@ public class Initiative extends javax.swing.JPanel
 		initList.add(iH);
 	}
 
+	/**
+	 * Add a group of initiative holders, making the names of any combatants
+	 * unique. The list is only scanned and sorted once for the whole group,
+	 * so this should be used when adding many combatants at a time.
+	 * @param holders
+	 */
+	public void addInitHolders(Collection<? extends InitHolder> holders)
+	{
+		initList.addAllWithUniqueNames(holders);
+
+		for (InitHolder iH : holders)
+		{
+			if (iH instanceof Combatant)
+			{
+				addTab((Combatant) iH);
+			}
+		}
+	}
+
 	/**
 	 * Add a new pcg combatant
 	 * @param pc
@@ -1217,18 +1237,32 @@ public class Initiative extends javax.swing.JPanel
 	 * @param toPaste
 	 */
 	private void pasteNew(InitHolder toPaste)
+	{
+		pasteNew(toPaste, 1);
+	}
+
+	/**
+	 *  Pastes num copies of the copied combatant
+	 * @param toPaste
+	 *
+	 *@param  num  number to paste
+	 */
+	private void pasteNew(InitHolder toPaste, int num)
 	{
 		if (toPaste instanceof XMLCombatant)
 		{
-
 			XMLCombatant cb = (XMLCombatant) toPaste;
 			SystemInitiative init = cb.getInitiative();
 			SystemHP hitPoints = cb.getHP();
-			String name = initList.getUniqueName(cb.getName());
-			InitHolder newCbt = new XMLCombatant(name, toPaste.getPlayer(), init.getAttribute().getValue(),
-				hitPoints.getAttribute().getValue(), hitPoints.getMax(), hitPoints.getCurrent(), hitPoints.getSubdual(),
-				init.getBonus(), cb.getCombatantType(), cb.getCR());
-			initList.add(newCbt);
+			List<InitHolder> copies = new ArrayList<>(num);
+
+			for (String name : initList.getUniqueNames(cb.getName(), num))
+			{
+				copies.add(new XMLCombatant(name, toPaste.getPlayer(), init.getAttribute().getValue(),
+					hitPoints.getAttribute().getValue(), hitPoints.getMax(), hitPoints.getCurrent(),
+					hitPoints.getSubdual(), init.getBonus(), cb.getCombatantType(), cb.getCR()));
+			}
+			initList.addAll(copies);
 		}
 
 		if (toPaste instanceof PcgCombatant)
@@ -1242,20 +1276,6 @@ public class Initiative extends javax.swing.JPanel
 		refreshTable();
 	}
 
-	/**
-	 *  Pastes num copies of the copied combatant
-	 * @param toPaste
-	 *
-	 *@param  num  number to paste
-	 */
-	private void pasteNew(InitHolder toPaste, int num)
-	{
-		for (int i = 0; i < num; i++)
-		{
-			pasteNew(toPaste);
-		}
-	}
-
 	/**
 	 * <p>Performs an attack action for the specified combatant.  This method
 	 * constructs an AttackModel from the specified string and displays an attack
@@ -1372,16 +1392,21 @@ public class Initiative extends javax.swing.JPanel
 
 	//** Table CoreUtility Functions **
 
-	/**  Refreshes the main table to reflect the current data in memory */
+	/**
+	 * Refreshes the main table to reflect the current data in memory. Only
+	 * the rows that have actually changed are replaced, so that large
+	 * encounters do not rebuild and re-layout the whole table on every change.
+	 */
+	@SuppressWarnings({"UseOfObsoleteCollectionType", "PMD.ReplaceVectorWithList", "unchecked", "rawtypes"})
 	public void refreshTable()
 	{
 		combatantTable.clearSelection();
 
 		DefaultTableModel model = (DefaultTableModel) combatantTable.getModel();
-		model.setNumRows(0);
+		List<Vector<Object>> rows = new ArrayList<>(initList.size());
 
 		int startSelect = -1;
-		int rowNum = 0;
+		int endSelect = -1;
 
 		for (int i = 0; i < initList.size(); i++)
 		{
@@ -1390,25 +1415,63 @@ public class Initiative extends javax.swing.JPanel
 			if (((c.getStatus() != State.Dead) || showDead.isSelected())
 				&& (!(c instanceof Event) || showEvents.isSelected()))
 			{
-				Vector rowVector = initList.getRowVector(i, columnList);
-				model.addRow(rowVector);
-
 				int cInit = c.getInitiative().getCurrentInitiative();
 
 				if (cInit == currentInit)
 				{
 					if (startSelect == -1)
 					{
-						startSelect = rowNum;
+						startSelect = rows.size();
 					}
 
-					combatantTable.setRowSelectionInterval(startSelect, rowNum);
+					endSelect = rows.size();
 				}
 
-				rowNum++;
+				Vector<Object> rowVector = initList.getRowVector(i, columnList);
+				rowVector.setSize(model.getColumnCount());
+				rows.add(rowVector);
 			}
 		}
 
+		Vector dataVector = model.getDataVector();
+
+		if (dataVector.size() == rows.size())
+		{
+			int firstChanged = -1;
+			int lastChanged = -1;
+
+			for (int i = 0; i < rows.size(); i++)
+			{
+				if (!rows.get(i).equals(dataVector.get(i)))
+				{
+					dataVector.set(i, rows.get(i));
+
+					if (firstChanged == -1)
+					{
+						firstChanged = i;
+					}
+
+					lastChanged = i;
+				}
+			}
+
+			if (firstChanged != -1)
+			{
+				model.fireTableRowsUpdated(firstChanged, lastChanged);
+			}
+		}
+		else
+		{
+			dataVector.clear();
+			dataVector.addAll(rows);
+			model.fireTableDataChanged();
+		}
+
+		if (startSelect != -1)
+		{
+			combatantTable.setRowSelectionInterval(startSelect, endSelect);
+		}
+
 		refreshEventTab();
 	}
 
@@ -0,0 +1,162 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import pcgen.AbstractCharacterTestCase;
+import pcgen.cdom.enumeration.MovementType;
+import pcgen.cdom.enumeration.RaceType;
+import pcgen.gui2.facade.MockDataSetFacade;
+import pcgen.persistence.PersistenceManager;
+import pcgen.persistence.SourceFileLoader;
+import pcgen.rules.context.LoadContext;
+import pcgen.system.PCGenSettings;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * DataSetCacheTest checks that switching between the data sets held by a
+ * DataSetCache restores the state each one was captured with.
+ */
+public class DataSetCacheTest extends AbstractCharacterTestCase
+{
+	private static final String OPTION = "dataSetCacheTestOption"; //$NON-NLS-1$
+
+	@Test
+	public void testSwitchingRestoresChosenSources() throws Exception
+	{
+		GameMode game = SettingsHandler.getGame();
+		PersistenceManager pManager = PersistenceManager.getInstance();
+		URI alphaUri = new URI("file:/data/alpha.pcc");
+		URI betaUri = new URI("file:/data/beta.pcc");
+		DataSetCache cache = new DataSetCache(2);
+
+		String alphaKey = DataSetCache.getSelectionKey(game, List.of(campaign("Alpha")));
+		pManager.setChosenCampaignSourcefiles(List.of(alphaUri), game);
+		cache.put(alphaKey, ResidentDataSet.capture(new MockDataSetFacade(game), "alpha", Collections.emptyMap()));
+
+		String betaKey = DataSetCache.getSelectionKey(game, List.of(campaign("Beta")));
+		pManager.setChosenCampaignSourcefiles(List.of(betaUri), game);
+		cache.put(betaKey, ResidentDataSet.capture(new MockDataSetFacade(game), "beta", Collections.emptyMap()));
+
+		cache.get(alphaKey).activate();
+		assertEquals(List.of(alphaUri), pManager.getChosenCampaignSourcefiles());
+		cache.get(betaKey).activate();
+		assertEquals(List.of(betaUri), pManager.getChosenCampaignSourcefiles());
+		cache.get(alphaKey).activate();
+		assertEquals(List.of(alphaUri), pManager.getChosenCampaignSourcefiles());
+		assertEquals("alpha", cache.get(alphaKey).getSection15());
+	}
+
+	/**
+	 * Check that switching data sets reinstates the LoadContext, the process
+	 * wide registries and the campaign options of the data set.
+	 */
+	@Test
+	public void testSwitchingRestoresRegistriesAndOptions()
+	{
+		GameMode game = SettingsHandler.getGame();
+		LoadContext alphaContext = Globals.getContext();
+		MovementType alphaMove = MovementType.getConstant("AlphaFly");
+		RaceType alphaRace = RaceType.getConstant("AlphaRace");
+		Map<String, String> alphaOptions = Map.of(OPTION, "alpha");
+		SourceFileLoader.applyCampaignOptions(alphaOptions);
+		ResidentDataSet alpha = ResidentDataSet.capture(new MockDataSetFacade(game), "alpha", alphaOptions);
+
+		try
+		{
+			//Simulate loading other data
+			game.clearLoadContext();
+			MovementType.clearConstants();
+			RaceType.clearConstants();
+			MovementType betaMove = MovementType.getConstant("BetaSwim");
+			Map<String, String> betaOptions = Map.of(OPTION, "beta");
+			SourceFileLoader.applyCampaignOptions(betaOptions);
+			LoadContext betaContext = Globals.getContext();
+			ResidentDataSet beta = ResidentDataSet.capture(new MockDataSetFacade(game), "beta", betaOptions);
+			assertNotSame(alphaContext, betaContext);
+
+			alpha.activate();
+			assertSame(alphaContext, Globals.getContext());
+			assertSame(alphaMove, MovementType.valueOf("AlphaFly"));
+			assertThrows(IllegalArgumentException.class, () -> MovementType.valueOf("BetaSwim"));
+			assertTrue(RaceType.getAllConstants().contains(alphaRace));
+			assertEquals("alpha", PCGenSettings.OPTIONS_CONTEXT.getProperty(OPTION));
+			assertEquals("alpha", SettingsHandler.getPCGenOption(OPTION, null));
+
+			beta.activate();
+			assertSame(betaContext, Globals.getContext());
+			assertSame(betaMove, MovementType.valueOf("BetaSwim"));
+			assertThrows(IllegalArgumentException.class, () -> MovementType.valueOf("AlphaFly"));
+			assertFalse(RaceType.getAllConstants().contains(alphaRace));
+			assertEquals("beta", PCGenSettings.OPTIONS_CONTEXT.getProperty(OPTION));
+			assertEquals("beta", SettingsHandler.getPCGenOption(OPTION, null));
+		}
+		finally
+		{
+			alpha.activate();
+			PCGenSettings.OPTIONS_CONTEXT.setProperty(OPTION, null);
+			SettingsHandler.setPCGenOption(OPTION, null);
+		}
+	}
+
+	/**
+	 * Check that the least recently used data set is released once the
+	 * capacity is exceeded.
+	 */
+	@Test
+	public void testLeastRecentlyUsedReleased()
+	{
+		GameMode game = SettingsHandler.getGame();
+		DataSetCache cache = new DataSetCache(2);
+		ResidentDataSet alpha = ResidentDataSet.capture(new MockDataSetFacade(game), "alpha", Collections.emptyMap());
+		ResidentDataSet beta = ResidentDataSet.capture(new MockDataSetFacade(game), "beta", Collections.emptyMap());
+		ResidentDataSet gamma = ResidentDataSet.capture(new MockDataSetFacade(game), "gamma", Collections.emptyMap());
+
+		cache.put("alpha", alpha);
+		cache.put("beta", beta);
+		//Using alpha makes beta the least recently used
+		assertSame(alpha, cache.get("alpha"));
+		cache.put("gamma", gamma);
+		assertEquals(2, cache.size());
+		assertNull(cache.get("beta"), "The least recently used data set should be released");
+		assertSame(alpha, cache.get("alpha"));
+		assertSame(gamma, cache.get("gamma"));
+
+		cache.put("beta", beta);
+		assertNull(cache.get("alpha"), "alpha was used before gamma, so should be released");
+		assertEquals(2, cache.size());
+	}
+
+	private static Campaign campaign(String name)
+	{
+		Campaign campaign = new Campaign();
+		campaign.setName(name);
+		return campaign;
+	}
+}
@@ -0,0 +1,155 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.util.BitSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import pcgen.AbstractCharacterTestCase;
+import pcgen.core.EquipmentCatalog.CharacterColumns;
+import pcgen.persistence.lst.CampaignSourceEntry;
+import pcgen.persistence.lst.GenericLoader;
+import pcgen.rules.context.LoadContext;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * EquipmentCatalogTest checks the filtering and per character columns of an
+ * EquipmentCatalog.
+ */
+public class EquipmentCatalogTest extends AbstractCharacterTestCase
+{
+	private EquipmentCatalog catalog;
+
+	@BeforeEach
+	@Override
+	protected void setUp() throws Exception
+	{
+		super.setUp();
+		LoadContext context = Globals.getContext();
+		CampaignSourceEntry source =
+				new CampaignSourceEntry(new Campaign(), new URI("file:/" + getClass().getName() + ".java"));
+		GenericLoader<Equipment> eqLoader = new GenericLoader<>(Equipment.class);
+		eqLoader.parseLine(context, null, "Longsword	SIZE:M	TYPE:Weapon.Melee	COST:15	WT:4", source);
+		eqLoader.parseLine(context, null, "Shortsword	SIZE:M	TYPE:Weapon.Melee	COST:10	WT:2", source);
+		eqLoader.parseLine(context, null, "Longbow	SIZE:M	TYPE:Weapon.Ranged	COST:75	WT:3", source);
+		eqLoader.parseLine(context, null, "Rope	SIZE:M	TYPE:Goods	COST:1	WT:10", source);
+		eqLoader.parseLine(context, null,
+			"Mighty Longsword	SIZE:M	TYPE:Weapon.Melee.Magic	COST:2315	WT:4	PRESTAT:1,STR=15", source);
+		finishLoad();
+		catalog = EquipmentCatalog.of(context.getReferenceContext().getConstructedCDOMObjects(Equipment.class));
+	}
+
+	private List<String> names(BitSet rows)
+	{
+		return catalog.select(rows).stream().map(Equipment::getKeyName).collect(Collectors.toList());
+	}
+
+	@Test
+	public void testTypeAndTextFilters()
+	{
+		assertEquals(5, catalog.size());
+		assertEquals(List.of("Longsword", "Mighty Longsword", "Shortsword"), names(catalog.ofType("Melee")));
+		assertEquals(List.of("Longbow"), names(catalog.ofType("TYPE=ranged")));
+		assertTrue(catalog.ofType("Armor").isEmpty());
+
+		assertEquals(List.of("Longsword", "Mighty Longsword", "Shortsword"), names(catalog.matching("SWORD")));
+		assertEquals(List.of("Longbow", "Longsword", "Mighty Longsword"), names(catalog.matching("long")));
+		assertEquals(List.of("Rope"), names(catalog.matching("pe")));
+		assertTrue(catalog.matching("axe").isEmpty());
+
+		BitSet rows = catalog.matching("long");
+		rows.and(catalog.ofType("Melee"));
+		assertEquals(List.of("Longsword", "Mighty Longsword"), names(rows));
+	}
+
+	@Test
+	public void testCharacterColumns()
+	{
+		PlayerCharacter pc = getCharacter();
+		setPCStat(pc, str, 10);
+		CharacterColumns columns = catalog.forCharacter(pc);
+		assertEquals(List.of("Longsword", "Shortsword"), names(columns.costBetween(10, 15)));
+		assertEquals(List.of("Longbow", "Longsword", "Rope", "Shortsword"), names(columns.qualified()));
+		BitSet rows = catalog.matching("long");
+		assertEquals(15.0, columns.getCost(rows.nextSetBit(rows.nextSetBit(0) + 1)), 0.001);
+		assertSame(columns, catalog.forCharacter(pc));
+
+		setPCStat(pc, str, 16);
+		pc.setDirty(true);
+		assertFalse(columns.isCurrent());
+		CharacterColumns updated = catalog.forCharacter(pc);
+		assertNotSame(columns, updated);
+		assertEquals(5, updated.qualified().cardinality());
+	}
+
+	@Test
+	public void testSingleLookupCalculatesOneRow()
+	{
+		PlayerCharacter pc = getCharacter();
+		setPCStat(pc, str, 10);
+		CharacterColumns columns = catalog.forCharacter(pc);
+		int row = catalog.indexOf(catalog.select(catalog.matching("mighty")).get(0));
+		assertFalse(columns.isQualified(row));
+		assertEquals(2315.0, columns.getCost(row), 0.001);
+		assertEquals(1, columns.getCalculatedCount());
+		assertSame(columns, catalog.forCharacter(pc));
+
+		pc.setDirty(true);
+		CharacterColumns updated = catalog.forCharacter(pc);
+		assertNotSame(columns, updated);
+		assertEquals(4.0, updated.getWeight(row), 0.001);
+		assertEquals(1, updated.getCalculatedCount());
+
+		assertEquals(4, updated.qualified().cardinality());
+		assertEquals(catalog.size(), updated.getCalculatedCount());
+	}
+
+	@Test
+	public void testStatChangeWithoutDirtyRefreshesColumns()
+	{
+		PlayerCharacter pc = getCharacter();
+		setPCStat(pc, str, 10);
+		CharacterColumns columns = catalog.forCharacter(pc);
+		assertEquals(4, columns.qualified().cardinality());
+
+		// A stat score set through its facet does not move the serial
+		int serial = pc.getSerial();
+		setPCStat(pc, str, 16);
+		assertEquals(serial, pc.getSerial());
+		assertFalse(columns.isCurrent());
+		assertEquals(5, catalog.forCharacter(pc).qualified().cardinality());
+	}
+
+	@Test
+	public void testIndexOf()
+	{
+		for (int row = 0; row < catalog.size(); row++)
+		{
+			assertEquals(row, catalog.indexOf(catalog.get(row)));
+		}
+		assertEquals(-1, catalog.indexOf(catalog.get(0).clone()));
+	}
+}
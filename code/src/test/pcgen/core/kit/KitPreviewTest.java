@@ -0,0 +1,113 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.core.kit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import pcgen.AbstractCharacterTestCase;
+import pcgen.cdom.base.FormulaFactory;
+import pcgen.cdom.enumeration.ListKey;
+import pcgen.cdom.enumeration.ObjectKey;
+import pcgen.cdom.helper.SpringHelper;
+import pcgen.cdom.reference.CDOMDirectSingleRef;
+import pcgen.core.Globals;
+import pcgen.core.Kit;
+import pcgen.core.PCClass;
+import pcgen.core.PlayerCharacter;
+import pcgen.core.QualifiedObject;
+import pcgen.rules.context.LoadContext;
+import pcgen.util.TestHelper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * KitPreviewTest checks that kits are tested on an overlay of the character,
+ * leaving the character itself untouched.
+ */
+public class KitPreviewTest extends AbstractCharacterTestCase
+{
+	private PCClass fighter;
+	private Kit kit;
+
+	@BeforeEach
+	@Override
+	protected void setUp() throws Exception
+	{
+		super.setUp();
+		LoadContext context = Globals.getContext();
+		fighter = context.getReferenceContext().constructCDOMObject(PCClass.class, "Fighter");
+		context.unconditionallyProcess(fighter, "HD", "10");
+		kit = TestHelper.makeKit("Starter");
+		KitClass kitClass = new KitClass();
+		kitClass.setPcclass(CDOMDirectSingleRef.getRef(fighter));
+		kitClass.setLevel(FormulaFactory.getFormulaFor(2));
+		kit.addToListFor(ListKey.KIT_TASKS, kitClass);
+		kit.put(ObjectKey.KIT_TOTAL_COST, new QualifiedObject<>(FormulaFactory.getFormulaFor(100)));
+		finishLoad();
+	}
+
+	@Test
+	public void testOverlayLeavesCharacterUntouched()
+	{
+		PlayerCharacter pc = getCharacter();
+		pc.setGold(new BigDecimal(150));
+		setPCStat(pc, str, 14);
+
+		PlayerCharacter overlay = pc.createOverlay();
+		assertEquals(0, pc.getGold().compareTo(overlay.getGold()));
+		assertEquals(14, overlay.getStat(str));
+		assertEquals(pc.getStatModFor(str), overlay.getStatModFor(str));
+		assertEquals(pc.getDisplay().getNumberOfMovements(), overlay.getDisplay().getNumberOfMovements());
+
+		overlay.setGold(BigDecimal.ONE);
+		overlay.incrementClassLevel(1, fighter);
+		assertNotNull(overlay.getClassKeyed(fighter.getKeyName()));
+		assertNull(pc.getClassKeyed(fighter.getKeyName()));
+		assertEquals(0, new BigDecimal(150).compareTo(pc.getGold()));
+		assertTrue(overlay.getCharID().getMaterializedCount() < SpringHelper.getStorageBeans().size());
+	}
+
+	@Test
+	public void testKitPreview()
+	{
+		PlayerCharacter pc = getCharacter();
+		pc.setGold(new BigDecimal(150));
+
+		List<BaseKit> thingsToAdd = new ArrayList<>();
+		List<String> warnings = new ArrayList<>();
+		kit.testApplyKit(pc, thingsToAdd, warnings);
+		assertEquals(1, thingsToAdd.size());
+		assertTrue(warnings.isEmpty(), warnings.toString());
+		assertNull(pc.getClassKeyed(fighter.getKeyName()));
+		assertEquals(0, new BigDecimal(150).compareTo(pc.getGold()));
+
+		pc.setGold(new BigDecimal(50));
+		thingsToAdd.clear();
+		kit.testApplyKit(pc, thingsToAdd, warnings);
+		assertEquals(1, warnings.size());
+
+		kit.processKit(pc, thingsToAdd);
+		assertEquals(2, pc.getLevel(pc.getClassKeyed(fighter.getKeyName())));
+	}
+}
@@ -0,0 +1,203 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.core.validation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import pcgen.AbstractCharacterTestCase;
+import pcgen.core.Ability;
+import pcgen.core.Globals;
+import pcgen.core.PCClass;
+import pcgen.core.PCTemplate;
+import pcgen.core.PlayerCharacter;
+import pcgen.core.SettingsHandler;
+import pcgen.core.validation.ValidationIssue.Category;
+import pcgen.io.CharacterBatch.BatchReport;
+import pcgen.io.PCGIOHandler;
+import pcgen.output.channel.compat.AlignmentCompat;
+import pcgen.rules.context.LoadContext;
+import pcgen.util.TestHelper;
+import plugin.lsttokens.testsupport.BuildUtilities;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * CharacterValidatorTest checks the issues found by CharacterValidator and
+ * that only the checks affected by a change are re-run.
+ */
+public class CharacterValidatorTest extends AbstractCharacterTestCase
+{
+	private PCClass paladin;
+	private Ability powerAttack;
+	private Ability undeadLore;
+	private PCTemplate undeadTemplate;
+
+	@TempDir
+	Path tempDir;
+
+	@BeforeEach
+	@Override
+	protected void setUp() throws Exception
+	{
+		super.setUp();
+		LoadContext context = Globals.getContext();
+		paladin = context.getReferenceContext().constructCDOMObject(PCClass.class, "Paladin");
+		context.unconditionallyProcess(paladin, "HD", "10");
+		context.unconditionallyProcess(paladin, "PREALIGN", "LG");
+		powerAttack = TestHelper.makeAbility("Power Attack", BuildUtilities.getFeatCat(), "General");
+		context.unconditionallyProcess(powerAttack, "PRESTAT", "1,STR=13");
+		undeadLore = TestHelper.makeAbility("Undead Lore", BuildUtilities.getFeatCat(), "General");
+		context.unconditionallyProcess(undeadLore, "PRERACE", "1,RACETYPE=Undead");
+		undeadTemplate = context.getReferenceContext().constructCDOMObject(PCTemplate.class, "Undead Template");
+		context.unconditionallyProcess(undeadTemplate, "RACETYPE", "Undead");
+		finishLoad();
+	}
+
+	@Override
+	protected void defaultSetupEnd()
+	{
+		//Nothing, we will trigger ourselves
+	}
+
+	private static List<ValidationIssue> issuesOf(List<ValidationIssue> issues, Category category)
+	{
+		return issues.stream().filter(i -> i.getCategory() == category).collect(Collectors.toList());
+	}
+
+	@Test
+	public void testClassQualification()
+	{
+		PlayerCharacter pc = getCharacter();
+		AlignmentCompat.setCurrentAlignment(pc.getCharID(), lg);
+		pc.incrementClassLevel(1, paladin);
+		CharacterValidator validator = new CharacterValidator(pc);
+		assertTrue(issuesOf(validator.validate(), Category.CLASS_QUALIFICATION).isEmpty());
+
+		AlignmentCompat.setCurrentAlignment(pc.getCharID(), ce);
+		List<ValidationIssue> issues = issuesOf(validator.validate(), Category.CLASS_QUALIFICATION);
+		assertEquals(1, issues.size());
+		assertEquals(pc.getClassKeyed(paladin.getKeyName()), issues.get(0).getSource());
+	}
+
+	@Test
+	public void testAbilityPrerequisite()
+	{
+		PlayerCharacter pc = getCharacter();
+		setPCStat(pc, str, 10);
+		addAbility(BuildUtilities.getFeatCat(), powerAttack);
+		CharacterValidator validator = new CharacterValidator(pc);
+		assertEquals(1, issuesOf(validator.validate(), Category.PREREQUISITE).size());
+
+		setPCStat(pc, str, 14);
+		assertTrue(issuesOf(validator.validate(), Category.PREREQUISITE).isEmpty());
+	}
+
+	@Test
+	public void testTemplateChangesRacePrerequisite()
+	{
+		PlayerCharacter pc = getCharacter();
+		addAbility(BuildUtilities.getFeatCat(), undeadLore);
+		CharacterValidator validator = new CharacterValidator(pc);
+		assertEquals(1, issuesOf(validator.validate(), Category.PREREQUISITE).size());
+
+		pc.addTemplate(undeadTemplate);
+		assertTrue(issuesOf(validator.validate(), Category.PREREQUISITE).isEmpty());
+
+		pc.removeTemplate(undeadTemplate);
+		assertEquals(1, issuesOf(validator.validate(), Category.PREREQUISITE).size());
+	}
+
+	@Test
+	public void testOverspentAbilityPool()
+	{
+		PlayerCharacter pc = getCharacter();
+		pc.incrementClassLevel(1, paladin);
+		for (int i = 0; i < 5; i++)
+		{
+			addAbility(BuildUtilities.getFeatCat(),
+				TestHelper.makeAbility("Extra Feat " + i, BuildUtilities.getFeatCat(), "General"));
+		}
+		List<ValidationIssue> issues = issuesOf(new CharacterValidator(pc).validate(), Category.POOL);
+		assertEquals(1, issues.size());
+		assertEquals(BuildUtilities.getFeatCat(), issues.get(0).getSource());
+	}
+
+	@Test
+	public void testOnlyAffectedChecksRerun()
+	{
+		PlayerCharacter pc = getCharacter();
+		AlignmentCompat.setCurrentAlignment(pc.getCharID(), lg);
+		setPCStat(pc, str, 14);
+		pc.incrementClassLevel(1, paladin);
+		addAbility(BuildUtilities.getFeatCat(), powerAttack);
+
+		CharacterValidator validator = new CharacterValidator(pc);
+		validator.validate();
+		int everything = validator.getLastRecheckCount();
+
+		validator.validate();
+		assertEquals(0, validator.getLastRecheckCount());
+
+		// The class depends on alignment but the ability does not
+		AlignmentCompat.setCurrentAlignment(pc.getCharID(), ng);
+		assertEquals(1, issuesOf(validator.validate(), Category.CLASS_QUALIFICATION).size());
+		assertEquals(everything - 1, validator.getLastRecheckCount());
+
+		// The ability depends on stats but the class does not
+		setPCStat(pc, str, 10);
+		List<ValidationIssue> issues = validator.validate();
+		assertEquals(everything - 1, validator.getLastRecheckCount());
+		assertEquals(1, issuesOf(issues, Category.CLASS_QUALIFICATION).size());
+		assertEquals(1, issuesOf(issues, Category.PREREQUISITE).size());
+
+		validator.invalidate();
+		assertEquals(issues, validator.validate());
+		assertEquals(everything, validator.getLastRecheckCount());
+	}
+
+	@Test
+	public void testAuditDirectory() throws Exception
+	{
+		PlayerCharacter pc = getCharacter();
+		AlignmentCompat.setCurrentAlignment(pc.getCharID(), ce);
+		pc.incrementClassLevel(1, paladin);
+		File subDir = tempDir.resolve("table1").toFile();
+		assertTrue(subDir.mkdirs());
+		new PCGIOHandler().write(pc, SettingsHandler.getGame(), Collections.emptyList(),
+			new File(subDir, "paladin.pcg"));
+
+		BatchReport<List<ValidationIssue>> report =
+				ValidationAudit.auditDirectory(tempDir.toFile(), Collections.emptyList(), 2);
+		assertEquals(1, report.getResults().size());
+		assertEquals(1, report.getSuccessCount());
+		assertEquals(1, issuesOf(report.getResults().get(0).getValue(), Category.CLASS_QUALIFICATION).size());
+
+		StringWriter out = new StringWriter();
+		ValidationAudit.writeReport(report, out);
+		assertTrue(out.toString().contains("paladin.pcg: "), out.toString());
+		assertTrue(out.toString().contains("0 of 1 characters are legal"), out.toString());
+	}
+}
@@ -18,16 +18,29 @@
 package pcgen.gui2.facade;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.SwingUtilities;
 
 import pcgen.AbstractCharacterTestCase;
 import pcgen.core.PlayerCharacter;
 import pcgen.core.SettingsHandler;
 import pcgen.core.character.EquipSet;
+import pcgen.io.PCGIOHandler;
+import pcgen.system.CharacterManager;
 import plugin.lsttokens.testsupport.BuildUtilities;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 /**
  * The Class {@code CharacterFacadeImplTest} verifies the behaviour of
@@ -40,6 +53,9 @@ import org.junit.jupiter.api.Test;
 public class CharacterFacadeImplTest extends AbstractCharacterTestCase
 {
 
+	@TempDir
+	Path tempDir;
+
 	private MockDataSetFacade dataset;
 	private MockUIDelegate uiDelegate;
 
@@ -60,6 +76,59 @@ public class CharacterFacadeImplTest extends AbstractCharacterTestCase
 			EquipSet.DEFAULT_SET_PATH, defaultEquipSet.getIdPath());
 	}
 
+	/**
+	 * Check that a failed background save is reported, and leaves the
+	 * character unsaved so that the next autosave tries again.
+	 * 
+	 * @throws Exception If the save could not be waited for.
+	 */
+	@Test
+	public void testFailedBackgroundSaveRetried() throws Exception
+	{
+		PlayerCharacter pc = new PlayerCharacter();
+		List<String> errors = new ArrayList<>();
+		MockUIDelegate recordingDelegate = new MockUIDelegate()
+		{
+			@Override
+			public void showErrorMessage(String title, String message)
+			{
+				errors.add(message);
+			}
+		};
+		CharacterFacadeImpl charFacade = new CharacterFacadeImpl(pc, recordingDelegate, dataset);
+		charFacade.setFile(tempDir.resolve("missing").resolve("failed.pcg").toFile());
+		pc.setDirty(true);
+		assertTrue("New character should need saving", charFacade.isChangedSinceSave());
+
+		boolean saved = CharacterManager.saveCharacterInBackground(charFacade).get(30, TimeUnit.SECONDS);
+		awaitSaveCompletion();
+		assertFalse("Save to a missing directory should fail", saved);
+		assertEquals("The failure should be reported once", 1, errors.size());
+		assertTrue("Failed save should be retried", charFacade.isChangedSinceSave());
+		assertTrue("Failed save should leave the character dirty", pc.isDirty());
+
+		Path good = tempDir.resolve("saved.pcg");
+		charFacade.setFile(good.toFile());
+		saved = CharacterManager.saveCharacterInBackground(charFacade).get(30, TimeUnit.SECONDS);
+		awaitSaveCompletion();
+		assertTrue("Retried save should succeed", saved);
+		assertTrue("Character file should be written", Files.isRegularFile(good));
+		assertEquals("No further failure should be reported", 1, errors.size());
+		assertFalse("Saved character should not need saving", charFacade.isChangedSinceSave());
+		assertFalse("Saved character should be clean", pc.isDirty());
+	}
+
+	/**
+	 * Wait for the save thread to finish the saves, and then for the save
+	 * results it passed to the Swing thread to be processed.
+	 */
+	private static void awaitSaveCompletion() throws Exception
+	{
+		PCGIOHandler.awaitPendingSaves();
+		SwingUtilities.invokeAndWait(() -> {
+		});
+	}
+
 	@BeforeEach
 	@Override
 	public void setUp() throws Exception
@@ -19,6 +19,8 @@ package pcgen.gui2.facade;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Collections;
+
 import pcgen.AbstractCharacterTestCase;
 import pcgen.cdom.enumeration.ListKey;
 import pcgen.cdom.enumeration.ObjectKey;
@@ -27,6 +29,7 @@ import pcgen.core.Description;
 import pcgen.core.Globals;
 import pcgen.core.PlayerCharacter;
 import pcgen.core.SettingsHandler;
+import pcgen.facade.core.InfoFacade;
 import pcgen.rules.persistence.token.ParseResult;
 import pcgen.util.TestHelper;
 import plugin.lsttokens.choose.StringToken;
@@ -96,6 +99,42 @@ public class Gui2InfoFactoryTest extends AbstractCharacterTestCase
 			infoFactory.getHTMLInfo(tbf));
 	}	
 
+	/**
+	 * Verify that the HTML built from the part shared between characters,
+	 * including when it was prerendered, matches for each character and
+	 * survives changes to the character.
+	 */
+	@Test
+	public void testGetHTMLInfoSharedBetweenCharacters()
+	{
+		PlayerCharacter pc = getCharacter();
+		Ability ability =
+				TestHelper.makeAbility("Power Attack",
+					BuildUtilities.getFeatCat(), "General");
+		ability.addToListFor(ListKey.DESCRIPTION, new Description("PA Desc"));
+		Globals.getContext().commit();
+		Gui2InfoFactory.clearSharedCache();
+
+		Gui2InfoFactory infoFactory = new Gui2InfoFactory(pc);
+		infoFactory.prerenderHTMLInfo(Collections.singletonList(ability));
+		String html = infoFactory.getHTMLInfo((InfoFacade) ability);
+		assertTrue("Unexpected ability result " + html,
+			html.startsWith("<html><b><font size=+1>Power Attack</font></b><br>"));
+		assertTrue("Missing description in " + html, html.contains("PA Desc"));
+
+		Gui2InfoFactory otherFactory = new Gui2InfoFactory(new PlayerCharacter());
+		assertEquals("Another character should see the same HTML", html,
+			otherFactory.getHTMLInfo((InfoFacade) ability));
+
+		pc.setDirty(true);
+		assertEquals("A change to the character should not alter the HTML", html,
+			infoFactory.getHTMLInfo((InfoFacade) ability));
+
+		Gui2InfoFactory.clearSharedCache();
+		assertEquals("HTML built from scratch should match", html,
+			new Gui2InfoFactory(pc).getHTMLInfo((InfoFacade) ability));
+	}
+
 	@BeforeEach
 	@Override
 	public void setUp() throws Exception
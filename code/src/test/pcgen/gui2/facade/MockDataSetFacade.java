@@ -23,6 +23,7 @@ import pcgen.core.AbilityCategory;
 import pcgen.core.BodyStructure;
 import pcgen.core.Campaign;
 import pcgen.core.Deity;
+import pcgen.core.EquipmentCatalog;
 import pcgen.core.GameMode;
 import pcgen.core.Kit;
 import pcgen.core.PCAlignment;
@@ -99,8 +100,7 @@ public class MockDataSetFacade implements DataSetFacade
     @Override
 	public ListFacade<Campaign> getCampaigns()
 	{
-		// TODO Auto-generated method stub
-		return null;
+		return new DefaultListFacade<>();
 	}
 
     @Override
@@ -229,6 +229,12 @@ public class MockDataSetFacade implements DataSetFacade
 		
 	}
 
+	@Override
+	public EquipmentCatalog getEquipmentCatalog()
+	{
+		return null;
+	}
+
 	@Override
 	public ListFacade<SizeAdjustment> getSizes()
 	{
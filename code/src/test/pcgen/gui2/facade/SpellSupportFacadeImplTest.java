@@ -0,0 +1,264 @@
+/*
+ * Copyright 2026 (C) PCGen Team
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.gui2.facade;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import pcgen.AbstractCharacterTestCase;
+import pcgen.cdom.enumeration.ObjectKey;
+import pcgen.core.Globals;
+import pcgen.core.PCClass;
+import pcgen.core.PlayerCharacter;
+import pcgen.core.SettingsHandler;
+import pcgen.core.character.CharacterSpell;
+import pcgen.core.character.SpellBook;
+import pcgen.core.character.SpellInfo;
+import pcgen.core.spell.Spell;
+import pcgen.facade.core.SpellSupportFacade.SpellNode;
+import pcgen.facade.util.ListFacade;
+import pcgen.rules.context.LoadContext;
+import pcgen.util.TestHelper;
+import plugin.lsttokens.testsupport.BuildUtilities;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verify that the spell lists kept up to date by SpellSupportFacadeImpl as a
+ * character changes match the lists built from scratch for the same character.
+ */
+class SpellSupportFacadeImplTest extends AbstractCharacterTestCase
+{
+	private static final String PREPARED_LIST = "Travel";
+	private static final String SPELL_BOOK = "Tome";
+
+	private MockDataSetFacade dataset;
+	private MockUIDelegate uiDelegate;
+	private PCClass divineCls;
+	private Spell bless;
+	private Spell cureLight;
+	private CharacterFacadeImpl pcFacade;
+	private SpellSupportFacadeImpl spellSupport;
+
+	@BeforeEach
+	@Override
+	public void setUp() throws Exception
+	{
+		super.setUp();
+		LoadContext context = Globals.getContext();
+
+		divineCls = TestHelper.makeClass("DivinePrepared");
+		BuildUtilities.setFact(divineCls, "SpellType", "Divine");
+		context.unconditionallyProcess(divineCls, "SPELLSTAT", "WIS");
+		divineCls.put(ObjectKey.SPELLBOOK, false);
+		divineCls.put(ObjectKey.MEMORIZE_SPELLS, true);
+		context.unconditionallyProcess(divineCls, "KNOWNSPELLS", "LEVEL=1|LEVEL=2");
+		context.unconditionallyProcess(divineCls.getOriginalClassLevel(1), "CAST", "3,3,0");
+		context.unconditionallyProcess(divineCls.getOriginalClassLevel(2), "CAST", "3,3,1");
+
+		bless = TestHelper.makeSpell("Bless");
+		context.unconditionallyProcess(bless, "CLASSES", divineCls.getKeyName() + "=1");
+		cureLight = TestHelper.makeSpell("Cure Light Wounds");
+		context.unconditionallyProcess(cureLight, "CLASSES", divineCls.getKeyName() + "=1");
+		Spell holdPerson = TestHelper.makeSpell("Hold Person");
+		context.unconditionallyProcess(holdPerson, "CLASSES", divineCls.getKeyName() + "=2");
+
+		dataset = new MockDataSetFacade(SettingsHandler.getGame());
+		dataset.addAbilityCategory(BuildUtilities.getFeatCat());
+		dataset.addClass(divineCls);
+		uiDelegate = new MockUIDelegate();
+
+		finishLoad();
+
+		PlayerCharacter pc = getCharacter();
+		setPCStat(pc, wis, 14);
+		pc.calcActiveBonuses();
+		pcFacade = new CharacterFacadeImpl(pc, uiDelegate, dataset);
+		spellSupport = new SpellSupportFacadeImpl(pc, uiDelegate, dataset, new TodoManager(), pcFacade);
+	}
+
+	@AfterEach
+	@Override
+	protected void tearDown() throws Exception
+	{
+		spellSupport.closeCharacter();
+		pcFacade.closeCharacter();
+		super.tearDown();
+	}
+
+	/**
+	 * Check the lists follow class levels being added and removed.
+	 */
+	@Test
+	void testClassLevelsMatchRebuild()
+	{
+		PlayerCharacter pc = getCharacter();
+		assertMatchesRebuild();
+
+		pc.incrementClassLevel(1, divineCls, true);
+		spellSupport.refreshAvailableKnownSpells();
+		assertFalse(spellSupport.getAvailableSpellNodes().isEmpty(), "Class spells should be available");
+		assertMatchesRebuild();
+
+		pc.incrementClassLevel(1, divineCls, true);
+		spellSupport.refreshAvailableKnownSpells();
+		assertMatchesRebuild();
+
+		pc.incrementClassLevel(-1, divineCls, true);
+		spellSupport.refreshAvailableKnownSpells();
+		assertMatchesRebuild();
+
+		pc.incrementClassLevel(-1, divineCls, true);
+		spellSupport.refreshAvailableKnownSpells();
+		assertTrue(spellSupport.getAvailableSpellNodes().isEmpty(), "No class, so no spells should be available");
+		assertMatchesRebuild();
+	}
+
+	/**
+	 * Check the lists follow spells being prepared, prepared again and
+	 * removed.
+	 */
+	@Test
+	void testSpellsMatchRebuild()
+	{
+		PlayerCharacter pc = getCharacter();
+		pc.incrementClassLevel(1, divineCls, true);
+		PCClass pcClass = pc.getClassKeyed(divineCls.getKeyName());
+		pc.addSpellBook(PREPARED_LIST);
+		spellSupport.refreshAvailableKnownSpells();
+		assertMatchesRebuild();
+
+		assertEquals("", prepare(pc, pcClass, bless), "Should be able to prepare bless");
+		spellSupport.refreshAvailableKnownSpells();
+		assertFalse(spellSupport.getPreparedSpellNodes().isEmpty(), "Bless should be prepared");
+		assertMatchesRebuild();
+
+		assertEquals("", prepare(pc, pcClass, bless), "Should be able to prepare bless twice");
+		spellSupport.refreshAvailableKnownSpells();
+		assertMatchesRebuild();
+
+		assertEquals("", prepare(pc, pcClass, cureLight), "Should be able to prepare cure light wounds");
+		spellSupport.refreshAvailableKnownSpells();
+		assertMatchesRebuild();
+
+		SpellInfo blessInfo = getPreparedInfo(pc, pcClass, bless);
+		assertEquals("", pc.delSpell(blessInfo, pcClass, PREPARED_LIST), "Should be able to remove bless");
+		spellSupport.refreshAvailableKnownSpells();
+		assertMatchesRebuild();
+
+		assertEquals("", pc.delSpell(blessInfo, pcClass, PREPARED_LIST), "Should be able to remove bless again");
+		spellSupport.refreshAvailableKnownSpells();
+		assertMatchesRebuild();
+	}
+
+	/**
+	 * Check the lists follow spell books and prepared lists being added and
+	 * removed.
+	 */
+	@Test
+	void testSpellBooksMatchRebuild()
+	{
+		PlayerCharacter pc = getCharacter();
+		pc.incrementClassLevel(1, divineCls, true);
+		PCClass pcClass = pc.getClassKeyed(divineCls.getKeyName());
+		spellSupport.refreshAvailableKnownSpells();
+
+		pc.addSpellBook(new SpellBook(SPELL_BOOK, SpellBook.TYPE_SPELL_BOOK));
+		spellSupport.refreshAvailableKnownSpells();
+		assertFalse(spellSupport.getBookSpellNodes().isEmpty(), "The empty spell book should be listed");
+		assertMatchesRebuild();
+
+		pc.addSpellBook(PREPARED_LIST);
+		assertEquals("", prepare(pc, pcClass, cureLight), "Should be able to prepare cure light wounds");
+		spellSupport.refreshAvailableKnownSpells();
+		assertMatchesRebuild();
+
+		pc.delSpellBook(SPELL_BOOK);
+		spellSupport.refreshAvailableKnownSpells();
+		assertMatchesRebuild();
+
+		pc.delSpellBook(PREPARED_LIST);
+		spellSupport.refreshAvailableKnownSpells();
+		assertTrue(spellSupport.getPreparedSpellNodes().isEmpty(), "The prepared list should be gone");
+		assertMatchesRebuild();
+	}
+
+	private static String prepare(PlayerCharacter pc, PCClass pcClass, Spell spell)
+	{
+		List<CharacterSpell> known = pc.getCharacterSpells(pcClass, spell, Globals.getDefaultSpellBook(), 1);
+		assertFalse(known.isEmpty(), spell + " should be known");
+		return pc.addSpell(known.get(0), Collections.emptyList(), pcClass.getKeyName(), PREPARED_LIST, 1, 1);
+	}
+
+	private static SpellInfo getPreparedInfo(PlayerCharacter pc, PCClass pcClass, Spell spell)
+	{
+		List<CharacterSpell> prepared = pc.getCharacterSpells(pcClass, spell, PREPARED_LIST, 1);
+		assertFalse(prepared.isEmpty(), spell + " should be prepared");
+		return prepared.get(0).getSpellInfoFor(PREPARED_LIST, 1);
+	}
+
+	/**
+	 * Compare each of the facade's spell lists with those of a facade newly
+	 * built for the same character, including the count on each node.
+	 */
+	private void assertMatchesRebuild()
+	{
+		SpellSupportFacadeImpl rebuilt =
+				new SpellSupportFacadeImpl(getCharacter(), uiDelegate, dataset, new TodoManager(), pcFacade);
+		try
+		{
+			assertSameNodes(rebuilt, spellSupport, SpellSupportFacadeImpl::getAvailableSpellNodes, "available");
+			assertSameNodes(rebuilt, spellSupport, SpellSupportFacadeImpl::getAllKnownSpellNodes, "all known");
+			assertSameNodes(rebuilt, spellSupport, SpellSupportFacadeImpl::getKnownSpellNodes, "known");
+			assertSameNodes(rebuilt, spellSupport, SpellSupportFacadeImpl::getPreparedSpellNodes, "prepared");
+			assertSameNodes(rebuilt, spellSupport, SpellSupportFacadeImpl::getBookSpellNodes, "spell book");
+		}
+		finally
+		{
+			rebuilt.closeCharacter();
+		}
+	}
+
+	private static void assertSameNodes(SpellSupportFacadeImpl expected, SpellSupportFacadeImpl actual,
+		Function<SpellSupportFacadeImpl, ListFacade<SpellNode>> nodes, String listName)
+	{
+		assertEquals(describe(nodes.apply(expected)), describe(nodes.apply(actual)),
+			"The " + listName + " spells should match a full rebuild");
+	}
+
+	private static List<String> describe(ListFacade<SpellNode> nodes)
+	{
+		List<String> descriptions = new ArrayList<>();
+		for (SpellNode node : nodes)
+		{
+			descriptions.add(node.getClass().getSimpleName() + '|' + node.getRootNode() + '|'
+				+ node.getSpellcastingClass() + '|' + node.getSpellLevel() + '|' + node.getSpell() + '|'
+				+ node.getCount());
+		}
+		Collections.sort(descriptions);
+		return descriptions;
+	}
+}
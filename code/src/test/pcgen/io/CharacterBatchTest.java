@@ -0,0 +1,208 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.StringWriter;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import pcgen.AbstractCharacterTestCase;
+import pcgen.core.Campaign;
+import pcgen.core.Globals;
+import pcgen.core.PCClass;
+import pcgen.core.PlayerCharacter;
+import pcgen.core.SettingsHandler;
+import pcgen.io.CharacterBatch.BatchReport;
+import pcgen.io.CharacterBatch.BatchResult;
+import pcgen.io.CharacterBatch.CharacterTask;
+import pcgen.persistence.lst.CampaignSourceEntry;
+import pcgen.util.TestHelper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * CharacterBatchTest checks that characters processed concurrently by a
+ * CharacterBatch come out the same as when they are processed one at a time,
+ * both when saved and when exported through an output sheet.
+ */
+public class CharacterBatchTest extends AbstractCharacterTestCase
+{
+	private static final int CHARACTER_COUNT = 24;
+
+	@TempDir
+	Path tempDir;
+
+	private final List<File> files = new ArrayList<>();
+
+	private File template;
+
+	private final CharacterTask<String> saveTask =
+			pc -> new PCGVer2Creator(pc, SettingsHandler.getGame(), Collections.emptyList()).createPCGString();
+
+	/**
+	 * Exports the character through an ExportHandler, so the tokens, the
+	 * export cache and the FileAccess output filter are all used concurrently.
+	 */
+	private final CharacterTask<String> exportTask = pc -> {
+		StringWriter sw = new StringWriter();
+		try (BufferedWriter bw = new BufferedWriter(sw))
+		{
+			new ExportHandler(template).write(pc, bw);
+		}
+		return sw.toString();
+	};
+
+	@BeforeEach
+	@Override
+	protected void setUp() throws Exception
+	{
+		super.setUp();
+		CampaignSourceEntry source = new CampaignSourceEntry(new Campaign(),
+			new URI("file:/" + getClass().getName() + ".java"));
+		PCClass fighter = TestHelper.parsePCClassText(
+			"CLASS:Fighter	HD:10	TYPE:Base.PC	ABB:Ftr	BONUS:COMBAT|BASEAB|CL", source);
+		Globals.getContext().getReferenceContext().importObject(fighter);
+		PCClass wizard = TestHelper.parsePCClassText(
+			"CLASS:Wizard	HD:4	TYPE:Base.PC	ABB:Wiz	BONUS:COMBAT|BASEAB|CL/2", source);
+		Globals.getContext().getReferenceContext().importObject(wizard);
+		finishLoad();
+
+		template = tempDir.resolve("batch.txt").toFile();
+		Files.write(template.toPath(), List.of(
+			"STR |STAT.0| |STAT.0.MOD| DEX |STAT.1| |STAT.1.MOD| INT |STAT.3.MOD|",
+			"BAB |BONUS.COMBAT.BASEAB.TOTAL|",
+			"AC |TOTAL.AC| SKILLS |SKILLPOINTS.TOTAL|",
+			"WEAPONS |WEAPON.0.NAME| |WEAPON.0.TOTALHIT|"), StandardCharsets.UTF_8);
+
+		PCGIOHandler ioHandler = new PCGIOHandler();
+		for (int i = 0; i < CHARACTER_COUNT; i++)
+		{
+			PlayerCharacter pc = new PlayerCharacter();
+			pc.setName("Batch " + i);
+			setPCStat(pc, str, 8 + (i % 10));
+			setPCStat(pc, dex, 18 - (i % 10));
+			setPCStat(pc, intel, 10 + (i % 7));
+			pc.incrementClassLevel(1 + (i % 5), fighter);
+			if (i % 3 == 0)
+			{
+				pc.incrementClassLevel(1 + (i % 4), wizard);
+			}
+			File file = tempDir.resolve("batch" + i + ".pcg").toFile();
+			ioHandler.write(pc, SettingsHandler.getGame(), Collections.emptyList(), file);
+			files.add(file);
+		}
+	}
+
+	@Override
+	protected void defaultSetupEnd()
+	{
+		//Nothing, we will trigger ourselves
+	}
+
+	/**
+	 * Check that a parallel batch produces, repeatedly, exactly the output of
+	 * a sequential batch for every character.
+	 *
+	 * @throws InterruptedException if the batch is interrupted
+	 */
+	@Test
+	public void testParallelMatchesSequential() throws InterruptedException
+	{
+		assertParallelMatchesSequential(saveTask);
+	}
+
+	/**
+	 * Check that exporting a parallel batch through an output sheet produces,
+	 * repeatedly, exactly the sheets of a sequential batch.
+	 *
+	 * @throws InterruptedException if the batch is interrupted
+	 */
+	@Test
+	public void testParallelExportMatchesSequential() throws InterruptedException
+	{
+		BatchReport<String> sequential = assertParallelMatchesSequential(exportTask);
+		String first = sequential.getResults().get(0).getValue();
+		assertTrue(first.startsWith("STR "), "The sheet should have been exported: " + first);
+		assertNotEquals(first, sequential.getResults().get(1).getValue(),
+			"Different characters should produce different sheets");
+	}
+
+	private BatchReport<String> assertParallelMatchesSequential(CharacterTask<String> task)
+		throws InterruptedException
+	{
+		BatchReport<String> sequential = new CharacterBatch(Collections.emptyList(), 1).run(files, task);
+		assertEquals(CHARACTER_COUNT, sequential.getSuccessCount());
+
+		for (int round = 0; round < 5; round++)
+		{
+			BatchReport<String> parallel = new CharacterBatch(Collections.emptyList(), 6).run(files, task);
+			assertEquals(CHARACTER_COUNT, parallel.getSuccessCount());
+			for (int i = 0; i < CHARACTER_COUNT; i++)
+			{
+				BatchResult<String> expected = sequential.getResults().get(i);
+				BatchResult<String> actual = parallel.getResults().get(i);
+				assertEquals(expected.getFile(), actual.getFile());
+				assertNotNull(actual.getValue());
+				assertEquals(expected.getValue(), actual.getValue(),
+					"Round " + round + " differed for " + actual.getFile().getName());
+			}
+		}
+		return sequential;
+	}
+
+	/**
+	 * Check that a file that cannot be loaded is reported without stopping
+	 * the rest of the batch.
+	 *
+	 * @throws InterruptedException if the batch is interrupted
+	 */
+	@Test
+	public void testMissingFileReported() throws InterruptedException
+	{
+		List<File> withMissing = new ArrayList<>(files);
+		withMissing.add(CHARACTER_COUNT / 2, tempDir.resolve("missing.pcg").toFile());
+
+		BatchReport<String> report = new CharacterBatch(Collections.emptyList(), 4).run(withMissing, saveTask);
+		assertEquals(CHARACTER_COUNT + 1, report.getResults().size());
+		assertEquals(CHARACTER_COUNT, report.getSuccessCount());
+		BatchResult<String> missing = report.getResults().get(CHARACTER_COUNT / 2);
+		assertFalse(missing.isSuccessful());
+		assertNotNull(missing.getFailure());
+		assertTrue(report.getCharactersPerSecond() > 0);
+	}
+
+	@Test
+	public void testThreadCountMustBePositive()
+	{
+		assertThrows(IllegalArgumentException.class, () -> new CharacterBatch(Collections.emptyList(), 0));
+	}
+}
@@ -0,0 +1,208 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import pcgen.AbstractCharacterTestCase;
+import pcgen.core.PlayerCharacter;
+import pcgen.io.ExportCache.TokenStats;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * ExportCacheTest checks that values shared through an ExportCache are reused
+ * until the character changes, including when a token is evaluated without an
+ * ExportHandler.
+ */
+public class ExportCacheTest extends AbstractCharacterTestCase
+{
+	private final AtomicInteger builds = new AtomicInteger();
+
+	private final Supplier<List<String>> supplier = () -> {
+		builds.incrementAndGet();
+		return new ArrayList<>(List.of("value"));
+	};
+
+	/**
+	 * Check that a value is built once and then reused for equal keys.
+	 */
+	@Test
+	public void testReusedForEqualKeys()
+	{
+		PlayerCharacter pc = getCharacter();
+		ExportCache cache = new ExportCache();
+
+		List<String> first = cache.get(pc, "TEST", ExportCache.key("list", 1), supplier);
+		List<String> second = cache.get(pc, "TEST", ExportCache.key("list", 1), supplier);
+		assertSame(first, second, "Equal keys should share the value");
+		assertEquals(1, builds.get(), "The value should only be built once");
+
+		cache.get(pc, "TEST", ExportCache.key("list", 2), supplier);
+		assertEquals(2, builds.get(), "A different key should build its own value");
+
+		TokenStats stats = cache.getTokenStats().get(0);
+		assertEquals(1, stats.getHits(), "Hits");
+		assertEquals(2, stats.getMisses(), "Misses");
+	}
+
+	/**
+	 * Check that a null value is cached rather than rebuilt.
+	 */
+	@Test
+	public void testNullValueReused()
+	{
+		PlayerCharacter pc = getCharacter();
+		ExportCache cache = new ExportCache();
+		Supplier<Object> nullSupplier = () -> {
+			builds.incrementAndGet();
+			return null;
+		};
+
+		assertNull(cache.get(pc, "TEST", "key", nullSupplier));
+		assertNull(cache.get(pc, "TEST", "key", nullSupplier));
+		assertEquals(1, builds.get(), "The null value should only be built once");
+	}
+
+	/**
+	 * Check that values are discarded once the character changes, and when the
+	 * cache is cleared.
+	 */
+	@Test
+	public void testInvalidatedByChange()
+	{
+		PlayerCharacter pc = getCharacter();
+		ExportCache cache = new ExportCache();
+
+		List<String> first = cache.get(pc, "TEST", "key", supplier);
+		cache.put(pc, "other", "stored");
+		pc.setDirty(true);
+		List<String> second = cache.get(pc, "TEST", "key", supplier);
+		assertEquals(2, builds.get(), "The value should be rebuilt after the character changed");
+		assertNotSame(first, second, "The stale value should not be returned");
+		assertNull(cache.getIfPresent(pc, "TEST", "other"), "Stored values should also be discarded");
+
+		cache.clear();
+		cache.get(pc, "TEST", "key", supplier);
+		assertEquals(3, builds.get(), "The value should be rebuilt after the cache was cleared");
+		assertEquals(0, cache.getTokenStats().get(0).getHits(), "Statistics should be cleared");
+	}
+
+	/**
+	 * Check that values are discarded when the character changes without
+	 * being marked dirty, as when a stat score is set directly.
+	 */
+	@Test
+	public void testInvalidatedByChangeStamp()
+	{
+		PlayerCharacter pc = getCharacter();
+		ExportCache cache = new ExportCache();
+
+		cache.get(pc, "TEST", "key", supplier);
+		int serial = pc.getSerial();
+		setPCStat(pc, str, 17);
+		assertEquals(serial, pc.getSerial(), "Setting the stat should not have changed the serial");
+		cache.get(pc, "TEST", "key", supplier);
+		assertEquals(2, builds.get(), "The value should be rebuilt after the stat changed");
+	}
+
+	/**
+	 * Check that each character has its own values.
+	 */
+	@Test
+	public void testValuesPerCharacter()
+	{
+		PlayerCharacter pc = getCharacter();
+		PlayerCharacter other = new PlayerCharacter();
+		ExportCache cache = new ExportCache();
+
+		List<String> pcValue = cache.get(pc, "TEST", "key", supplier);
+		List<String> otherValue = cache.get(other, "TEST", "key", supplier);
+		assertEquals(2, builds.get(), "Each character should build its own value");
+		assertSame(pcValue, cache.get(pc, "TEST", "key", supplier), "The first character should keep its value");
+		assertSame(otherValue, cache.get(other, "TEST", "key", supplier),
+			"The second character should keep its value");
+	}
+
+	/**
+	 * Check that tokens share the cache of the ExportHandler they are called
+	 * with.
+	 */
+	@Test
+	public void testSharedThroughExportHandler()
+	{
+		PlayerCharacter pc = getCharacter();
+		ExportHandler eh = new ExportHandler(new File("csheet.htm"));
+
+		List<String> first = ExportCache.get(eh, pc, "TEST", "key", supplier);
+		assertSame(first, ExportCache.get(eh, pc, "TEST", "key", supplier), "The value should be reused");
+		assertSame(first, eh.getExportCache().getIfPresent(pc, "TEST", "key"),
+			"The value should be held by the handler's cache");
+		assertEquals(1, builds.get(), "The value should only be built once");
+	}
+
+	/**
+	 * Check that tokens called without an ExportHandler still reuse their
+	 * values, and keep them for only the last character.
+	 */
+	@Test
+	public void testReusedWithoutExportHandler()
+	{
+		PlayerCharacter pc = getCharacter();
+		PlayerCharacter other = new PlayerCharacter();
+
+		List<String> first = ExportCache.get(null, pc, "TEST", "key", supplier);
+		assertSame(first, ExportCache.get(null, pc, "TEST", "key", supplier), "The value should be reused");
+		assertEquals(1, builds.get(), "The value should only be built once");
+
+		pc.setDirty(true);
+		ExportCache.get(null, pc, "TEST", "key", supplier);
+		assertEquals(2, builds.get(), "The value should be rebuilt after the character changed");
+
+		ExportCache.get(null, other, "TEST", "key", supplier);
+		ExportCache.get(null, pc, "TEST", "key", supplier);
+		assertEquals(4, builds.get(), "Only the values of the last character should be kept");
+	}
+
+	/**
+	 * Check that releasing a character discards the values held for it
+	 * without an ExportHandler.
+	 */
+	@Test
+	public void testReleasedCharacterDiscarded()
+	{
+		PlayerCharacter pc = getCharacter();
+		PlayerCharacter other = new PlayerCharacter();
+
+		ExportCache.get(null, pc, "TEST", "key", supplier);
+		ExportCache.release(other);
+		ExportCache.get(null, pc, "TEST", "key", supplier);
+		assertEquals(1, builds.get(), "Releasing another character should keep the values");
+
+		ExportCache.release(pc);
+		ExportCache.get(null, pc, "TEST", "key", supplier);
+		assertEquals(2, builds.get(), "The value should be rebuilt after the character was released");
+	}
+}
@@ -0,0 +1,119 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import pcgen.AbstractCharacterTestCase;
+import pcgen.core.PlayerCharacter;
+import pcgen.core.SettingsHandler;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * PCGIOHandlerBackgroundSaveTest checks that a character saved in the
+ * background is saved as it was when the save was requested, including the
+ * settings held by the character itself.
+ */
+public class PCGIOHandlerBackgroundSaveTest extends AbstractCharacterTestCase
+{
+	@TempDir
+	Path tempDir;
+
+	/**
+	 * Check that the character's own settings survive a background save and
+	 * reload, rather than being replaced by the global defaults.
+	 *
+	 * @throws Exception if the save could not be waited for
+	 */
+	@Test
+	public void testSettingsSurviveBackgroundSave() throws Exception
+	{
+		PlayerCharacter pc = getCharacter();
+		pc.setName("Settings");
+		boolean autoResize = !pc.isAutoResize();
+		boolean higherKnown = !pc.getUseHigherKnownSlots();
+		boolean higherPrepped = !pc.getUseHigherPreppedSlots();
+		pc.setAutoResize(autoResize);
+		pc.setUseHigherKnownSlots(higherKnown);
+		pc.setUseHigherPreppedSlots(higherPrepped);
+
+		File file = tempDir.resolve("settings.pcg").toFile();
+		PCGIOHandler.writeInBackground(pc, SettingsHandler.getGame(), Collections.emptyList(), file)
+			.get(30, TimeUnit.SECONDS);
+
+		PlayerCharacter loaded = load(file);
+		assertEquals(autoResize, loaded.isAutoResize(), "Auto resize should be kept");
+		assertEquals(higherKnown, loaded.getUseHigherKnownSlots(), "Use higher known slots should be kept");
+		assertEquals(higherPrepped, loaded.getUseHigherPreppedSlots(), "Use higher prepared slots should be kept");
+	}
+
+	/**
+	 * Check that changes made after the save was requested are not saved.
+	 *
+	 * @throws Exception if the save could not be waited for
+	 */
+	@Test
+	public void testSnapshotTakenWhenRequested() throws Exception
+	{
+		PlayerCharacter pc = getCharacter();
+		pc.setName("Before");
+		File file = tempDir.resolve("snapshot.pcg").toFile();
+		CompletableFuture<Void> save =
+				PCGIOHandler.writeInBackground(pc, SettingsHandler.getGame(), Collections.emptyList(), file);
+		pc.setName("After");
+		save.get(30, TimeUnit.SECONDS);
+
+		assertEquals("Before", load(file).getName(), "The character should be saved as it was when requested");
+		assertTrue(pc.isDirty(), "A background save should not mark the character as saved");
+	}
+
+	/**
+	 * Check that a save that cannot be written completes exceptionally.
+	 */
+	@Test
+	public void testFailedSaveCompletesExceptionally()
+	{
+		PlayerCharacter pc = getCharacter();
+		File file = tempDir.resolve("missing").resolve("failed.pcg").toFile();
+		CompletableFuture<Void> save =
+				PCGIOHandler.writeInBackground(pc, SettingsHandler.getGame(), Collections.emptyList(), file);
+		ExecutionException e = assertThrows(ExecutionException.class, () -> save.get(30, TimeUnit.SECONDS));
+		assertTrue(e.getCause() instanceof UncheckedIOException, "The write failure should be passed on");
+		assertFalse(file.exists());
+	}
+
+	private static PlayerCharacter load(File file)
+	{
+		PlayerCharacter loaded = new PlayerCharacter(Collections.emptyList());
+		PCGIOHandler ioHandler = new PCGIOHandler();
+		ioHandler.read(loaded, file.getAbsolutePath());
+		assertTrue(ioHandler.getErrors().isEmpty(), "Errors loading " + file + ": " + ioHandler.getErrors());
+		return loaded;
+	}
+}
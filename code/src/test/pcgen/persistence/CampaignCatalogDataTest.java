@@ -0,0 +1,120 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.HashSet;
+
+import pcgen.cdom.enumeration.IntegerKey;
+import pcgen.cdom.enumeration.ListKey;
+import pcgen.cdom.enumeration.MapKey;
+import pcgen.cdom.enumeration.ObjectKey;
+import pcgen.cdom.enumeration.SourceFormat;
+import pcgen.cdom.enumeration.StringKey;
+import pcgen.core.Campaign;
+import pcgen.persistence.lst.CampaignLoader;
+import pcgen.util.TestHelper;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * CampaignCatalogDataTest checks that a Campaign restored from the catalog is
+ * the same as the one parsed from a real PCC file of the shipped data.
+ */
+class CampaignCatalogDataTest
+{
+	private static final String PCC_FILE =
+			"data/35e/distant_horizons_games/distinctions_and_demerits/distinctionsdemerits.pcc";
+
+	private static final String ENVIRONMENT = "test|0:0";
+
+	@TempDir
+	Path tempDir;
+
+	@BeforeAll
+	static void loadPlugins()
+	{
+		TestHelper.loadPlugins();
+	}
+
+	@Test
+	void testRestoredMatchesParsed() throws Exception
+	{
+		URI uri = new File(PCC_FILE).getAbsoluteFile().toURI();
+		File catalogFile = tempDir.resolve("catalog.dat").toFile();
+
+		CampaignCatalog catalog = new CampaignCatalog(catalogFile, ENVIRONMENT);
+		catalog.load();
+		catalog.capture(uri, new CampaignLoader().parseCampaign(uri, catalog.read(uri)));
+		catalog.save();
+
+		CampaignCatalog reloaded = new CampaignCatalog(catalogFile, ENVIRONMENT);
+		reloaded.load();
+		Campaign restored = reloaded.restore(uri);
+		assertNotNull(restored, "The campaign should have been captured and restored");
+
+		Campaign parsed = new CampaignLoader().parseCampaign(uri, reloaded.read(uri));
+		assertEquals(parsed.getDisplayName(), restored.getDisplayName());
+		assertEquals(parsed.getKeyName(), restored.getKeyName());
+		assertEquals(parsed.getSourceURI(), restored.getSourceURI());
+		assertEquals(SourceFormat.getFormattedString(parsed, SourceFormat.LONG, true),
+			SourceFormat.getFormattedString(restored, SourceFormat.LONG, true));
+		assertEquals(new HashSet<>(parsed.getPrerequisiteList()), new HashSet<>(restored.getPrerequisiteList()));
+		assertTrue(parsed.hasPrerequisites(), "The PRECAMPAIGN should have been parsed");
+
+		assertEquals(parsed.getIntegerKeys(), restored.getIntegerKeys());
+		for (IntegerKey key : parsed.getIntegerKeys())
+		{
+			assertEquals(parsed.get(key), restored.get(key), key.toString());
+		}
+		assertEquals(parsed.getStringKeys(), restored.getStringKeys());
+		for (StringKey key : parsed.getStringKeys())
+		{
+			assertEquals(parsed.get(key), restored.get(key), key.toString());
+		}
+		assertEquals(parsed.getObjectKeys(), restored.getObjectKeys());
+		for (ObjectKey<?> key : parsed.getObjectKeys())
+		{
+			if (key == ObjectKey.SOURCE_CAMPAIGN)
+			{
+				assertSame(restored, restored.get(key), "The source campaign should be the campaign itself");
+			}
+			else
+			{
+				assertEquals(parsed.get(key), restored.get(key), key.toString());
+			}
+		}
+		assertEquals(parsed.getListKeys(), restored.getListKeys());
+		for (ListKey<?> key : parsed.getListKeys())
+		{
+			assertEquals(parsed.getListFor(key), restored.getListFor(key), key.toString());
+		}
+		assertEquals(parsed.getMapKeys(), restored.getMapKeys());
+		for (MapKey<?, ?> key : parsed.getMapKeys())
+		{
+			assertEquals(parsed.getMapFor(key), restored.getMapFor(key), key.toString());
+		}
+	}
+}
@@ -0,0 +1,119 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package gmgen.plugin;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class InitHolderListTest
+{
+	private static Event event(String name, int init)
+	{
+		return new Event(name, "GM", "", 1, init, false);
+	}
+
+	@Test
+	void testAddKeepsOrder()
+	{
+		InitHolderList list = new InitHolderList();
+		Event low = event("Low", 3);
+		Event high = event("High", 17);
+		Event mid = event("Mid", 10);
+		Event midToo = event("Mid Too", 10);
+		list.add(low);
+		list.add(high);
+		list.add(mid);
+		list.add(midToo);
+		assertEquals(Arrays.asList(high, mid, midToo, low), list);
+	}
+
+	@Test
+	void testAddAfterInitiativeChanged()
+	{
+		InitHolderList list = new InitHolderList();
+		Event low = event("Low", 3);
+		Event mid = event("Mid", 10);
+		Event high = event("High", 17);
+		list.add(low);
+		list.add(mid);
+		list.add(high);
+		// Changed in place, leaving the list out of order
+		low.getInitiative().setCurrentInitiative(20);
+		Event next = event("Next", 12);
+		list.add(next);
+		assertEquals(Arrays.asList(low, high, next, mid), list);
+	}
+
+	@Test
+	void testAddAllSortsOnce()
+	{
+		InitHolderList list = new InitHolderList();
+		List<InitHolder> batch = new ArrayList<>();
+		for (int i = 0; i < 1000; i++)
+		{
+			batch.add(event("Orc", i % 40));
+		}
+		list.addAll(batch);
+		for (int i = 1; i < list.size(); i++)
+		{
+			assertTrue(list.get(i - 1).getInitiative().getCurrentInitiative() >= list.get(i)
+				.getInitiative().getCurrentInitiative());
+		}
+	}
+
+	@Test
+	void testUniqueName()
+	{
+		InitHolderList list = new InitHolderList();
+		assertEquals("Orc", list.getUniqueName("Orc"));
+		list.add(event("Orc", 5));
+		assertEquals("Orc (1)", list.getUniqueName("Orc"));
+		list.add(event("Orc (1)", 5));
+		assertEquals("Orc (2)", list.getUniqueName("Orc"));
+		assertEquals("Orc (2)", list.getUniqueName("Orc (1)"));
+		assertTrue(list.isUniqueName("Goblin"));
+	}
+
+	@Test
+	void testUniqueNames()
+	{
+		InitHolderList list = new InitHolderList();
+		list.add(event("Orc", 5));
+		list.add(event("Orc (2)", 5));
+		assertEquals(Arrays.asList("Orc (1)", "Orc (3)", "Orc (4)"), list.getUniqueNames("Orc", 3));
+		assertEquals(Arrays.asList("Goblin", "Goblin (1)"), list.getUniqueNames("Goblin", 2));
+	}
+
+	@Test
+	void testSort()
+	{
+		InitHolderList list = new InitHolderList();
+		Event first = event("First", 5);
+		Event second = event("Second", 10);
+		list.add(first);
+		list.add(second);
+		first.getInitiative().setCurrentInitiative(20);
+		list.sort();
+		assertSame(first, list.get(0));
+	}
+}
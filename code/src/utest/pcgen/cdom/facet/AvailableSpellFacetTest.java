@@ -0,0 +1,83 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.cdom.facet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+
+import pcgen.base.util.HashMapToList;
+import pcgen.cdom.base.CDOMList;
+import pcgen.cdom.enumeration.CharID;
+import pcgen.cdom.enumeration.DataSetID;
+import pcgen.cdom.list.ClassSpellList;
+import pcgen.core.PCClass;
+import pcgen.core.spell.Spell;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class AvailableSpellFacetTest
+{
+	private CharID id;
+	private AvailableSpellFacet facet = new AvailableSpellFacet();
+	private ClassSpellList wizard;
+	private Spell fireball;
+	private PCClass source1;
+	private PCClass source2;
+
+	@BeforeEach
+	public void setUp() throws Exception
+	{
+		id = CharID.getID(DataSetID.getID());
+		wizard = new ClassSpellList();
+		wizard.setName("Wizard");
+		fireball = new Spell();
+		fireball.setName("Fireball");
+		source1 = new PCClass();
+		source1.setName("Source1");
+		source2 = new PCClass();
+		source2.setName("Source2");
+	}
+
+	@Test
+	public void testRemoveAllFromSourceAndReAdd()
+	{
+		for (int i = 0; i < 3; i++)
+		{
+			facet.add(id, wizard, 3, fireball, source1);
+			HashMapToList<CDOMList<Spell>, Integer> info = facet.getSpellLevelInfo(id, fireball);
+			assertEquals(Collections.singletonList(3), info.getListFor(wizard));
+			facet.removeAllFromSource(id, source1);
+			assertTrue(facet.getSpellLevelInfo(id, fireball).isEmpty());
+		}
+	}
+
+	@Test
+	public void testRemoveOneOfTwoSources()
+	{
+		facet.add(id, wizard, 3, fireball, source1);
+		facet.add(id, wizard, 3, fireball, source2);
+		facet.removeAllFromSource(id, source1);
+		assertEquals(Collections.singletonList(3), facet.getSpellLevelInfo(id, fireball).getListFor(wizard));
+		facet.add(id, wizard, 3, fireball, source1);
+		assertEquals(Collections.singletonList(3), facet.getSpellLevelInfo(id, fireball).getListFor(wizard));
+		facet.remove(id, wizard, 3, fireball, source1);
+		facet.remove(id, wizard, 3, fireball, source2);
+		assertTrue(facet.getSpellLevelInfo(id, fireball).isEmpty());
+	}
+}
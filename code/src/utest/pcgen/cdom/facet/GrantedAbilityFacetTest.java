@@ -17,16 +17,179 @@
  */
 package pcgen.cdom.facet;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import pcgen.cdom.content.CNAbility;
+import pcgen.cdom.content.CNAbilityFactory;
+import pcgen.cdom.enumeration.CharID;
+import pcgen.cdom.enumeration.DataSetID;
+import pcgen.cdom.enumeration.Nature;
+import pcgen.cdom.enumeration.ObjectKey;
+import pcgen.cdom.helper.CNAbilitySelection;
+import pcgen.cdom.reference.CDOMDirectSingleRef;
 import pcgen.cdom.testsupport.AbstractCNASEnforcingFacetTest;
+import pcgen.core.Ability;
+import pcgen.core.AbilityCategory;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 
 public class GrantedAbilityFacetTest extends AbstractCNASEnforcingFacetTest
 {
 	private final GrantedAbilityFacet facet = new GrantedAbilityFacet();
 
+	private CharID viewId;
+	private AbilityCategory parent;
+	private AbilityCategory pool;
+	private Ability first;
+	private Ability second;
+
 	@Override
 	protected GrantedAbilityFacet getFacet()
 	{
 		return facet;
 	}
 
+	@BeforeEach
+	void setUpView()
+	{
+		viewId = CharID.getID(DataSetID.getID());
+		parent = new AbilityCategory();
+		parent.setName("FEAT");
+		pool = new AbilityCategory();
+		pool.setName("Fighter Feat");
+		pool.setAbilityCategory(CDOMDirectSingleRef.getRef(parent));
+		first = new Ability();
+		first.setName("First");
+		first.setCDOMCategory(parent);
+		second = new Ability();
+		second.setName("Second");
+		second.setCDOMCategory(parent);
+	}
+
+	@Test
+	public void testViewIsLive()
+	{
+		Object source = new Object();
+		List<CNAbility> view = facet.getCNAbilitiesView(viewId);
+		List<CNAbility> normal = facet.getCNAbilitiesView(viewId, parent, Nature.NORMAL);
+		assertTrue(view.isEmpty());
+		CNAbilitySelection cnas =
+				new CNAbilitySelection(CNAbilityFactory.getCNAbility(parent, Nature.NORMAL, first));
+		facet.add(viewId, cnas, source);
+		assertEquals(1, view.size());
+		assertEquals(1, normal.size());
+		assertThrows(UnsupportedOperationException.class, () -> view.clear());
+		facet.remove(viewId, cnas, source);
+		assertTrue(view.isEmpty());
+		assertTrue(normal.isEmpty());
+	}
+
+	@Test
+	public void testPrimaryReplacement()
+	{
+		Object source = new Object();
+		CNAbility normal = CNAbilityFactory.getCNAbility(parent, Nature.NORMAL, first);
+		CNAbility virtual = CNAbilityFactory.getCNAbility(parent, Nature.VIRTUAL, first);
+		CNAbilitySelection cnas1 = new CNAbilitySelection(normal);
+		CNAbilitySelection cnas2 = new CNAbilitySelection(virtual);
+		facet.add(viewId, cnas1, source);
+		facet.add(viewId, cnas2, source);
+		assertSame(normal, facet.getPoolAbilityKeyed(viewId, parent, Nature.NORMAL, "First"));
+		assertNull(facet.getPoolAbilityKeyed(viewId, parent, Nature.VIRTUAL, "First"));
+		facet.remove(viewId, cnas1, source);
+		assertNull(facet.getPoolAbilityKeyed(viewId, parent, Nature.NORMAL, "First"));
+		assertSame(virtual, facet.getPoolAbilityKeyed(viewId, parent, Nature.VIRTUAL, "First"));
+		assertEquals(1, facet.getPoolCount(viewId, parent, null));
+	}
+
+	@Test
+	public void testPoolAndParent()
+	{
+		Object source = new Object();
+		facet.add(viewId, new CNAbilitySelection(CNAbilityFactory.getCNAbility(parent, Nature.NORMAL, first)),
+			source);
+		facet.add(viewId, new CNAbilitySelection(CNAbilityFactory.getCNAbility(pool, Nature.AUTOMATIC, second)),
+			source);
+		assertEquals(1, facet.getPoolCount(viewId, parent, null));
+		assertEquals(1, facet.getPoolCount(viewId, pool, Nature.AUTOMATIC));
+		assertEquals(0, facet.getPoolCount(viewId, pool, Nature.NORMAL));
+		assertEquals(2, facet.getCNAbilitiesView(viewId, parent, null).size());
+		assertTrue(facet.hasAbilityKeyed(viewId, parent, "Second"));
+		assertTrue(facet.hasAbilityInPool(viewId, pool));
+		assertEquals(1, facet.getCNAbilities(viewId, second).size());
+	}
+
+	@Test
+	public void testDistinctViews()
+	{
+		Object source = new Object();
+		Ability focus = new Ability();
+		focus.setName("Focus");
+		focus.setCDOMCategory(parent);
+		focus.put(ObjectKey.MULTIPLE_ALLOWED, true);
+		CNAbility cna = CNAbilityFactory.getCNAbility(pool, Nature.NORMAL, focus);
+		CNAbilitySelection longsword = new CNAbilitySelection(cna, "Longsword");
+		CNAbilitySelection dagger = new CNAbilitySelection(cna, "Dagger");
+		List<CNAbility> distinct = facet.getDistinctPoolAbilitiesView(viewId, pool, Nature.NORMAL);
+		facet.add(viewId, longsword, source);
+		facet.add(viewId, dagger, source);
+		assertEquals(2, facet.getPoolAbilitiesView(viewId, pool, Nature.NORMAL).size());
+		assertEquals(List.of(cna), distinct);
+		assertEquals(List.of(cna), facet.getDistinctCNAbilitiesView(viewId, parent, null));
+		assertEquals(List.of(cna), facet.getDistinctCNAbilitiesView(viewId));
+		facet.remove(viewId, longsword, source);
+		assertEquals(List.of(cna), distinct);
+		facet.remove(viewId, dagger, source);
+		assertTrue(distinct.isEmpty());
+		assertTrue(facet.getDistinctCNAbilitiesView(viewId).isEmpty());
+	}
+
+	@Test
+	public void testCopyRebuildsIndex()
+	{
+		Object source = new Object();
+		facet.add(viewId, new CNAbilitySelection(CNAbilityFactory.getCNAbility(parent, Nature.NORMAL, first)),
+			source);
+		CharID copy = CharID.getID(viewId.getDatasetID());
+		facet.copyContents(viewId, copy);
+		assertTrue(facet.hasAbilityKeyed(copy, parent, "First"));
+		facet.remove(viewId, facet.getSet(viewId).iterator().next(), source);
+		assertTrue(facet.getCNAbilitiesView(viewId).isEmpty());
+		assertEquals(1, facet.getCNAbilitiesView(copy).size());
+	}
+
+	@Test
+	public void testOverlayIndexReadFirst()
+	{
+		Object source = new Object();
+		facet.add(viewId, new CNAbilitySelection(CNAbilityFactory.getCNAbility(parent, Nature.NORMAL, first)),
+			source);
+		facet.add(viewId, new CNAbilitySelection(CNAbilityFactory.getCNAbility(pool, Nature.AUTOMATIC, second)),
+			source);
+
+		//Each overlay is queried through the index before anything else
+		assertTrue(facet.hasAbilityKeyed(CharID.getOverlayID(viewId), parent, "First"));
+		assertEquals(1, facet.getCNAbilitiesKeyed(CharID.getOverlayID(viewId), parent, "Second").size());
+		assertEquals("First", facet
+			.getPoolAbilityKeyed(CharID.getOverlayID(viewId), parent, Nature.NORMAL, "First").getAbilityKey());
+		assertEquals(1, facet.getPoolCount(CharID.getOverlayID(viewId), pool, Nature.AUTOMATIC));
+		assertEquals(2, facet.getCNAbilitiesView(CharID.getOverlayID(viewId)).size());
+		assertEquals(2, facet.getCNAbilitiesView(CharID.getOverlayID(viewId), parent, null).size());
+		assertEquals(1, facet.getPoolAbilitiesView(CharID.getOverlayID(viewId), pool, Nature.AUTOMATIC).size());
+
+		CharID overlay = CharID.getOverlayID(viewId);
+		List<CNAbility> view = facet.getCNAbilitiesView(overlay);
+		assertEquals(2, view.size());
+		facet.remove(overlay, facet.getSet(overlay).iterator().next(), source);
+		assertEquals(1, view.size(), "The overlay's view should follow changes to the overlay");
+		assertEquals(2, facet.getCNAbilitiesView(viewId).size(), "The base should be unchanged");
+	}
+
 }
@@ -0,0 +1,112 @@
+/*
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA
+ */
+package pcgen.cdom.formula;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import pcgen.base.formatmanager.FormatUtilities;
+import pcgen.base.formula.base.VariableID;
+
+import plugin.function.testsupport.AbstractFormulaTestCase;
+
+import org.junit.jupiter.api.Test;
+
+public class MonitorableVariableStoreTest extends AbstractFormulaTestCase
+{
+
+	private VariableID<Number> getVarID(String name)
+	{
+		return new VariableID<>(getGlobalScopeInst(), FormatUtilities.NUMBER_MANAGER, name);
+	}
+
+	@Test
+	void testPriorityOrder()
+	{
+		MonitorableVariableStore store = new MonitorableVariableStore();
+		VariableID<Number> varID = getVarID("MyNumber");
+		List<String> advised = new ArrayList<>();
+		store.addVariableListener(5, varID, e -> advised.add("5a"));
+		store.addVariableListener(-1, varID, e -> advised.add("-1"));
+		store.addVariableListener(5, varID, e -> advised.add("5b"));
+		store.addVariableListener(varID, e -> advised.add("0"));
+		store.put(varID, 3);
+		assertEquals(Arrays.asList("-1", "0", "5a", "5b"), advised);
+	}
+
+	@Test
+	void testEventsOnlyOnChange()
+	{
+		MonitorableVariableStore store = new MonitorableVariableStore();
+		VariableID<Number> varID = getVarID("MyNumber");
+		VariableID<Number> otherID = getVarID("Other");
+		List<VariableChangeEvent<Number>> events = new ArrayList<>();
+		store.addVariableListener(varID, events::add);
+		store.put(otherID, 1);
+		assertTrue(events.isEmpty());
+		store.put(varID, 2);
+		store.put(varID, 2);
+		assertEquals(1, events.size());
+		store.put(varID, 4);
+		assertEquals(2, events.size());
+		assertEquals(2, events.get(1).getOldValue());
+		assertEquals(4, events.get(1).getNewValue());
+	}
+
+	@Test
+	void testRemove()
+	{
+		MonitorableVariableStore store = new MonitorableVariableStore();
+		VariableID<Number> varID = getVarID("MyNumber");
+		List<String> advised = new ArrayList<>();
+		VariableListener<Number> first = e -> advised.add("first");
+		VariableListener<Number> second = e -> advised.add("second");
+		store.addVariableListener(varID, first);
+		store.addVariableListener(3, varID, second);
+		store.removeVariableListener(varID, second);
+		store.put(varID, 1);
+		assertEquals(Arrays.asList("first", "second"), advised);
+		advised.clear();
+		store.removeVariableListener(3, varID, second);
+		store.removeVariableListener(varID, first);
+		store.put(varID, 2);
+		assertTrue(advised.isEmpty());
+	}
+
+	@Test
+	void testManySlots()
+	{
+		MonitorableVariableStore store = new MonitorableVariableStore();
+		int[] counts = new int[50];
+		for (int i = 0; i < counts.length; i++)
+		{
+			final int index = i;
+			store.addVariableListener(getVarID("Var" + i), e -> counts[index]++);
+		}
+		for (int i = 0; i < counts.length; i++)
+		{
+			store.put(getVarID("Var" + i), i + 1);
+		}
+		for (int count : counts)
+		{
+			assertEquals(1, count);
+		}
+	}
+}
@@ -0,0 +1,193 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.cdom.formula;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+
+import pcgen.base.formatmanager.FormatUtilities;
+import pcgen.base.formula.base.VariableID;
+import pcgen.cdom.enumeration.CharID;
+import pcgen.cdom.enumeration.DataSetID;
+
+import plugin.function.testsupport.AbstractFormulaTestCase;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SolverProfileTest extends AbstractFormulaTestCase
+{
+
+	private CharID id;
+	private SolverProfile profile;
+	private MonitorableVariableStore store;
+
+	@BeforeEach
+	@Override
+	public void setUp() throws Exception
+	{
+		super.setUp();
+		id = CharID.getID(DataSetID.getID());
+		SolverProfile.setEnabled(true);
+		profile = SolverProfile.get(id);
+		store = new MonitorableVariableStore();
+		store.setProfile(profile);
+	}
+
+	@AfterEach
+	void tearDown()
+	{
+		SolverProfile.setEnabled(false);
+		SolverProfile.remove(id);
+	}
+
+	private VariableID<Number> getVarID(String name)
+	{
+		return new VariableID<>(getGlobalScopeInst(), FormatUtilities.NUMBER_MANAGER, name);
+	}
+
+	@Test
+	void testFanOutAndChain()
+	{
+		VariableID<Number> root = getVarID("Root");
+		VariableID<Number> first = getVarID("First");
+		VariableID<Number> second = getVarID("Second");
+		long start = SolverProfile.begin(profile, root);
+		store.put(root, 1);
+		store.put(first, 2);
+		store.put(second, 3);
+		store.put(first, 4);
+		SolverProfile.end(profile, start);
+
+		List<SolverProfile.VariableStatistics> stats = profile.getVariableStatistics();
+		assertEquals(3, stats.size());
+		SolverProfile.VariableStatistics rootStats = stats.get(0);
+		assertEquals(root, rootStats.getVariableID());
+		assertEquals(1, rootStats.getSolves());
+		assertEquals(1, rootStats.getResolves());
+		assertEquals(2, rootStats.getMaxFanOut());
+		assertEquals(2, getStatistics(first).getResolves());
+		assertEquals(0, getStatistics(first).getSolves());
+
+		List<SolverProfile.Chain> chains = profile.getLongestChains();
+		assertEquals(1, chains.size());
+		assertEquals(root, chains.get(0).getRoot());
+		assertEquals(Arrays.asList(first, second), chains.get(0).getVariables());
+	}
+
+	@Test
+	void testNestedSolveIncludedInOuter()
+	{
+		VariableID<Number> outer = getVarID("Outer");
+		VariableID<Number> inner = getVarID("Inner");
+		VariableID<Number> leaf = getVarID("Leaf");
+		long outerStart = SolverProfile.begin(profile, outer);
+		store.put(outer, 1);
+		long innerStart = SolverProfile.begin(profile, inner);
+		store.put(leaf, 2);
+		SolverProfile.end(profile, innerStart);
+		SolverProfile.end(profile, outerStart);
+
+		assertEquals(1, getStatistics(inner).getMaxFanOut());
+		assertEquals(2, getStatistics(outer).getMaxFanOut());
+		assertEquals(Arrays.asList(inner, leaf), profile.getLongestChains().get(0).getVariables());
+	}
+
+	@Test
+	void testDisabledRecordsNothing()
+	{
+		SolverProfile.setEnabled(false);
+		VariableID<Number> root = getVarID("Root");
+		long start = SolverProfile.begin(profile, root);
+		store.put(root, 1);
+		SolverProfile.end(profile, start);
+		assertTrue(profile.getVariableStatistics().isEmpty());
+		assertTrue(profile.getLongestChains().isEmpty());
+	}
+
+	@Test
+	void testDisabledCreatesNoProfile()
+	{
+		SolverProfile.setEnabled(false);
+		CharID other = CharID.getID(DataSetID.getID());
+		MonitorableVariableStore otherStore = new MonitorableVariableStore();
+		otherStore.setProfileOwner(other);
+		assertNull(otherStore.getProfile());
+		assertNull(SolverProfile.get(other));
+
+		SolverProfile.setEnabled(true);
+		SolverProfile otherProfile = otherStore.getProfile();
+		assertSame(SolverProfile.get(other), otherProfile);
+		SolverProfile.remove(other);
+	}
+
+	@Test
+	void testOwnerRecordedBeforeProfileRequested()
+	{
+		CharID other = CharID.getID(DataSetID.getID());
+		MonitorableVariableStore otherStore = new MonitorableVariableStore();
+		otherStore.setProfileOwner(other);
+		VariableID<Number> varID = getVarID("Early");
+		try
+		{
+			otherStore.put(varID, 1);
+			otherStore.put(varID, 2);
+			SolverProfile otherProfile = SolverProfile.get(other);
+			assertEquals(2, otherProfile.getVariableStatistics().stream()
+				.filter(s -> s.getVariableID().equals(varID)).findFirst().orElseThrow().getResolves());
+			assertSame(otherProfile, otherStore.getProfile());
+		}
+		finally
+		{
+			SolverProfile.remove(other);
+		}
+	}
+
+	@Test
+	void testReport() throws IOException
+	{
+		VariableID<Number> root = getVarID("Root");
+		VariableID<Number> child = getVarID("Child");
+		long start = SolverProfile.begin(profile, root);
+		store.put(child, 1);
+		SolverProfile.end(profile, start);
+
+		StringWriter writer = new StringWriter();
+		profile.writeReport(writer, "Tester");
+		String report = writer.toString();
+		assertTrue(report.startsWith("# Solver profile: Tester\n"));
+		assertTrue(report.contains("\nRoot\t"));
+		assertTrue(report.contains("\nChild\t"));
+		assertTrue(report.contains("-> "));
+
+		profile.clear();
+		assertTrue(profile.getVariableStatistics().isEmpty());
+	}
+
+	private SolverProfile.VariableStatistics getStatistics(VariableID<?> varID)
+	{
+		return profile.getVariableStatistics().stream().filter(s -> s.getVariableID().equals(varID)).findFirst()
+			.orElseThrow();
+	}
+}
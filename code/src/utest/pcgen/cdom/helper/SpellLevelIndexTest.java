@@ -0,0 +1,95 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package pcgen.cdom.helper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import pcgen.cdom.list.ClassSpellList;
+import pcgen.cdom.list.DomainSpellList;
+import pcgen.cdom.list.SpellList;
+import pcgen.core.prereq.Prerequisite;
+import pcgen.core.spell.Spell;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SpellLevelIndexTest
+{
+
+	private ClassSpellList wizard;
+	private DomainSpellList fire;
+	private Spell fireball;
+
+	@BeforeEach
+	void setUp()
+	{
+		wizard = new ClassSpellList();
+		wizard.setName("Wizard");
+		fire = new DomainSpellList();
+		fire.setName("Fire");
+		fireball = new Spell();
+		fireball.setName("Fireball");
+	}
+
+	@Test
+	public void testUnconditionalEntries()
+	{
+		SpellLevelIndex index = SpellLevelIndex.build(
+			Arrays.asList(new AvailableSpell(wizard, fireball, 3), new AvailableSpell(fire, fireball, 4)));
+		assertEquals(1, index.getKeyCount());
+		SpellLevelIndex.Entries entries = index.getEntries(fireball);
+		assertEquals(2, entries.size());
+		assertSame(wizard, entries.getList(0));
+		assertEquals(3, entries.getLevel(0));
+		assertSame(fire, entries.getList(1));
+		assertEquals(4, entries.getLevel(1));
+		assertTrue(index.contains(wizard, 3, fireball));
+		assertFalse(index.contains(wizard, 4, fireball));
+	}
+
+	@Test
+	public void testConditionalAndOtherListsIgnored()
+	{
+		AvailableSpell conditional = new AvailableSpell(wizard, fireball, 3);
+		conditional.addPrerequisite(new Prerequisite());
+		SpellList other = new SpellList();
+		other.setName("Other");
+		SpellLevelIndex index =
+				SpellLevelIndex.build(Arrays.asList(conditional, new AvailableSpell(other, fireball, 3)));
+		assertEquals(0, index.getKeyCount());
+		assertNull(index.getEntries(fireball));
+		assertFalse(index.contains(wizard, 3, fireball));
+	}
+
+	@Test
+	public void testAlternateSpellOfSameKey()
+	{
+		Spell alternate = new Spell();
+		alternate.setName("Fireball");
+		SpellLevelIndex index = SpellLevelIndex.build(Arrays.asList(new AvailableSpell(wizard, alternate, 3)));
+		SpellLevelIndex.Entries entries = index.getEntries(fireball);
+		assertEquals(1, entries.size());
+		assertSame(alternate, entries.getSpell(0));
+		assertFalse(index.contains(wizard, 3, fireball));
+		assertTrue(index.contains(wizard, 3, alternate));
+	}
+}
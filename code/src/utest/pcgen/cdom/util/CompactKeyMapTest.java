@@ -0,0 +1,192 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.cdom.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The Class {@code CompactKeyMapTest} checks that CompactKeyMap behaves as a
+ * Map for keys compared by identity.
+ */
+class CompactKeyMapTest
+{
+
+	/**
+	 * A key with an explicit (and possibly shared) ordinal.
+	 */
+	private static final class TestKey
+	{
+		private final String name;
+		private final int ordinal;
+
+		private TestKey(String name, int ordinal)
+		{
+			this.name = name;
+			this.ordinal = ordinal;
+		}
+
+		private int getOrdinal()
+		{
+			return ordinal;
+		}
+
+		@Override
+		public String toString()
+		{
+			return name;
+		}
+	}
+
+	private static CompactKeyMap<TestKey, String> newMap()
+	{
+		return new CompactKeyMap<>(TestKey.class, TestKey::getOrdinal);
+	}
+
+	@Test
+	void testPutGetRemove()
+	{
+		CompactKeyMap<TestKey, String> map = newMap();
+		TestKey a = new TestKey("a", 5);
+		TestKey b = new TestKey("b", 1);
+		TestKey c = new TestKey("c", 9);
+		assertNull(map.put(a, "A"));
+		assertNull(map.put(b, "B"));
+		assertNull(map.put(c, "C"));
+		assertEquals(3, map.size());
+		assertEquals("A", map.get(a));
+		assertEquals("B", map.get(b));
+		assertEquals("C", map.get(c));
+		assertEquals("A", map.put(a, "A2"));
+		assertEquals("A2", map.get(a));
+		assertEquals(3, map.size());
+		assertEquals("B", map.remove(b));
+		assertFalse(map.containsKey(b));
+		assertNull(map.get(b));
+		assertEquals(2, map.size());
+		assertNull(map.remove(b));
+	}
+
+	@Test
+	void testSharedOrdinals()
+	{
+		CompactKeyMap<TestKey, String> map = newMap();
+		TestKey first = new TestKey("first", 3);
+		TestKey second = new TestKey("second", 3);
+		TestKey other = new TestKey("other", 3);
+		map.put(first, "1");
+		map.put(second, "2");
+		assertEquals("1", map.get(first));
+		assertEquals("2", map.get(second));
+		assertFalse(map.containsKey(other));
+		map.remove(first);
+		assertEquals("2", map.get(second));
+	}
+
+	@Test
+	void testForeignKeys()
+	{
+		CompactKeyMap<TestKey, String> map = newMap();
+		map.put(new TestKey("a", 1), "A");
+		assertNull(map.get("a"));
+		assertFalse(map.containsKey(1));
+		assertNull(map.remove("a"));
+	}
+
+	@Test
+	void testNullValue()
+	{
+		CompactKeyMap<TestKey, String> map = newMap();
+		TestKey a = new TestKey("a", 1);
+		map.put(a, null);
+		assertTrue(map.containsKey(a));
+		assertNull(map.get(a));
+		assertEquals(1, map.size());
+	}
+
+	@Test
+	void testEqualityWithHashMap()
+	{
+		CompactKeyMap<TestKey, String> map = newMap();
+		Map<TestKey, String> hashMap = new HashMap<>();
+		for (int i = 0; i < 20; i++)
+		{
+			TestKey key = new TestKey("k" + i, (i * 7) % 11);
+			map.put(key, "v" + i);
+			hashMap.put(key, "v" + i);
+		}
+		assertEquals(hashMap, map);
+		assertEquals(map, hashMap);
+		assertEquals(hashMap.hashCode(), map.hashCode());
+		assertEquals(hashMap.keySet(), map.keySet());
+	}
+
+	@Test
+	void testCopyAndTrim()
+	{
+		CompactKeyMap<TestKey, String> map = newMap();
+		TestKey a = new TestKey("a", 1);
+		TestKey b = new TestKey("b", 2);
+		map.put(a, "A");
+		map.put(b, "B");
+		CompactKeyMap<TestKey, String> copy = new CompactKeyMap<>(map);
+		assertEquals(map, copy);
+		copy.put(a, "changed");
+		assertEquals("A", map.get(a));
+		map.trimToSize();
+		assertEquals("B", map.get(b));
+		map.put(new TestKey("c", 0), "C");
+		assertEquals(3, map.size());
+		map.remove(a);
+		map.remove(b);
+		map.trimToSize();
+		assertEquals("C", map.values().iterator().next());
+	}
+
+	@Test
+	void testIteratorRemove()
+	{
+		CompactKeyMap<TestKey, String> map = newMap();
+		for (int i = 0; i < 6; i++)
+		{
+			map.put(new TestKey("k" + i, i), "v" + i);
+		}
+		Iterator<Map.Entry<TestKey, String>> it = map.entrySet().iterator();
+		while (it.hasNext())
+		{
+			Map.Entry<TestKey, String> entry = it.next();
+			if (entry.getKey().getOrdinal() % 2 == 0)
+			{
+				it.remove();
+			}
+			else
+			{
+				entry.setValue("odd");
+			}
+		}
+		assertEquals(3, map.size());
+		assertEquals(List.of("odd", "odd", "odd"), List.copyOf(map.values()));
+	}
+}
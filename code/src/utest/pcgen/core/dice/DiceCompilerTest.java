@@ -0,0 +1,125 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.core.dice;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import pcgen.base.util.RandomUtil;
+
+import org.junit.jupiter.api.Test;
+
+class DiceCompilerTest
+{
+	private static final long SEED = -5450594;
+
+	@Test
+	void testCompileIsCached()
+	{
+		CompiledDice dice = DiceCompiler.compile("3d6+2");
+		assertNotNull(dice);
+		assertSame(dice, DiceCompiler.compile("3d6+2"));
+		assertEquals("3d6+2", dice.toString());
+	}
+
+	@Test
+	void testUncompilable()
+	{
+		assertNull(DiceCompiler.compile("2*3d6"));
+		assertNull(DiceCompiler.compile("max(1d6,1d8)"));
+		assertNull(DiceCompiler.compile("roll(4,6,top(5))"));
+		assertNull(DiceCompiler.compile("roll(4,6,reroll(6))"));
+		assertNull(DiceCompiler.compile(""));
+	}
+
+	@Test
+	void testRange()
+	{
+		CompiledDice dice = DiceCompiler.compile("2d6 - 1d4 + 6");
+		assertEquals(4, dice.getMinimum());
+		assertEquals(17, dice.getMaximum());
+		dice = DiceCompiler.compile("roll(4,6,top(3),reroll(1))");
+		assertEquals(6, dice.getMinimum());
+		assertEquals(18, dice.getMaximum());
+		dice = DiceCompiler.compile("d%");
+		assertEquals(1, dice.getMinimum());
+		assertEquals(100, dice.getMaximum());
+	}
+
+	@Test
+	void testMatchesSequentialRolls()
+	{
+		final Random random = new Random(SEED);
+		RandomUtil.setRandomGenerator(random);
+		CompiledDice dice = DiceCompiler.compile("roll(4,6,top(3))");
+
+		random.setSeed(SEED);
+		int[] bulk = dice.rollMany(50);
+		random.setSeed(SEED);
+		for (int value : bulk)
+		{
+			assertEquals(value, dice.roll());
+		}
+	}
+
+	@Test
+	void testRollInto()
+	{
+		CompiledDice dice = DiceCompiler.compile("roll(5,6,top(3),reroll(2))");
+		int[] results = new int[1000];
+		dice.rollInto(results, new Random(SEED));
+		for (int value : results)
+		{
+			assertTrue(value >= 9 && value <= 18);
+		}
+	}
+
+	@Test
+	void testDistribution()
+	{
+		DiceDistribution dist = DiceCompiler.getDistribution("3d6+2");
+		assertEquals(5, dist.getMinimum());
+		assertEquals(20, dist.getMaximum());
+		assertEquals(12.5, dist.getMean(), 1.0e-9);
+		assertEquals(8.75, dist.getVariance(), 1.0e-9);
+		assertEquals(1.0 / 216, dist.getProbability(20), 1.0e-12);
+		assertEquals(0.0, dist.getProbability(21), 0.0);
+		assertEquals(12, dist.getPercentile(0.5));
+		assertEquals(1.0, dist.getProbabilityAtLeast(5), 1.0e-9);
+	}
+
+	@Test
+	void testDropLowestDistribution()
+	{
+		DiceDistribution dist = DiceCompiler.getDistribution("roll(4,6,top(3))");
+		//The well known average of 4d6 drop lowest is 15869/1296
+		assertEquals(15869.0 / 1296, dist.getMean(), 1.0e-9);
+		assertEquals(1.0 / 1296, dist.getProbability(3), 1.0e-12);
+		assertEquals(21.0 / 1296, dist.getProbability(18), 1.0e-12);
+	}
+
+	@Test
+	void testLargeDistribution()
+	{
+		assertNull(DiceCompiler.getDistribution("1000d1000"));
+		assertNotNull(DiceCompiler.compile("1000d1000"));
+	}
+}
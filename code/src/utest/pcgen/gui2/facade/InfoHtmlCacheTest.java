@@ -0,0 +1,93 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.gui2.facade;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class InfoHtmlCacheTest
+{
+
+	@Test
+	void testReusedUntilStampChanges()
+	{
+		InfoHtmlCache cache = new InfoHtmlCache(10);
+		AtomicInteger builds = new AtomicInteger();
+		Object target = new Object();
+		assertEquals("1", cache.get(target, null, 5, () -> String.valueOf(builds.incrementAndGet())));
+		assertEquals("1", cache.get(target, null, 5, () -> String.valueOf(builds.incrementAndGet())));
+		assertTrue(cache.contains(target, null, 5));
+		assertFalse(cache.contains(target, null, 6));
+		assertEquals("2", cache.get(target, null, 6, () -> String.valueOf(builds.incrementAndGet())));
+		assertEquals(2, builds.get());
+	}
+
+	@Test
+	void testKeyedByIdentity()
+	{
+		InfoHtmlCache cache = new InfoHtmlCache(10);
+		String first = new String("Longsword");
+		String second = new String("Longsword");
+		cache.get(first, null, 1, () -> "first");
+		assertEquals("second", cache.get(second, null, 1, () -> "second"));
+		assertEquals("first", cache.get(first, null, 1, () -> "other"));
+		Object qualifier = new Object();
+		assertEquals("qualified", cache.get(first, qualifier, 1, () -> "qualified"));
+		assertEquals("first", cache.get(first, null, 1, () -> "other"));
+	}
+
+	@Test
+	void testQualifierKeyedByEquality()
+	{
+		InfoHtmlCache cache = new InfoHtmlCache(10);
+		Object target = new Object();
+		assertEquals("mods", cache.get(target, Integer.valueOf(1000), 1, () -> "mods"));
+		assertEquals("mods", cache.get(target, Integer.valueOf(1000), 1, () -> "other"),
+			"An equal qualifier should share the entry");
+		assertEquals("ranks", cache.get(target, Integer.valueOf(2000), 1, () -> "ranks"));
+		assertEquals("mods", cache.get(target, Integer.valueOf(1000), 1, () -> "other"));
+
+		cache.get(target, List.of("summary", target), 1, () -> "summary");
+		assertTrue(cache.contains(target, List.of("summary", target), 1));
+		assertFalse(cache.contains(new Object(), List.of("summary", target), 1),
+			"The target should still be compared by identity");
+	}
+
+	@Test
+	void testEviction()
+	{
+		InfoHtmlCache cache = new InfoHtmlCache(2);
+		Object a = new Object();
+		Object b = new Object();
+		Object c = new Object();
+		cache.get(a, null, 1, () -> "a");
+		cache.get(b, null, 1, () -> "b");
+		//Touch a so b is the eldest
+		cache.get(a, null, 1, () -> "x");
+		cache.get(c, null, 1, () -> "c");
+		assertTrue(cache.contains(a, null, 1));
+		assertFalse(cache.contains(b, null, 1));
+		assertTrue(cache.contains(c, null, 1));
+		cache.clear();
+		assertFalse(cache.contains(a, null, 1));
+	}
+}
@@ -0,0 +1,149 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import pcgen.system.PCGenSettings;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PCGIOHandlerWriteTest
+{
+
+	@TempDir
+	Path tempDir;
+
+	private boolean oldCreateBackup;
+	private String oldBackupDir;
+
+	@BeforeEach
+	void setUp()
+	{
+		oldCreateBackup = PCGenSettings.getCreatePcgBackup();
+		oldBackupDir = PCGenSettings.getBackupPcgDir();
+		PCGenSettings.OPTIONS_CONTEXT.setBoolean(PCGenSettings.OPTION_CREATE_PCG_BACKUP, true);
+		PCGenSettings.getInstance().setProperty(PCGenSettings.BACKUP_PCG_PATH, null);
+	}
+
+	@AfterEach
+	void tearDown()
+	{
+		PCGenSettings.OPTIONS_CONTEXT.setBoolean(PCGenSettings.OPTION_CREATE_PCG_BACKUP, oldCreateBackup);
+		PCGenSettings.getInstance().setProperty(PCGenSettings.BACKUP_PCG_PATH, oldBackupDir);
+	}
+
+	@Test
+	void testWriteCreatesFile() throws IOException
+	{
+		File target = tempDir.resolve("new.pcg").toFile();
+		PCGIOHandler.writeAtomically("VERSION:1\n", target);
+		assertEquals("VERSION:1\n", Files.readString(target.toPath(), StandardCharsets.UTF_8));
+		assertEquals(1, countFiles(), "No temporary or backup file should be left behind");
+	}
+
+	@Test
+	void testWriteReplacesFile() throws IOException
+	{
+		File target = tempDir.resolve("old.pcg").toFile();
+		Files.writeString(target.toPath(), "VERSION:old\n", StandardCharsets.UTF_8);
+		PCGIOHandler.writeAtomically("VERSION:new\n", target);
+		assertEquals("VERSION:new\n", Files.readString(target.toPath(), StandardCharsets.UTF_8));
+		Path backup = tempDir.resolve("old.pcg.bak");
+		assertTrue(Files.exists(backup), "The old file should be backed up");
+		assertEquals("VERSION:old\n", Files.readString(backup, StandardCharsets.UTF_8));
+		assertEquals(2, countFiles(), "No temporary file should be left behind");
+	}
+
+	@Test
+	void testBackupToDirectory() throws IOException
+	{
+		Path backupDir = Files.createDirectory(tempDir.resolve("backups"));
+		PCGenSettings.getInstance().setProperty(PCGenSettings.BACKUP_PCG_PATH, backupDir.toString());
+		File target = tempDir.resolve("old.pcg").toFile();
+		Files.writeString(target.toPath(), "VERSION:old\n", StandardCharsets.UTF_8);
+		PCGIOHandler.writeAtomically("VERSION:new\n", target);
+		assertEquals("VERSION:old\n", Files.readString(backupDir.resolve("old.pcg.bak"), StandardCharsets.UTF_8));
+		assertFalse(Files.exists(tempDir.resolve("old.pcg.bak")), "The backup should only be in the backup directory");
+	}
+
+	@Test
+	void testNoBackupWhenDisabled() throws IOException
+	{
+		PCGenSettings.OPTIONS_CONTEXT.setBoolean(PCGenSettings.OPTION_CREATE_PCG_BACKUP, false);
+		File target = tempDir.resolve("old.pcg").toFile();
+		Files.writeString(target.toPath(), "VERSION:old\n", StandardCharsets.UTF_8);
+		PCGIOHandler.writeAtomically("VERSION:new\n", target);
+		assertFalse(Files.exists(tempDir.resolve("old.pcg.bak")), "No backup should be made");
+	}
+
+	@Test
+	void testWriteKeepsPermissions() throws IOException
+	{
+		assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+		Path target = tempDir.resolve("shared.pcg");
+		Files.writeString(target, "VERSION:old\n", StandardCharsets.UTF_8);
+		Set<PosixFilePermission> shared = PosixFilePermissions.fromString("rw-rw-r--");
+		Files.setPosixFilePermissions(target, shared);
+		PCGIOHandler.writeAtomically("VERSION:new\n", target.toFile());
+		assertEquals(shared, Files.getPosixFilePermissions(target));
+	}
+
+	@Test
+	void testNewFileHasDefaultPermissions() throws IOException
+	{
+		assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+		Path plain = Files.createFile(tempDir.resolve("plain.txt"));
+		Path target = tempDir.resolve("new.pcg");
+		PCGIOHandler.writeAtomically("VERSION:1\n", target.toFile());
+		assertEquals(Files.getPosixFilePermissions(plain), Files.getPosixFilePermissions(target),
+			"A new character file should get the same permissions as any other new file");
+	}
+
+	@Test
+	void testFailedWriteLeavesNothing() throws IOException
+	{
+		File target = tempDir.resolve("missing").resolve("new.pcg").toFile();
+		assertThrows(IOException.class, () -> PCGIOHandler.writeAtomically("VERSION:1\n", target));
+		assertEquals(0, countFiles(), "Nothing should be written");
+	}
+
+	private long countFiles() throws IOException
+	{
+		try (Stream<Path> files = Files.list(tempDir))
+		{
+			return files.filter(Files::isRegularFile).count();
+		}
+	}
+}
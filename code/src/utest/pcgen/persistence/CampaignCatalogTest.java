@@ -0,0 +1,209 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import pcgen.cdom.enumeration.IntegerKey;
+import pcgen.cdom.enumeration.ListKey;
+import pcgen.cdom.enumeration.ObjectKey;
+import pcgen.cdom.enumeration.Status;
+import pcgen.cdom.enumeration.StringKey;
+import pcgen.cdom.enumeration.Type;
+import pcgen.core.Campaign;
+import pcgen.persistence.lst.CampaignSourceEntry;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CampaignCatalogTest
+{
+	private static final String ENVIRONMENT = "6.09.00|12:1a2b3c4d";
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void testUnchangedFileServedFromCatalog() throws Exception
+	{
+		File pcc = writePcc("a.pcc", "CAMPAIGN:Alpha\n");
+		File catalogFile = tempDir.resolve("catalog.dat").toFile();
+
+		CampaignCatalog catalog = new CampaignCatalog(catalogFile, ENVIRONMENT);
+		catalog.load();
+		assertEquals("CAMPAIGN:Alpha\n", catalog.read(pcc.toURI()));
+		assertEquals(0, catalog.getHits());
+		assertEquals(1, catalog.getMisses());
+		catalog.save();
+
+		CampaignCatalog reloaded = new CampaignCatalog(catalogFile, ENVIRONMENT);
+		reloaded.load();
+		assertEquals("CAMPAIGN:Alpha\n", reloaded.read(pcc.toURI()));
+		assertEquals(1, reloaded.getHits());
+		assertEquals(0, reloaded.getMisses());
+	}
+
+	@Test
+	void testChangedFileReread() throws Exception
+	{
+		File pcc = writePcc("b.pcc", "CAMPAIGN:Beta\n");
+		File catalogFile = tempDir.resolve("catalog.dat").toFile();
+
+		CampaignCatalog catalog = new CampaignCatalog(catalogFile, ENVIRONMENT);
+		catalog.load();
+		catalog.read(pcc.toURI());
+		catalog.save();
+
+		writePcc("b.pcc", "CAMPAIGN:Beta Revised\n");
+		pcc.setLastModified(pcc.lastModified() + 2000);
+
+		CampaignCatalog reloaded = new CampaignCatalog(catalogFile, ENVIRONMENT);
+		reloaded.load();
+		assertEquals("CAMPAIGN:Beta Revised\n", reloaded.read(pcc.toURI()));
+		assertEquals(0, reloaded.getHits());
+		assertEquals(1, reloaded.getMisses());
+	}
+
+	@Test
+	void testCorruptCatalogIgnored() throws Exception
+	{
+		File pcc = writePcc("c.pcc", "CAMPAIGN:Gamma\n");
+		File catalogFile = tempDir.resolve("catalog.dat").toFile();
+		Files.write(catalogFile.toPath(), new byte[]{1, 2, 3});
+
+		CampaignCatalog catalog = new CampaignCatalog(catalogFile, ENVIRONMENT);
+		catalog.load();
+		assertEquals("CAMPAIGN:Gamma\n", catalog.read(pcc.toURI()));
+		assertEquals(1, catalog.getMisses());
+	}
+
+	@Test
+	void testUnchangedCampaignRestoredWithoutParsing() throws Exception
+	{
+		File pcc = writePcc("d.pcc", "CAMPAIGN:Delta\n");
+		File catalogFile = tempDir.resolve("catalog.dat").toFile();
+
+		CampaignCatalog catalog = new CampaignCatalog(catalogFile, ENVIRONMENT);
+		catalog.load();
+		assertNull(catalog.restore(pcc.toURI()));
+		catalog.read(pcc.toURI());
+		Campaign parsed = buildCampaign(pcc);
+		catalog.capture(pcc.toURI(), parsed);
+		catalog.save();
+
+		CampaignCatalog reloaded = new CampaignCatalog(catalogFile, ENVIRONMENT);
+		reloaded.load();
+		Campaign restored = reloaded.restore(pcc.toURI());
+		assertNotNull(restored);
+		assertEquals(1, reloaded.getRestored());
+		assertEquals(0, reloaded.getMisses());
+		assertEquals("Delta", restored.getDisplayName());
+		assertEquals(pcc.toURI(), restored.getSourceURI());
+		assertEquals("Delta Publishing", restored.get(StringKey.PUB_NAME_LONG));
+		assertEquals(Integer.valueOf(3), restored.get(IntegerKey.CAMPAIGN_RANK));
+		assertEquals(Boolean.TRUE, restored.get(ObjectKey.IS_OGL));
+		assertEquals(Status.Beta, restored.get(ObjectKey.STATUS));
+		assertEquals(restored, restored.get(ObjectKey.SOURCE_CAMPAIGN));
+		assertEquals(List.of("35e"), restored.getListFor(ListKey.GAME_MODE));
+		assertEquals(List.of(Type.getConstant("Core")), restored.getListFor(ListKey.TYPE));
+		assertEquals(parsed.getListFor(ListKey.FILE_RACE), restored.getListFor(ListKey.FILE_RACE));
+
+		writePcc("d.pcc", "CAMPAIGN:Delta Revised\n");
+		pcc.setLastModified(pcc.lastModified() + 2000);
+		CampaignCatalog changed = new CampaignCatalog(catalogFile, ENVIRONMENT);
+		changed.load();
+		assertNull(changed.restore(pcc.toURI()));
+	}
+
+	@Test
+	void testCatalogOfOtherEnvironmentDiscarded() throws Exception
+	{
+		File pcc = writePcc("f.pcc", "CAMPAIGN:Zeta\n");
+		File catalogFile = tempDir.resolve("catalog.dat").toFile();
+
+		CampaignCatalog catalog = new CampaignCatalog(catalogFile, ENVIRONMENT);
+		catalog.load();
+		catalog.read(pcc.toURI());
+		catalog.capture(pcc.toURI(), buildCampaign(pcc));
+		catalog.save();
+
+		// A new version or changed plugins may parse the same file differently
+		CampaignCatalog upgraded = new CampaignCatalog(catalogFile, "6.09.01|12:1a2b3c4d");
+		upgraded.load();
+		assertNull(upgraded.restore(pcc.toURI()));
+		assertEquals("CAMPAIGN:Zeta\n", upgraded.read(pcc.toURI()));
+		assertEquals(0, upgraded.getHits());
+		assertEquals(1, upgraded.getMisses());
+
+		CampaignCatalog same = new CampaignCatalog(catalogFile, ENVIRONMENT);
+		same.load();
+		assertNotNull(same.restore(pcc.toURI()));
+	}
+
+	@Test
+	void testFailedSaveLeavesNoTempFile() throws Exception
+	{
+		File pcc = writePcc("e.pcc", "CAMPAIGN:Epsilon\n");
+		// A non-empty directory in place of the catalog makes the final move fail
+		Path catalogPath = tempDir.resolve("catalog.dat");
+		Files.createDirectories(catalogPath.resolve("blocker"));
+
+		CampaignCatalog catalog = new CampaignCatalog(catalogPath.toFile(), ENVIRONMENT);
+		catalog.load();
+		catalog.read(pcc.toURI());
+		catalog.save();
+
+		try (Stream<Path> files = Files.list(tempDir))
+		{
+			List<String> temps = files.map(p -> p.getFileName().toString()).filter(n -> n.endsWith(".tmp"))
+				.collect(Collectors.toList());
+			assertEquals(List.of(), temps);
+		}
+	}
+
+	private static Campaign buildCampaign(File pcc)
+	{
+		Campaign campaign = new Campaign();
+		campaign.setSourceURI(pcc.toURI());
+		campaign.setName("Delta");
+		campaign.put(StringKey.PUB_NAME_LONG, "Delta Publishing");
+		campaign.put(IntegerKey.CAMPAIGN_RANK, 3);
+		campaign.put(ObjectKey.IS_OGL, Boolean.TRUE);
+		campaign.put(ObjectKey.STATUS, Status.Beta);
+		campaign.addToListFor(ListKey.GAME_MODE, "35e");
+		campaign.addToListFor(ListKey.TYPE, Type.getConstant("Core"));
+		campaign.addToListFor(ListKey.FILE_RACE, CampaignSourceEntry.getNewCSE(campaign, pcc.toURI(), "races.lst"));
+		return campaign;
+	}
+
+	private File writePcc(String name, String text) throws IOException
+	{
+		Path path = tempDir.resolve(name);
+		Files.write(path, text.getBytes(StandardCharsets.UTF_8));
+		return path.toFile();
+	}
+}
@@ -0,0 +1,103 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.persistence.lst;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LstFileLoaderTest
+{
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void testSmallFile() throws Exception
+	{
+		assertEquals("KEY:Value\tTYPE:Magic\n", read("small.lst", "KEY:Value\tTYPE:Magic\n", false));
+	}
+
+	@Test
+	void testEmptyFile() throws Exception
+	{
+		assertEquals("", read("empty.lst", "", false));
+		assertEquals("", read("bomonly.lst", "", true));
+	}
+
+	@Test
+	void testByteOrderMarkSkipped() throws Exception
+	{
+		assertEquals("Café\n", read("bom.lst", "Café\n", true));
+	}
+
+	@Test
+	void testLargeFile() throws Exception
+	{
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 20000; i++)
+		{
+			// Two, three and four byte sequences
+			sb.append("é€𝄞 line ").append(i).append('\n');
+		}
+		String text = sb.toString();
+		assertEquals(text, read("large.lst", text, false));
+		assertEquals(text, read("largebom.lst", text, true));
+		// The file must not be held open (or mapped) once it has been read
+		Files.delete(tempDir.resolve("large.lst"));
+	}
+
+	@Test
+	void testReusedBufferNotLeaked() throws Exception
+	{
+		assertEquals("A much longer first file\n", read("first.lst", "A much longer first file\n", false));
+		assertEquals("Short\n", read("second.lst", "Short\n", false));
+	}
+
+	@Test
+	void testMalformedInputReplaced() throws Exception
+	{
+		byte[] bytes = {'a', (byte) 0xC3};
+		Path file = tempDir.resolve("bad.lst");
+		Files.write(file, bytes);
+		assertEquals(new String(bytes, StandardCharsets.UTF_8), LstFileLoader.readFromURI(file.toUri()));
+	}
+
+	private String read(String name, String text, boolean bom) throws Exception
+	{
+		Path file = tempDir.resolve(name);
+		Files.write(file, encode(text, bom));
+		return LstFileLoader.readFromURI(file.toUri());
+	}
+
+	private static byte[] encode(String text, boolean bom) throws IOException
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		if (bom)
+		{
+			out.write(new byte[]{(byte) 0xEF, (byte) 0xBB, (byte) 0xBF});
+		}
+		out.write(text.getBytes(StandardCharsets.UTF_8));
+		return out.toByteArray();
+	}
+}
@@ -0,0 +1,130 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.rules.context;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Map;
+
+import pcgen.cdom.base.CDOMObject;
+import pcgen.cdom.enumeration.IntegerKey;
+import pcgen.cdom.enumeration.ListKey;
+import pcgen.cdom.enumeration.MapKey;
+import pcgen.cdom.enumeration.StringKey;
+import pcgen.rules.context.AbstractObjectContext.DummyCDOMObject;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DirectObjectCommitStrategyTest
+{
+	private DirectObjectCommitStrategy strategy;
+	private CDOMObject cdo;
+
+	@BeforeEach
+	void setUp()
+	{
+		strategy = new DirectObjectCommitStrategy();
+		cdo = new DummyCDOMObject();
+	}
+
+	@Test
+	void testEditIsImmediate()
+	{
+		strategy.put(cdo, StringKey.SORT_KEY, "Sort");
+		assertEquals("Sort", cdo.get(StringKey.SORT_KEY));
+		strategy.commit();
+		strategy.rollback();
+		assertEquals("Sort", cdo.get(StringKey.SORT_KEY));
+	}
+
+	@Test
+	void testRollbackRestoresValues()
+	{
+		cdo.put(IntegerKey.LEVEL, 1);
+		strategy.put(cdo, IntegerKey.LEVEL, 2);
+		strategy.put(cdo, IntegerKey.LEVEL, 3);
+		strategy.put(cdo, StringKey.SORT_KEY, "Sort");
+		strategy.rollback();
+		assertEquals(Integer.valueOf(1), cdo.get(IntegerKey.LEVEL));
+		assertNull(cdo.get(StringKey.SORT_KEY));
+	}
+
+	@Test
+	void testRollbackRestoresList()
+	{
+		cdo.addToListFor(ListKey.COMMENT, "A");
+		cdo.addToListFor(ListKey.COMMENT, "B");
+		strategy.removeFromList(cdo, ListKey.COMMENT, "A");
+		strategy.addToList(cdo, ListKey.COMMENT, "C");
+		assertEquals(List.of("B", "C"), cdo.getListFor(ListKey.COMMENT));
+		strategy.rollback();
+		assertEquals(List.of("A", "B"), cdo.getListFor(ListKey.COMMENT));
+		strategy.removeList(cdo, ListKey.COMMENT);
+		assertNull(cdo.getListFor(ListKey.COMMENT));
+		strategy.rollback();
+		assertEquals(List.of("A", "B"), cdo.getListFor(ListKey.COMMENT));
+	}
+
+	@Test
+	void testRollbackTruncatesAppends()
+	{
+		cdo.addToListFor(ListKey.COMMENT, "A");
+		cdo.addToListFor(ListKey.COMMENT, "B");
+		strategy.addToList(cdo, ListKey.COMMENT, "C");
+		strategy.addToList(cdo, ListKey.COMMENT, "D");
+		strategy.addToList(cdo, ListKey.LICENSE, "X");
+		strategy.rollback();
+		assertEquals(List.of("A", "B"), cdo.getListFor(ListKey.COMMENT));
+		assertNull(cdo.getListFor(ListKey.LICENSE));
+	}
+
+	@Test
+	void testAppendThenRemoveRestoresOriginal()
+	{
+		cdo.addToListFor(ListKey.COMMENT, "A");
+		cdo.addToListFor(ListKey.COMMENT, "B");
+		strategy.addToList(cdo, ListKey.COMMENT, "C");
+		strategy.removeFromList(cdo, ListKey.COMMENT, "A");
+		strategy.addToList(cdo, ListKey.COMMENT, "D");
+		assertEquals(List.of("B", "C", "D"), cdo.getListFor(ListKey.COMMENT));
+		strategy.rollback();
+		assertEquals(List.of("A", "B"), cdo.getListFor(ListKey.COMMENT));
+	}
+
+	@Test
+	void testRollbackRestoresMapEntries()
+	{
+		cdo.addToMapFor(MapKey.PROPERTY, "a", "1");
+		cdo.addToMapFor(MapKey.PROPERTY, "c", "4");
+		strategy.put(cdo, MapKey.PROPERTY, "a", "2");
+		strategy.put(cdo, MapKey.PROPERTY, "b", "3");
+		strategy.remove(cdo, MapKey.PROPERTY, "a");
+		strategy.remove(cdo, MapKey.PROPERTY, "c");
+		assertEquals(Map.of("b", "3"), cdo.getMapFor(MapKey.PROPERTY));
+		strategy.rollback();
+		assertEquals(Map.of("a", "1", "c", "4"), cdo.getMapFor(MapKey.PROPERTY));
+	}
+
+	@Test
+	void testClearValueRejected()
+	{
+		assertThrows(IllegalArgumentException.class, () -> strategy.put(cdo, StringKey.SORT_KEY, ".CLEAR"));
+	}
+}
@@ -0,0 +1,179 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.rules.context;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+
+import pcgen.cdom.base.ClassIdentity;
+import pcgen.cdom.base.Loadable;
+import pcgen.cdom.reference.UnconstructedValidator;
+import pcgen.core.ArmorProf;
+import pcgen.core.Deity;
+import pcgen.core.Domain;
+import pcgen.core.Language;
+import pcgen.core.PCTemplate;
+import pcgen.core.Race;
+import pcgen.core.ShieldProf;
+import pcgen.core.Skill;
+import pcgen.core.WeaponProf;
+import pcgen.core.spell.Spell;
+import pcgen.util.Logging;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * ReferenceResolutionTest checks that resolving references concurrently
+ * reports the same result and the same messages, in the same order, as
+ * resolving them one manufacturer at a time.
+ */
+class ReferenceResolutionTest
+{
+	private static final String QUEUED = "Queued: ";
+
+	private static final int MISSING_COUNT = 5;
+
+	private static final List<Class<? extends Loadable>> CLASSES =
+			List.of(Language.class, Deity.class, WeaponProf.class, ArmorProf.class, ShieldProf.class, Skill.class,
+				PCTemplate.class, Race.class, Domain.class, Spell.class);
+
+	/**
+	 * Queues a parse message for each unconstructed reference, as the load
+	 * does for references it may only report once the source is complete.
+	 */
+	private static final UnconstructedValidator VALIDATOR = new UnconstructedValidator()
+	{
+		@Override
+		public boolean allowDuplicates(Class<?> objClass)
+		{
+			return false;
+		}
+
+		@Override
+		public <T> boolean allowUnconstructed(ClassIdentity<T> identity, String key)
+		{
+			Logging.addParseMessage(Logging.ERROR, QUEUED + identity.getName() + ' ' + key);
+			return false;
+		}
+	};
+
+	@AfterEach
+	void tearDown()
+	{
+		AbstractReferenceContext.setConcurrentProcessing(true);
+		Logging.clearParseMessages();
+	}
+
+	@Test
+	void testConcurrentMatchesSerial()
+	{
+		Resolution serial = resolve(false);
+		Resolution concurrent = resolve(true);
+
+		assertFalse(serial.result, "The missing references should have failed resolution");
+		assertEquals(serial.result, concurrent.result, "The result should not depend on concurrency");
+		assertEquals(CLASSES.size() * MISSING_COUNT, serial.queued.size(),
+			"Each missing reference should have queued a message");
+		assertEquals(serial.queued, concurrent.queued,
+			"The queued messages should be replayed on the calling thread in the same order");
+		assertEquals(serial.logged, concurrent.logged, "The logged messages should not depend on concurrency");
+	}
+
+	private static Resolution resolve(boolean concurrent)
+	{
+		AbstractReferenceContext context = RuntimeReferenceContext.createRuntimeReferenceContext();
+		for (Class<? extends Loadable> cl : CLASSES)
+		{
+			context.constructCDOMObject(cl, "Real");
+			context.getCDOMReference(cl, "Real");
+			for (int i = 0; i < MISSING_COUNT; i++)
+			{
+				context.getCDOMReference(cl, "Missing" + i);
+			}
+		}
+
+		RecordingHandler handler = new RecordingHandler();
+		Logging.clearParseMessages();
+		Logging.registerHandler(handler);
+		AbstractReferenceContext.setConcurrentProcessing(concurrent);
+		try
+		{
+			boolean result = context.resolveReferences(VALIDATOR);
+			Logging.replayParsedMessages();
+			return new Resolution(result, handler.messages);
+		}
+		finally
+		{
+			Logging.removeHandler(handler);
+			Logging.clearParseMessages();
+		}
+	}
+
+	private static final class Resolution
+	{
+		private final boolean result;
+		private final List<String> queued = new ArrayList<>();
+		private final List<String> logged = new ArrayList<>();
+
+		private Resolution(boolean result, List<String> messages)
+		{
+			this.result = result;
+			for (String message : messages)
+			{
+				if (message.startsWith(QUEUED))
+				{
+					queued.add(message);
+				}
+				else
+				{
+					logged.add(message);
+				}
+			}
+			// messages logged directly come from whichever manufacturer finishes first
+			Collections.sort(logged);
+		}
+	}
+
+	private static final class RecordingHandler extends Handler
+	{
+		private final List<String> messages = Collections.synchronizedList(new ArrayList<>());
+
+		@Override
+		public void publish(LogRecord logRecord)
+		{
+			messages.add(logRecord.getMessage());
+		}
+
+		@Override
+		public void flush()
+		{
+			// Nothing to flush
+		}
+
+		@Override
+		public void close()
+		{
+			// Nothing to close
+		}
+	}
+}
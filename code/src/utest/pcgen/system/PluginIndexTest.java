@@ -0,0 +1,138 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.system;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PluginIndexTest
+{
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void testUnindexedJar() throws IOException
+	{
+		File jar = createJar();
+		try (ZipFile zip = new ZipFile(jar))
+		{
+			assertNull(PluginIndex.read(zip));
+		}
+	}
+
+	@Test
+	void testIndexRoundTrip() throws IOException
+	{
+		File jar = createJar();
+		PluginIndex.build(jar, getClass().getClassLoader()).write(jar);
+
+		try (ZipFile zip = new ZipFile(jar))
+		{
+			assertNotNull(zip.getEntry(entryName(SamplePlugin.class)));
+			PluginIndex index = PluginIndex.read(zip);
+			assertNotNull(index);
+			assertEquals(List.of(SamplePlugin.class.getName(), SampleHelper.class.getName()),
+				List.copyOf(index.getClassNames()));
+
+			String plugin = SamplePlugin.class.getName();
+			assertTrue(index.isAssignableTo(plugin, SamplePlugin.class));
+			assertTrue(index.isAssignableTo(plugin, AbstractSample.class));
+			assertTrue(index.isAssignableTo(plugin, PluginLoader.class));
+			assertTrue(index.isAssignableTo(plugin, Serializable.class));
+			assertFalse(index.isAssignableTo(SampleHelper.class.getName(), PluginLoader.class));
+			assertFalse(index.isAssignableTo("not.in.Jar", PluginLoader.class));
+		}
+	}
+
+	@Test
+	void testReindexReplacesIndex() throws IOException
+	{
+		File jar = createJar();
+		PluginIndex.build(jar, getClass().getClassLoader()).write(jar);
+		PluginIndex.build(jar, getClass().getClassLoader()).write(jar);
+
+		try (ZipFile zip = new ZipFile(jar))
+		{
+			assertEquals(2, PluginIndex.read(zip).getClassNames().size());
+			assertEquals(3, zip.size());
+		}
+	}
+
+	private File createJar() throws IOException
+	{
+		File jar = tempDir.resolve("sample.jar").toFile();
+		try (OutputStream os = Files.newOutputStream(jar.toPath());
+				ZipOutputStream out = new ZipOutputStream(os))
+		{
+			for (Class<?> clazz : List.of(SamplePlugin.class, SampleHelper.class))
+			{
+				out.putNextEntry(new ZipEntry(entryName(clazz)));
+				try (InputStream in = getClass().getClassLoader().getResourceAsStream(entryName(clazz)))
+				{
+					in.transferTo(out);
+				}
+				out.closeEntry();
+			}
+		}
+		return jar;
+	}
+
+	private static String entryName(Class<?> clazz)
+	{
+		return clazz.getName().replace('.', '/') + ".class";
+	}
+
+	private abstract static class AbstractSample implements PluginLoader, Serializable
+	{
+	}
+
+	private static final class SamplePlugin extends AbstractSample
+	{
+		@Override
+		public void loadPlugin(Class<?> clazz)
+		{
+		}
+
+		@Override
+		public Class<?>[] getPluginClasses()
+		{
+			return new Class<?>[0];
+		}
+	}
+
+	private static final class SampleHelper
+	{
+	}
+}
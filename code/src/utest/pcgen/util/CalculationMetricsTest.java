@@ -0,0 +1,124 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import pcgen.cdom.enumeration.CharID;
+import pcgen.cdom.enumeration.DataSetID;
+import pcgen.util.CalculationMetrics.Metric;
+import pcgen.util.CalculationMetrics.Snapshot;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CalculationMetricsTest
+{
+
+	private CharID first;
+	private CharID second;
+
+	@BeforeEach
+	void setUp()
+	{
+		CalculationMetrics.reset();
+		CalculationMetrics.setEnabled(true);
+		DataSetID dsid = DataSetID.getID();
+		first = CharID.getID(dsid);
+		second = CharID.getID(dsid);
+	}
+
+	@AfterEach
+	void tearDown()
+	{
+		CalculationMetrics.reset();
+		CalculationMetrics.setEnabled(false);
+	}
+
+	@Test
+	void testCountsArePerCharacter()
+	{
+		CalculationMetrics.increment(first, Metric.SET_DIRTY);
+		CalculationMetrics.increment(first, Metric.SET_DIRTY);
+		CalculationMetrics.add(second, Metric.ACTIVE_BONUS_LOOP, 3);
+		CalculationMetrics.increment(null, Metric.PJEP_ACQUIRE);
+
+		assertEquals(2, CalculationMetrics.getSnapshot(first).getCount(Metric.SET_DIRTY));
+		assertEquals(0, CalculationMetrics.getSnapshot(second).getCount(Metric.SET_DIRTY));
+		assertEquals(3, CalculationMetrics.getSnapshot(second).getCount(Metric.ACTIVE_BONUS_LOOP));
+		assertEquals(1, CalculationMetrics.getSnapshot(null).getCount(Metric.PJEP_ACQUIRE));
+		assertEquals(3, CalculationMetrics.getSnapshots().size());
+	}
+
+	@Test
+	void testTiming()
+	{
+		long start = CalculationMetrics.start();
+		assertTrue(start != 0L);
+		CalculationMetrics.stop(first, Metric.BONUS_MAP_BUILD, start);
+		Snapshot snapshot = CalculationMetrics.getSnapshot(first);
+		assertEquals(1, snapshot.getCount(Metric.BONUS_MAP_BUILD));
+		assertTrue(snapshot.getNanos(Metric.BONUS_MAP_BUILD) >= 0);
+	}
+
+	@Test
+	void testPrereqKinds()
+	{
+		CalculationMetrics.prereqTested(first, "feat");
+		CalculationMetrics.prereqTested(first, "feat");
+		CalculationMetrics.prereqTested(first, "var");
+		Snapshot snapshot = CalculationMetrics.getSnapshot(first);
+		assertEquals(3, snapshot.getCount(Metric.PREREQ_TEST));
+		Map<String, Long> kinds = snapshot.getPrereqCounts();
+		assertEquals(Long.valueOf(2), kinds.get("feat"));
+		assertEquals(Long.valueOf(1), kinds.get("var"));
+	}
+
+	@Test
+	void testCacheHitRate()
+	{
+		assertTrue(Double.isNaN(CalculationMetrics.getSnapshot(first).getVariableCacheHitRate()));
+		CalculationMetrics.increment(first, Metric.VARIABLE_CACHE_HIT);
+		CalculationMetrics.increment(first, Metric.VARIABLE_CACHE_HIT);
+		CalculationMetrics.increment(first, Metric.VARIABLE_CACHE_HIT);
+		CalculationMetrics.increment(first, Metric.VARIABLE_CACHE_MISS);
+		assertEquals(0.75, CalculationMetrics.getSnapshot(first).getVariableCacheHitRate(), 1.0e-9);
+	}
+
+	@Test
+	void testDisabled()
+	{
+		CalculationMetrics.setEnabled(false);
+		assertEquals(0L, CalculationMetrics.start());
+		CalculationMetrics.increment(first, Metric.SET_DIRTY);
+		CalculationMetrics.prereqTested(first, "feat");
+		assertTrue(CalculationMetrics.getSnapshots().isEmpty());
+	}
+
+	@Test
+	void testRemove()
+	{
+		CalculationMetrics.increment(first, Metric.FACET_EVENT);
+		CalculationMetrics.increment(second, Metric.FACET_EVENT);
+		CalculationMetrics.remove(first);
+		assertEquals(0, CalculationMetrics.getSnapshot(first).getCount(Metric.FACET_EVENT));
+		assertEquals(1, CalculationMetrics.getSnapshot(second).getCount(Metric.FACET_EVENT));
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import pcgen.base.formula.Formula;
+import pcgen.cdom.base.FormulaFactory;
+import pcgen.util.LoadInterner.Category;
+import pcgen.util.LoadInterner.Report;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class LoadInternerTest
+{
+
+	@AfterEach
+	void tearDown()
+	{
+		LoadInterner.finish();
+	}
+
+	@Test
+	void testInactiveIsPassThrough()
+	{
+		assertFalse(LoadInterner.isActive());
+		String first = new String("Weapon");
+		String second = new String("Weapon");
+		assertSame(first, LoadInterner.intern(first));
+		assertSame(second, LoadInterner.intern(second));
+		assertNull(LoadInterner.getShared(Category.FORMULA, "STR"));
+		assertNull(LoadInterner.finish());
+	}
+
+	@Test
+	void testStringsShared()
+	{
+		LoadInterner.start();
+		String first = new String("Weapon");
+		String second = new String("Weapon");
+		assertSame(first, LoadInterner.intern(first));
+		assertSame(first, LoadInterner.intern(second));
+		assertNull(LoadInterner.intern(null));
+		Report report = LoadInterner.finish();
+		assertEquals(2, report.getRequests(Category.STRING));
+		assertEquals(1, report.getShared(Category.STRING));
+		assertEquals(1, report.getDistinct(Category.STRING));
+		assertTrue(report.getStringBytesSaved() > 0);
+		assertSame(report, LoadInterner.getLastReport());
+
+		// Tables do not outlive the load
+		assertSame(second, LoadInterner.intern(second));
+	}
+
+	@Test
+	void testSharedValues()
+	{
+		LoadInterner.start();
+		Object first = new Object();
+		Object second = new Object();
+		assertNull(LoadInterner.getShared(Category.PREREQUISITE, "PRELEVEL:1,2"));
+		assertSame(first, LoadInterner.share(Category.PREREQUISITE, "PRELEVEL:1,2", first));
+		assertSame(first, LoadInterner.share(Category.PREREQUISITE, "PRELEVEL:1,2", second));
+		assertSame(first, LoadInterner.getShared(Category.PREREQUISITE, "PRELEVEL:1,2"));
+		Report report = LoadInterner.finish();
+		assertEquals(2, report.getShared(Category.PREREQUISITE));
+	}
+
+	@Test
+	void testFormulasShared()
+	{
+		Formula outside = FormulaFactory.getFormulaFor("STR+2");
+		LoadInterner.start();
+		Formula first = FormulaFactory.getFormulaFor("STR+2");
+		Formula second = FormulaFactory.getFormulaFor(new String("STR+2"));
+		assertSame(first, second);
+		assertNotSame(outside, first);
+		assertEquals(outside, first);
+		assertSame(FormulaFactory.getFormulaFor("3"), FormulaFactory.getFormulaFor("3"));
+		LoadInterner.finish();
+		assertNotSame(first, FormulaFactory.getFormulaFor("STR+2"));
+	}
+}
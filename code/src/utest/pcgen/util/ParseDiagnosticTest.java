@@ -0,0 +1,79 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.net.URI;
+
+import pcgen.core.Language;
+import pcgen.util.ParseDiagnostic.Code;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ParseDiagnosticTest
+{
+
+	private static final URI SOURCE = URI.create("file:/data/test.lst");
+
+	@AfterEach
+	void tearDown()
+	{
+		Logging.setParseStackCapture(false);
+	}
+
+	@Test
+	void testMessageText()
+	{
+		assertEquals("Bad value", ParseDiagnostic.message(Logging.LST_ERROR, "Bad value").getMessage());
+		assertEquals("Bad value (Source: file:/data/test.lst )",
+			ParseDiagnostic.message(Logging.LST_ERROR, "Bad value", SOURCE, null).getMessage());
+	}
+
+	@Test
+	void testTokenText()
+	{
+		Language lang = new Language();
+		lang.setName("Elven");
+		ParseDiagnostic failed =
+				ParseDiagnostic.forToken(Logging.LST_ERROR, Code.TOKEN_FAILED, "TYPE", "Spoken", lang, SOURCE);
+		assertEquals("TYPE", failed.getToken());
+		assertEquals("Spoken", failed.getValue());
+		assertSame(SOURCE, failed.getSourceURI());
+		assertEquals("Failed in parsing typeStr: TYPE Spoken for pcgen.core.Language Elven", failed.getMessage());
+		assertSame(failed.getMessage(), failed.getMessage());
+
+		assertEquals("Illegal Token 'FOO' 'bar' for pcgen.core.Language Elven in file:/data/test.lst",
+			ParseDiagnostic.forToken(Logging.LST_ERROR, Code.ILLEGAL_TOKEN, "FOO", "bar", lang, SOURCE)
+				.getMessage());
+		assertEquals(
+			"Illegal whitespace at start of token ' FOO' 'bar' for pcgen.core.Language Elven in file:/data/test.lst",
+			ParseDiagnostic.forToken(Logging.LST_ERROR, Code.ILLEGAL_WHITESPACE, " FOO", "bar", lang, SOURCE)
+				.getMessage());
+	}
+
+	@Test
+	void testStackCaptureOptIn()
+	{
+		assertNull(ParseDiagnostic.message(Logging.LST_ERROR, "Bad value").getStackTrace());
+		Logging.setParseStackCapture(true);
+		assertNotNull(ParseDiagnostic.message(Logging.LST_ERROR, "Bad value").getStackTrace());
+	}
+}
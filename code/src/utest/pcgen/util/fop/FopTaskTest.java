@@ -0,0 +1,133 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.util.fop;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * FopTaskTest checks that XML written by an XmlWriter is streamed through the
+ * transformer, and that a failure on either side of the pipe ends the task
+ * with an error rather than blocking it.
+ */
+class FopTaskTest
+{
+
+	private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+	private static final String FO_HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+		+ "<fo:root xmlns:fo=\"http://www.w3.org/1999/XSL/Format\">"
+		+ "<fo:layout-master-set><fo:simple-page-master master-name=\"page\" page-height=\"29.7cm\""
+		+ " page-width=\"21cm\"><fo:region-body/></fo:simple-page-master></fo:layout-master-set>"
+		+ "<fo:page-sequence master-reference=\"page\"><fo:flow flow-name=\"xsl-region-body\">";
+
+	private static final String FO_FOOTER = "</fo:flow></fo:page-sequence></fo:root>";
+
+	private static final String STYLESHEET = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+		+ "<xsl:stylesheet version=\"1.0\" xmlns:xsl=\"http://www.w3.org/1999/XSL/Transform\""
+		+ " xmlns:fo=\"http://www.w3.org/1999/XSL/Format\">"
+		+ "<xsl:template match=\"/sheet\"><fo:root><fo:layout-master-set>"
+		+ "<fo:simple-page-master master-name=\"page\" page-height=\"29.7cm\" page-width=\"21cm\">"
+		+ "<fo:region-body/></fo:simple-page-master></fo:layout-master-set>"
+		+ "<fo:page-sequence master-reference=\"page\"><fo:flow flow-name=\"xsl-region-body\">"
+		+ "<xsl:for-each select=\"line\"><fo:block><xsl:value-of select=\".\"/></fo:block></xsl:for-each>"
+		+ "</fo:flow></fo:page-sequence></fo:root></xsl:template></xsl:stylesheet>";
+
+	@TempDir
+	Path tempDir;
+
+	private static boolean isPdf(ByteArrayOutputStream out)
+	{
+		return new String(out.toByteArray(), 0, Math.min(4, out.size()), StandardCharsets.ISO_8859_1)
+			.equals("%PDF");
+	}
+
+	@Test
+	void testStreamedFoDocument() throws Exception
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		FopTask task = FopTask.newFopTask(w -> {
+			w.write(FO_HEADER);
+			w.write("<fo:block>Hello</fo:block>");
+			w.write(FO_FOOTER);
+		}, null, out);
+		assertTimeoutPreemptively(TIMEOUT, task::run);
+		assertEquals("", task.getErrorMessages());
+		assertTrue(isPdf(out));
+	}
+
+	@Test
+	void testStreamedThroughStylesheet() throws Exception
+	{
+		File xsltFile = tempDir.resolve("sheet.xslt").toFile();
+		Files.write(xsltFile.toPath(), STYLESHEET.getBytes(StandardCharsets.UTF_8));
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		// Write far more than the pipe holds, so the writer blocks on the transformer
+		FopTask task = FopTask.newFopTask(w -> {
+			w.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<sheet>");
+			for (int i = 0; i < 5000; i++)
+			{
+				w.write("<line>Line number " + i + " of the character sheet</line>\n");
+			}
+			w.write("</sheet>");
+		}, xsltFile, out);
+		assertTimeoutPreemptively(TIMEOUT, task::run);
+		assertEquals("", task.getErrorMessages());
+		assertTrue(isPdf(out));
+	}
+
+	@Test
+	void testWriterFailsMidStream() throws Exception
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		FopTask task = FopTask.newFopTask(w -> {
+			w.write(FO_HEADER);
+			w.write("<fo:block>Partial</fo:block>");
+			throw new IOException("Export failed part way");
+		}, null, out);
+		assertTimeoutPreemptively(TIMEOUT, task::run);
+		assertTrue(task.getErrorMessages().contains("Export failed part way"), task.getErrorMessages());
+	}
+
+	@Test
+	void testTransformFailsWhileWriting() throws Exception
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		// The document is malformed from the start, and is much larger than the pipe
+		FopTask task = FopTask.newFopTask(w -> {
+			w.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<broken<");
+			for (int i = 0; i < 100000; i++)
+			{
+				w.write("<line>Never read</line>\n");
+			}
+		}, null, out);
+		assertTimeoutPreemptively(TIMEOUT, task::run);
+		assertFalse(task.getErrorMessages().isEmpty());
+	}
+}